@@ -0,0 +1,13 @@
+package com.gvn.springtutor.approval;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Work-queue approval: claim dengan skip locked + lease, prefetch per
+ * reviewer (lihat ApplicationQueueService).
+ */
+@Configuration
+@EnableConfigurationProperties(ApprovalQueueProperties.class)
+public class ApprovalQueueConfig {
+}
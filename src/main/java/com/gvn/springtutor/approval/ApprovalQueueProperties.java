@@ -0,0 +1,31 @@
+package com.gvn.springtutor.approval;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Konfigurasi work-queue approval (lihat ApplicationQueueService).
+ *
+ * <pre>
+ * app:
+ *   approval-queue:
+ *     lease: 5m
+ *     prefetch: 5
+ *     max-claim: 50
+ * </pre>
+ */
+@Data
+@ConfigurationProperties(prefix = "app.approval-queue")
+public class ApprovalQueueProperties {
+
+    /** Lama pengajuan di-claim reviewer sebelum kembali ke antrean */
+    private Duration lease = Duration.ofMinutes(5);
+
+    /** Jumlah pengajuan yang di-claim sekaligus oleh next() */
+    private int prefetch = 5;
+
+    /** Batas count untuk claim eksplisit */
+    private int maxClaim = 50;
+}
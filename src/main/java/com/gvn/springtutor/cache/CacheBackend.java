@@ -0,0 +1,17 @@
+package com.gvn.springtutor.cache;
+
+/**
+ * Backend untuk Spring Cache dan state bersama (denylist, refresh token,
+ * public key JWT, pub/sub invalidasi).
+ */
+public enum CacheBackend {
+
+    /** Semua di Redis; untuk deployment multi-node */
+    REDIS,
+
+    /** Semua in-process (Caffeine), tanpa Redis; untuk single-node dan test */
+    LOCAL,
+
+    /** Cache lokal berumur pendek di depan Redis; state bersama tetap di Redis */
+    HYBRID
+}
@@ -0,0 +1,168 @@
+package com.gvn.springtutor.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.time.Duration;
+
+/**
+ * Memilih backend cache berdasarkan app.cache.backend.
+ *
+ * - local: PolicyCaffeineCache, LocalKeyValueStore, LocalMessageBus.
+ *   Redis tidak pernah dihubungi (koneksi Lettuce dibuat lazy), sehingga
+ *   aplikasi dan test bisa jalan tanpa server Redis
+ * - redis: PolicyRedisCache, RedisKeyValueStore, RedisMessageBus
+ * - hybrid: seperti redis, tetapi setiap cache adalah HybridCache
+ *   (L1 Caffeine di depan Redis; L1 tetap melayani saat Redis down)
+ *
+ * Untuk redis dan hybrid, semua akses Redis lewat RedisCircuitBreaker.
+ * Untuk redis, hot key direplikasi per node (HotKeyReplicaCache).
+ *
+ * Di semua backend, cache dibuat oleh PolicyCacheManager dari
+ * CachePolicy-nya. Komponen lain (denylist token, refresh token, JWKS,
+ * invalidasi cache) hanya bergantung pada KeyValueStore dan MessageBus.
+ */
+@Configuration
+@EnableConfigurationProperties(CacheProperties.class)
+public class CacheBackendConfig {
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnExpression("'${app.cache.backend:redis}'.equalsIgnoreCase('local')")
+    static class LocalBackend {
+
+        @Bean
+        public KeyValueStore keyValueStore() {
+            return new LocalKeyValueStore();
+        }
+
+        @Bean
+        public MessageBus messageBus() {
+            return new LocalMessageBus();
+        }
+
+        @Bean
+        public CacheManager cacheManager(CachePolicyRegistry registry) {
+            return new PolicyCacheManager(registry, policy -> new PolicyCaffeineCache(policy.cacheName(),
+                    Caffeine.newBuilder()
+                            .maximumSize(policy.maxSize())
+                            .expireAfter(jitteredExpiry(policy))
+                            .build(),
+                    policy.cacheNulls()));
+        }
+
+        private static Expiry<Object, Object> jitteredExpiry(CachePolicy policy) {
+            return new Expiry<>() {
+                @Override
+                public long expireAfterCreate(Object key, Object value, long currentTime) {
+                    return policy.nextTtl().toNanos();
+                }
+
+                @Override
+                public long expireAfterUpdate(Object key, Object value, long currentTime, long currentDuration) {
+                    return policy.nextTtl().toNanos();
+                }
+
+                @Override
+                public long expireAfterRead(Object key, Object value, long currentTime, long currentDuration) {
+                    return currentDuration;
+                }
+            };
+        }
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnExpression("!'${app.cache.backend:redis}'.equalsIgnoreCase('local')")
+    static class RedisBackend {
+
+        /**
+         * Container untuk Redis pub/sub.
+         * Dipakai untuk menyebarkan event antar instance aplikasi (misalnya
+         * invalidasi Hibernate second-level cache).
+         */
+        @Bean
+        public RedisMessageListenerContainer redisMessageListenerContainer(RedisConnectionFactory factory) {
+            RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+            container.setConnectionFactory(factory);
+            return container;
+        }
+
+        @Bean
+        public RedisCircuitBreaker redisCircuitBreaker(CacheProperties properties, MeterRegistry registry) {
+            return new RedisCircuitBreaker(properties.getCircuitBreaker(), registry);
+        }
+
+        @Bean
+        @ConditionalOnProperty(prefix = "app.cache.hot-keys", name = "enabled", matchIfMissing = true)
+        public HotKeyDetector hotKeyDetector(CacheProperties properties, MeterRegistry registry) {
+            return new HotKeyDetector(properties.getHotKeys(), registry);
+        }
+
+        @Bean
+        public KeyValueStore keyValueStore(StringRedisTemplate redisTemplate, RedisCircuitBreaker breaker) {
+            return new RedisKeyValueStore(redisTemplate, breaker);
+        }
+
+        @Bean
+        public MessageBus messageBus(StringRedisTemplate redisTemplate,
+                RedisMessageListenerContainer listenerContainer,
+                RedisCircuitBreaker breaker) {
+            return new RedisMessageBus(redisTemplate, listenerContainer, breaker);
+        }
+
+        @Bean
+        public CacheManager cacheManager(
+                RedisConnectionFactory factory,
+                ObjectMapper redisObjectMapper,
+                CacheProperties properties,
+                CachePolicyRegistry registry,
+                MessageBus messageBus,
+                RedisCircuitBreaker breaker,
+                ObjectProvider<HotKeyDetector> hotKeyDetector,
+                MeterRegistry meterRegistry) {
+
+            // Bukan bean sendiri: CacheManager harus tunggal untuk @Cacheable
+            RedisCacheFactory redisCaches = new RedisCacheFactory(factory, redisObjectMapper);
+
+            if (properties.getBackend() != CacheBackend.HYBRID) {
+                HotKeyDetector detector = hotKeyDetector.getIfAvailable();
+                if (detector == null) {
+                    return new PolicyCacheManager(registry,
+                            policy -> new CircuitBreakerCache(redisCaches.create(policy), breaker));
+                }
+                // Replica hot key di depan breaker: tetap melayani saat Redis down
+                CacheProperties.HotKeys hotKeys = properties.getHotKeys();
+                Counter replicaHits = Counter.builder("cache.hot.replica.hits")
+                        .description("Pembacaan cache yang dilayani replica hot key lokal")
+                        .register(meterRegistry);
+                return new PolicyCacheManager(registry, policy -> new HotKeyReplicaCache(
+                        new CircuitBreakerCache(redisCaches.create(policy), breaker),
+                        detector, hotKeys.getReplicaTtl(), hotKeys.getTopK(), replicaHits));
+            }
+
+            // Hybrid: L1 sudah menyimpan semua key di node, replica hot key tidak diperlukan
+
+            Duration localTtl = properties.getHybrid().getLocalTtl();
+            HybridCacheInvalidation invalidation = new HybridCacheInvalidation(messageBus);
+            return new PolicyCacheManager(registry, policy -> invalidation.register(new HybridCache(
+                    new PolicyCaffeineCache(policy.cacheName(), Caffeine.newBuilder()
+                            .maximumSize(policy.maxSize())
+                            .expireAfterWrite(localTtl.compareTo(policy.ttl()) < 0 ? localTtl : policy.ttl())
+                            .build(), false),
+                    new CircuitBreakerCache(redisCaches.create(policy), breaker),
+                    invalidation)));
+        }
+    }
+}
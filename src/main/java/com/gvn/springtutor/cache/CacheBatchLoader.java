@@ -0,0 +1,110 @@
+package com.gvn.springtutor.cache;
+
+import com.gvn.springtutor.exception.BadRequestException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Lookup banyak id sekaligus lewat cache, dengan satu round-trip per tier:
+ *
+ * 1. Semua key dibaca dengan satu multi-get (Redis MGET)
+ * 2. Yang miss dimuat dengan satu query (IN) lewat loader
+ * 3. Hasil loader ditulis balik dalam satu pipeline
+ *
+ * Key cache harus sama dengan key @Cacheable untuk method single-id, agar
+ * kedua jalur saling mengisi cache.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CacheBatchLoader {
+
+    /**
+     * Batas id per request (parameter IN di SQL Server maksimal 2100, dan
+     * MGET besar memblok Redis).
+     */
+    public static final int MAX_BATCH_SIZE = 100;
+
+    private final CacheManager cacheManager;
+
+    /**
+     * @param cacheName cache tujuan
+     * @param ids       id yang dicari (duplikat diabaikan)
+     * @param cacheKey  key cache untuk satu id (sama seperti key @Cacheable)
+     * @param loader    memuat id yang miss; id yang tidak ada boleh dilewati
+     * @param type      tipe value
+     * @return value per id, urut sesuai ids; id yang tidak ditemukan tidak ada
+     * @throws BadRequestException jika ids kosong atau lebih dari MAX_BATCH_SIZE
+     */
+    public <V> Map<Long, V> getAll(String cacheName, Collection<Long> ids, Function<Long, Object> cacheKey,
+            Function<Collection<Long>, Map<Long, V>> loader, Class<V> type) {
+        Set<Long> distinctIds = new LinkedHashSet<>(ids);
+        distinctIds.remove(null);
+        if (distinctIds.isEmpty()) {
+            throw new BadRequestException("At least one id is required");
+        }
+        if (distinctIds.size() > MAX_BATCH_SIZE) {
+            throw new BadRequestException("At most " + MAX_BATCH_SIZE + " ids per request");
+        }
+
+        Map<Object, Long> idsByKey = new LinkedHashMap<>();
+        distinctIds.forEach(id -> idsByKey.put(cacheKey.apply(id), id));
+
+        Cache cache = cacheManager.getCache(cacheName);
+        Map<Long, V> found = new LinkedHashMap<>();
+        if (cache != null) {
+            try {
+                MultiGetCache.getAll(cache, idsByKey.keySet()).forEach((key, value) -> {
+                    if (type.isInstance(value)) {
+                        found.put(idsByKey.get(key), type.cast(value));
+                    }
+                });
+            } catch (RuntimeException e) {
+                // Cache tidak tersedia: semua id dimuat dari database
+                log.warn("Multi-get on cache '{}' failed: {}", cacheName, e.getMessage());
+            }
+        }
+
+        List<Long> missing = distinctIds.stream().filter(id -> !found.containsKey(id)).toList();
+        if (!missing.isEmpty()) {
+            Map<Long, V> loaded = loader.apply(missing);
+            found.putAll(loaded);
+            backfill(cache, cacheName, loaded, cacheKey);
+            log.debug("Cache '{}': {} hit, {} loaded of {} requested",
+                    cacheName, distinctIds.size() - missing.size(), loaded.size(), distinctIds.size());
+        }
+
+        Map<Long, V> ordered = new LinkedHashMap<>();
+        for (Long id : distinctIds) {
+            V value = found.get(id);
+            if (value != null) {
+                ordered.put(id, value);
+            }
+        }
+        return ordered;
+    }
+
+    private <V> void backfill(Cache cache, String cacheName, Map<Long, V> loaded, Function<Long, Object> cacheKey) {
+        if (cache == null || loaded.isEmpty()) {
+            return;
+        }
+        Map<Object, Object> entries = new LinkedHashMap<>();
+        loaded.forEach((id, value) -> entries.put(cacheKey.apply(id), value));
+        try {
+            MultiGetCache.putAll(cache, entries);
+        } catch (RuntimeException e) {
+            log.warn("Backfill of cache '{}' failed: {}", cacheName, e.getMessage());
+        }
+    }
+}
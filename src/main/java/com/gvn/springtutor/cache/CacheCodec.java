@@ -0,0 +1,58 @@
+package com.gvn.springtutor.cache;
+
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.jsontype.BasicPolymorphicTypeValidator;
+import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.JdkSerializationRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+/**
+ * Format value cache di Redis. Cache lokal (Caffeine) menyimpan object apa
+ * adanya, sehingga codec tidak berpengaruh di sana.
+ */
+@SuppressWarnings({ "deprecation", "removal" })
+public enum CacheCodec {
+
+    /**
+     * JSON tanpa informasi tipe. Hasil baca berupa Map/List, jadi hanya cocok
+     * untuk cache yang value-nya memang Map/String/angka.
+     */
+    JSON {
+        @Override
+        public RedisSerializer<Object> serializer(ObjectMapper mapper) {
+            return new Jackson2JsonRedisSerializer<>(mapper, Object.class);
+        }
+    },
+
+    /**
+     * JSON dengan nama class ({@code @class}); hanya class aplikasi dan
+     * java.* yang boleh di-deserialize.
+     */
+    TYPED_JSON {
+        @Override
+        public RedisSerializer<Object> serializer(ObjectMapper mapper) {
+            ObjectMapper typed = mapper.copy().activateDefaultTyping(
+                    BasicPolymorphicTypeValidator.builder()
+                            .allowIfSubType("com.gvn.springtutor.")
+                            .allowIfSubType("java.")
+                            .build(),
+                    ObjectMapper.DefaultTyping.NON_FINAL,
+                    JsonTypeInfo.As.PROPERTY);
+            return new Jackson2JsonRedisSerializer<>(typed, Object.class);
+        }
+    },
+
+    /**
+     * Java serialization; entity sudah implements Serializable (termasuk
+     * koleksi Hibernate yang sudah di-load).
+     */
+    JDK {
+        @Override
+        public RedisSerializer<Object> serializer(ObjectMapper mapper) {
+            return new JdkSerializationRedisSerializer();
+        }
+    };
+
+    public abstract RedisSerializer<Object> serializer(ObjectMapper mapper);
+}
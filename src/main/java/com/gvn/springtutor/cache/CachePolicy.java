@@ -0,0 +1,70 @@
+package com.gvn.springtutor.cache;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Policy efektif untuk satu cache name (hasil gabungan app.cache.caches.*,
+ * app.cache.defaults dan override runtime).
+ *
+ * @param ttl        umur entry
+ * @param ttlJitter  tambahan acak 0..jitter per entry, agar entry yang ditulis
+ *                   bersamaan tidak expire bersamaan (stampede ke database)
+ * @param maxSize    batas entry cache lokal (local / L1 hybrid)
+ * @param keyPrefix  prefix key di Redis
+ * @param codec      format value di Redis
+ * @param cacheNulls simpan hasil null
+ */
+public record CachePolicy(
+        String cacheName,
+        Duration ttl,
+        Duration ttlJitter,
+        long maxSize,
+        String keyPrefix,
+        CacheCodec codec,
+        boolean cacheNulls) {
+
+    /**
+     * Gabungkan spec (boleh sebagian kosong) di atas base.
+     */
+    public static CachePolicy of(String cacheName, CacheProperties.Spec spec, CacheProperties.Spec defaults) {
+        CacheProperties.Spec s = spec != null ? spec : new CacheProperties.Spec();
+        return new CachePolicy(
+                cacheName,
+                first(s.getTtl(), defaults.getTtl(), Duration.ofHours(1)),
+                first(s.getTtlJitter(), defaults.getTtlJitter(), Duration.ZERO),
+                first(s.getMaxSize(), defaults.getMaxSize(), 10_000L),
+                first(s.getKeyPrefix(), defaults.getKeyPrefix(), cacheName + "::"),
+                first(s.getCodec(), defaults.getCodec(), CacheCodec.JDK),
+                first(s.getCacheNulls(), defaults.getCacheNulls(), false));
+    }
+
+    /**
+     * TTL untuk satu entry baru: ttl + acak [0, ttlJitter].
+     */
+    public Duration nextTtl() {
+        long jitterMillis = ttlJitter.toMillis();
+        if (jitterMillis <= 0) {
+            return ttl;
+        }
+        return ttl.plusMillis(ThreadLocalRandom.current().nextLong(jitterMillis + 1));
+    }
+
+    /**
+     * Perubahan yang membuat entry lama di Redis tidak bisa dibaca / tidak
+     * terjangkau lagi.
+     */
+    public boolean isStorageCompatible(CachePolicy other) {
+        return codec == other.codec && keyPrefix.equals(other.keyPrefix);
+    }
+
+    @SafeVarargs
+    private static <T> T first(T... values) {
+        for (T value : values) {
+            if (value != null) {
+                return value;
+            }
+        }
+        return null;
+    }
+}
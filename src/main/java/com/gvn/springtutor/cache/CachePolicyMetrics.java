@@ -0,0 +1,52 @@
+package com.gvn.springtutor.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Gauge policy per cache name, selalu membaca policy terbaru dari registry:
+ * - {@code cache.policy.ttl} (detik)
+ * - {@code cache.policy.ttl.jitter} (detik)
+ * - {@code cache.policy.max.size}
+ * - {@code cache.policy.updates} (counter perubahan runtime)
+ *
+ * Lihat /actuator/metrics/cache.policy.ttl?tag=cache:products.
+ */
+@Component
+@RequiredArgsConstructor
+public class CachePolicyMetrics {
+
+    private final MeterRegistry registry;
+
+    void bind(String cacheName, Function<String, CachePolicy> policies) {
+        gauge("cache.policy.ttl", "Umur entry cache", "seconds", cacheName, policies,
+                policy -> policy.ttl().toMillis() / 1000.0);
+        gauge("cache.policy.ttl.jitter", "Jitter maksimum umur entry cache", "seconds", cacheName, policies,
+                policy -> policy.ttlJitter().toMillis() / 1000.0);
+        gauge("cache.policy.max.size", "Batas entry cache lokal", null, cacheName, policies,
+                CachePolicy::maxSize);
+    }
+
+    void recordUpdate(String cacheName) {
+        Counter.builder("cache.policy.updates")
+                .description("Perubahan policy cache saat runtime")
+                .tag("cache", cacheName)
+                .register(registry)
+                .increment();
+    }
+
+    private void gauge(String name, String description, String unit, String cacheName,
+            Function<String, CachePolicy> policies, ToDoubleFunction<CachePolicy> value) {
+        Gauge.builder(name, () -> value.applyAsDouble(policies.apply(cacheName)))
+                .description(description)
+                .baseUnit(unit)
+                .tag("cache", cacheName)
+                .register(registry);
+    }
+}
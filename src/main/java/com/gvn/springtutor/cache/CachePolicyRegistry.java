@@ -0,0 +1,198 @@
+package com.gvn.springtutor.cache;
+
+import com.gvn.springtutor.exception.BadRequestException;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Policy cache yang sedang berlaku, per cache name.
+ *
+ * - Awalnya dari app.cache (defaults + caches.*)
+ * - Bisa diubah saat runtime ({@link #update}); override disimpan di
+ *   KeyValueStore ({@code cache:policy:<name>}, tanpa expire) dan diumumkan
+ *   lewat MessageBus, sehingga semua node (termasuk node yang baru start)
+ *   memakai policy yang sama
+ * - Listener (PolicyCacheManager) membangun ulang cache yang policy-nya
+ *   berubah
+ *
+ * Format value: {@code <ttlMillis>|<jitterMillis>|<maxSize>|<codec>|<cacheNulls>|<keyPrefix>}
+ * Format pesan: {@code <nodeId>|<cacheName>}
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CachePolicyRegistry {
+
+    static final String CHANNEL = "cache:policies";
+    static final String KEY_PREFIX = "cache:policy:";
+
+    /** Batas bawah TTL agar cache tidak berubah menjadi pass-through */
+    private static final Duration MIN_TTL = Duration.ofSeconds(1);
+
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final CacheProperties properties;
+    private final KeyValueStore store;
+    private final MessageBus messageBus;
+    private final CachePolicyMetrics metrics;
+
+    private final Map<String, CachePolicy> policies = new ConcurrentHashMap<>();
+    private final List<PolicyListener> listeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * Dipanggil setelah policy sebuah cache berubah.
+     *
+     * @param origin true jika perubahan berasal dari node ini (bukan pesan
+     *               dari node lain)
+     */
+    @FunctionalInterface
+    public interface PolicyListener {
+        void policyChanged(CachePolicy previous, CachePolicy current, boolean origin);
+    }
+
+    @PostConstruct
+    void init() {
+        properties.getCaches().keySet().forEach(this::get);
+        messageBus.subscribe(CHANNEL, this::onMessage);
+        try {
+            for (String key : store.keys(KEY_PREFIX)) {
+                reload(key.substring(KEY_PREFIX.length()));
+            }
+        } catch (RuntimeException e) {
+            log.warn("Could not load cache policy overrides: {}", e.getMessage());
+        }
+    }
+
+    public void addListener(PolicyListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Policy untuk cache name; cache yang tidak dikonfigurasi memakai defaults.
+     */
+    public CachePolicy get(String cacheName) {
+        CachePolicy policy = policies.get(cacheName);
+        if (policy != null) {
+            return policy;
+        }
+        return policies.computeIfAbsent(cacheName, name -> {
+            metrics.bind(name, policies::get);
+            return CachePolicy.of(name, properties.getCaches().get(name), properties.getDefaults());
+        });
+    }
+
+    public List<CachePolicy> getAll() {
+        return policies.values().stream()
+                .sorted(Comparator.comparing(CachePolicy::cacheName))
+                .toList();
+    }
+
+    /**
+     * Ubah policy cache saat runtime. Field yang null di override tidak
+     * berubah.
+     *
+     * @throws BadRequestException jika policy hasilnya tidak valid
+     */
+    public CachePolicy update(String cacheName, CacheProperties.Spec override) {
+        CachePolicy current = get(cacheName);
+        CachePolicy updated = CachePolicy.of(cacheName, override, toSpec(current));
+        validate(updated);
+
+        try {
+            store.set(KEY_PREFIX + cacheName, encode(updated));
+        } catch (RuntimeException e) {
+            // Tanpa store, node lain (dan restart) tidak akan melihat perubahan ini
+            throw new IllegalStateException("Cannot store cache policy for '" + cacheName + "'", e);
+        }
+        apply(updated, true);
+        try {
+            messageBus.publish(CHANNEL, nodeId + "|" + cacheName);
+        } catch (RuntimeException e) {
+            log.warn("Failed to publish cache policy update for '{}': {}", cacheName, e.getMessage());
+        }
+        log.info("Cache policy updated: {}", updated);
+        return updated;
+    }
+
+    private void apply(CachePolicy policy, boolean origin) {
+        CachePolicy previous = get(policy.cacheName());
+        policies.put(policy.cacheName(), policy);
+        metrics.recordUpdate(policy.cacheName());
+        listeners.forEach(listener -> listener.policyChanged(previous, policy, origin));
+    }
+
+    private void onMessage(String message) {
+        String[] parts = message.split("\\|", 2);
+        if (parts.length == 2 && !nodeId.equals(parts[0])) {
+            reload(parts[1]);
+        }
+    }
+
+    private void reload(String cacheName) {
+        String value = store.get(KEY_PREFIX + cacheName);
+        if (value == null) {
+            return;
+        }
+        try {
+            CachePolicy policy = decode(cacheName, value);
+            if (!policy.equals(get(cacheName))) {
+                apply(policy, false);
+            }
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+            log.warn("Ignoring malformed cache policy for '{}': {}", cacheName, e.getMessage());
+        }
+    }
+
+    private static void validate(CachePolicy policy) {
+        if (policy.ttl().compareTo(MIN_TTL) < 0) {
+            throw new BadRequestException("TTL must be at least " + MIN_TTL.toSeconds() + " second");
+        }
+        if (policy.ttlJitter().isNegative()) {
+            throw new BadRequestException("TTL jitter must not be negative");
+        }
+        if (policy.maxSize() < 1) {
+            throw new BadRequestException("Max size must be positive");
+        }
+        if (policy.keyPrefix().isBlank() || policy.keyPrefix().chars().anyMatch(Character::isWhitespace)) {
+            throw new BadRequestException("Key prefix must not be blank or contain whitespace");
+        }
+    }
+
+    private static CacheProperties.Spec toSpec(CachePolicy policy) {
+        return CacheProperties.Spec.builder()
+                .ttl(policy.ttl())
+                .ttlJitter(policy.ttlJitter())
+                .maxSize(policy.maxSize())
+                .keyPrefix(policy.keyPrefix())
+                .codec(policy.codec())
+                .cacheNulls(policy.cacheNulls())
+                .build();
+    }
+
+    private static String encode(CachePolicy policy) {
+        return policy.ttl().toMillis() + "|" + policy.ttlJitter().toMillis() + "|" + policy.maxSize()
+                + "|" + policy.codec().name() + "|" + policy.cacheNulls() + "|" + policy.keyPrefix();
+    }
+
+    private static CachePolicy decode(String cacheName, String value) {
+        String[] parts = value.split("\\|", 6);
+        return new CachePolicy(
+                cacheName,
+                Duration.ofMillis(Long.parseLong(parts[0])),
+                Duration.ofMillis(Long.parseLong(parts[1])),
+                Long.parseLong(parts[2]),
+                parts[5],
+                CacheCodec.valueOf(parts[3]),
+                Boolean.parseBoolean(parts[4]));
+    }
+}
@@ -0,0 +1,116 @@
+package com.gvn.springtutor.cache;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Konfigurasi backend cache dan policy per cache name.
+ *
+ * <pre>
+ * app:
+ *   cache:
+ *     backend: redis        # redis | local | hybrid
+ *     defaults:
+ *       ttl: 1h
+ *       ttl-jitter: 5m
+ *       max-size: 10000
+ *       codec: jdk          # json | typed-json | jdk
+ *       cache-nulls: false
+ *     caches:
+ *       products:
+ *         ttl: 1d
+ *         key-prefix: "products::"
+ *     hybrid:
+ *       local-ttl: 30s
+ *     circuit-breaker:
+ *       failure-threshold: 5
+ *       open-duration: 10s
+ *     hot-keys:
+ *       sample-rate: 8
+ *       threshold: 50
+ *       top-k: 32
+ *       window: 10s
+ *       replica-ttl: 2s
+ * </pre>
+ *
+ * Field yang kosong di caches.* memakai defaults. Policy bisa diubah saat
+ * runtime lewat PUT /admin/cache-policies/{name} (lihat CachePolicyRegistry).
+ *
+ * max-size hanya berlaku untuk cache lokal; ukuran Redis diatur lewat
+ * maxmemory-policy di server Redis.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.cache")
+public class CacheProperties {
+
+    private CacheBackend backend = CacheBackend.REDIS;
+
+    /** Nilai default untuk cache yang tidak dikonfigurasi di caches */
+    private Spec defaults = Spec.builder()
+            .ttl(Duration.ofHours(1))
+            .ttlJitter(Duration.ZERO)
+            .maxSize(10_000L)
+            .codec(CacheCodec.JDK)
+            .cacheNulls(false)
+            .build();
+
+    /** Pengaturan per cache name */
+    private Map<String, Spec> caches = new LinkedHashMap<>();
+
+    private Hybrid hybrid = new Hybrid();
+
+    private CircuitBreaker circuitBreaker = new CircuitBreaker();
+
+    private HotKeys hotKeys = new HotKeys();
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Spec {
+        private Duration ttl;
+        private Duration ttlJitter;
+        private Long maxSize;
+        /** Default: {@code <cacheName>::} */
+        private String keyPrefix;
+        private CacheCodec codec;
+        private Boolean cacheNulls;
+    }
+
+    @Data
+    public static class CircuitBreaker {
+        /** Jumlah kegagalan Redis berturut-turut sebelum breaker open */
+        private int failureThreshold = 5;
+        /** Lama breaker open sebelum satu request dijadikan probe */
+        private Duration openDuration = Duration.ofSeconds(10);
+    }
+
+    @Data
+    public static class HotKeys {
+        /** Deteksi + replica hot key (hanya backend redis) */
+        private boolean enabled = true;
+        /** 1 dari N pembacaan yang dihitung */
+        private int sampleRate = 8;
+        /** Estimasi pembacaan (sampled) per window agar key dianggap hot */
+        private long threshold = 50;
+        /** Jumlah maksimum hot key per node */
+        private int topK = 32;
+        /** Panjang window; setiap akhir window counter dibagi dua */
+        private Duration window = Duration.ofSeconds(10);
+        /** Umur value di replica lokal (batas data lama di node lain) */
+        private Duration replicaTtl = Duration.ofSeconds(2);
+    }
+
+    @Data
+    public static class Hybrid {
+        /** Umur maksimum entry di cache lokal (di depan Redis) */
+        private Duration localTtl = Duration.ofSeconds(30);
+    }
+}
@@ -0,0 +1,148 @@
+package com.gvn.springtutor.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.dao.DataAccessException;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+/**
+ * Membungkus cache Redis dengan {@link RedisCircuitBreaker}.
+ *
+ * Selama breaker OPEN: get dianggap miss, put dilewati, evict / clear
+ * dilewati dan dicatat (cache dikosongkan saat Redis kembali). Exception
+ * Redis tetap dilempar ke CacheErrorHandler (lihat RedisConfig), yang
+ * mencatatnya lalu melanjutkan ke database.
+ */
+public class CircuitBreakerCache implements Cache, MultiGetCache {
+
+    private final Cache delegate;
+    private final RedisCircuitBreaker breaker;
+
+    public CircuitBreakerCache(Cache delegate, RedisCircuitBreaker breaker) {
+        this.delegate = delegate;
+        this.breaker = breaker;
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        if (!breaker.tryAcquire()) {
+            return null;
+        }
+        return call(() -> delegate.get(key));
+    }
+
+    @Override
+    public <T> T get(Object key, Class<T> type) {
+        if (!breaker.tryAcquire()) {
+            return null;
+        }
+        return call(() -> delegate.get(key, type));
+    }
+
+    @Override
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        if (!breaker.tryAcquire()) {
+            try {
+                return valueLoader.call();
+            } catch (Exception e) {
+                throw new ValueRetrievalException(key, valueLoader, e);
+            }
+        }
+        return call(() -> delegate.get(key, valueLoader));
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        if (breaker.tryAcquire()) {
+            call(() -> {
+                delegate.put(key, value);
+                return null;
+            });
+        }
+    }
+
+    @Override
+    public void evict(Object key) {
+        if (!breaker.tryAcquire()) {
+            breaker.markForClear(delegate);
+            return;
+        }
+        try {
+            call(() -> {
+                delegate.evict(key);
+                return null;
+            });
+        } catch (DataAccessException e) {
+            breaker.markForClear(delegate);
+            throw e;
+        }
+    }
+
+    @Override
+    public void clear() {
+        if (!breaker.tryAcquire()) {
+            breaker.markForClear(delegate);
+            return;
+        }
+        try {
+            call(() -> {
+                delegate.clear();
+                return null;
+            });
+        } catch (DataAccessException e) {
+            breaker.markForClear(delegate);
+            throw e;
+        }
+    }
+
+    @Override
+    public Map<Object, Object> getAll(Collection<?> keys) {
+        if (!breaker.tryAcquire()) {
+            return Map.of();
+        }
+        return call(() -> MultiGetCache.getAll(delegate, keys));
+    }
+
+    @Override
+    public void putAll(Map<?, ?> entries) {
+        if (breaker.tryAcquire()) {
+            call(() -> {
+                MultiGetCache.putAll(delegate, entries);
+                return null;
+            });
+        }
+    }
+
+    /**
+     * Jalankan perintah yang sudah mendapat izin dari breaker.
+     */
+    private <T> T call(Callable<T> command) {
+        try {
+            T result = command.call();
+            breaker.onSuccess();
+            return result;
+        } catch (DataAccessException e) {
+            breaker.onFailure(e);
+            throw e;
+        } catch (RuntimeException e) {
+            // Bukan kegagalan Redis (misalnya loader / database gagal, atau error serialisasi)
+            breaker.onSuccess();
+            throw e;
+        } catch (Exception e) {
+            breaker.onSuccess();
+            throw new IllegalStateException(e);
+        }
+    }
+}
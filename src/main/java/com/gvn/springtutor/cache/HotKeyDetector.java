@@ -0,0 +1,120 @@
+package com.gvn.springtutor.cache;
+
+import com.gvn.springtutor.util.CountMinSketch;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Deteksi hot key dari pembacaan cache.
+ *
+ * - Hanya 1 dari sample-rate pembacaan yang dihitung, ke
+ *   {@link CountMinSketch} (memory tetap, tanpa object per key)
+ * - Key yang estimasinya mencapai threshold dalam satu window langsung
+ *   menjadi hot (maksimal top-k key)
+ * - Setiap window ({@link #rotateWindow()}) hot set dihitung ulang (top-k
+ *   dari estimasi) lalu semua counter dibagi dua, sehingga key yang sudah
+ *   sepi keluar dengan sendirinya
+ *
+ * Metric: {@code cache.hot.keys} (jumlah hot key saat ini).
+ */
+@Slf4j
+public class HotKeyDetector {
+
+    /**
+     * Key cache beserta nama cache-nya.
+     */
+    public record HotKey(String cacheName, String key) {
+
+        long hash() {
+            return ((long) cacheName.hashCode() << 32) ^ (key.hashCode() & 0xFFFFFFFFL);
+        }
+    }
+
+    private final CacheProperties.HotKeys properties;
+    private final CountMinSketch sketch;
+
+    /** Hot key beserta estimasi (sampled) terakhirnya */
+    private final Map<HotKey, Long> hot = new ConcurrentHashMap<>();
+
+    /** Key di atas threshold yang belum masuk karena hot sudah penuh */
+    private final Map<HotKey, Boolean> candidates = new ConcurrentHashMap<>();
+
+    public HotKeyDetector(CacheProperties.HotKeys properties, MeterRegistry registry) {
+        this.properties = properties;
+        // Lebar sketch jauh di atas top-k agar tabrakan jarang menaikkan key dingin
+        this.sketch = new CountMinSketch(4, Math.max(1024, properties.getTopK() * 64));
+        Gauge.builder("cache.hot.keys", hot, Map::size)
+                .description("Jumlah hot key yang direplikasi per node")
+                .register(registry);
+    }
+
+    /**
+     * Catat satu pembacaan (di-sample).
+     */
+    public void record(String cacheName, Object key) {
+        int sampleRate = properties.getSampleRate();
+        if (sampleRate > 1 && ThreadLocalRandom.current().nextInt(sampleRate) != 0) {
+            return;
+        }
+        HotKey hotKey = new HotKey(cacheName, String.valueOf(key));
+        long estimate = sketch.increment(hotKey.hash());
+        if (estimate < properties.getThreshold()) {
+            return;
+        }
+        if (hot.size() < properties.getTopK()) {
+            if (hot.put(hotKey, estimate) == null) {
+                log.debug("Hot key promoted: {}", hotKey);
+            }
+        } else if (!hot.containsKey(hotKey) && candidates.size() < properties.getTopK()) {
+            candidates.put(hotKey, Boolean.TRUE);
+        }
+    }
+
+    public boolean isHot(String cacheName, Object key) {
+        return !hot.isEmpty() && hot.containsKey(new HotKey(cacheName, String.valueOf(key)));
+    }
+
+    /**
+     * Hot key saat ini, urut dari yang paling sering dibaca.
+     *
+     * @return map hot key ke estimasi jumlah pembacaan (sudah dikali sample-rate)
+     */
+    public Map<HotKey, Long> snapshot() {
+        return hot.entrySet().stream()
+                .sorted(Map.Entry.<HotKey, Long>comparingByValue().reversed())
+                .collect(Collectors.toMap(Map.Entry::getKey,
+                        entry -> entry.getValue() * Math.max(1, properties.getSampleRate()),
+                        (a, b) -> a, LinkedHashMap::new));
+    }
+
+    /**
+     * Akhir window: top-k dari hot key dan kandidat yang masih di atas
+     * threshold, lalu aging counter.
+     */
+    @Scheduled(fixedDelayString = "${app.cache.hot-keys.window:10s}")
+    public void rotateWindow() {
+        List<Map.Entry<HotKey, Long>> ranked = Stream.concat(hot.keySet().stream(), candidates.keySet().stream())
+                .distinct()
+                .map(key -> Map.entry(key, sketch.estimate(key.hash())))
+                .filter(entry -> entry.getValue() >= properties.getThreshold())
+                .sorted(Map.Entry.<HotKey, Long>comparingByValue(Comparator.reverseOrder()))
+                .limit(properties.getTopK())
+                .toList();
+
+        hot.clear();
+        candidates.clear();
+        ranked.forEach(entry -> hot.put(entry.getKey(), entry.getValue()));
+        sketch.halve();
+    }
+}
@@ -0,0 +1,153 @@
+package com.gvn.springtutor.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+/**
+ * Replica lokal untuk hot key, di depan cache Redis.
+ *
+ * Setiap pembacaan dicatat ke {@link HotKeyDetector}. Value dari key yang
+ * sedang hot disimpan di Caffeine per node dengan TTL pendek
+ * (app.cache.hot-keys.replica-ttl), sehingga pembacaan berikutnya tidak ke
+ * Redis sama sekali. Key lain selalu dibaca dari Redis.
+ *
+ * Write / evict / clear langsung membuang replica di node ini; node lain
+ * bisa membaca value lama paling lama replica-ttl.
+ */
+public class HotKeyReplicaCache implements Cache, MultiGetCache {
+
+    private final Cache delegate;
+    private final HotKeyDetector detector;
+    private final Counter replicaHits;
+    private final com.github.benmanes.caffeine.cache.Cache<String, Object> replica;
+
+    public HotKeyReplicaCache(Cache delegate, HotKeyDetector detector, Duration replicaTtl, int maxSize,
+            Counter replicaHits) {
+        this.delegate = delegate;
+        this.detector = detector;
+        this.replicaHits = replicaHits;
+        this.replica = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(replicaTtl)
+                .build();
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        Object replicated = readReplica(key);
+        if (replicated != null) {
+            return new SimpleValueWrapper(replicated);
+        }
+        ValueWrapper value = delegate.get(key);
+        if (value != null && value.get() != null && detector.isHot(getName(), key)) {
+            replica.put(replicaKey(key), value.get());
+        }
+        return value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper value = get(key);
+        Object result = value != null ? value.get() : null;
+        if (result != null && type != null && !type.isInstance(result)) {
+            throw new IllegalStateException(
+                    "Cached value is not of required type [" + type.getName() + "]: " + result);
+        }
+        return (T) result;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        Object replicated = readReplica(key);
+        if (replicated != null) {
+            return (T) replicated;
+        }
+        T value = delegate.get(key, valueLoader);
+        if (value != null && detector.isHot(getName(), key)) {
+            replica.put(replicaKey(key), value);
+        }
+        return value;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        replica.invalidate(replicaKey(key));
+        delegate.put(key, value);
+    }
+
+    @Override
+    public void evict(Object key) {
+        replica.invalidate(replicaKey(key));
+        delegate.evict(key);
+    }
+
+    @Override
+    public void clear() {
+        replica.invalidateAll();
+        delegate.clear();
+    }
+
+    @Override
+    public Map<Object, Object> getAll(Collection<?> keys) {
+        Map<Object, Object> result = new LinkedHashMap<>();
+        List<Object> missing = new ArrayList<>();
+        for (Object key : keys) {
+            Object replicated = readReplica(key);
+            if (replicated != null) {
+                result.put(key, replicated);
+            } else {
+                missing.add(key);
+            }
+        }
+        if (!missing.isEmpty()) {
+            MultiGetCache.getAll(delegate, missing).forEach((key, value) -> {
+                if (detector.isHot(getName(), key)) {
+                    replica.put(replicaKey(key), value);
+                }
+                result.put(key, value);
+            });
+        }
+        return result;
+    }
+
+    @Override
+    public void putAll(Map<?, ?> entries) {
+        entries.keySet().forEach(key -> replica.invalidate(replicaKey(key)));
+        MultiGetCache.putAll(delegate, entries);
+    }
+
+    private Object readReplica(Object key) {
+        detector.record(getName(), key);
+        Object value = replica.getIfPresent(replicaKey(key));
+        if (value != null) {
+            replicaHits.increment();
+        }
+        return value;
+    }
+
+    private static String replicaKey(Object key) {
+        return String.valueOf(key);
+    }
+}
@@ -0,0 +1,157 @@
+package com.gvn.springtutor.cache;
+
+import org.springframework.cache.Cache;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+/**
+ * Cache dua tingkat: L1 Caffeine in-process di depan L2 Redis.
+ *
+ * - Read: L1, lalu L2; hit di L2 disalin ke L1
+ * - Write / evict / clear: diterapkan ke L2 dan L1, lalu diumumkan lewat
+ *   {@link HybridCacheInvalidation} agar L1 node lain ikut dibuang
+ *
+ * Key L1 disimpan sebagai String (sama seperti key di Redis) agar node lain
+ * bisa meng-evict berdasarkan isi pesan.
+ */
+public class HybridCache implements Cache, MultiGetCache {
+
+    private final Cache local;
+    private final Cache remote;
+    private final HybridCacheInvalidation invalidation;
+
+    HybridCache(Cache local, Cache remote, HybridCacheInvalidation invalidation) {
+        this.local = local;
+        this.remote = remote;
+        this.invalidation = invalidation;
+    }
+
+    @Override
+    public String getName() {
+        return remote.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return remote.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        String localKey = localKey(key);
+        ValueWrapper value = local.get(localKey);
+        if (value != null) {
+            return value;
+        }
+        value = remote.get(key);
+        if (value != null && value.get() != null) {
+            local.put(localKey, value.get());
+        }
+        return value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper value = get(key);
+        Object result = value != null ? value.get() : null;
+        if (result != null && type != null && !type.isInstance(result)) {
+            throw new IllegalStateException(
+                    "Cached value is not of required type [" + type.getName() + "]: " + result);
+        }
+        return (T) result;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        String localKey = localKey(key);
+        ValueWrapper value = local.get(localKey);
+        if (value != null) {
+            return (T) value.get();
+        }
+        T loaded = remote.get(key, valueLoader);
+        if (loaded != null) {
+            local.put(localKey, loaded);
+        }
+        return loaded;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        remote.put(key, value);
+        String localKey = localKey(key);
+        if (value != null) {
+            local.put(localKey, value);
+        } else {
+            local.evict(localKey);
+        }
+        invalidation.publishEvict(getName(), localKey);
+    }
+
+    @Override
+    public void evict(Object key) {
+        remote.evict(key);
+        String localKey = localKey(key);
+        local.evict(localKey);
+        invalidation.publishEvict(getName(), localKey);
+    }
+
+    @Override
+    public void clear() {
+        remote.clear();
+        local.clear();
+        invalidation.publishClear(getName());
+    }
+
+    @Override
+    public Map<Object, Object> getAll(Collection<?> keys) {
+        Map<Object, Object> result = new LinkedHashMap<>();
+        List<Object> missing = new ArrayList<>();
+        for (Object key : keys) {
+            ValueWrapper value = local.get(localKey(key));
+            if (value != null && value.get() != null) {
+                result.put(key, value.get());
+            } else {
+                missing.add(key);
+            }
+        }
+        if (!missing.isEmpty()) {
+            MultiGetCache.getAll(remote, missing).forEach((key, value) -> {
+                local.put(localKey(key), value);
+                result.put(key, value);
+            });
+        }
+        return result;
+    }
+
+    @Override
+    public void putAll(Map<?, ?> entries) {
+        MultiGetCache.putAll(remote, entries);
+        entries.forEach((key, value) -> {
+            if (value != null) {
+                local.put(localKey(key), value);
+            }
+        });
+    }
+
+    /**
+     * Dipanggil untuk pesan dari node lain: hanya L1 yang dibuang.
+     */
+    void evictLocal(String localKey) {
+        local.evict(localKey);
+    }
+
+    void clearLocal() {
+        local.clear();
+    }
+
+    private static String localKey(Object key) {
+        return String.valueOf(key);
+    }
+}
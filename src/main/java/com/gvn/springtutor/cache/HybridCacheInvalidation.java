@@ -0,0 +1,76 @@
+package com.gvn.springtutor.cache;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Invalidasi L1 {@link HybridCache} antar node.
+ *
+ * Perubahan di satu node dikirim ke channel {@code cache:l1:invalidate}.
+ * Jika pesan hilang (Redis putus), L1 node lain tertinggal paling lama
+ * app.cache.hybrid.local-ttl.
+ *
+ * Format pesan: {@code <nodeId>|<cacheName>|<key>} atau
+ * {@code <nodeId>|<cacheName>|} (clear)
+ */
+@Slf4j
+public class HybridCacheInvalidation {
+
+    static final String CHANNEL = "cache:l1:invalidate";
+
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final MessageBus messageBus;
+
+    /** HybridCache yang sedang dipakai per cache name */
+    private final Map<String, HybridCache> caches = new ConcurrentHashMap<>();
+
+    public HybridCacheInvalidation(MessageBus messageBus) {
+        this.messageBus = messageBus;
+        messageBus.subscribe(CHANNEL, this::onMessage);
+    }
+
+    /**
+     * Daftarkan cache (menggantikan cache lama dengan nama yang sama).
+     */
+    HybridCache register(HybridCache cache) {
+        caches.put(cache.getName(), cache);
+        return cache;
+    }
+
+    void publishEvict(String cacheName, String key) {
+        publish(nodeId + "|" + cacheName + "|" + key);
+    }
+
+    void publishClear(String cacheName) {
+        publish(nodeId + "|" + cacheName + "|");
+    }
+
+    private void publish(String payload) {
+        try {
+            messageBus.publish(CHANNEL, payload);
+        } catch (RuntimeException e) {
+            // L1 node lain tertinggal paling lama app.cache.hybrid.local-ttl
+            log.warn("Failed to publish L1 cache invalidation '{}': {}", payload, e.getMessage());
+        }
+    }
+
+    private void onMessage(String message) {
+        String[] parts = message.split("\\|", 3);
+        if (parts.length != 3 || nodeId.equals(parts[0])) {
+            return;
+        }
+        HybridCache cache = caches.get(parts[1]);
+        if (cache == null) {
+            return;
+        }
+        if (parts[2].isEmpty()) {
+            cache.clearLocal();
+        } else {
+            cache.evictLocal(parts[2]);
+        }
+    }
+}
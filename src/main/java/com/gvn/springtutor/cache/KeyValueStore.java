@@ -0,0 +1,67 @@
+package com.gvn.springtutor.cache;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Key-value store sederhana dengan TTL untuk state yang dipakai bersama
+ * (denylist token, refresh token, public key JWT).
+ *
+ * Implementasi: RedisKeyValueStore (multi-node) atau LocalKeyValueStore
+ * (in-process), dipilih lewat app.cache.backend.
+ */
+public interface KeyValueStore {
+
+    void set(String key, String value, Duration ttl);
+
+    /**
+     * Simpan tanpa expire.
+     */
+    void set(String key, String value);
+
+    /**
+     * Simpan hanya jika key belum ada (atomic, seperti SET NX).
+     *
+     * @return true jika value tersimpan
+     */
+    boolean setIfAbsent(String key, String value, Duration ttl);
+
+    /**
+     * Simpan banyak key sekaligus dengan TTL yang sama (Redis: satu pipeline).
+     */
+    void multiSet(Map<String, String> values, Duration ttl);
+
+    /**
+     * @return null jika key tidak ada atau sudah expire
+     */
+    String get(String key);
+
+    /**
+     * Ambil lalu hapus secara atomic.
+     *
+     * @return null jika key tidak ada atau sudah expire
+     */
+    String getAndDelete(String key);
+
+    /**
+     * Pindahkan value ke targetKey (dengan TTL) lalu hapus key, secara
+     * atomic: pemanggil lain tidak pernah melihat value hilang dari
+     * keduanya.
+     *
+     * @return value lama, atau null jika key tidak ada (targetKey tidak diubah)
+     */
+    String getAndMove(String key, String targetKey, Duration ttl);
+
+    boolean hasKey(String key);
+
+    /**
+     * @return value dengan urutan sama seperti keys (null untuk key yang tidak ada)
+     */
+    List<String> multiGet(List<String> keys);
+
+    /**
+     * Semua key dengan prefix tertentu.
+     */
+    List<String> keys(String prefix);
+}
@@ -0,0 +1,113 @@
+package com.gvn.springtutor.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * KeyValueStore in-process (backend local).
+ *
+ * Setiap entry punya TTL sendiri (Caffeine variable expiry). Isinya hilang
+ * saat aplikasi restart, jadi hanya cocok untuk single-node dan test.
+ *
+ * getAndMove di-serialize dengan lock, sehingga dua pemanggil untuk key
+ * yang sama tidak bisa sama-sama mendapat value.
+ */
+public class LocalKeyValueStore implements KeyValueStore {
+
+    private final Cache<String, Entry> entries = Caffeine.newBuilder()
+            .expireAfter(new Expiry<String, Entry>() {
+                @Override
+                public long expireAfterCreate(String key, Entry entry, long currentTime) {
+                    return entry.ttlNanos();
+                }
+
+                @Override
+                public long expireAfterUpdate(String key, Entry entry, long currentTime, long currentDuration) {
+                    return entry.ttlNanos();
+                }
+
+                @Override
+                public long expireAfterRead(String key, Entry entry, long currentTime, long currentDuration) {
+                    return currentDuration;
+                }
+            })
+            .build();
+
+    private final Object moveLock = new Object();
+
+    private record Entry(String value, long ttlNanos) {
+    }
+
+    @Override
+    public void set(String key, String value, Duration ttl) {
+        entries.put(key, new Entry(value, ttl.toNanos()));
+    }
+
+    @Override
+    public void set(String key, String value) {
+        entries.put(key, new Entry(value, Long.MAX_VALUE));
+    }
+
+    @Override
+    public boolean setIfAbsent(String key, String value, Duration ttl) {
+        return entries.asMap().putIfAbsent(key, new Entry(value, ttl.toNanos())) == null;
+    }
+
+    @Override
+    public void multiSet(Map<String, String> values, Duration ttl) {
+        values.forEach((key, value) -> set(key, value, ttl));
+    }
+
+    @Override
+    public String get(String key) {
+        Entry entry = entries.getIfPresent(key);
+        return entry != null ? entry.value() : null;
+    }
+
+    @Override
+    public String getAndDelete(String key) {
+        Entry entry = entries.asMap().remove(key);
+        return entry != null ? entry.value() : null;
+    }
+
+    @Override
+    public String getAndMove(String key, String targetKey, Duration ttl) {
+        synchronized (moveLock) {
+            Entry entry = entries.getIfPresent(key);
+            if (entry == null) {
+                return null;
+            }
+            // Target dulu, baru key dihapus: value selalu ada di salah satunya
+            set(targetKey, entry.value(), ttl);
+            entries.asMap().remove(key);
+            return entry.value();
+        }
+    }
+
+    @Override
+    public boolean hasKey(String key) {
+        return entries.getIfPresent(key) != null;
+    }
+
+    @Override
+    public List<String> multiGet(List<String> keys) {
+        List<String> values = new ArrayList<>(keys.size());
+        for (String key : keys) {
+            values.add(get(key));
+        }
+        return values;
+    }
+
+    @Override
+    public List<String> keys(String prefix) {
+        return entries.asMap().keySet().stream()
+                .filter(key -> key.startsWith(prefix))
+                .toList();
+    }
+}
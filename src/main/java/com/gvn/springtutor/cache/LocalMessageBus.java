@@ -0,0 +1,20 @@
+package com.gvn.springtutor.cache;
+
+import java.util.function.Consumer;
+
+/**
+ * MessageBus untuk backend local: hanya ada satu node, jadi tidak ada
+ * yang perlu diberi tahu. Publish tidak melakukan apa-apa.
+ */
+public class LocalMessageBus implements MessageBus {
+
+    @Override
+    public void publish(String channel, String message) {
+        // Tidak ada node lain
+    }
+
+    @Override
+    public void subscribe(String channel, Consumer<String> listener) {
+        // Tidak akan pernah ada pesan dari node lain
+    }
+}
@@ -0,0 +1,16 @@
+package com.gvn.springtutor.cache;
+
+import java.util.function.Consumer;
+
+/**
+ * Pub/sub antar instance aplikasi (invalidasi cache, revoke token, dll).
+ *
+ * Pesan hanya dikirim ke node lain; node pengirim harus sudah menerapkan
+ * perubahannya sendiri sebelum publish.
+ */
+public interface MessageBus {
+
+    void publish(String channel, String message);
+
+    void subscribe(String channel, Consumer<String> listener);
+}
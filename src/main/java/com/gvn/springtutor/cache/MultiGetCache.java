@@ -0,0 +1,49 @@
+package com.gvn.springtutor.cache;
+
+import org.springframework.cache.Cache;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Cache yang bisa membaca / menulis banyak key sekaligus (Redis: satu MGET
+ * dan satu pipeline SET, bukan N round-trip).
+ *
+ * Untuk cache lain, helper statis di sini jatuh ke get/put per key.
+ */
+public interface MultiGetCache {
+
+    /**
+     * @return key yang ada di cache beserta value-nya (tanpa entry null)
+     */
+    Map<Object, Object> getAll(Collection<?> keys);
+
+    /**
+     * Tulis banyak entry (misalnya backfill dari database). Tidak dianggap
+     * sebagai perubahan data, jadi tidak memicu invalidasi di node lain.
+     */
+    void putAll(Map<?, ?> entries);
+
+    static Map<Object, Object> getAll(Cache cache, Collection<?> keys) {
+        if (cache instanceof MultiGetCache multiGet) {
+            return multiGet.getAll(keys);
+        }
+        Map<Object, Object> result = new LinkedHashMap<>();
+        for (Object key : keys) {
+            Cache.ValueWrapper value = cache.get(key);
+            if (value != null && value.get() != null) {
+                result.put(key, value.get());
+            }
+        }
+        return result;
+    }
+
+    static void putAll(Cache cache, Map<?, ?> entries) {
+        if (cache instanceof MultiGetCache multiGet) {
+            multiGet.putAll(entries);
+        } else {
+            entries.forEach(cache::put);
+        }
+    }
+}
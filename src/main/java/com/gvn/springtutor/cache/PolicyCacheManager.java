@@ -0,0 +1,64 @@
+package com.gvn.springtutor.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * CacheManager yang membuat setiap cache dari {@link CachePolicy}-nya.
+ *
+ * Saat policy berubah, cache dibuat ulang dan menggantikan yang lama
+ * (CacheInterceptor memanggil getCache di setiap invocation, jadi perubahan
+ * langsung berlaku). Jika codec atau key prefix berubah, node asal
+ * perubahan mengosongkan cache lama agar entry di Redis yang tidak bisa
+ * dibaca lagi tidak tertinggal.
+ */
+@Slf4j
+public class PolicyCacheManager implements CacheManager {
+
+    private final CachePolicyRegistry registry;
+    private final Function<CachePolicy, Cache> factory;
+
+    private final Map<String, Cache> caches = new ConcurrentHashMap<>();
+
+    public PolicyCacheManager(CachePolicyRegistry registry, Function<CachePolicy, Cache> factory) {
+        this.registry = registry;
+        this.factory = factory;
+        registry.addListener(this::onPolicyChanged);
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        Cache cache = caches.get(name);
+        if (cache != null) {
+            return cache;
+        }
+        return caches.computeIfAbsent(name, key -> factory.apply(registry.get(key)));
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        Set<String> names = new LinkedHashSet<>(caches.keySet());
+        registry.getAll().forEach(policy -> names.add(policy.cacheName()));
+        return names;
+    }
+
+    private void onPolicyChanged(CachePolicy previous, CachePolicy current, boolean origin) {
+        Cache replaced = caches.put(current.cacheName(), factory.apply(current));
+        if (replaced != null && origin && !previous.isStorageCompatible(current)) {
+            try {
+                replaced.clear();
+            } catch (RuntimeException e) {
+                // Entry lama tetap ada sampai TTL-nya habis
+                log.warn("Could not clear cache '{}' after policy change: {}", current.cacheName(), e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.gvn.springtutor.cache;
+
+import org.springframework.cache.caffeine.CaffeineCache;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * CaffeineCache dengan {@link MultiGetCache}.
+ */
+public class PolicyCaffeineCache extends CaffeineCache implements MultiGetCache {
+
+    PolicyCaffeineCache(String name, com.github.benmanes.caffeine.cache.Cache<Object, Object> cache,
+            boolean allowNullValues) {
+        super(name, cache, allowNullValues);
+    }
+
+    @Override
+    public Map<Object, Object> getAll(Collection<?> keys) {
+        Map<Object, Object> result = new LinkedHashMap<>();
+        getNativeCache().getAllPresent(keys).forEach((key, stored) -> {
+            Object value = fromStoreValue(stored);
+            if (value != null) {
+                result.put(key, value);
+            }
+        });
+        return result;
+    }
+
+    @Override
+    public void putAll(Map<?, ?> entries) {
+        entries.forEach((key, value) -> getNativeCache().put(key, toStoreValue(value)));
+    }
+}
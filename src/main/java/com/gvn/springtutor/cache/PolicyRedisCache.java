@@ -0,0 +1,80 @@
+package com.gvn.springtutor.cache;
+
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.types.Expiration;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * RedisCache dengan multi-get (satu MGET) dan backfill (satu pipeline SET
+ * dengan TTL ber-jitter per entry).
+ *
+ * Key dan value di-serialize dengan cara yang sama seperti RedisCache,
+ * sehingga entry-nya bisa dibaca oleh @Cacheable dan sebaliknya.
+ */
+public class PolicyRedisCache extends RedisCache implements MultiGetCache {
+
+    private final CachePolicy policy;
+    private final RedisConnectionFactory connectionFactory;
+
+    PolicyRedisCache(CachePolicy policy, RedisCacheWriter cacheWriter, RedisCacheConfiguration config,
+            RedisConnectionFactory connectionFactory) {
+        super(policy.cacheName(), cacheWriter, config);
+        this.policy = policy;
+        this.connectionFactory = connectionFactory;
+    }
+
+    @Override
+    public Map<Object, Object> getAll(Collection<?> keys) {
+        Map<Object, Object> result = new LinkedHashMap<>();
+        if (keys.isEmpty()) {
+            return result;
+        }
+
+        List<Object> keyList = new ArrayList<>(keys);
+        byte[][] rawKeys = new byte[keyList.size()][];
+        for (int i = 0; i < rawKeys.length; i++) {
+            rawKeys[i] = serializeCacheKey(createCacheKey(keyList.get(i)));
+        }
+
+        List<byte[]> values;
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            values = connection.stringCommands().mGet(rawKeys);
+        }
+        for (int i = 0; values != null && i < keyList.size(); i++) {
+            byte[] raw = values.get(i);
+            if (raw != null) {
+                Object value = fromStoreValue(deserializeCacheValue(raw));
+                if (value != null) {
+                    result.put(keyList.get(i), value);
+                }
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public void putAll(Map<?, ?> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            connection.openPipeline();
+            entries.forEach((key, value) -> connection.stringCommands().set(
+                    serializeCacheKey(createCacheKey(key)),
+                    serializeCacheValue(toStoreValue(value)),
+                    Expiration.from(policy.nextTtl()),
+                    RedisStringCommands.SetOption.upsert()));
+            connection.closePipeline();
+        }
+    }
+}
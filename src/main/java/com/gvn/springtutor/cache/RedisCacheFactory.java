@@ -0,0 +1,49 @@
+package com.gvn.springtutor.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Membuat {@link PolicyRedisCache} dari {@link CachePolicy}: TTL ber-jitter
+ * per entry, key prefix, codec value dan null-caching.
+ *
+ * Cache yang dibuat tidak disimpan di sini (dikelola PolicyCacheManager).
+ */
+public class RedisCacheFactory {
+
+    private final RedisConnectionFactory connectionFactory;
+    private final RedisCacheWriter cacheWriter;
+    private final Map<CacheCodec, RedisSerializer<Object>> serializers = new EnumMap<>(CacheCodec.class);
+
+    public RedisCacheFactory(RedisConnectionFactory connectionFactory, ObjectMapper redisObjectMapper) {
+        this.connectionFactory = connectionFactory;
+        this.cacheWriter = RedisCacheWriter.nonLockingRedisCacheWriter(connectionFactory);
+        for (CacheCodec codec : CacheCodec.values()) {
+            serializers.put(codec, codec.serializer(redisObjectMapper));
+        }
+    }
+
+    public PolicyRedisCache create(CachePolicy policy) {
+        RedisCacheConfiguration config = RedisCacheConfiguration.defaultCacheConfig()
+                .entryTtl((key, value) -> policy.nextTtl())
+                .computePrefixWith(cacheName -> policy.keyPrefix())
+                .serializeKeysWith(
+                        RedisSerializationContext.SerializationPair
+                                .fromSerializer(new StringRedisSerializer()))
+                .serializeValuesWith(
+                        RedisSerializationContext.SerializationPair
+                                .fromSerializer(serializers.get(policy.codec())));
+        if (!policy.cacheNulls()) {
+            config = config.disableCachingNullValues();
+        }
+        return new PolicyRedisCache(policy, cacheWriter, config, connectionFactory);
+    }
+}
@@ -0,0 +1,173 @@
+package com.gvn.springtutor.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Circuit breaker untuk semua akses Redis (cache, KeyValueStore, MessageBus).
+ *
+ * - CLOSED: perintah dijalankan; setelah failure-threshold kegagalan
+ *   berturut-turut (DataAccessException: timeout, koneksi putus) menjadi OPEN
+ * - OPEN: perintah tidak dikirim ke Redis. Cache dianggap miss (langsung ke
+ *   database atau near-cache), operasi lain gagal cepat dengan
+ *   {@link CircuitOpenException}
+ * - HALF_OPEN: setelah open-duration, satu request dijadikan probe; berhasil
+ *   menjadi CLOSED, gagal kembali OPEN
+ *
+ * Evict yang terlewat selama OPEN dicatat; cache-nya dikosongkan saat
+ * kembali CLOSED agar tidak ada data lama yang tertinggal di Redis.
+ *
+ * Metric: {@code cache.redis.circuit.state} (0 closed, 1 open, 2 half-open)
+ * dan {@code cache.redis.circuit.rejected}.
+ */
+@Slf4j
+public class RedisCircuitBreaker {
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final int failureThreshold;
+    private final long openDurationNanos;
+
+    private final AtomicReference<State> state = new AtomicReference<>(State.CLOSED);
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private volatile long openedAt;
+
+    /** Cache yang evict-nya terlewat selama OPEN */
+    private final Map<String, Cache> pendingClears = new ConcurrentHashMap<>();
+
+    private final Counter rejected;
+
+    /**
+     * Dilempar tanpa mengirim perintah ke Redis selama OPEN.
+     */
+    public static class CircuitOpenException extends DataAccessResourceFailureException {
+
+        CircuitOpenException() {
+            super("Redis circuit breaker is open");
+        }
+
+        @Override
+        public synchronized Throwable fillInStackTrace() {
+            return this;
+        }
+    }
+
+    public RedisCircuitBreaker(CacheProperties.CircuitBreaker properties, MeterRegistry registry) {
+        this.failureThreshold = properties.getFailureThreshold();
+        this.openDurationNanos = properties.getOpenDuration().toNanos();
+        Gauge.builder("cache.redis.circuit.state", state, s -> s.get().ordinal())
+                .description("State circuit breaker Redis (0 closed, 1 open, 2 half-open)")
+                .register(registry);
+        this.rejected = Counter.builder("cache.redis.circuit.rejected")
+                .description("Perintah Redis yang dilewati karena circuit breaker open")
+                .register(registry);
+    }
+
+    public State getState() {
+        return state.get();
+    }
+
+    /**
+     * Boleh mengirim perintah ke Redis? Jika true, pemanggil wajib memanggil
+     * {@link #onSuccess()} atau {@link #onFailure(DataAccessException)}.
+     */
+    public boolean tryAcquire() {
+        State current = state.get();
+        if (current == State.CLOSED) {
+            return true;
+        }
+        if (current == State.OPEN && System.nanoTime() - openedAt >= openDurationNanos
+                && state.compareAndSet(State.OPEN, State.HALF_OPEN)) {
+            log.info("Redis circuit breaker half-open, probing");
+            return true;
+        }
+        rejected.increment();
+        return false;
+    }
+
+    /**
+     * Jalankan perintah Redis lewat breaker.
+     *
+     * @throws CircuitOpenException jika breaker open
+     */
+    public <T> T execute(Supplier<T> command) {
+        if (!tryAcquire()) {
+            throw new CircuitOpenException();
+        }
+        try {
+            T result = command.get();
+            onSuccess();
+            return result;
+        } catch (DataAccessException e) {
+            onFailure(e);
+            throw e;
+        } catch (RuntimeException e) {
+            // Redis menjawab (misalnya error serialisasi), jadi tetap dianggap sehat
+            onSuccess();
+            throw e;
+        }
+    }
+
+    public void run(Runnable command) {
+        execute(() -> {
+            command.run();
+            return null;
+        });
+    }
+
+    public void onSuccess() {
+        consecutiveFailures.set(0);
+        if (state.get() != State.CLOSED && state.getAndSet(State.CLOSED) != State.CLOSED) {
+            log.info("Redis circuit breaker closed");
+            clearPending();
+        }
+    }
+
+    public void onFailure(DataAccessException e) {
+        if (state.get() == State.HALF_OPEN) {
+            open(e);
+            return;
+        }
+        if (consecutiveFailures.incrementAndGet() >= failureThreshold && state.get() == State.CLOSED) {
+            open(e);
+        }
+    }
+
+    /**
+     * Catat cache yang evict / clear-nya tidak sampai ke Redis.
+     */
+    void markForClear(Cache cache) {
+        pendingClears.put(cache.getName(), cache);
+    }
+
+    private void open(DataAccessException e) {
+        openedAt = System.nanoTime();
+        state.set(State.OPEN);
+        log.warn("Redis circuit breaker opened after {} failure(s): {}", consecutiveFailures.get(), e.getMessage());
+    }
+
+    private void clearPending() {
+        for (Map.Entry<String, Cache> entry : pendingClears.entrySet()) {
+            try {
+                entry.getValue().clear();
+                pendingClears.remove(entry.getKey(), entry.getValue());
+                log.info("Cleared cache '{}' after missed evictions while Redis was unavailable", entry.getKey());
+            } catch (RuntimeException e) {
+                log.warn("Could not clear cache '{}' after Redis recovered: {}", entry.getKey(), e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.gvn.springtutor.cache;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.core.types.Expiration;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * KeyValueStore di Redis (backend redis dan hybrid).
+ *
+ * Semua perintah lewat {@link RedisCircuitBreaker}: selama Redis tidak
+ * sehat, operasi gagal cepat dengan CircuitOpenException alih-alih
+ * menunggu timeout.
+ *
+ * getAndMove memakai script Lua (GET + SET PX + DEL dalam satu perintah),
+ * sehingga kedua key harus berada di node Redis yang sama.
+ */
+@RequiredArgsConstructor
+public class RedisKeyValueStore implements KeyValueStore {
+
+    private static final int SCAN_BATCH_SIZE = 500;
+
+    private static final RedisScript<String> GET_AND_MOVE = new DefaultRedisScript<>("""
+            local value = redis.call('GET', KEYS[1])
+            if value then
+                redis.call('SET', KEYS[2], value, 'PX', ARGV[1])
+                redis.call('DEL', KEYS[1])
+            end
+            return value
+            """, String.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final RedisCircuitBreaker breaker;
+
+    @Override
+    public void set(String key, String value, Duration ttl) {
+        breaker.run(() -> redisTemplate.opsForValue().set(key, value, ttl));
+    }
+
+    @Override
+    public void set(String key, String value) {
+        breaker.run(() -> redisTemplate.opsForValue().set(key, value));
+    }
+
+    @Override
+    public boolean setIfAbsent(String key, String value, Duration ttl) {
+        return breaker.execute(() -> Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(key, value, ttl)));
+    }
+
+    @Override
+    public void multiSet(Map<String, String> values, Duration ttl) {
+        if (values.isEmpty()) {
+            return;
+        }
+        Expiration expiration = Expiration.from(ttl);
+        breaker.run(() -> redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            values.forEach((key, value) -> connection.stringCommands().set(bytes(key), bytes(value), expiration,
+                    RedisStringCommands.SetOption.upsert()));
+            return null;
+        }));
+    }
+
+    @Override
+    public String get(String key) {
+        return breaker.execute(() -> redisTemplate.opsForValue().get(key));
+    }
+
+    @Override
+    public String getAndDelete(String key) {
+        return breaker.execute(() -> redisTemplate.opsForValue().getAndDelete(key));
+    }
+
+    @Override
+    public String getAndMove(String key, String targetKey, Duration ttl) {
+        return breaker.execute(() -> redisTemplate.execute(GET_AND_MOVE, List.of(key, targetKey),
+                Long.toString(ttl.toMillis())));
+    }
+
+    @Override
+    public boolean hasKey(String key) {
+        return breaker.execute(() -> Boolean.TRUE.equals(redisTemplate.hasKey(key)));
+    }
+
+    @Override
+    public List<String> multiGet(List<String> keys) {
+        if (keys.isEmpty()) {
+            return List.of();
+        }
+        List<String> values = breaker.execute(() -> redisTemplate.opsForValue().multiGet(keys));
+        return values != null ? values : new ArrayList<>(Collections.nCopies(keys.size(), null));
+    }
+
+    @Override
+    public List<String> keys(String prefix) {
+        return breaker.execute(() -> {
+            ScanOptions options = ScanOptions.scanOptions().match(prefix + "*").count(SCAN_BATCH_SIZE).build();
+            List<String> keys = new ArrayList<>();
+            try (Cursor<String> cursor = redisTemplate.scan(options)) {
+                cursor.forEachRemaining(keys::add);
+            }
+            return keys;
+        });
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,33 @@
+package com.gvn.springtutor.cache;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+
+/**
+ * MessageBus lewat Redis pub/sub (backend redis dan hybrid).
+ * Publish lewat {@link RedisCircuitBreaker}.
+ */
+@RequiredArgsConstructor
+public class RedisMessageBus implements MessageBus {
+
+    private final StringRedisTemplate redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final RedisCircuitBreaker breaker;
+
+    @Override
+    public void publish(String channel, String message) {
+        breaker.run(() -> redisTemplate.convertAndSend(channel, message));
+    }
+
+    @Override
+    public void subscribe(String channel, Consumer<String> listener) {
+        listenerContainer.addMessageListener(
+                (message, pattern) -> listener.accept(new String(message.getBody(), StandardCharsets.UTF_8)),
+                new ChannelTopic(channel));
+    }
+}
@@ -10,8 +10,14 @@ import org.springframework.boot.CommandLineRunner;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
 
+import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import com.gvn.springtutor.entity.Product;
 import com.gvn.springtutor.repository.ProductRepository;
@@ -21,12 +27,28 @@ import com.gvn.springtutor.repository.ProductRepository;
  * 
  * Password sekarang di-encode menggunakan BCryptPasswordEncoder
  * untuk kompatibilitas dengan Spring Security.
+ *
+ * Setiap jenis seed (role, user, product) dicek dengan satu query IN, lalu
+ * yang belum ada disimpan sekaligus dengan saveAll. Saat restart (semua seed
+ * sudah ada) startup hanya membayar tiga SELECT dan tidak ada BCrypt.
  */
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class DataInitializer implements CommandLineRunner {
 
+    /** Role user dan role reviewer untuk alur approval pengajuan (lihat ApplicationStatus) */
+    private static final List<String> ROLES = List.of("ADMIN", "USER", "MARKETING", "BRANCH_MANAGER", "BACKOFFICE");
+
+    /** Sample user; password akan di-encode dengan BCrypt */
+    private static final List<SeedUser> USERS = List.of(
+            new SeedUser("admin", "admin@example.com", "admin123", List.of("ADMIN", "USER")));
+
+    private static final List<SeedProduct> PRODUCTS = List.of(
+            new SeedProduct("Bronze", 12, 5.0, new BigDecimal("5000000")),
+            new SeedProduct("Silver", 24, 7.0, new BigDecimal("15000000")),
+            new SeedProduct("Gold", 36, 9.0, new BigDecimal("50000000")));
+
     private final RoleRepository roleRepository;
     private final UserRepository userRepository;
     private final ProductRepository productRepository;
@@ -36,75 +58,88 @@ public class DataInitializer implements CommandLineRunner {
     public void run(String... args) throws Exception {
         log.info("=== Initializing Data ===");
 
-        // Create roles jika belum ada
-        Role adminRole = createRoleIfNotExists("ADMIN");
-        Role userRole = createRoleIfNotExists("USER");
-
-        // Create sample user dengan 2 role jika belum ada
-        // Password akan di-encode dengan BCrypt
-        createUserIfNotExists("admin", "admin@example.com", "admin123", adminRole, userRole);
-
-        createProductIfNotExists("Bronze", 12, 5.0);
-        createProductIfNotExists("Silver", 24, 7.0);
-        createProductIfNotExists("Gold", 36, 9.0);
+        Map<String, Role> roles = createRolesIfNotExist();
+        createUsersIfNotExist(roles);
+        createProductsIfNotExist();
 
         log.info("=== Data Initialization Complete ===");
     }
 
     /**
-     * Membuat role jika belum ada di database.
+     * Membuat role yang belum ada di database.
+     *
+     * @return semua role seed, per nama
      */
-    private Role createRoleIfNotExists(String roleName) {
-        return roleRepository.findByName(roleName)
-                .orElseGet(() -> {
-                    log.info("Creating role: {}", roleName);
-                    Role role = Role.builder()
-                            .name(roleName)
-                            .build();
-                    return roleRepository.save(role);
-                });
+    private Map<String, Role> createRolesIfNotExist() {
+        Map<String, Role> roles = roleRepository.findByNameIn(ROLES).stream()
+                .collect(Collectors.toMap(Role::getName, Function.identity()));
+        List<Role> missing = ROLES.stream()
+                .filter(name -> !roles.containsKey(name))
+                .map(name -> Role.builder().name(name).build())
+                .toList();
+        if (!missing.isEmpty()) {
+            log.info("Creating roles: {}", missing.stream().map(Role::getName).toList());
+            roleRepository.saveAll(missing).forEach(role -> roles.put(role.getName(), role));
+        }
+        return roles;
     }
 
     /**
-     * Membuat user jika belum ada di database.
-     * Password akan di-encode menggunakan BCrypt.
+     * Membuat user yang belum ada di database.
+     * Password hanya di-encode (BCrypt) untuk user yang benar-benar dibuat.
      */
-    private void createUserIfNotExists(String username, String email, String password, Role... roles) {
-        if (userRepository.findByUsername(username).isEmpty()) {
-            log.info("Creating user: {}", username);
-
+    private void createUsersIfNotExist(Map<String, Role> roles) {
+        Set<String> existing = new HashSet<>(
+                userRepository.findExistingUsernames(USERS.stream().map(SeedUser::username).toList()));
+        List<User> missing = new ArrayList<>();
+        for (SeedUser seed : USERS) {
+            if (existing.contains(seed.username())) {
+                log.info("User '{}' already exists, skipping...", seed.username());
+                continue;
+            }
             Set<Role> roleSet = new HashSet<>();
-            for (Role role : roles) {
-                roleSet.add(role);
+            for (String roleName : seed.roles()) {
+                roleSet.add(roles.get(roleName));
             }
-
-            User user = User.builder()
-                    .username(username)
-                    .email(email)
-                    .password(passwordEncoder.encode(password)) // Encode password dengan BCrypt
+            missing.add(User.builder()
+                    .username(seed.username())
+                    .email(seed.email())
+                    .password(passwordEncoder.encode(seed.password())) // Encode password dengan BCrypt
                     .isActive(true)
                     .roles(roleSet)
-                    .build();
-
-            userRepository.save(user);
-            log.info("User '{}' created with roles: {}", username, roleSet);
-        } else {
-            log.info("User '{}' already exists, skipping...", username);
+                    .build());
+            log.info("Creating user '{}' with roles: {}", seed.username(), seed.roles());
+        }
+        if (!missing.isEmpty()) {
+            userRepository.saveAll(missing);
         }
     }
 
-    private void createProductIfNotExists(String name, Integer tenor, Double interestRate) {
-        if (productRepository.findByName(name).isEmpty()) {
-            log.info("Creating product: {}", name);
-            Product product = Product.builder()
-                    .name(name)
-                    .tenor(tenor)
-                    .interestRate(interestRate)
-                    .build();
-            productRepository.save(product);
-            log.info("Product '{}' created", name);
-        } else {
-            log.info("Product '{}' already exists, skipping...", name);
+    private void createProductsIfNotExist() {
+        Set<String> existing = new HashSet<>(
+                productRepository.findExistingNames(PRODUCTS.stream().map(SeedProduct::name).toList()));
+        List<Product> missing = new ArrayList<>();
+        for (SeedProduct seed : PRODUCTS) {
+            if (existing.contains(seed.name())) {
+                log.info("Product '{}' already exists, skipping...", seed.name());
+                continue;
+            }
+            log.info("Creating product: {}", seed.name());
+            missing.add(Product.builder()
+                    .name(seed.name())
+                    .tenor(seed.tenor())
+                    .interestRate(seed.interestRate())
+                    .maxAmount(seed.maxAmount())
+                    .build());
+        }
+        if (!missing.isEmpty()) {
+            productRepository.saveAll(missing);
         }
     }
+
+    private record SeedUser(String username, String email, String password, List<String> roles) {
+    }
+
+    private record SeedProduct(String name, Integer tenor, Double interestRate, BigDecimal maxAmount) {
+    }
 }
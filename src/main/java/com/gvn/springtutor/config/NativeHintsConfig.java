@@ -0,0 +1,103 @@
+package com.gvn.springtutor.config;
+
+import com.gvn.springtutor.dto.ApplicationStatusEvent;
+import com.gvn.springtutor.entity.Applications;
+import com.gvn.springtutor.entity.ApplicationsHistory;
+import com.gvn.springtutor.entity.OutboxEvent;
+import com.gvn.springtutor.entity.Product;
+import com.gvn.springtutor.entity.ReplicationHeartbeat;
+import com.gvn.springtutor.entity.Role;
+import com.gvn.springtutor.entity.User;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+
+import java.util.List;
+
+/**
+ * Metadata reflection/serialization untuk native image (mvn -Pnative, lihat
+ * pom.xml). Di JVM biasa class ini tidak berpengaruh.
+ *
+ * Yang tidak bisa dideteksi Spring AOT sendiri:
+ * - Entity dan event yang di-(de)serialize Jackson di luar signature
+ *   controller: cache Redis codec typed-json, payload outbox, event SSE,
+ *   dan Class.forName di SecondLevelCacheSync
+ * - Value cache Redis dengan codec jdk (Java serialization), termasuk
+ *   koleksi Hibernate dan koleksi immutable dari Stream.toList()
+ * - jjwt-impl dan jjwt-jackson, yang di-load jjwt-api lewat nama class
+ *   dan ServiceLoader
+ * - application.conf (konfigurasi JCache Caffeine untuk L2 cache)
+ */
+@Configuration(proxyBeanMethods = false)
+@ImportRuntimeHints(NativeHintsConfig.Registrar.class)
+@RegisterReflectionForBinding({ User.class, Role.class, Product.class, Applications.class,
+        ApplicationsHistory.class, OutboxEvent.class, ReplicationHeartbeat.class,
+        ApplicationStatusEvent.class })
+public class NativeHintsConfig {
+
+    /** Class yang disimpan di Redis dengan codec jdk */
+    static final List<Class<?>> SERIALIZABLE_TYPES = List.of(User.class, Role.class, Product.class);
+
+    /** Class JDK/Hibernate yang ikut ter-serialize bersama SERIALIZABLE_TYPES */
+    static final List<String> SERIALIZABLE_TYPE_NAMES = List.of(
+            "java.lang.Boolean", "java.lang.Double", "java.lang.Enum", "java.lang.Integer", "java.lang.Long",
+            "java.lang.Number", "java.lang.String", "java.math.BigDecimal", "java.math.BigInteger",
+            "java.time.Ser", "java.util.ArrayList", "java.util.HashSet", "java.util.LinkedHashSet",
+            "java.util.Optional", "java.util.ImmutableCollections$List12", "java.util.ImmutableCollections$ListN",
+            "java.util.CollSer",
+            "org.hibernate.collection.spi.AbstractPersistentCollection",
+            "org.hibernate.collection.spi.PersistentSet",
+            "org.hibernate.collection.spi.PersistentBag");
+
+    /**
+     * Implementasi JJWT yang dibuat jjwt-api lewat Classes.newInstance /
+     * invokeStatic (0.12.x). Nama yang tidak ada di classpath dilewati.
+     */
+    static final List<String> JJWT_TYPE_NAMES = List.of(
+            "io.jsonwebtoken.impl.DefaultJwtBuilder",
+            "io.jsonwebtoken.impl.DefaultJwtParserBuilder",
+            "io.jsonwebtoken.impl.DefaultJwtHeaderBuilder",
+            "io.jsonwebtoken.impl.DefaultClaimsBuilder",
+            "io.jsonwebtoken.impl.io.StandardCompressionAlgorithms",
+            "io.jsonwebtoken.impl.security.StandardSecureDigestAlgorithms",
+            "io.jsonwebtoken.impl.security.StandardEncryptionAlgorithms",
+            "io.jsonwebtoken.impl.security.StandardKeyAlgorithms",
+            "io.jsonwebtoken.impl.security.StandardKeyOperations",
+            "io.jsonwebtoken.impl.security.StandardHashAlgorithms",
+            "io.jsonwebtoken.impl.security.StandardCurves",
+            "io.jsonwebtoken.impl.security.KeysBridge",
+            "io.jsonwebtoken.impl.security.DefaultDynamicJwkBuilder",
+            "io.jsonwebtoken.impl.security.DefaultJwkParserBuilder",
+            "io.jsonwebtoken.impl.security.DefaultJwkSetBuilder",
+            "io.jsonwebtoken.impl.security.DefaultJwkSetParserBuilder",
+            "io.jsonwebtoken.impl.security.DefaultKeyOperationBuilder",
+            "io.jsonwebtoken.impl.security.DefaultKeyOperationPolicyBuilder",
+            "io.jsonwebtoken.jackson.io.JacksonSerializer",
+            "io.jsonwebtoken.jackson.io.JacksonDeserializer");
+
+    static class Registrar implements RuntimeHintsRegistrar {
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            for (Class<?> type : SERIALIZABLE_TYPES) {
+                hints.serialization().registerType(TypeReference.of(type));
+            }
+            for (String name : SERIALIZABLE_TYPE_NAMES) {
+                hints.serialization().registerType(TypeReference.of(name));
+            }
+
+            for (String name : JJWT_TYPE_NAMES) {
+                hints.reflection().registerTypeIfPresent(classLoader, name,
+                        MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                        MemberCategory.INVOKE_DECLARED_METHODS);
+            }
+            hints.resources().registerPattern("META-INF/services/io.jsonwebtoken.*");
+
+            hints.resources().registerPattern("application.conf");
+        }
+    }
+}
@@ -5,18 +5,22 @@ import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import org.springframework.cache.annotation.CachingConfigurerSupport;
 import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.interceptor.CacheErrorHandler;
+import org.springframework.cache.interceptor.LoggingCacheErrorHandler;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.data.redis.cache.RedisCacheConfiguration;
-import org.springframework.data.redis.cache.RedisCacheManager;
-import org.springframework.data.redis.connection.RedisConnectionFactory;
 //import org.springframework.data.redis.core.RedisTemplate;
 //import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
-import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import org.springframework.data.redis.serializer.RedisSerializationContext;
-import org.springframework.data.redis.serializer.StringRedisSerializer;
 
+/**
+ * Aktifkan Spring Cache dan ObjectMapper untuk serialisasi value cache.
+ * CacheManager, KeyValueStore dan MessageBus dibuat di CacheBackendConfig
+ * sesuai app.cache.backend.
+ *
+ * Error dari cache (Redis timeout / down) tidak menggagalkan request:
+ * dicatat sebagai warning lalu method dijalankan seperti cache miss.
+ */
 @Configuration
 @EnableCaching
 @SuppressWarnings({ "deprecation", "removal" })
@@ -44,6 +48,11 @@ public class RedisConfig extends CachingConfigurerSupport {
     // return template;
     // }
 
+    @Override
+    public CacheErrorHandler errorHandler() {
+        return new LoggingCacheErrorHandler("com.gvn.springtutor.cache", false);
+    }
+
     @Bean
     public ObjectMapper redisObjectMapper() {
         ObjectMapper mapper = new ObjectMapper();
@@ -63,26 +72,4 @@ public class RedisConfig extends CachingConfigurerSupport {
     // redisTemplate.setDefaultSerializer(new GenericJackson2JsonRedisSerializer());
     // return redisTemplate;
     // }
-
-    @Bean
-    public RedisCacheManager cacheManager(
-            RedisConnectionFactory factory,
-            ObjectMapper redisObjectMapper) {
-
-        Jackson2JsonRedisSerializer<Object> serializer = new Jackson2JsonRedisSerializer<>(Object.class);
-        serializer.setObjectMapper(redisObjectMapper);
-
-        RedisCacheConfiguration config = RedisCacheConfiguration.defaultCacheConfig()
-                .serializeKeysWith(
-                        RedisSerializationContext.SerializationPair
-                                .fromSerializer(new StringRedisSerializer()))
-                .serializeValuesWith(
-                        RedisSerializationContext.SerializationPair
-                                .fromSerializer(serializer))
-                .disableCachingNullValues();
-
-        return RedisCacheManager.builder(factory)
-                .cacheDefaults(config)
-                .build();
-    }
-}
\ No newline at end of file
+}
@@ -0,0 +1,29 @@
+package com.gvn.springtutor.config;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA entity listener untuk entity yang disimpan di second-level cache.
+ *
+ * Dibuat oleh Hibernate lewat Spring bean container, karena itu dependency
+ * di-resolve secara lazy (ObjectProvider) untuk menghindari circular reference
+ * dengan EntityManagerFactory yang sedang dibangun.
+ */
+@Component
+@RequiredArgsConstructor
+public class SecondLevelCacheInvalidationListener {
+
+    private final ObjectProvider<SecondLevelCacheSync> cacheSync;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    void onChange(Object entity) {
+        cacheSync.ifAvailable(sync -> sync.publishAfterCommit(entity));
+    }
+}
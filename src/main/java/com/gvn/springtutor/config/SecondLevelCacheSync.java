@@ -0,0 +1,93 @@
+package com.gvn.springtutor.config;
+
+import com.gvn.springtutor.cache.MessageBus;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.UUID;
+
+/**
+ * Sinkronisasi Hibernate second-level cache antar instance aplikasi.
+ *
+ * Region L2 (lihat application.conf) disimpan in-process di setiap node.
+ * Setelah transaksi yang mengubah Role/Product commit, node pengirim
+ * mem-publish pesan lewat MessageBus (Redis pub/sub); node lain membuang
+ * entry entity, natural-id dan query cache yang terkait agar tidak membaca
+ * data lama.
+ *
+ * Format pesan: {@code <nodeId>|<nama class entity>|<id>}
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SecondLevelCacheSync {
+
+    static final String CHANNEL = "l2-cache:invalidate";
+
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final MessageBus messageBus;
+
+    @PostConstruct
+    void subscribe() {
+        messageBus.subscribe(CHANNEL, this::onMessage);
+    }
+
+    /**
+     * Publish invalidasi setelah transaksi aktif commit.
+     * Jika tidak ada transaksi, langsung publish.
+     */
+    public void publishAfterCommit(Object entity) {
+        Object id = entityManagerFactory.getPersistenceUnitUtil().getIdentifier(entity);
+        String payload = nodeId + "|" + entity.getClass().getName() + "|" + id;
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    publish(payload);
+                }
+            });
+        } else {
+            publish(payload);
+        }
+    }
+
+    private void publish(String payload) {
+        try {
+            messageBus.publish(CHANNEL, payload);
+        } catch (RuntimeException e) {
+            // Cache lokal node ini sudah benar; node lain akan tertinggal
+            // sampai entry-nya expire (lihat policy di application.conf).
+            log.warn("Failed to publish L2 cache invalidation '{}': {}", payload, e.getMessage());
+        }
+    }
+
+    private void onMessage(String message) {
+        String[] parts = message.split("\\|", 3);
+        if (parts.length != 3 || nodeId.equals(parts[0])) {
+            return;
+        }
+
+        try {
+            Class<?> entityClass = Class.forName(parts[1]);
+            Long id = Long.valueOf(parts[2]);
+
+            Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+            cache.evictEntityData(entityClass, id);
+            cache.evictNaturalIdData(entityClass);
+            cache.evictQueryRegions();
+            log.debug("Evicted L2 cache for {}#{} (from node {})", entityClass.getSimpleName(), id, parts[0]);
+        } catch (ClassNotFoundException | NumberFormatException e) {
+            log.warn("Ignoring malformed L2 cache invalidation message: {}", e.getMessage());
+        }
+    }
+}
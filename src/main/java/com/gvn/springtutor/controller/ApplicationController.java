@@ -0,0 +1,164 @@
+package com.gvn.springtutor.controller;
+
+import com.gvn.springtutor.base.ApiResponse;
+import com.gvn.springtutor.dto.ApplicationHistoryResponse;
+import com.gvn.springtutor.dto.ApplicationResponse;
+import com.gvn.springtutor.dto.ApplicationSubmitRequest;
+import com.gvn.springtutor.dto.ApplicationTransitionRequest;
+import com.gvn.springtutor.entity.ApplicationAction;
+import com.gvn.springtutor.security.JwtAuthenticationDetails;
+import com.gvn.springtutor.service.ApplicationQueueService;
+import com.gvn.springtutor.service.ApplicationService;
+import com.gvn.springtutor.util.ResponseUtil;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+
+/**
+ * REST Controller untuk pengajuan pinjaman dan approval.
+ *
+ * Approve/reject dan work-queue dibatasi untuk role MARKETING,
+ * BRANCH_MANAGER, BACKOFFICE dan ADMIN (lihat SecurityConfig).
+ */
+@RestController
+@RequestMapping("/applications")
+@RequiredArgsConstructor
+public class ApplicationController {
+
+    private final ApplicationService applicationService;
+    private final ApplicationQueueService applicationQueueService;
+
+    /**
+     * POST /applications - Ajukan pinjaman sebagai user yang sedang login.
+     */
+    @PostMapping
+    public ResponseEntity<ApiResponse<ApplicationResponse>> submit(
+            @Valid @RequestBody ApplicationSubmitRequest request, Authentication authentication) {
+        ApplicationResponse response = applicationService.submit(authentication.getName(), request.getProductId());
+        return ResponseUtil.created(response, "Application submitted successfully");
+    }
+
+    /**
+     * GET /applications - Pengajuan milik user yang sedang login.
+     */
+    @GetMapping
+    public ResponseEntity<ApiResponse<List<ApplicationResponse>>> getMyApplications(Authentication authentication) {
+        List<ApplicationResponse> applications = applicationService.getMyApplications(authentication.getName());
+        return ResponseUtil.ok(applications, "Applications retrieved successfully");
+    }
+
+    /**
+     * GET /applications/events - Stream SSE perubahan status pengajuan milik
+     * user yang sedang login (event "application-status").
+     */
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter events(Authentication authentication) {
+        if (authentication.getDetails() instanceof JwtAuthenticationDetails token) {
+            return applicationService.subscribeEvents(authentication.getName(),
+                    token.getTokenId(), token.getExpiresAt());
+        }
+        return applicationService.subscribeEvents(authentication.getName(), null, null);
+    }
+
+    /**
+     * POST /applications/queue/claim?count=10 - Claim sampai count pengajuan
+     * dari antrean reviewer (lease app.approval-queue.lease).
+     */
+    @PostMapping("/queue/claim")
+    public ResponseEntity<ApiResponse<List<ApplicationResponse>>> claim(
+            @RequestParam(defaultValue = "1") int count, Authentication authentication) {
+        List<ApplicationResponse> claimed = applicationQueueService.claim(authentication.getName(),
+                authentication.getAuthorities(), count);
+        return ResponseUtil.ok(claimed, "Applications claimed successfully");
+    }
+
+    /**
+     * POST /applications/queue/next - Pengajuan berikutnya dari buffer
+     * prefetch reviewer; data null jika antrean kosong.
+     */
+    @PostMapping("/queue/next")
+    public ResponseEntity<ApiResponse<ApplicationResponse>> next(Authentication authentication) {
+        ApplicationResponse next = applicationQueueService.next(authentication.getName(),
+                authentication.getAuthorities());
+        return ResponseUtil.ok(next, next != null ? "Application claimed successfully" : "Queue is empty");
+    }
+
+    /**
+     * POST /applications/queue/{id}/release - Kembalikan pengajuan yang
+     * di-claim ke antrean.
+     */
+    @PostMapping("/queue/{id}/release")
+    public ResponseEntity<ApiResponse<Void>> release(@PathVariable Long id, Authentication authentication) {
+        applicationQueueService.release(authentication.getName(), id);
+        return ResponseUtil.ok(null, "Application released successfully");
+    }
+
+    /**
+     * DELETE /applications/queue - Akhiri sesi reviewer; pengajuan di buffer
+     * prefetch kembali ke antrean.
+     */
+    @DeleteMapping("/queue")
+    public ResponseEntity<ApiResponse<Integer>> releaseBuffered(Authentication authentication) {
+        int released = applicationQueueService.releaseBuffered(authentication.getName());
+        return ResponseUtil.ok(released, "Buffered applications released successfully");
+    }
+
+    /**
+     * GET /applications/{id} - Detail pengajuan (termasuk version).
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<ApiResponse<ApplicationResponse>> getApplication(@PathVariable Long id,
+            Authentication authentication) {
+        ApplicationResponse response = applicationService.getApplication(id, authentication.getName(),
+                authentication.getAuthorities());
+        return ResponseUtil.ok(response, "Application retrieved successfully");
+    }
+
+    /**
+     * GET /applications/{id}/history?since=2026-01-01 - Timeline status
+     * pengajuan. Tanpa since, hanya riwayat dalam app.history.query-window.
+     */
+    @GetMapping("/{id}/history")
+    public ResponseEntity<ApiResponse<List<ApplicationHistoryResponse>>> getHistory(@PathVariable Long id,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate since,
+            Authentication authentication) {
+        List<ApplicationHistoryResponse> history = applicationService.getHistory(id,
+                since != null ? since.atStartOfDay(ZoneOffset.UTC).toInstant() : null,
+                authentication.getName(), authentication.getAuthorities());
+        return ResponseUtil.ok(history, "Application history retrieved successfully");
+    }
+
+    /**
+     * POST /applications/{id}/approve - Approve tahap yang sedang berjalan.
+     * 409 jika status/version sudah diubah reviewer lain.
+     */
+    @PostMapping("/{id}/approve")
+    public ResponseEntity<ApiResponse<ApplicationResponse>> approve(@PathVariable Long id,
+            @Valid @RequestBody ApplicationTransitionRequest request, Authentication authentication) {
+        ApplicationResponse response = applicationService.transition(id, ApplicationAction.APPROVE, request,
+                authentication.getName(), authentication.getAuthorities());
+        return ResponseUtil.ok(response, "Application approved successfully");
+    }
+
+    /**
+     * POST /applications/{id}/reject - Reject tahap yang sedang berjalan.
+     * 409 jika status/version sudah diubah reviewer lain.
+     */
+    @PostMapping("/{id}/reject")
+    public ResponseEntity<ApiResponse<ApplicationResponse>> reject(@PathVariable Long id,
+            @Valid @RequestBody ApplicationTransitionRequest request, Authentication authentication) {
+        ApplicationResponse response = applicationService.transition(id, ApplicationAction.REJECT, request,
+                authentication.getName(), authentication.getAuthorities());
+        return ResponseUtil.ok(response, "Application rejected successfully");
+    }
+}
@@ -3,12 +3,14 @@ package com.gvn.springtutor.controller;
 import com.gvn.springtutor.base.ApiResponse;
 import com.gvn.springtutor.dto.AuthRequest;
 import com.gvn.springtutor.dto.AuthResponse;
+import com.gvn.springtutor.dto.RefreshTokenRequest;
 import com.gvn.springtutor.dto.RegisterRequest;
 import com.gvn.springtutor.service.AuthService;
 import com.gvn.springtutor.util.ResponseUtil;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.AuthenticationException;
 import org.springframework.web.bind.annotation.*;
 
 /**
@@ -17,6 +19,8 @@ import org.springframework.web.bind.annotation.*;
  * Endpoints:
  * - POST /auth/login - Login dan dapatkan JWT token
  * - POST /auth/register - Register user baru
+ * - POST /auth/refresh - Tukar refresh token dengan token baru
+ * - POST /auth/logout - Revoke JWT token yang sedang dipakai
  */
 @RestController
 @RequestMapping("/auth")
@@ -41,6 +45,8 @@ public class AuthController {
      * "data": {
      * "token": "eyJhbGciOiJIUzI1NiJ9...",
      * "type": "Bearer",
+     * "expiresIn": 900,
+     * "refreshToken": "q3J0...",
      * "username": "admin",
      * "roles": ["ADMIN", "USER"]
      * },
@@ -77,4 +83,43 @@ public class AuthController {
             return ResponseUtil.error(HttpStatus.BAD_REQUEST, e.getMessage());
         }
     }
+
+    /**
+     * Refresh endpoint.
+     *
+     * Request body:
+     * {
+     * "refreshToken": "q3J0..."
+     * }
+     *
+     * Refresh token hanya bisa dipakai sekali; response berisi refresh token
+     * baru. Memakai ulang refresh token lama me-revoke semua token di
+     * session tersebut.
+     */
+    @PostMapping("/refresh")
+    public ResponseEntity<ApiResponse<AuthResponse>> refresh(@RequestBody RefreshTokenRequest request) {
+        try {
+            AuthResponse authResponse = authService.refresh(request.getRefreshToken());
+            return ResponseUtil.ok(authResponse, "Token refreshed");
+        } catch (AuthenticationException e) {
+            return ResponseUtil.error(HttpStatus.UNAUTHORIZED, e.getMessage());
+        }
+    }
+
+    /**
+     * Logout endpoint.
+     *
+     * Header: Authorization: Bearer <token>
+     *
+     * Token yang di-logout ditolak oleh semua instance sampai waktu expire-nya.
+     */
+    @PostMapping("/logout")
+    public ResponseEntity<ApiResponse<Void>> logout(
+            @RequestHeader(value = "Authorization", required = false) String authHeader) {
+        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+            return ResponseUtil.error(HttpStatus.BAD_REQUEST, "Missing Bearer token");
+        }
+        authService.logout(authHeader.substring(7));
+        return ResponseUtil.ok(null, "Logout successful");
+    }
 }
@@ -0,0 +1,66 @@
+package com.gvn.springtutor.controller;
+
+import com.gvn.springtutor.base.ApiResponse;
+import com.gvn.springtutor.cache.CachePolicyRegistry;
+import com.gvn.springtutor.cache.CacheProperties;
+import com.gvn.springtutor.dto.CachePolicyRequest;
+import com.gvn.springtutor.dto.CachePolicyResponse;
+import com.gvn.springtutor.util.ResponseUtil;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * REST Controller untuk melihat dan mengubah policy cache saat runtime
+ * (hanya ADMIN). Perubahan berlaku di semua instance tanpa restart.
+ */
+@RestController
+@RequestMapping("/admin/cache-policies")
+@RequiredArgsConstructor
+public class CachePolicyController {
+
+    private final CachePolicyRegistry registry;
+
+    /**
+     * GET /admin/cache-policies - Semua policy cache yang sedang berlaku.
+     */
+    @GetMapping
+    public ResponseEntity<ApiResponse<List<CachePolicyResponse>>> getAll() {
+        List<CachePolicyResponse> policies = registry.getAll().stream()
+                .map(CachePolicyResponse::from)
+                .toList();
+        return ResponseUtil.ok(policies, "Cache policies retrieved successfully");
+    }
+
+    /**
+     * GET /admin/cache-policies/{name} - Policy satu cache.
+     */
+    @GetMapping("/{name}")
+    public ResponseEntity<ApiResponse<CachePolicyResponse>> get(@PathVariable String name) {
+        return ResponseUtil.ok(CachePolicyResponse.from(registry.get(name)), "Cache policy retrieved successfully");
+    }
+
+    /**
+     * PUT /admin/cache-policies/{name} - Ubah policy (partial update).
+     * Jika codec atau key prefix berubah, isi cache dikosongkan.
+     */
+    @PutMapping("/{name}")
+    public ResponseEntity<ApiResponse<CachePolicyResponse>> update(
+            @PathVariable String name,
+            @Valid @RequestBody CachePolicyRequest request) {
+        CacheProperties.Spec override = CacheProperties.Spec.builder()
+                .ttl(request.getTtlSeconds() != null ? Duration.ofSeconds(request.getTtlSeconds()) : null)
+                .ttlJitter(request.getTtlJitterSeconds() != null ? Duration.ofSeconds(request.getTtlJitterSeconds()) : null)
+                .maxSize(request.getMaxSize())
+                .keyPrefix(request.getKeyPrefix())
+                .codec(request.getCodec())
+                .cacheNulls(request.getCacheNulls())
+                .build();
+        return ResponseUtil.ok(CachePolicyResponse.from(registry.update(name, override)),
+                "Cache policy updated successfully");
+    }
+}
@@ -0,0 +1,43 @@
+package com.gvn.springtutor.controller;
+
+import com.gvn.springtutor.base.ApiResponse;
+import com.gvn.springtutor.dto.EligibilityResponse;
+import com.gvn.springtutor.service.EligibilityService;
+import com.gvn.springtutor.util.ResponseUtil;
+import lombok.RequiredArgsConstructor;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST Controller untuk eligibility product & plafond.
+ */
+@RestController
+@RequiredArgsConstructor
+public class EligibilityController {
+
+    private final EligibilityService eligibilityService;
+
+    /**
+     * GET /eligibility - Product dan plafond maksimum untuk user yang sedang
+     * login (dari snapshot yang sudah dihitung).
+     */
+    @GetMapping("/eligibility")
+    public ResponseEntity<ApiResponse<EligibilityResponse>> getEligibility(Authentication authentication) {
+        EligibilityResponse response = eligibilityService.getEligibility(authentication.getName());
+        return ResponseUtil.ok(response, "Eligibility retrieved successfully");
+    }
+
+    /**
+     * POST /admin/eligibility/recompute - Hitung ulang semua user (ADMIN).
+     * Mengembalikan jumlah user yang dihitung.
+     */
+    @PostMapping("/admin/eligibility/recompute")
+    public ResponseEntity<ApiResponse<Integer>> recomputeAll() {
+        int count = eligibilityService.recomputeAll();
+        return ResponseUtil.ok(count, "Eligibility recomputed successfully");
+    }
+}
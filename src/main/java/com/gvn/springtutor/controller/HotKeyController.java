@@ -0,0 +1,44 @@
+package com.gvn.springtutor.controller;
+
+import com.gvn.springtutor.base.ApiResponse;
+import com.gvn.springtutor.cache.HotKeyDetector;
+import com.gvn.springtutor.dto.HotKeyResponse;
+import com.gvn.springtutor.util.ResponseUtil;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * REST Controller untuk melihat hot key cache di node ini (hanya ADMIN).
+ *
+ * Hot key hanya dideteksi untuk app.cache.backend=redis dengan
+ * app.cache.hot-keys.enabled=true; selain itu hasilnya kosong.
+ */
+@RestController
+@RequestMapping("/admin/cache")
+@RequiredArgsConstructor
+public class HotKeyController {
+
+    private final ObjectProvider<HotKeyDetector> hotKeyDetector;
+
+    /**
+     * GET /admin/cache/hot-keys - Hot key saat ini, urut dari yang paling sering dibaca.
+     */
+    @GetMapping("/hot-keys")
+    public ResponseEntity<ApiResponse<List<HotKeyResponse>>> getHotKeys() {
+        HotKeyDetector detector = hotKeyDetector.getIfAvailable();
+        List<HotKeyResponse> hotKeys = detector == null ? List.of() : detector.snapshot().entrySet().stream()
+                .map(entry -> HotKeyResponse.builder()
+                        .cacheName(entry.getKey().cacheName())
+                        .key(entry.getKey().key())
+                        .estimatedReads(entry.getValue())
+                        .build())
+                .toList();
+        return ResponseUtil.ok(hotKeys, "Hot keys retrieved successfully");
+    }
+}
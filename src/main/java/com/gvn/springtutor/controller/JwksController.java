@@ -0,0 +1,35 @@
+package com.gvn.springtutor.controller;
+
+import com.gvn.springtutor.security.JwtKeyStore;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JWKS Controller
+ *
+ * Endpoint:
+ * - GET /.well-known/jwks.json - Public key untuk verifikasi JWT
+ *
+ * Response mengikuti format standar JWK Set (RFC 7517), bukan ApiResponse,
+ * agar bisa langsung dipakai library JWT di service lain.
+ */
+@RestController
+@RequiredArgsConstructor
+public class JwksController {
+
+    private final JwtKeyStore keyStore;
+
+    @GetMapping("/.well-known/jwks.json")
+    public ResponseEntity<Map<String, List<Map<String, Object>>>> jwks() {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(Duration.ofMinutes(5)).cachePublic())
+                .body(Map.of("keys", keyStore.getJwks()));
+    }
+}
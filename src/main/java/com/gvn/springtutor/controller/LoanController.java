@@ -0,0 +1,48 @@
+package com.gvn.springtutor.controller;
+
+import com.gvn.springtutor.base.ApiResponse;
+import com.gvn.springtutor.dto.LoanBulkSimulationRequest;
+import com.gvn.springtutor.dto.LoanSimulationRequest;
+import com.gvn.springtutor.dto.LoanSimulationResponse;
+import com.gvn.springtutor.service.LoanService;
+import com.gvn.springtutor.util.ResponseUtil;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * REST Controller untuk simulasi cicilan pinjaman.
+ */
+@RestController
+@RequestMapping("/loans")
+@RequiredArgsConstructor
+public class LoanController {
+
+    private final LoanService loanService;
+
+    /**
+     * POST /loans/simulate - Cicilan bulanan dan jadwal amortisasi untuk
+     * satu principal + product.
+     */
+    @PostMapping("/simulate")
+    public ResponseEntity<ApiResponse<LoanSimulationResponse>> simulate(
+            @Valid @RequestBody LoanSimulationRequest request) {
+        LoanSimulationResponse response = loanService.simulate(request);
+        return ResponseUtil.ok(response, "Loan simulated successfully");
+    }
+
+    /**
+     * POST /loans/simulate/bulk - Ringkasan cicilan untuk banyak simulasi
+     * (maksimal 10000, tanpa jadwal). Urutan hasil sama dengan request.
+     */
+    @PostMapping("/simulate/bulk")
+    public ResponseEntity<ApiResponse<List<LoanSimulationResponse>>> simulateBulk(
+            @Valid @RequestBody LoanBulkSimulationRequest request) {
+        List<LoanSimulationResponse> responses = loanService.simulateAll(request.getSimulations());
+        return ResponseUtil.ok(responses, "Loans simulated successfully");
+    }
+}
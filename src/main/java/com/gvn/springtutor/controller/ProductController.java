@@ -35,6 +35,16 @@ public class ProductController {
         return ResponseUtil.ok(products, "Products retrieved successfully");
     }
 
+    /**
+     * GET /products?ids=1,2,3 - Mengambil banyak product sekaligus (maksimal 100).
+     * Id yang tidak ditemukan dilewati; urutan mengikuti parameter ids.
+     */
+    @GetMapping(params = "ids")
+    public ResponseEntity<ApiResponse<List<Product>>> getProductsByIds(@RequestParam List<Long> ids) {
+        List<Product> products = productService.getProductsByIds(ids);
+        return ResponseUtil.ok(products, "Products retrieved successfully");
+    }
+
     /**
      * POST /products - Membuat product baru.
      * Menggunakan @Valid untuk aktivasi Bean Validation pada request body.
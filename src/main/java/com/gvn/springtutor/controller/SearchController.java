@@ -0,0 +1,53 @@
+package com.gvn.springtutor.controller;
+
+import com.gvn.springtutor.base.ApiResponse;
+import com.gvn.springtutor.dto.SearchHit;
+import com.gvn.springtutor.dto.SearchPage;
+import com.gvn.springtutor.service.SearchService;
+import com.gvn.springtutor.util.PrefixIndex.MatchMode;
+import com.gvn.springtutor.util.ResponseUtil;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST Controller untuk pencarian (typeahead) product dan user.
+ *
+ * Query parameter:
+ * - q: teks yang dicari (case-insensitive)
+ * - mode: PREFIX (default, "starts with") atau CONTAINS
+ * - page, size: pagination (size maksimal 50, hanya 1000 hasil pertama)
+ */
+@RestController
+@RequestMapping("/search")
+@RequiredArgsConstructor
+public class SearchController {
+
+    private final SearchService searchService;
+
+    /**
+     * GET /search/products?q=gol - Cari product berdasarkan nama.
+     */
+    @GetMapping("/products")
+    public ResponseEntity<ApiResponse<SearchPage<SearchHit>>> searchProducts(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "PREFIX") MatchMode mode,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size) {
+        SearchPage<SearchHit> result = searchService.searchProducts(q, mode, page, size);
+        return ResponseUtil.ok(result, "Products found");
+    }
+
+    /**
+     * GET /search/users?q=adm - Cari user berdasarkan username atau email.
+     */
+    @GetMapping("/users")
+    public ResponseEntity<ApiResponse<SearchPage<SearchHit>>> searchUsers(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "PREFIX") MatchMode mode,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size) {
+        SearchPage<SearchHit> result = searchService.searchUsers(q, mode, page, size);
+        return ResponseUtil.ok(result, "Users found");
+    }
+}
@@ -31,6 +31,16 @@ public class UserController {
         return ResponseUtil.ok(users, "Users retrieved successfully");
     }
 
+    /**
+     * GET /users?ids=1,2,3 - Mengambil banyak user sekaligus (maksimal 100).
+     * Id yang tidak ditemukan dilewati; urutan mengikuti parameter ids.
+     */
+    @GetMapping(params = "ids")
+    public ResponseEntity<ApiResponse<List<User>>> getUsersByIds(@RequestParam List<Long> ids) {
+        List<User> users = userService.getUsersByIds(ids);
+        return ResponseUtil.ok(users, "Users retrieved successfully");
+    }
+
     /**
      * POST /users - Membuat user baru.
      */
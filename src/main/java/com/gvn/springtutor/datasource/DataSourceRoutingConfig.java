@@ -0,0 +1,92 @@
+package com.gvn.springtutor.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Clock;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Konfigurasi read/write routing.
+ *
+ * Hanya aktif jika {@code app.datasource.routing.enabled=true}. Jika tidak,
+ * Spring Boot membuat satu datasource dari {@code spring.datasource.*} seperti
+ * biasa.
+ */
+@Configuration
+@EnableConfigurationProperties(DataSourceRoutingProperties.class)
+@ConditionalOnProperty(prefix = "app.datasource.routing", name = "enabled", havingValue = "true")
+public class DataSourceRoutingConfig {
+
+    /**
+     * Datasource primary, dibangun dari spring.datasource.* dan
+     * spring.datasource.hikari.* (ukuran pool, timeout, dll).
+     */
+    @Bean
+    @ConfigurationProperties(prefix = "spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(
+            @Value("${spring.datasource.url}") String url,
+            @Value("${spring.datasource.username}") String username,
+            @Value("${spring.datasource.password}") String password,
+            @Value("${spring.datasource.driver-class-name}") String driverClassName) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName("primary");
+        dataSource.setJdbcUrl(url);
+        dataSource.setUsername(username);
+        dataSource.setPassword(password);
+        dataSource.setDriverClassName(driverClassName);
+        return dataSource;
+    }
+
+    /**
+     * Pool untuk setiap replica (read-only) beserta monitor lag-nya.
+     */
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(HikariDataSource primaryDataSource,
+            DataSourceRoutingProperties properties,
+            @Value("${spring.datasource.driver-class-name}") String driverClassName) {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        for (DataSourceRoutingProperties.Replica replica : properties.getReplicas()) {
+            HikariDataSource dataSource = new HikariDataSource();
+            dataSource.setPoolName(replica.getName());
+            dataSource.setJdbcUrl(replica.getUrl());
+            dataSource.setUsername(replica.getUsername());
+            dataSource.setPassword(replica.getPassword());
+            dataSource.setDriverClassName(driverClassName);
+            dataSource.setMaximumPoolSize(replica.getMaximumPoolSize());
+            dataSource.setReadOnly(true);
+            replicas.put(replica.getName(), dataSource);
+        }
+        return new ReplicaLagMonitor(primaryDataSource, replicas, properties.getMaxLag(),
+                properties.getClockSkewMargin(), Clock.systemUTC());
+    }
+
+    @Bean
+    public ReadYourWritesTracker readYourWritesTracker(DataSourceRoutingProperties properties) {
+        return new ReadYourWritesTracker(properties.getStickyWindow(), Clock.systemUTC());
+    }
+
+    @Bean
+    public ReadWriteRoutingDataSource routingDataSource(HikariDataSource primaryDataSource,
+            ReplicaLagMonitor replicaLagMonitor, ReadYourWritesTracker readYourWritesTracker) {
+        return new ReadWriteRoutingDataSource(primaryDataSource, replicaLagMonitor, readYourWritesTracker);
+    }
+
+    /**
+     * DataSource utama aplikasi (dipakai JPA/Hibernate).
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(ReadWriteRoutingDataSource routingDataSource) {
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+}
@@ -0,0 +1,61 @@
+package com.gvn.springtutor.datasource;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Konfigurasi routing read/write datasource.
+ *
+ * <pre>
+ * app:
+ *   datasource:
+ *     routing:
+ *       enabled: true
+ *       max-lag: 5s
+ *       clock-skew-margin: 500ms
+ *       sticky-window: 5s
+ *       replicas:
+ *         - name: replica-1
+ *           url: jdbc:sqlserver://replica-1:1433;databaseName=spring_tutor;...
+ *           username: sa
+ *           password: ...
+ * </pre>
+ */
+@Data
+@ConfigurationProperties(prefix = "app.datasource.routing")
+public class DataSourceRoutingProperties {
+
+    /** Aktifkan routing; jika false semua query ke datasource utama */
+    private boolean enabled = false;
+
+    /** Lag replikasi maksimum sebelum replica dianggap tidak layak dibaca */
+    private Duration maxLag = Duration.ofSeconds(5);
+
+    /**
+     * Selisih jam maksimum antar node aplikasi (disinkronkan NTP); dipotong
+     * dari max-lag karena heartbeat ditulis dan dibaca dengan jam node
+     */
+    private Duration clockSkewMargin = Duration.ofMillis(500);
+
+    /** Lama read diarahkan ke primary setelah user melakukan write */
+    private Duration stickyWindow = Duration.ofSeconds(5);
+
+    /** Interval penulisan heartbeat & pengukuran lag */
+    private Duration heartbeatInterval = Duration.ofSeconds(1);
+
+    /** Daftar replica (read-only) */
+    private List<Replica> replicas = new ArrayList<>();
+
+    @Data
+    public static class Replica {
+        private String name;
+        private String url;
+        private String username;
+        private String password;
+        private int maximumPoolSize = 10;
+    }
+}
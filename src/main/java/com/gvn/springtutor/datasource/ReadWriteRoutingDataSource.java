@@ -0,0 +1,80 @@
+package com.gvn.springtutor.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * DataSource yang memilih primary atau replica per koneksi.
+ *
+ * Aturan routing:
+ * - Transaksi {@code @Transactional(readOnly = true)} → replica sehat
+ *   (round-robin), kecuali user yang sedang login baru saja melakukan write
+ * - Selain itu (write / tanpa transaksi) → primary
+ *
+ * Harus dibungkus LazyConnectionDataSourceProxy, karena status read-only
+ * transaksi baru tersedia setelah transaction manager selesai begin.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource implements DisposableBean {
+
+    private final Map<String, DataSource> replicas;
+    private final ReplicaLagMonitor lagMonitor;
+    private final ReadYourWritesTracker writesTracker;
+
+    public ReadWriteRoutingDataSource(DataSource primary, ReplicaLagMonitor lagMonitor,
+            ReadYourWritesTracker writesTracker) {
+        this.replicas = lagMonitor.getReplicaDataSources();
+        this.lagMonitor = lagMonitor;
+        this.writesTracker = writesTracker;
+
+        Map<Object, Object> targets = new HashMap<>(this.replicas);
+        targets.put(ReplicaLagMonitor.PRIMARY, primary);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            return ReplicaLagMonitor.PRIMARY;
+        }
+
+        String username = currentUsername();
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (username != null) {
+                writesTracker.recordWrite(username);
+            }
+            return ReplicaLagMonitor.PRIMARY;
+        }
+
+        if (username != null && writesTracker.isSticky(username)) {
+            return ReplicaLagMonitor.PRIMARY;
+        }
+        return lagMonitor.pickReplica();
+    }
+
+    private String currentUsername() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+
+    @Override
+    public void destroy() {
+        replicas.values().forEach(dataSource -> {
+            if (dataSource instanceof HikariDataSource hikari) {
+                hikari.close();
+            }
+        });
+    }
+}
@@ -0,0 +1,45 @@
+package com.gvn.springtutor.datasource;
+
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Mencatat kapan terakhir setiap user melakukan write.
+ *
+ * Selama sticky-window setelah write, read milik user tersebut diarahkan ke
+ * primary agar user selalu melihat perubahannya sendiri walaupun replica
+ * belum selesai mereplikasi.
+ */
+public class ReadYourWritesTracker {
+
+    private final Map<String, Long> lastWriteMillis = new ConcurrentHashMap<>();
+    private final long windowMillis;
+    private final Clock clock;
+
+    public ReadYourWritesTracker(Duration stickyWindow, Clock clock) {
+        this.windowMillis = stickyWindow.toMillis();
+        this.clock = clock;
+    }
+
+    public void recordWrite(String username) {
+        lastWriteMillis.put(username, clock.millis());
+    }
+
+    public boolean isSticky(String username) {
+        Long last = lastWriteMillis.get(username);
+        return last != null && clock.millis() - last < windowMillis;
+    }
+
+    /**
+     * Buang entry yang sudah lewat sticky-window agar map tidak terus tumbuh.
+     */
+    @Scheduled(fixedDelayString = "${app.datasource.routing.sticky-window:5s}")
+    public void purgeExpired() {
+        long cutoff = clock.millis() - windowMillis;
+        lastWriteMillis.values().removeIf(last -> last < cutoff);
+    }
+}
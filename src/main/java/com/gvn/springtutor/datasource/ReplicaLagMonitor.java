@@ -0,0 +1,138 @@
+package com.gvn.springtutor.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Mengukur lag replikasi setiap replica lewat tabel replication_heartbeat.
+ *
+ * Setiap interval: tulis waktu sekarang ke primary, lalu baca nilai yang sudah
+ * tereplikasi di setiap replica. Replica yang lag-nya melebihi max-lag (atau
+ * gagal di-query) dikeluarkan dari rotasi sampai kembali sehat.
+ *
+ * Heartbeat ditulis dalam transaksi eksplisit: pool primary bisa memakai
+ * auto-commit=false (profile db-perf), dan tanpa commit Hikari me-rollback
+ * UPDATE saat koneksi dikembalikan ke pool.
+ *
+ * Heartbeat ditulis dan dibandingkan dengan jam node aplikasi (bisa node
+ * yang berbeda), jadi jam semua node harus disinkronkan dengan NTP. Selisih
+ * jam maksimum (clock-skew-margin) dipotong dari max-lag: replica hanya
+ * dipakai jika lag terukur + margin <= max-lag, sehingga writer yang jamnya
+ * lebih cepat tidak membuat replica yang tertinggal terlihat segar.
+ */
+@Slf4j
+public class ReplicaLagMonitor {
+
+    static final String PRIMARY = "primary";
+
+    private static final String UPDATE_BEAT = "UPDATE replication_heartbeat SET beat_at_millis = ? WHERE id = 1";
+    private static final String INSERT_BEAT = "INSERT INTO replication_heartbeat (id, beat_at_millis) VALUES (1, ?)";
+    private static final String SELECT_BEAT = "SELECT beat_at_millis FROM replication_heartbeat WHERE id = 1";
+
+    private final JdbcTemplate primary;
+    private final TransactionTemplate primaryTransaction;
+    private final Map<String, DataSource> replicaDataSources;
+    private final Map<String, JdbcTemplate> replicas = new LinkedHashMap<>();
+    private final long maxLagMillis;
+    private final long clockSkewMarginMillis;
+    private final Clock clock;
+
+    /** Snapshot immutable replica yang sehat; diganti utuh setiap refresh */
+    private volatile List<String> healthyReplicas = List.of();
+    private final AtomicInteger roundRobin = new AtomicInteger();
+
+    /**
+     * @throws IllegalArgumentException jika clockSkewMargin tidak lebih kecil dari maxLag
+     */
+    public ReplicaLagMonitor(DataSource primary, Map<String, DataSource> replicas, Duration maxLag,
+            Duration clockSkewMargin, Clock clock) {
+        if (clockSkewMargin.isNegative() || clockSkewMargin.compareTo(maxLag) >= 0) {
+            throw new IllegalArgumentException("clock-skew-margin must be between 0 and max-lag");
+        }
+        this.primary = new JdbcTemplate(primary);
+        this.primaryTransaction = new TransactionTemplate(new DataSourceTransactionManager(primary));
+        this.replicaDataSources = Collections.unmodifiableMap(new LinkedHashMap<>(replicas));
+        replicas.forEach((name, dataSource) -> this.replicas.put(name, new JdbcTemplate(dataSource)));
+        this.maxLagMillis = maxLag.toMillis();
+        this.clockSkewMarginMillis = clockSkewMargin.toMillis();
+        this.clock = clock;
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.routing.heartbeat-interval:1s}")
+    public void refresh() {
+        measure();
+        beat();
+    }
+
+    /**
+     * Tulis heartbeat ke primary.
+     */
+    public void beat() {
+        long now = clock.millis();
+        try {
+            primaryTransaction.executeWithoutResult(status -> {
+                if (primary.update(UPDATE_BEAT, now) == 0) {
+                    primary.update(INSERT_BEAT, now);
+                }
+            });
+        } catch (RuntimeException e) {
+            log.warn("Failed to write replication heartbeat: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Baca heartbeat dari setiap replica dan perbarui daftar replica sehat.
+     */
+    public void measure() {
+        long now = clock.millis();
+        List<String> healthy = new ArrayList<>(replicas.size());
+
+        replicas.forEach((name, jdbc) -> {
+            try {
+                Long beat = jdbc.queryForObject(SELECT_BEAT, Long.class);
+                long lag = beat == null ? Long.MAX_VALUE : Math.max(0, now - beat);
+                if (lag <= maxLagMillis - clockSkewMarginMillis) {
+                    healthy.add(name);
+                } else {
+                    log.debug("Replica '{}' lagging by {} ms, routing reads to primary", name, lag);
+                }
+            } catch (RuntimeException e) {
+                log.warn("Replica '{}' unavailable: {}", name, e.getMessage());
+            }
+        });
+
+        healthyReplicas = Collections.unmodifiableList(healthy);
+    }
+
+    /**
+     * Pilih replica sehat secara round-robin, atau primary jika tidak ada.
+     */
+    public String pickReplica() {
+        List<String> healthy = healthyReplicas;
+        if (healthy.isEmpty()) {
+            return PRIMARY;
+        }
+        return healthy.get(Math.floorMod(roundRobin.getAndIncrement(), healthy.size()));
+    }
+
+    public List<String> getHealthyReplicas() {
+        return healthyReplicas;
+    }
+
+    public Map<String, DataSource> getReplicaDataSources() {
+        return replicaDataSources;
+    }
+}
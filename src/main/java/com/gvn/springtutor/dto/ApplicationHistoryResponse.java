@@ -0,0 +1,34 @@
+package com.gvn.springtutor.dto;
+
+import com.gvn.springtutor.entity.ApplicationStatus;
+import com.gvn.springtutor.entity.ApplicationsHistory;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Satu langkah di timeline status pengajuan.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ApplicationHistoryResponse {
+
+    private ApplicationStatus status;
+    private String note;
+    private String changedBy;
+    private Instant createdAt;
+
+    public static ApplicationHistoryResponse from(ApplicationsHistory history) {
+        return ApplicationHistoryResponse.builder()
+                .status(history.getStatus())
+                .note(history.getNote())
+                .changedBy(history.getChangedBy())
+                .createdAt(history.getCreatedAt())
+                .build();
+    }
+}
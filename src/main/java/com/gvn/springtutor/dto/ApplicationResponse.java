@@ -0,0 +1,51 @@
+package com.gvn.springtutor.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.gvn.springtutor.entity.ApplicationStatus;
+import com.gvn.springtutor.entity.Applications;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Pengajuan pinjaman beserta version untuk optimistic locking.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ApplicationResponse {
+
+    private Long id;
+    private Long userId;
+    private Long productId;
+    private ApplicationStatus status;
+    private Long version;
+
+    /** Lease work-queue; hanya diisi di response antrean reviewer */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String claimedBy;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Instant claimedUntil;
+
+    public static ApplicationResponse from(Applications application) {
+        return ApplicationResponse.builder()
+                .id(application.getId())
+                .userId(application.getUserId())
+                .productId(application.getProductId())
+                .status(application.getStatus())
+                .version(application.getVersion())
+                .build();
+    }
+
+    public static ApplicationResponse claimed(Applications application, String reviewer, Instant until) {
+        ApplicationResponse response = from(application);
+        response.setClaimedBy(reviewer);
+        response.setClaimedUntil(until);
+        return response;
+    }
+}
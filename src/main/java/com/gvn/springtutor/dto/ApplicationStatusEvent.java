@@ -0,0 +1,23 @@
+package com.gvn.springtutor.dto;
+
+import com.gvn.springtutor.entity.ApplicationStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Event perubahan status pengajuan yang dikirim lewat SSE ke pemiliknya.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ApplicationStatusEvent {
+
+    private Long applicationId;
+    private Long userId;
+    private ApplicationStatus status;
+    private Long version;
+    private String changedBy;
+}
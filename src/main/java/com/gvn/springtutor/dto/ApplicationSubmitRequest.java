@@ -0,0 +1,20 @@
+package com.gvn.springtutor.dto;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO untuk pengajuan pinjaman baru oleh customer yang sedang login.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ApplicationSubmitRequest {
+
+    @NotNull(message = "Product id is required")
+    private Long productId;
+}
@@ -0,0 +1,30 @@
+package com.gvn.springtutor.dto;
+
+import com.gvn.springtutor.entity.ApplicationStatus;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO untuk approve/reject pengajuan.
+ *
+ * - expectedStatus: status yang sedang diproses; boleh kosong jika reviewer
+ *   hanya punya satu role approval
+ * - version: version dari GET terakhir; jika diisi, perubahan oleh reviewer
+ *   lain sejak itu menghasilkan 409
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ApplicationTransitionRequest {
+
+    private ApplicationStatus expectedStatus;
+
+    private Long version;
+
+    @Size(max = 255, message = "Note must be at most 255 characters")
+    private String note;
+}
@@ -11,6 +11,7 @@ import java.util.List;
  * Login Response DTO
  * 
  * Berisi JWT token dan informasi user setelah login berhasil.
+ * Access token berumur pendek; perbarui lewat POST /auth/refresh.
  */
 @Data
 @Builder
@@ -19,6 +20,9 @@ import java.util.List;
 public class AuthResponse {
     private String token;
     private String type;
+    /** Umur access token dalam detik */
+    private Long expiresIn;
+    private String refreshToken;
     private String username;
     private List<String> roles;
 }
@@ -0,0 +1,35 @@
+package com.gvn.springtutor.dto;
+
+import com.gvn.springtutor.cache.CacheCodec;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO untuk request ubah policy cache.
+ * Semua field optional - hanya field yang diisi yang diubah.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CachePolicyRequest {
+
+    @Positive(message = "TTL must be positive")
+    private Long ttlSeconds;
+
+    @PositiveOrZero(message = "TTL jitter must not be negative")
+    private Long ttlJitterSeconds;
+
+    @Positive(message = "Max size must be positive")
+    private Long maxSize;
+
+    private String keyPrefix;
+
+    private CacheCodec codec;
+
+    private Boolean cacheNulls;
+}
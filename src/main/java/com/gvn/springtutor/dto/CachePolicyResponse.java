@@ -0,0 +1,38 @@
+package com.gvn.springtutor.dto;
+
+import com.gvn.springtutor.cache.CacheCodec;
+import com.gvn.springtutor.cache.CachePolicy;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Policy cache yang sedang berlaku.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CachePolicyResponse {
+
+    private String cacheName;
+    private long ttlSeconds;
+    private long ttlJitterSeconds;
+    private long maxSize;
+    private String keyPrefix;
+    private CacheCodec codec;
+    private boolean cacheNulls;
+
+    public static CachePolicyResponse from(CachePolicy policy) {
+        return CachePolicyResponse.builder()
+                .cacheName(policy.cacheName())
+                .ttlSeconds(policy.ttl().toSeconds())
+                .ttlJitterSeconds(policy.ttlJitter().toSeconds())
+                .maxSize(policy.maxSize())
+                .keyPrefix(policy.keyPrefix())
+                .codec(policy.codec())
+                .cacheNulls(policy.cacheNulls())
+                .build();
+    }
+}
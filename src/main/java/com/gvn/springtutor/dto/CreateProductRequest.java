@@ -8,6 +8,8 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.math.BigDecimal;
+
 /**
  * DTO untuk request pembuatan Product baru.
  * Semua field wajib diisi saat membuat product baru.
@@ -28,4 +30,8 @@ public class CreateProductRequest {
     @NotNull(message = "Interest rate is required")
     @Positive(message = "Interest rate must be positive")
     private Double interestRate;
+
+    /** Plafond maksimum (opsional) */
+    @Positive(message = "Max amount must be positive")
+    private BigDecimal maxAmount;
 }
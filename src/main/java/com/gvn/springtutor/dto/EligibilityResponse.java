@@ -0,0 +1,44 @@
+package com.gvn.springtutor.dto;
+
+import com.gvn.springtutor.eligibility.Eligibility;
+import com.gvn.springtutor.entity.Product;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Product yang boleh dipilih user dan plafond maksimumnya.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EligibilityResponse {
+
+    private Long userId;
+    private boolean canApply;
+    private boolean pendingApplication;
+    private int approvedApplications;
+    private BigDecimal maxPlafond;
+
+    /** Urut dari plafond terkecil */
+    private List<Product> eligibleProducts;
+
+    public static EligibilityResponse from(Long userId, Eligibility eligibility, List<Product> products) {
+        return EligibilityResponse.builder()
+                .userId(userId)
+                .canApply(eligibility.canApply())
+                .pendingApplication(eligibility.pendingApplication())
+                .approvedApplications(eligibility.approvedApplications())
+                .maxPlafond(eligibility.maxPlafond())
+                .eligibleProducts(products.stream()
+                        .sorted(Comparator.comparing(Product::getMaxAmount).thenComparing(Product::getId))
+                        .toList())
+                .build();
+    }
+}
@@ -0,0 +1,22 @@
+package com.gvn.springtutor.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Hot key cache yang sedang direplikasi di node ini.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class HotKeyResponse {
+
+    private String cacheName;
+    private String key;
+
+    /** Estimasi jumlah pembacaan (dari sampling, dengan aging per window) */
+    private long estimatedReads;
+}
@@ -0,0 +1,25 @@
+package com.gvn.springtutor.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO untuk simulasi banyak pinjaman sekaligus (tanpa jadwal per bulan).
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LoanBulkSimulationRequest {
+
+    @NotEmpty(message = "Simulations are required")
+    @Size(max = 10_000, message = "At most 10000 simulations per request")
+    private List<@Valid LoanSimulationRequest> simulations;
+}
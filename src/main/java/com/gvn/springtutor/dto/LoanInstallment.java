@@ -0,0 +1,24 @@
+package com.gvn.springtutor.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Satu baris jadwal cicilan.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LoanInstallment {
+
+    private int period;
+    private BigDecimal installment;
+    private BigDecimal interest;
+    private BigDecimal principal;
+    private BigDecimal remainingBalance;
+}
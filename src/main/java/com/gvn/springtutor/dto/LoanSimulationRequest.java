@@ -0,0 +1,36 @@
+package com.gvn.springtutor.dto;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * DTO untuk simulasi cicilan satu pinjaman.
+ * Principal dalam satuan mata uang dengan maksimal 2 angka desimal.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LoanSimulationRequest {
+
+    @NotNull(message = "Product id is required")
+    private Long productId;
+
+    @NotNull(message = "Principal is required")
+    @Positive(message = "Principal must be positive")
+    @DecimalMax(value = "1000000000000", message = "Principal is too large")
+    @Digits(integer = 13, fraction = 2, message = "Principal must have at most 2 decimal places")
+    private BigDecimal principal;
+
+    /** Sertakan jadwal cicilan per bulan (default true) */
+    @Builder.Default
+    private boolean includeSchedule = true;
+}
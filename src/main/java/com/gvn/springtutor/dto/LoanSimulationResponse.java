@@ -0,0 +1,32 @@
+package com.gvn.springtutor.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Hasil simulasi cicilan. Schedule hanya diisi untuk simulasi tunggal
+ * dengan includeSchedule = true.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class LoanSimulationResponse {
+
+    private Long productId;
+    private int tenor;
+    private double interestRate;
+    private BigDecimal principal;
+    private BigDecimal monthlyInstallment;
+    private BigDecimal lastInstallment;
+    private BigDecimal totalInterest;
+    private BigDecimal totalPayment;
+    private List<LoanInstallment> schedule;
+}
@@ -0,0 +1,33 @@
+package com.gvn.springtutor.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+/**
+ * Satu hasil pencarian (product atau user).
+ *
+ * Disimpan langsung di index pencarian, jadi response tidak perlu query ke
+ * database.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SearchHit implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private Long id;
+
+    /** Nama product atau username */
+    private String title;
+
+    /** Informasi tambahan (email untuk user) */
+    private String subtitle;
+}
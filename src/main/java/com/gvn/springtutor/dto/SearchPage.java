@@ -0,0 +1,22 @@
+package com.gvn.springtutor.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Satu halaman hasil pencarian.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SearchPage<T> {
+    private List<T> items;
+    private Integer page;
+    private Integer size;
+    private Boolean hasNext;
+}
@@ -6,6 +6,8 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.math.BigDecimal;
+
 /**
  * DTO untuk request update Product.
  * Semua field optional - hanya field yang diisi yang akan diupdate (partial
@@ -24,4 +26,7 @@ public class UpdateProductRequest {
 
     @Positive(message = "Interest rate must be positive")
     private Double interestRate;
+
+    @Positive(message = "Max amount must be positive")
+    private BigDecimal maxAmount;
 }
@@ -0,0 +1,71 @@
+package com.gvn.springtutor.eligibility;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+/**
+ * Hasil eligibility satu user yang disimpan di KeyValueStore.
+ *
+ * Aturan:
+ * - User nonaktif tidak eligible untuk product apa pun
+ * - User aktif mendapat tier terendah, ditambah satu tier untuk setiap
+ *   pengajuan yang sudah APPROVED (maksimal tier tertinggi)
+ * - Selama masih ada pengajuan yang belum final, user belum boleh
+ *   mengajukan lagi (canApply false), tetapi plafond tetap ditampilkan
+ *
+ * Disimpan sebagai string pendek (sekitar 40 byte) agar jutaan user tetap
+ * murah di Redis:
+ * <pre>
+ * &lt;catalog version&gt;|&lt;flags&gt;|&lt;approved&gt;|&lt;max plafond&gt;|&lt;product id,...&gt;
+ * </pre>
+ */
+public record Eligibility(long catalogVersion, boolean active, boolean pendingApplication,
+        int approvedApplications, BigDecimal maxPlafond, long[] productIds) {
+
+    private static final int ACTIVE = 1;
+    private static final int PENDING = 2;
+
+    public static Eligibility compute(ProductLadder ladder, boolean active, int approvedApplications,
+            boolean pendingApplication) {
+        int tiers = active ? Math.min(ladder.size(), approvedApplications + 1) : 0;
+        long[] productIds = new long[tiers];
+        for (int i = 0; i < tiers; i++) {
+            productIds[i] = ladder.products().get(i).getId();
+        }
+        return new Eligibility(ladder.version(), active, pendingApplication, approvedApplications,
+                ladder.plafond(tiers), productIds);
+    }
+
+    public boolean canApply() {
+        return active && !pendingApplication && productIds.length > 0;
+    }
+
+    public String encode() {
+        int flags = (active ? ACTIVE : 0) | (pendingApplication ? PENDING : 0);
+        return catalogVersion + "|" + flags + "|" + approvedApplications + "|" + maxPlafond.toPlainString() + "|"
+                + Arrays.stream(productIds).mapToObj(Long::toString).collect(Collectors.joining(","));
+    }
+
+    /**
+     * @return null jika value kosong atau rusak
+     */
+    public static Eligibility decode(String value) {
+        if (value == null) {
+            return null;
+        }
+        String[] parts = value.split("\\|", -1);
+        if (parts.length != 5) {
+            return null;
+        }
+        try {
+            int flags = Integer.parseInt(parts[1]);
+            long[] productIds = parts[4].isEmpty() ? new long[0]
+                    : Arrays.stream(parts[4].split(",")).mapToLong(Long::parseLong).toArray();
+            return new Eligibility(Long.parseLong(parts[0]), (flags & ACTIVE) != 0, (flags & PENDING) != 0,
+                    Integer.parseInt(parts[2]), new BigDecimal(parts[3]), productIds);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
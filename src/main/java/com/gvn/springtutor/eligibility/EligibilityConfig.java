@@ -0,0 +1,23 @@
+package com.gvn.springtutor.eligibility;
+
+import com.gvn.springtutor.service.EligibilityService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Precompute eligibility: snapshot disimpan di KeyValueStore (mengikuti
+ * app.cache.backend); job bulk terjadwal aktif lewat
+ * app.eligibility.bulk.enabled.
+ */
+@Configuration
+@EnableConfigurationProperties(EligibilityProperties.class)
+public class EligibilityConfig {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "app.eligibility.bulk", name = "enabled", havingValue = "true")
+    public EligibilityRecomputeJob eligibilityRecomputeJob(EligibilityService eligibilityService) {
+        return new EligibilityRecomputeJob(eligibilityService);
+    }
+}
@@ -0,0 +1,45 @@
+package com.gvn.springtutor.eligibility;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Konfigurasi precompute eligibility & plafond.
+ *
+ * <pre>
+ * app:
+ *   eligibility:
+ *     ttl: 7d
+ *     bulk:
+ *       enabled: false
+ *       cron: "0 0 3 * * *"
+ *       parallelism: 4
+ *       chunk-size: 500
+ * </pre>
+ */
+@Data
+@ConfigurationProperties(prefix = "app.eligibility")
+public class EligibilityProperties {
+
+    /** Umur snapshot per user; yang expire dihitung ulang saat dibaca */
+    private Duration ttl = Duration.ofDays(7);
+
+    private Bulk bulk = new Bulk();
+
+    @Data
+    public static class Bulk {
+
+        /** Jadwal recompute semua user (endpoint admin tetap tersedia) */
+        private boolean enabled = false;
+
+        private String cron = "0 0 3 * * *";
+
+        /** Worker ForkJoinPool; masing-masing memakai satu koneksi database */
+        private int parallelism = 4;
+
+        /** User per chunk: satu query per chunk dan satu pipeline ke store */
+        private int chunkSize = 500;
+    }
+}
@@ -0,0 +1,29 @@
+package com.gvn.springtutor.eligibility;
+
+import com.gvn.springtutor.service.EligibilityService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * Recompute eligibility semua user terjadwal (app.eligibility.bulk.cron).
+ *
+ * Perubahan per user sudah ditangani secara incremental; job ini untuk
+ * menyegarkan snapshot yang expire dan menyamakan hasil setelah aturan
+ * atau data berubah di luar aplikasi.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class EligibilityRecomputeJob {
+
+    private final EligibilityService eligibilityService;
+
+    @Scheduled(cron = "${app.eligibility.bulk.cron:0 0 3 * * *}")
+    public void run() {
+        try {
+            eligibilityService.recomputeAll();
+        } catch (RuntimeException e) {
+            log.warn("Eligibility bulk recompute failed: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.gvn.springtutor.eligibility;
+
+import com.gvn.springtutor.entity.Product;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Urutan tier plafond: product yang punya maxAmount, dari plafond terkecil.
+ *
+ * version berubah setiap kali katalog (id / maxAmount) berubah, sehingga
+ * snapshot Eligibility yang dihitung dengan katalog lama bisa dikenali dan
+ * dihitung ulang tanpa menghapus semua entry.
+ */
+public record ProductLadder(long version, List<Product> products) {
+
+    public static ProductLadder of(Collection<Product> catalog) {
+        List<Product> products = catalog.stream()
+                .filter(product -> product.getMaxAmount() != null)
+                .sorted(Comparator.comparing(Product::getMaxAmount).thenComparing(Product::getId))
+                .toList();
+        long version = 1;
+        for (Product product : products) {
+            version = 31 * version + product.getId();
+            version = 31 * version + product.getMaxAmount().stripTrailingZeros().hashCode();
+        }
+        return new ProductLadder(version, products);
+    }
+
+    public int size() {
+        return products.size();
+    }
+
+    /**
+     * Product untuk id hasil Eligibility dengan versi katalog yang sama.
+     * Diambil dari ladder (yang sudah dimuat lewat cache getAllProducts),
+     * tanpa lookup tambahan; id yang tidak ada di ladder dilewati.
+     */
+    public List<Product> products(long[] ids) {
+        List<Product> result = new ArrayList<>(ids.length);
+        for (long id : ids) {
+            for (Product product : products) {
+                if (product.getId() == id) {
+                    result.add(product);
+                    break;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Plafond tier ke-{@code tiers} (1 = tier terendah).
+     */
+    public BigDecimal plafond(int tiers) {
+        return tiers == 0 ? BigDecimal.ZERO : products.get(tiers - 1).getMaxAmount();
+    }
+}
@@ -0,0 +1,14 @@
+package com.gvn.springtutor.entity;
+
+/**
+ * Aksi reviewer terhadap pengajuan pinjaman.
+ */
+public enum ApplicationAction {
+
+    APPROVE,
+    REJECT;
+
+    public ApplicationStatus apply(ApplicationStatus from) {
+        return this == APPROVE ? from.approve() : from.reject();
+    }
+}
@@ -0,0 +1,74 @@
+package com.gvn.springtutor.entity;
+
+/**
+ * Status pengajuan pinjaman (lihat hifi.md - Status Badges).
+ *
+ * Alur approval: SUBMITTED -> MARKETING_APPROVED -> BRANCH_MANAGER_APPROVED
+ * -> APPROVED. Setiap tahap bisa ditolak oleh role yang menanganinya.
+ * Status *_REJECTED dan APPROVED adalah status akhir.
+ */
+public enum ApplicationStatus {
+
+    SUBMITTED("MARKETING"),
+    MARKETING_APPROVED("BRANCH_MANAGER"),
+    BRANCH_MANAGER_APPROVED("BACKOFFICE"),
+    APPROVED(null),
+    MARKETING_REJECTED(null),
+    BRANCH_MANAGER_REJECTED(null),
+    REJECTED(null);
+
+    /** Role yang memproses status ini (null untuk status akhir) */
+    private final String reviewerRole;
+
+    ApplicationStatus(String reviewerRole) {
+        this.reviewerRole = reviewerRole;
+    }
+
+    public String reviewerRole() {
+        return reviewerRole;
+    }
+
+    public boolean isFinal() {
+        return reviewerRole == null;
+    }
+
+    /**
+     * Status berikutnya setelah di-approve.
+     *
+     * @throws IllegalStateException jika status sudah final
+     */
+    public ApplicationStatus approve() {
+        return switch (this) {
+            case SUBMITTED -> MARKETING_APPROVED;
+            case MARKETING_APPROVED -> BRANCH_MANAGER_APPROVED;
+            case BRANCH_MANAGER_APPROVED -> APPROVED;
+            default -> throw new IllegalStateException("Application in status " + this + " cannot be approved");
+        };
+    }
+
+    /**
+     * Status berikutnya setelah di-reject.
+     *
+     * @throws IllegalStateException jika status sudah final
+     */
+    public ApplicationStatus reject() {
+        return switch (this) {
+            case SUBMITTED -> MARKETING_REJECTED;
+            case MARKETING_APPROVED -> BRANCH_MANAGER_REJECTED;
+            case BRANCH_MANAGER_APPROVED -> REJECTED;
+            default -> throw new IllegalStateException("Application in status " + this + " cannot be rejected");
+        };
+    }
+
+    /**
+     * Status yang ditangani role tertentu, atau null jika role bukan reviewer.
+     */
+    public static ApplicationStatus reviewedBy(String role) {
+        for (ApplicationStatus status : values()) {
+            if (status.reviewerRole != null && status.reviewerRole.equals(role)) {
+                return status;
+            }
+        }
+        return null;
+    }
+}
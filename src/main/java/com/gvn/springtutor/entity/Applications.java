@@ -6,8 +6,20 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.Instant;
+
+/**
+ * Pengajuan pinjaman.
+ *
+ * Perubahan status dilakukan dengan conditional update
+ * (ApplicationsRepository.transition) yang memeriksa status dan version
+ * sekaligus, tanpa membaca row terlebih dahulu dan tanpa row lock yang
+ * ditahan lama. {@code @Version} juga melindungi update lewat entity.
+ */
 @Entity
-@Table(name = "applications")
+@Table(name = "applications", indexes = {
+        @Index(name = "ix_applications_status", columnList = "status"),
+        @Index(name = "ix_applications_user", columnList = "user_id, status") })
 @Data
 @Builder
 @NoArgsConstructor
@@ -15,7 +27,8 @@ import lombok.NoArgsConstructor;
 public class Applications {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "applications_seq")
+    @SequenceGenerator(name = "applications_seq", sequenceName = "applications_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "user_id", nullable = false)
@@ -24,7 +37,23 @@ public class Applications {
     @Column(name = "product_id", nullable = false)
     private Long productId;
 
-    @Column(name = "status", nullable = false)
-    private String status;
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 32)
+    private ApplicationStatus status;
+
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
+    /**
+     * Reviewer yang sedang memegang lease work-queue (lihat
+     * ApplicationQueueService). Bukan state bisnis, jadi tidak menaikkan
+     * version.
+     */
+    @Column(name = "claimed_by", length = 100)
+    private String claimedBy;
 
+    /** Lease habis pada waktu ini; setelahnya pengajuan kembali ke antrean */
+    @Column(name = "claimed_until")
+    private Instant claimedUntil;
 }
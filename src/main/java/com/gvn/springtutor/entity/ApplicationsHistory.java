@@ -6,8 +6,21 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.Instant;
+
+/**
+ * Riwayat perubahan status pengajuan (append-only), ditulis dalam transaksi
+ * yang sama dengan perubahan status.
+ *
+ * Di SQL Server tabel ini dipartisi per bulan berdasarkan created_at
+ * (db/mssql/partition-applications-history.sql); partisi lama dipindahkan
+ * ke applications_history_archive oleh ApplicationsHistoryArchiver.
+ * Query selalu menyertakan batas created_at agar hanya partisi terbaru
+ * yang dibaca.
+ */
 @Entity
-@Table(name = "applications_history")
+@Table(name = "applications_history",
+        indexes = @Index(name = "ix_applications_history_application", columnList = "application_id, created_at"))
 @Data
 @Builder
 @NoArgsConstructor
@@ -15,19 +28,32 @@ import lombok.NoArgsConstructor;
 public class ApplicationsHistory {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "applications_history_seq")
+    @SequenceGenerator(name = "applications_history_seq", sequenceName = "applications_history_seq", allocationSize = 50)
     private Long id;
 
+    @Column(name = "application_id")
+    private Long applicationId;
+
     @Column(name = "user_id", nullable = false)
     private Long userId;
 
     @Column(name = "product_id", nullable = false)
     private Long productId;
 
-    @Column(name = "status", nullable = false)
-    private String status;
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 32)
+    private ApplicationStatus status;
 
     @Column(name = "note")
     private String note;
 
+    /** Username yang melakukan perubahan status */
+    @Column(name = "changed_by", length = 100)
+    private String changedBy;
+
+    /** Waktu perubahan status (kolom partisi) */
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
 }
@@ -0,0 +1,63 @@
+package com.gvn.springtutor.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Event domain yang menunggu dikirim ke sink (transactional outbox).
+ *
+ * Ditulis dalam transaksi yang sama dengan perubahan domain-nya
+ * (OutboxPublisher), lalu dikirim oleh OutboxRelay:
+ * - claimedBy / claimedUntil: lease node yang sedang mengirim; jika node
+ *   mati, event diambil node lain setelah lease habis
+ * - publishedAt: terisi setelah berhasil dikirim; dihapus berkala
+ */
+@Entity
+@Table(name = "outbox_events",
+        indexes = @Index(name = "ix_outbox_events_pending", columnList = "published_at, id"))
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "outbox_events_seq")
+    @SequenceGenerator(name = "outbox_events_seq", sequenceName = "outbox_events_seq", allocationSize = 50)
+    private Long id;
+
+    /** Jenis aggregate, misalnya "application" atau "user" */
+    @Column(name = "aggregate_type", nullable = false, length = 50)
+    private String aggregateType;
+
+    @Column(name = "aggregate_id", nullable = false, length = 64)
+    private String aggregateId;
+
+    /** Nama event, misalnya "ApplicationStatusChanged" */
+    @Column(name = "event_type", nullable = false, length = 100)
+    private String eventType;
+
+    /** Isi event dalam JSON */
+    @Column(name = "payload", nullable = false, length = 4000)
+    private String payload;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    @Column(name = "claimed_by", length = 64)
+    private String claimedBy;
+
+    @Column(name = "claimed_until")
+    private Instant claimedUntil;
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    @Column(name = "published_at")
+    private Instant publishedAt;
+}
@@ -1,19 +1,29 @@
 package com.gvn.springtutor.entity;
 
+import com.gvn.springtutor.config.SecondLevelCacheInvalidationListener;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.io.Serial;
 import java.io.Serializable;
+import java.math.BigDecimal;
 
 /**
  * Product entity - implements Serializable for Redis caching.
+ *
+ * Katalog product kecil dan read-mostly, jadi entity-nya disimpan di
+ * Hibernate second-level cache (region "l2-products").
  */
 @Entity
 @Table(name = "products")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "l2-products")
+@EntityListeners(SecondLevelCacheInvalidationListener.class)
 @Data
 @Builder
 @NoArgsConstructor
@@ -24,7 +34,8 @@ public class Product implements Serializable {
     private static final long serialVersionUID = 1L;
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "products_seq")
+    @SequenceGenerator(name = "products_seq", sequenceName = "products_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "name", nullable = false)
@@ -35,4 +46,11 @@ public class Product implements Serializable {
 
     @Column(name = "interest_rate", nullable = false)
     private Double interestRate;
+
+    /**
+     * Plafond maksimum (Rupiah). Null untuk product lama yang belum diisi;
+     * product tanpa plafond tidak ditawarkan lewat eligibility.
+     */
+    @Column(name = "max_amount", precision = 19, scale = 2)
+    private BigDecimal maxAmount;
 }
@@ -0,0 +1,31 @@
+package com.gvn.springtutor.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Heartbeat replikasi (satu baris, id = 1).
+ *
+ * Ditulis berkala ke primary oleh ReplicaLagMonitor lalu dibaca dari setiap
+ * replica. Selisih waktu heartbeat di primary dan di replica = lag replikasi.
+ * Entity ini hanya dipakai agar ddl-auto membuat tabelnya; akses data
+ * dilakukan lewat JDBC langsung ke masing-masing datasource.
+ */
+@Entity
+@Table(name = "replication_heartbeat")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReplicationHeartbeat {
+
+    @Id
+    private Integer id;
+
+    /** Waktu heartbeat dalam epoch milliseconds */
+    @Column(name = "beat_at_millis", nullable = false)
+    private Long beatAtMillis;
+}
@@ -1,19 +1,32 @@
 package com.gvn.springtutor.entity;
 
+import com.gvn.springtutor.config.SecondLevelCacheInvalidationListener;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 
 import java.io.Serial;
 import java.io.Serializable;
 
 /**
  * Role entity - implements Serializable for Redis caching.
+ *
+ * Disimpan juga di Hibernate second-level cache (region "l2-roles") karena
+ * tabelnya kecil dan jarang berubah. Lookup berdasarkan nama memakai
+ * natural-id cache, jadi tidak perlu query ke database.
  */
 @Entity
 @Table(name = "roles")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "l2-roles")
+@NaturalIdCache(region = "l2-roles-natural-id")
+@EntityListeners(SecondLevelCacheInvalidationListener.class)
 @Data
 @Builder
 @NoArgsConstructor
@@ -24,9 +37,11 @@ public class Role implements Serializable {
     private static final long serialVersionUID = 1L;
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "roles_seq")
+    @SequenceGenerator(name = "roles_seq", sequenceName = "roles_seq", allocationSize = 50)
     private Long id;
 
+    @NaturalId(mutable = true)
     @Column(name = "name", unique = true, nullable = false, length = 50)
     private String name;
 }
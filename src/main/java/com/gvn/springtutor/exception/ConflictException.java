@@ -0,0 +1,15 @@
+package com.gvn.springtutor.exception;
+
+/**
+ * Custom exception untuk konflik state (409 Conflict), misalnya status
+ * pengajuan sudah diubah reviewer lain.
+ *
+ * Konflik adalah hasil normal dari optimistic locking, bukan error, jadi
+ * exception ini tidak mengisi stack trace.
+ */
+public class ConflictException extends RuntimeException {
+
+    public ConflictException(String message) {
+        super(message, null, false, false);
+    }
+}
@@ -2,6 +2,7 @@ package com.gvn.springtutor.exception;
 
 import com.gvn.springtutor.base.ApiResponse;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -43,6 +44,24 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
     }
 
+    /**
+     * Handle ConflictException dan optimistic lock failure - 409 Conflict
+     */
+    @ExceptionHandler({ ConflictException.class, OptimisticLockingFailureException.class })
+    public ResponseEntity<ApiResponse<Object>> handleConflictException(RuntimeException ex) {
+        log.warn("Conflict: {}", ex.getMessage());
+
+        ApiResponse<Object> response = ApiResponse.builder()
+                .success(false)
+                .message(ex instanceof ConflictException ? ex.getMessage() : "Resource was modified concurrently")
+                .data(null)
+                .code(HttpStatus.CONFLICT.value())
+                .timestamp(Instant.now())
+                .build();
+
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+    }
+
     /**
      * Handle MethodArgumentNotValidException - 400 Bad Request
      * Untuk validasi @Valid pada request body.
@@ -0,0 +1,135 @@
+package com.gvn.springtutor.history;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.List;
+
+/**
+ * Sliding window partisi bulanan applications_history (SQL Server).
+ *
+ * Setiap kali berjalan (idempotent):
+ * 1. Menyiapkan partisi kosong untuk months-ahead bulan ke depan (SPLIT di
+ *    partisi terakhir yang masih kosong, murah)
+ * 2. Selama bulan tertua lebih lama dari hot-months: SWITCH partisi 2 ke
+ *    tabel stage (metadata saja), salin ke applications_history_archive
+ *    (clustered columnstore), kosongkan stage, lalu MERGE boundary pertama
+ *    (kedua partisi kosong, jadi juga metadata saja)
+ *
+ * Insert dan query timeline tidak pernah menyentuh partisi yang sedang
+ * diarsip, sehingga latensinya tidak bergantung pada total riwayat.
+ * Memerlukan db/mssql/partition-applications-history.sql.
+ *
+ * Metric: {@code history.archived.partitions}.
+ */
+@Slf4j
+public class ApplicationsHistoryArchiver {
+
+    static final String PARTITION_FUNCTION = "pf_applications_history_month";
+    static final String PARTITION_SCHEME = "ps_applications_history_month";
+
+    private static final String SELECT_BOUNDARIES = """
+            SELECT CAST(prv.value AS DATETIMEOFFSET(6))
+            FROM sys.partition_range_values prv
+            JOIN sys.partition_functions pf ON pf.function_id = prv.function_id
+            WHERE pf.name = ?
+            ORDER BY prv.boundary_id""";
+
+    private static final String COLUMNS =
+            "id, application_id, changed_by, created_at, note, product_id, status, user_id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final HistoryProperties.Archive properties;
+    private final Counter archivedPartitions;
+
+    public ApplicationsHistoryArchiver(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+            HistoryProperties.Archive properties, MeterRegistry registry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.properties = properties;
+        this.archivedPartitions = Counter.builder("history.archived.partitions")
+                .description("Partisi bulanan applications_history yang dipindah ke archive")
+                .register(registry);
+    }
+
+    @Scheduled(cron = "${app.history.archive.cron:0 30 2 * * *}")
+    public void run() {
+        try {
+            YearMonth current = YearMonth.now(ZoneOffset.UTC);
+            ensureFuturePartitions(current);
+            archiveBefore(current.minusMonths(properties.getHotMonths() - 1L));
+        } catch (RuntimeException e) {
+            log.warn("applications_history archiving failed: {}", e.getMessage());
+        }
+    }
+
+    void ensureFuturePartitions(YearMonth current) {
+        List<OffsetDateTime> boundaries = boundaries();
+        OffsetDateTime last = boundaries.isEmpty() ? null : boundaries.get(boundaries.size() - 1);
+        for (int i = 0; i <= properties.getMonthsAhead(); i++) {
+            OffsetDateTime month = startOf(current.plusMonths(i));
+            if (last == null || month.isAfter(last)) {
+                jdbcTemplate.execute("ALTER PARTITION SCHEME " + PARTITION_SCHEME + " NEXT USED [PRIMARY]");
+                jdbcTemplate.execute("ALTER PARTITION FUNCTION " + PARTITION_FUNCTION + "() SPLIT RANGE ("
+                        + literal(month) + ")");
+                last = month;
+                log.info("Added applications_history partition for {}", month.toLocalDate());
+            }
+        }
+    }
+
+    /**
+     * Arsipkan semua bulan sebelum firstHotMonth.
+     */
+    void archiveBefore(YearMonth firstHotMonth) {
+        OffsetDateTime cutoff = startOf(firstHotMonth);
+        while (true) {
+            List<OffsetDateTime> boundaries = boundaries();
+            // Partisi 2 = [boundary 1, boundary 2); hanya diarsip jika seluruhnya sebelum cutoff
+            if (boundaries.size() < 2 || boundaries.get(1).isAfter(cutoff)) {
+                return;
+            }
+            OffsetDateTime oldest = boundaries.get(0);
+            Integer rows = transactionTemplate.execute(status -> {
+                jdbcTemplate.execute("ALTER TABLE dbo.applications_history SWITCH PARTITION 2 "
+                        + "TO dbo.applications_history_stage");
+                int copied = jdbcTemplate.update("INSERT INTO dbo.applications_history_archive WITH (TABLOCK) ("
+                        + COLUMNS + ") SELECT " + COLUMNS + " FROM dbo.applications_history_stage");
+                jdbcTemplate.execute("TRUNCATE TABLE dbo.applications_history_stage");
+                jdbcTemplate.execute("ALTER PARTITION FUNCTION " + PARTITION_FUNCTION + "() MERGE RANGE ("
+                        + literal(oldest) + ")");
+                return copied;
+            });
+            archivedPartitions.increment();
+            log.info("Archived applications_history partition {} ({} rows)", boundaries.get(1).toLocalDate()
+                    .minusMonths(1), rows);
+        }
+    }
+
+    /**
+     * Boundary partition function, urut naik (RANGE RIGHT: awal bulan).
+     */
+    List<OffsetDateTime> boundaries() {
+        return jdbcTemplate.query(SELECT_BOUNDARIES,
+                (rs, rowNum) -> rs.getObject(1, OffsetDateTime.class), PARTITION_FUNCTION);
+    }
+
+    private static OffsetDateTime startOf(YearMonth month) {
+        return LocalDate.of(month.getYear(), month.getMonth(), 1).atStartOfDay().atOffset(ZoneOffset.UTC);
+    }
+
+    /** Nilai dibuat dari tanggal, bukan input user */
+    private static String literal(OffsetDateTime value) {
+        return "'" + value.toLocalDate() + " 00:00:00 +00:00'";
+    }
+}
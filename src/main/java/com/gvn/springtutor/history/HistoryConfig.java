@@ -0,0 +1,28 @@
+package com.gvn.springtutor.history;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/**
+ * Penyimpanan applications_history: window query default dan archiver
+ * partisi (hanya SQL Server, aktif lewat app.history.archive.enabled).
+ *
+ * Di H2 / database tanpa partisi, batas created_at pada query tetap
+ * memakai index (application_id, created_at); archiver tidak dijalankan.
+ */
+@Configuration
+@EnableConfigurationProperties(HistoryProperties.class)
+public class HistoryConfig {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "app.history.archive", name = "enabled", havingValue = "true")
+    public ApplicationsHistoryArchiver applicationsHistoryArchiver(JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager, HistoryProperties properties, MeterRegistry registry) {
+        return new ApplicationsHistoryArchiver(jdbcTemplate, transactionManager, properties.getArchive(), registry);
+    }
+}
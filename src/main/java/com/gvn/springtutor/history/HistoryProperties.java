@@ -0,0 +1,45 @@
+package com.gvn.springtutor.history;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Konfigurasi penyimpanan applications_history.
+ *
+ * <pre>
+ * app:
+ *   history:
+ *     query-window: 366d
+ *     archive:
+ *       enabled: false
+ *       hot-months: 12
+ *       months-ahead: 3
+ *       cron: "0 30 2 * * *"
+ * </pre>
+ */
+@Data
+@ConfigurationProperties(prefix = "app.history")
+public class HistoryProperties {
+
+    /** Batas default query timeline (sebaiknya tidak melebihi hot-months) */
+    private Duration queryWindow = Duration.ofDays(366);
+
+    private Archive archive = new Archive();
+
+    @Data
+    public static class Archive {
+
+        /** Hanya untuk SQL Server yang sudah dipartisi (lihat db/mssql) */
+        private boolean enabled = false;
+
+        /** Jumlah bulan terakhir yang tetap di tabel utama */
+        private int hotMonths = 12;
+
+        /** Partisi kosong yang disiapkan untuk bulan-bulan berikutnya */
+        private int monthsAhead = 3;
+
+        private String cron = "0 30 2 * * *";
+    }
+}
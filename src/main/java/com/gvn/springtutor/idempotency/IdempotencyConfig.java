@@ -0,0 +1,31 @@
+package com.gvn.springtutor.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gvn.springtutor.cache.KeyValueStore;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Filter Idempotency-Key memakai KeyValueStore yang sama dengan token
+ * denylist, jadi mengikuti app.cache.backend:
+ *
+ * - local: in-process (single-node)
+ * - redis / hybrid: Redis, dibagi semua node
+ *
+ * Filter terdaftar dengan order default (paling akhir), sehingga berjalan
+ * setelah Spring Security dan bisa men-scope key per user.
+ */
+@Configuration
+@EnableConfigurationProperties(IdempotencyProperties.class)
+public class IdempotencyConfig {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "app.idempotency", name = "enabled", matchIfMissing = true)
+    public IdempotencyFilter idempotencyFilter(KeyValueStore store, IdempotencyProperties properties,
+            ObjectMapper redisObjectMapper, MeterRegistry registry) {
+        return new IdempotencyFilter(store, properties, redisObjectMapper, registry);
+    }
+}
@@ -0,0 +1,335 @@
+package com.gvn.springtutor.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gvn.springtutor.base.ApiResponse;
+import com.gvn.springtutor.cache.KeyValueStore;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Dukungan header {@code Idempotency-Key} untuk POST (app.idempotency.paths).
+ *
+ * - Request pertama menaruh penanda "sedang diproses" (SET NX dengan
+ *   lock-ttl), dijalankan, lalu status + body response (sudah berupa bytes)
+ *   disimpan selama ttl
+ * - Retry dengan key yang sama dijawab dari store: satu lookup, tanpa
+ *   BCrypt, insert, atau cache eviction; header
+ *   {@code Idempotent-Replayed: true}
+ * - Duplikat yang datang bersamaan menunggu request pertama (di node yang
+ *   sama lewat future, di node lain dengan polling store) sampai
+ *   wait-timeout, lalu 409
+ * - Key yang sama dengan body berbeda: 422
+ * - Response 5xx tidak disimpan (penanda dihapus) agar bisa dicoba lagi
+ * - Body request lebih besar dari max-request-size ditolak dengan 413
+ *   (dicek dari Content-Length, lalu pembacaan body dibatasi)
+ *
+ * Key di-scope per user (atau anonymous) dan path. Jika store tidak bisa
+ * diakses (misalnya circuit breaker Redis terbuka), request dijalankan
+ * biasa tanpa perlindungan idempotency.
+ *
+ * Metric: {@code http.idempotency.replayed}.
+ */
+@Slf4j
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final String KEY_PREFIX = "idempotency:";
+    private static final int MAX_KEY_LENGTH = 128;
+
+    private final KeyValueStore store;
+    private final IdempotencyProperties properties;
+    private final ObjectMapper objectMapper;
+    private final Counter replayed;
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    /** Request yang sedang diproses di node ini, per store key */
+    private final Map<String, CompletableFuture<Void>> inFlight = new ConcurrentHashMap<>();
+
+    public IdempotencyFilter(KeyValueStore store, IdempotencyProperties properties, ObjectMapper objectMapper,
+            MeterRegistry registry) {
+        this.store = store;
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.replayed = Counter.builder("http.idempotency.replayed")
+                .description("Request POST yang dijawab dari response tersimpan")
+                .register(registry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!"POST".equals(request.getMethod()) || request.getHeader(HEADER) == null) {
+            return true;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return properties.getPaths().stream().noneMatch(pattern -> pathMatcher.match(pattern, path));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String idempotencyKey = request.getHeader(HEADER);
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            writeError(response, HttpStatus.BAD_REQUEST, HEADER + " must be 1-" + MAX_KEY_LENGTH + " characters");
+            return;
+        }
+
+        int maxRequestSize = properties.getMaxRequestSize();
+        if (request.getContentLengthLong() > maxRequestSize) {
+            writeError(response, HttpStatus.CONTENT_TOO_LARGE, "Request body exceeds " + maxRequestSize + " bytes");
+            return;
+        }
+        byte[] body = request.getInputStream().readNBytes(maxRequestSize + 1);
+        if (body.length > maxRequestSize) {
+            writeError(response, HttpStatus.CONTENT_TOO_LARGE, "Request body exceeds " + maxRequestSize + " bytes");
+            return;
+        }
+        CachedBodyRequest cachedRequest = new CachedBodyRequest(request, body);
+        String storeKey = KEY_PREFIX + scope() + ":" + request.getRequestURI() + ":" + idempotencyKey;
+        String fingerprint = fingerprint(request, body);
+
+        CompletableFuture<Void> mine = new CompletableFuture<>();
+        long deadline = System.nanoTime() + properties.getWaitTimeout().toNanos();
+        boolean claimed = false;
+        try {
+            while (true) {
+                CompletableFuture<Void> local = inFlight.putIfAbsent(storeKey, mine);
+                if (local != null) {
+                    // Duplikat di node yang sama: tunggu tanpa polling
+                    if (!await(local, deadline)) {
+                        writeError(response, HttpStatus.CONFLICT, "A request with this " + HEADER + " is in progress");
+                        return;
+                    }
+                    continue;
+                }
+                try {
+                    IdempotentResponse stored = IdempotentResponse.decode(store.get(storeKey));
+                    if (stored == null) {
+                        if (store.setIfAbsent(storeKey, IdempotentResponse.pending(fingerprint).encode(),
+                                properties.getLockTtl())) {
+                            claimed = true;
+                            break;
+                        }
+                    } else if (!stored.fingerprint().equals(fingerprint)) {
+                        writeError(response, HttpStatus.UNPROCESSABLE_CONTENT,
+                                HEADER + " was already used with a different request");
+                        return;
+                    } else if (!stored.isPending()) {
+                        replay(stored, response);
+                        return;
+                    }
+                } finally {
+                    if (!claimed) {
+                        inFlight.remove(storeKey, mine);
+                        mine.complete(null);
+                    }
+                }
+
+                // Diproses node lain: polling sampai selesai atau timeout
+                if (System.nanoTime() > deadline) {
+                    writeError(response, HttpStatus.CONFLICT, "A request with this " + HEADER + " is in progress");
+                    return;
+                }
+                sleep();
+                mine = new CompletableFuture<>();
+            }
+        } catch (RuntimeException e) {
+            log.warn("Idempotency store unavailable, executing request without it: {}", e.getMessage());
+            chain.doFilter(cachedRequest, response);
+            return;
+        }
+
+        try {
+            execute(cachedRequest, response, chain, storeKey, fingerprint);
+        } finally {
+            inFlight.remove(storeKey, mine);
+            mine.complete(null);
+        }
+    }
+
+    private void execute(HttpServletRequest request, HttpServletResponse response, FilterChain chain,
+            String storeKey, String fingerprint) throws ServletException, IOException {
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        boolean stored = false;
+        try {
+            chain.doFilter(request, wrapper);
+            int status = wrapper.getStatus();
+            byte[] responseBody = wrapper.getContentAsByteArray();
+            if (status < 500 && responseBody.length <= properties.getMaxBodySize()) {
+                try {
+                    store.set(storeKey, new IdempotentResponse(fingerprint, status, wrapper.getContentType(),
+                            responseBody).encode(), properties.getTtl());
+                    stored = true;
+                } catch (RuntimeException e) {
+                    log.warn("Failed to store idempotent response for {}: {}", storeKey, e.getMessage());
+                }
+            }
+        } finally {
+            if (!stored) {
+                try {
+                    store.getAndDelete(storeKey);
+                } catch (RuntimeException e) {
+                    // Penanda hilang sendiri setelah lock-ttl
+                }
+            }
+            wrapper.copyBodyToResponse();
+        }
+    }
+
+    private void replay(IdempotentResponse stored, HttpServletResponse response) throws IOException {
+        replayed.increment();
+        response.setStatus(stored.status());
+        if (stored.contentType() != null) {
+            response.setContentType(stored.contentType());
+        }
+        response.setHeader(REPLAYED_HEADER, "true");
+        response.setContentLength(stored.body().length);
+        response.getOutputStream().write(stored.body());
+    }
+
+    private void writeError(HttpServletResponse response, HttpStatus status, String message) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), ApiResponse.builder()
+                .success(false)
+                .message(message)
+                .code(status.value())
+                .timestamp(Instant.now())
+                .build());
+    }
+
+    private static boolean await(CompletableFuture<Void> future, long deadline) {
+        try {
+            future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            return true;
+        } catch (TimeoutException e) {
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (ExecutionException e) {
+            return true;
+        }
+    }
+
+    private void sleep() {
+        try {
+            Thread.sleep(properties.getPollInterval().toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static String scope() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.isAuthenticated() ? authentication.getName() : "anonymous";
+    }
+
+    private static String fingerprint(HttpServletRequest request, byte[] body) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(request.getMethod().getBytes(StandardCharsets.UTF_8));
+            digest.update(request.getRequestURI().getBytes(StandardCharsets.UTF_8));
+            digest.update(body);
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Request dengan body yang sudah dibaca ke memory (untuk fingerprint),
+     * sehingga controller tetap bisa membacanya.
+     */
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream input = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return input.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                /**
+                 * Body sudah ada di memory: listener langsung diberi tahu
+                 * data tersedia, lalu selesai setelah semuanya dibaca.
+                 */
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    try {
+                        if (!isFinished()) {
+                            listener.onDataAvailable();
+                        }
+                        if (isFinished()) {
+                            listener.onAllDataRead();
+                        }
+                    } catch (IOException | RuntimeException e) {
+                        listener.onError(e);
+                    }
+                }
+
+                @Override
+                public int read() {
+                    return input.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return input.read(b, off, len);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            return new BufferedReader(new InputStreamReader(getInputStream(), StandardCharsets.UTF_8));
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.gvn.springtutor.idempotency;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Konfigurasi header Idempotency-Key.
+ *
+ * <pre>
+ * app:
+ *   idempotency:
+ *     enabled: true
+ *     paths: [/products, /auth/register, /applications]
+ *     ttl: 24h
+ *     lock-ttl: 30s
+ *     wait-timeout: 10s
+ *     poll-interval: 50ms
+ *     max-body-size: 65536
+ *     max-request-size: 65536
+ * </pre>
+ */
+@Data
+@ConfigurationProperties(prefix = "app.idempotency")
+public class IdempotencyProperties {
+
+    private boolean enabled = true;
+
+    /** Path POST (pola Ant) yang mendukung Idempotency-Key */
+    private List<String> paths = new ArrayList<>(List.of("/products", "/auth/register", "/applications"));
+
+    /** Lama response pertama disimpan untuk retry */
+    private Duration ttl = Duration.ofHours(24);
+
+    /** Umur penanda "sedang diproses" jika node pemrosesnya mati */
+    private Duration lockTtl = Duration.ofSeconds(30);
+
+    /** Lama request duplikat menunggu request pertama selesai sebelum 409 */
+    private Duration waitTimeout = Duration.ofSeconds(10);
+
+    /** Interval cek store saat request pertama diproses node lain */
+    private Duration pollInterval = Duration.ofMillis(50);
+
+    /** Response lebih besar dari ini tidak disimpan (retry dijalankan ulang) */
+    private int maxBodySize = 64 * 1024;
+
+    /**
+     * Body request dengan Idempotency-Key dibaca ke memory untuk fingerprint;
+     * yang lebih besar dari ini ditolak dengan 413
+     */
+    private int maxRequestSize = 64 * 1024;
+}
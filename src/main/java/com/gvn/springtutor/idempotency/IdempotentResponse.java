@@ -0,0 +1,60 @@
+package com.gvn.springtutor.idempotency;
+
+import java.util.Base64;
+
+/**
+ * Isi entry Idempotency-Key di KeyValueStore.
+ *
+ * Format string (tanpa JSON agar replay tidak perlu parsing body):
+ * <pre>
+ * P|&lt;fingerprint&gt;                                   sedang diproses
+ * D|&lt;fingerprint&gt;|&lt;status&gt;|&lt;content-type&gt;|&lt;base64 body&gt;   selesai
+ * </pre>
+ * Fingerprint adalah hash request (method, path, body), sehingga key yang
+ * sama dengan body berbeda bisa ditolak.
+ *
+ * @param body null selama masih diproses
+ */
+record IdempotentResponse(String fingerprint, int status, String contentType, byte[] body) {
+
+    private static final String PENDING = "P";
+    private static final String DONE = "D";
+
+    static IdempotentResponse pending(String fingerprint) {
+        return new IdempotentResponse(fingerprint, 0, null, null);
+    }
+
+    boolean isPending() {
+        return body == null;
+    }
+
+    String encode() {
+        if (isPending()) {
+            return PENDING + "|" + fingerprint;
+        }
+        return DONE + "|" + fingerprint + "|" + status + "|" + (contentType != null ? contentType : "")
+                + "|" + Base64.getEncoder().encodeToString(body);
+    }
+
+    /**
+     * @return null jika value kosong atau rusak
+     */
+    static IdempotentResponse decode(String value) {
+        if (value == null) {
+            return null;
+        }
+        String[] parts = value.split("\\|", 5);
+        try {
+            if (parts.length == 2 && PENDING.equals(parts[0])) {
+                return pending(parts[1]);
+            }
+            if (parts.length == 5 && DONE.equals(parts[0])) {
+                return new IdempotentResponse(parts[1], Integer.parseInt(parts[2]),
+                        parts[3].isEmpty() ? null : parts[3], Base64.getDecoder().decode(parts[4]));
+            }
+        } catch (IllegalArgumentException e) {
+            // jatuh ke null
+        }
+        return null;
+    }
+}
@@ -0,0 +1,21 @@
+package com.gvn.springtutor.outbox;
+
+import com.gvn.springtutor.entity.OutboxEvent;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+
+/**
+ * OutboxSink tanpa broker (backend local): event hanya di-log.
+ */
+@Slf4j
+public class LoggingOutboxSink implements OutboxSink {
+
+    @Override
+    public void publish(List<OutboxEvent> events) {
+        for (OutboxEvent event : events) {
+            log.debug("Outbox event {} {} {}:{} {}", event.getId(), event.getEventType(),
+                    event.getAggregateType(), event.getAggregateId(), event.getPayload());
+        }
+    }
+}
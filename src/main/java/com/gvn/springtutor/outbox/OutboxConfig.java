@@ -0,0 +1,44 @@
+package com.gvn.springtutor.outbox;
+
+import com.gvn.springtutor.cache.RedisCircuitBreaker;
+import com.gvn.springtutor.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/**
+ * Transactional outbox: sink mengikuti app.cache.backend dan relay bisa
+ * dimatikan per node lewat app.outbox.enabled.
+ *
+ * - local: LoggingOutboxSink
+ * - redis / hybrid: RedisStreamOutboxSink
+ */
+@Configuration
+@EnableConfigurationProperties(OutboxProperties.class)
+public class OutboxConfig {
+
+    @Bean
+    @ConditionalOnExpression("'${app.cache.backend:redis}'.equalsIgnoreCase('local')")
+    public OutboxSink loggingOutboxSink() {
+        return new LoggingOutboxSink();
+    }
+
+    @Bean
+    @ConditionalOnExpression("!'${app.cache.backend:redis}'.equalsIgnoreCase('local')")
+    public OutboxSink redisStreamOutboxSink(StringRedisTemplate redisTemplate, RedisCircuitBreaker breaker,
+            OutboxProperties properties) {
+        return new RedisStreamOutboxSink(redisTemplate, breaker, properties);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "app.outbox", name = "enabled", matchIfMissing = true)
+    public OutboxRelay outboxRelay(OutboxEventRepository repository, OutboxSink sink, OutboxProperties properties,
+            PlatformTransactionManager transactionManager, MeterRegistry registry) {
+        return new OutboxRelay(repository, sink, properties, transactionManager, registry);
+    }
+}
@@ -0,0 +1,58 @@
+package com.gvn.springtutor.outbox;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Konfigurasi transactional outbox.
+ *
+ * <pre>
+ * app:
+ *   outbox:
+ *     enabled: true
+ *     poll-interval: 500ms
+ *     batch-size: 100
+ *     max-batches-per-poll: 10
+ *     lease: 30s
+ *     retention: 1d
+ *     cleanup-interval: 5m
+ *     cleanup-batch-size: 1000
+ *     stream-prefix: "outbox:"
+ *     stream-max-length: 100000
+ * </pre>
+ */
+@Data
+@ConfigurationProperties(prefix = "app.outbox")
+public class OutboxProperties {
+
+    /** Jalankan relay di node ini (event tetap ditulis walaupun false) */
+    private boolean enabled = true;
+
+    /** Jeda antar polling relay */
+    private Duration pollInterval = Duration.ofMillis(500);
+
+    /** Jumlah event per claim */
+    private int batchSize = 100;
+
+    /** Batas batch per polling agar relay tidak memonopoli scheduler */
+    private int maxBatchesPerPoll = 10;
+
+    /** Lama claim berlaku; setelah itu event bisa diambil node lain */
+    private Duration lease = Duration.ofSeconds(30);
+
+    /** Umur event terkirim sebelum dihapus */
+    private Duration retention = Duration.ofDays(1);
+
+    private Duration cleanupInterval = Duration.ofMinutes(5);
+
+    /** Jumlah row per DELETE saat cleanup */
+    private int cleanupBatchSize = 1_000;
+
+    /** Prefix Redis stream; stream per aggregate type (misalnya outbox:application) */
+    private String streamPrefix = "outbox:";
+
+    /** Panjang maksimum stream (XADD MAXLEN ~) */
+    private long streamMaxLength = 100_000;
+}
@@ -0,0 +1,44 @@
+package com.gvn.springtutor.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gvn.springtutor.entity.OutboxEvent;
+import com.gvn.springtutor.repository.OutboxEventRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+
+/**
+ * Tulis event domain ke outbox dalam transaksi pemanggil.
+ *
+ * Wajib dipanggil di dalam transaksi (MANDATORY): event ikut commit atau
+ * rollback bersama perubahan domain-nya, tanpa dual write ke broker.
+ * Pengiriman dilakukan OutboxRelay.
+ */
+@Component
+@RequiredArgsConstructor
+public class OutboxPublisher {
+
+    private final OutboxEventRepository repository;
+    private final ObjectMapper objectMapper;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void append(String aggregateType, Object aggregateId, String eventType, Object payload) {
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize outbox event " + eventType, e);
+        }
+        repository.save(OutboxEvent.builder()
+                .aggregateType(aggregateType)
+                .aggregateId(String.valueOf(aggregateId))
+                .eventType(eventType)
+                .payload(json)
+                .createdAt(Instant.now())
+                .build());
+    }
+}
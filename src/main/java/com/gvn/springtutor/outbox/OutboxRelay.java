@@ -0,0 +1,142 @@
+package com.gvn.springtutor.outbox;
+
+import com.gvn.springtutor.entity.OutboxEvent;
+import com.gvn.springtutor.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Mengirim event outbox ke OutboxSink secara batch.
+ *
+ * Setiap batch:
+ * 1. Transaksi pendek: SELECT TOP n ... skip locked, lalu tandai
+ *    claimedBy/claimedUntil (lease) dan commit; lock langsung dilepas
+ * 2. Kirim ke sink di luar transaksi
+ * 3. Satu UPDATE publishedAt untuk seluruh batch
+ *
+ * Beberapa node bisa berjalan bersamaan: row yang sedang di-claim dilewati
+ * (READPAST) dan lease mencegah pengiriman ganda selama node pemiliknya
+ * hidup. Batch yang gagal dikirim ulang setelah lease habis.
+ *
+ * Metric: {@code outbox.published}, {@code outbox.publish.failures},
+ * {@code outbox.deleted}, {@code outbox.relay.batch} (durasi per batch, termasuk yang gagal) dan
+ * {@code outbox.lag} (umur event tertua di batch terakhir, detik).
+ */
+@Slf4j
+public class OutboxRelay {
+
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final OutboxEventRepository repository;
+    private final OutboxSink sink;
+    private final OutboxProperties properties;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Counter published;
+    private final Counter failures;
+    private final Counter deleted;
+    private final Timer batchTimer;
+    private final AtomicLong lagMillis = new AtomicLong();
+
+    public OutboxRelay(OutboxEventRepository repository, OutboxSink sink, OutboxProperties properties,
+            PlatformTransactionManager transactionManager, MeterRegistry registry) {
+        this.repository = repository;
+        this.sink = sink;
+        this.properties = properties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.published = Counter.builder("outbox.published")
+                .description("Event outbox yang berhasil dikirim")
+                .register(registry);
+        this.failures = Counter.builder("outbox.publish.failures")
+                .description("Batch outbox yang gagal dikirim")
+                .register(registry);
+        this.deleted = Counter.builder("outbox.deleted")
+                .description("Event outbox terkirim yang dihapus")
+                .register(registry);
+        this.batchTimer = Timer.builder("outbox.relay.batch")
+                .description("Durasi claim + kirim + tandai per batch")
+                .register(registry);
+        Gauge.builder("outbox.lag", lagMillis, value -> value.get() / 1000.0)
+                .description("Umur event tertua di batch terakhir (detik)")
+                .baseUnit("seconds")
+                .register(registry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.outbox.poll-interval:500ms}")
+    public void poll() {
+        for (int i = 0; i < properties.getMaxBatchesPerPoll(); i++) {
+            int size = relayBatch();
+            if (size < properties.getBatchSize()) {
+                return;
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.outbox.cleanup-interval:5m}")
+    public void cleanup() {
+        Instant cutoff = Instant.now().minus(properties.getRetention());
+        int batchSize = properties.getCleanupBatchSize();
+        int count;
+        do {
+            count = transactionTemplate.execute(status -> {
+                List<Long> ids = repository.findPublishedBefore(cutoff, PageRequest.of(0, batchSize));
+                if (!ids.isEmpty()) {
+                    repository.deleteAllByIdInBatch(ids);
+                }
+                return ids.size();
+            });
+            deleted.increment(count);
+        } while (count == batchSize);
+    }
+
+    /**
+     * @return jumlah event yang di-claim
+     */
+    int relayBatch() {
+        long start = System.nanoTime();
+        Instant now = Instant.now();
+        List<OutboxEvent> batch = transactionTemplate.execute(status -> {
+            List<OutboxEvent> events = repository.findClaimable(now, PageRequest.of(0, properties.getBatchSize()));
+            if (!events.isEmpty()) {
+                repository.claim(events.stream().map(OutboxEvent::getId).toList(), nodeId,
+                        now.plus(properties.getLease()));
+            }
+            return events;
+        });
+        if (batch == null || batch.isEmpty()) {
+            lagMillis.set(0);
+            return 0;
+        }
+        lagMillis.set(Duration.between(batch.get(0).getCreatedAt(), now).toMillis());
+
+        try {
+            sink.publish(batch);
+        } catch (RuntimeException e) {
+            failures.increment();
+            batchTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            log.warn("Failed to publish {} outbox events (retry after lease {}): {}",
+                    batch.size(), properties.getLease(), e.getMessage());
+            return 0;
+        }
+
+        List<Long> ids = batch.stream().map(OutboxEvent::getId).toList();
+        Integer marked = transactionTemplate.execute(status -> repository.markPublished(ids, nodeId, Instant.now()));
+        published.increment(marked != null ? marked : 0);
+        batchTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return batch.size();
+    }
+}
@@ -0,0 +1,21 @@
+package com.gvn.springtutor.outbox;
+
+import com.gvn.springtutor.entity.OutboxEvent;
+
+import java.util.List;
+
+/**
+ * Tujuan pengiriman event outbox.
+ *
+ * Implementasi: RedisStreamOutboxSink (backend redis dan hybrid) atau
+ * LoggingOutboxSink (backend local). Pengiriman at-least-once: batch yang
+ * gagal (exception) dikirim ulang setelah lease habis, jadi consumer harus
+ * idempotent (pakai id event).
+ */
+public interface OutboxSink {
+
+    /**
+     * Kirim satu batch; exception berarti seluruh batch dianggap gagal.
+     */
+    void publish(List<OutboxEvent> events);
+}
@@ -0,0 +1,53 @@
+package com.gvn.springtutor.outbox;
+
+import com.gvn.springtutor.cache.RedisCircuitBreaker;
+import com.gvn.springtutor.entity.OutboxEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.connection.RedisStreamCommands.XAddOptions;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * OutboxSink ke Redis stream per aggregate type (misalnya outbox:application).
+ *
+ * Satu batch dikirim dalam satu pipeline (satu round-trip); stream dipangkas
+ * dengan XADD MAXLEN ~ agar tidak tumbuh tanpa batas. Lewat
+ * {@link RedisCircuitBreaker}: saat Redis down batch gagal cepat dan
+ * dikirim ulang setelah lease habis.
+ */
+@RequiredArgsConstructor
+public class RedisStreamOutboxSink implements OutboxSink {
+
+    private final StringRedisTemplate redisTemplate;
+    private final RedisCircuitBreaker breaker;
+    private final OutboxProperties properties;
+
+    @Override
+    public void publish(List<OutboxEvent> events) {
+        XAddOptions options = XAddOptions.maxlen(properties.getStreamMaxLength()).approximateTrimming(true);
+        breaker.run(() -> redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (OutboxEvent event : events) {
+                Map<byte[], byte[]> body = new LinkedHashMap<>();
+                body.put(bytes("id"), bytes(String.valueOf(event.getId())));
+                body.put(bytes("type"), bytes(event.getEventType()));
+                body.put(bytes("aggregateId"), bytes(event.getAggregateId()));
+                body.put(bytes("createdAt"), bytes(event.getCreatedAt().toString()));
+                body.put(bytes("payload"), bytes(event.getPayload()));
+                connection.streamCommands().xAdd(
+                        MapRecord.create(bytes(properties.getStreamPrefix() + event.getAggregateType()), body),
+                        options);
+            }
+            return null;
+        }));
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,38 @@
+package com.gvn.springtutor.repository;
+
+import com.gvn.springtutor.entity.ApplicationStatus;
+import com.gvn.springtutor.entity.ApplicationsHistory;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Repository untuk entity ApplicationsHistory (append-only).
+ */
+@Repository
+public interface ApplicationsHistoryRepository extends JpaRepository<ApplicationsHistory, Long> {
+
+    /**
+     * Tambah riwayat dengan INSERT ... SELECT dari applications, sehingga
+     * user_id/product_id tidak perlu dibaca dulu ke aplikasi.
+     * Dipanggil dalam transaksi yang sama dengan transition.
+     */
+    @Modifying
+    @Query("insert into ApplicationsHistory (applicationId, userId, productId, status, note, changedBy, createdAt) "
+            + "select a.id, a.userId, a.productId, :status, :note, :changedBy, :createdAt "
+            + "from Applications a where a.id = :id")
+    int appendFrom(@Param("id") Long applicationId, @Param("status") ApplicationStatus status,
+            @Param("note") String note, @Param("changedBy") String changedBy, @Param("createdAt") Instant createdAt);
+
+    /**
+     * Timeline pengajuan sejak waktu tertentu. Batas created_at membuat SQL
+     * Server hanya membaca partisi bulan-bulan terakhir (partition elimination).
+     */
+    List<ApplicationsHistory> findByApplicationIdAndCreatedAtGreaterThanEqualOrderByCreatedAtAscIdAsc(
+            Long applicationId, Instant since);
+}
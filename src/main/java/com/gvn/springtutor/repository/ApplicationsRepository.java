@@ -0,0 +1,105 @@
+package com.gvn.springtutor.repository;
+
+import com.gvn.springtutor.entity.ApplicationStatus;
+import com.gvn.springtutor.entity.Applications;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository untuk entity Applications.
+ *
+ * Transisi status memakai satu UPDATE bersyarat:
+ * <pre>
+ * UPDATE applications SET status = :to, version = version + 1
+ * WHERE id = :id AND status = :from [AND version = :version]
+ * </pre>
+ * Database hanya mengunci row selama statement berjalan; jika dua reviewer
+ * memproses pengajuan yang sama, yang kalah mendapat 0 row (bukan menunggu
+ * lock atau deadlock) dan dijawab 409.
+ */
+@Repository
+public interface ApplicationsRepository extends JpaRepository<Applications, Long> {
+
+    /**
+     * Lease work-queue ikut dilepas. Pengajuan yang lease-nya masih dipegang
+     * reviewer lain tidak berubah.
+     *
+     * @param version version yang diharapkan, atau null untuk hanya memeriksa status
+     * @return jumlah row yang berubah (0 atau 1)
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Applications a set a.status = :to, a.version = a.version + 1, "
+            + "a.claimedBy = null, a.claimedUntil = null "
+            + "where a.id = :id and a.status = :from and (:version is null or a.version = :version) "
+            + "and (a.claimedUntil is null or a.claimedUntil < :now or a.claimedBy = :reviewer)")
+    int transition(@Param("id") Long id, @Param("from") ApplicationStatus from,
+            @Param("to") ApplicationStatus to, @Param("version") Long version,
+            @Param("reviewer") String reviewer, @Param("now") Instant now);
+
+    /**
+     * Pengajuan di antrean reviewer yang belum di-claim atau lease-nya habis.
+     *
+     * PESSIMISTIC_WRITE + skip locked: di SQL Server
+     * {@code SELECT TOP n ... WITH (UPDLOCK, ROWLOCK, READPAST)}, sehingga
+     * reviewer yang claim bersamaan mendapat row berbeda tanpa saling
+     * menunggu.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = OutboxEventRepository.SKIP_LOCKED))
+    @Query("select a from Applications a where a.status in :statuses "
+            + "and (a.claimedUntil is null or a.claimedUntil < :now) order by a.id")
+    List<Applications> findClaimable(@Param("statuses") Collection<ApplicationStatus> statuses,
+            @Param("now") Instant now, Pageable pageable);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Applications a set a.claimedBy = :reviewer, a.claimedUntil = :until where a.id in :ids")
+    int claim(@Param("ids") Collection<Long> ids, @Param("reviewer") String reviewer,
+            @Param("until") Instant until);
+
+    /**
+     * Lepas lease milik reviewer; pengajuan langsung kembali ke antrean.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Applications a set a.claimedBy = null, a.claimedUntil = null "
+            + "where a.id in :ids and a.claimedBy = :reviewer")
+    int release(@Param("ids") Collection<Long> ids, @Param("reviewer") String reviewer);
+
+    /**
+     * Pengajuan masih di-claim reviewer dan statusnya belum berubah.
+     */
+    boolean existsByIdAndStatusAndClaimedBy(Long id, ApplicationStatus status, String claimedBy);
+
+    List<Applications> findByUserIdOrderByIdDesc(Long userId);
+
+    /**
+     * Jumlah pengajuan approved dan yang belum final per user, untuk banyak
+     * user sekaligus (satu GROUP BY lewat index user_id).
+     */
+    @Query("select a.userId as userId, "
+            + "sum(case when a.status = :approved then 1 else 0 end) as approved, "
+            + "sum(case when a.status in :pending then 1 else 0 end) as pending "
+            + "from Applications a where a.userId in :userIds group by a.userId")
+    List<UserApplicationStats> findStatsByUserIdIn(@Param("userIds") Collection<Long> userIds,
+            @Param("approved") ApplicationStatus approved, @Param("pending") Collection<ApplicationStatus> pending);
+
+    interface UserApplicationStats {
+
+        Long getUserId();
+
+        Long getApproved();
+
+        Long getPending();
+    }
+}
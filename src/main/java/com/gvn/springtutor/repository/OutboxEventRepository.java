@@ -0,0 +1,54 @@
+package com.gvn.springtutor.repository;
+
+import com.gvn.springtutor.entity.OutboxEvent;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository untuk entity OutboxEvent.
+ *
+ * Claim memakai PESSIMISTIC_WRITE dengan lock timeout -2 (skip locked).
+ * Di SQL Server Hibernate menghasilkan {@code WITH (UPDLOCK, ROWLOCK, READPAST)}:
+ * row yang sedang di-claim node lain dilewati, bukan ditunggu, sehingga
+ * beberapa node bisa menguras outbox bersamaan tanpa saling blok.
+ */
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    /** Lock timeout khusus Hibernate untuk SKIP LOCKED / READPAST */
+    String SKIP_LOCKED = "-2";
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = SKIP_LOCKED))
+    @Query("select o from OutboxEvent o where o.publishedAt is null "
+            + "and (o.claimedUntil is null or o.claimedUntil < :now) order by o.id")
+    List<OutboxEvent> findClaimable(@Param("now") Instant now, Pageable pageable);
+
+    @Modifying
+    @Query("update OutboxEvent o set o.claimedBy = :node, o.claimedUntil = :until, o.attempts = o.attempts + 1 "
+            + "where o.id in :ids")
+    int claim(@Param("ids") Collection<Long> ids, @Param("node") String node, @Param("until") Instant until);
+
+    /**
+     * Tandai terkirim; hanya untuk event yang lease-nya masih milik node ini.
+     */
+    @Modifying
+    @Query("update OutboxEvent o set o.publishedAt = :now, o.claimedUntil = null "
+            + "where o.id in :ids and o.claimedBy = :node and o.publishedAt is null")
+    int markPublished(@Param("ids") Collection<Long> ids, @Param("node") String node, @Param("now") Instant now);
+
+    @Query("select o.id from OutboxEvent o where o.publishedAt < :cutoff order by o.id")
+    List<Long> findPublishedBefore(@Param("cutoff") Instant cutoff, Pageable pageable);
+}
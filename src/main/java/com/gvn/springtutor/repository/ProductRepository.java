@@ -1,15 +1,46 @@
 package com.gvn.springtutor.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 import com.gvn.springtutor.entity.Product;
 
+/**
+ * Repository untuk entity Product.
+ *
+ * Query di bawah ditandai cacheable sehingga hasilnya disimpan di Hibernate
+ * query cache (region "l2-products-query"). Hibernate otomatis membuang hasil
+ * query ini setiap kali tabel products berubah.
+ */
 @Repository
 public interface ProductRepository extends JpaRepository<Product, Long> {
 
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "l2-products-query")
+    })
     Optional<Product> findByName(String name);
 
+    @Override
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "l2-products-query")
+    })
+    List<Product> findAll();
+
+    /**
+     * Nama product yang sudah ada di antara names, satu query tanpa memuat entity.
+     */
+    @Query("select p.name from Product p where p.name in :names")
+    List<String> findExistingNames(@Param("names") Collection<String> names);
+
 }
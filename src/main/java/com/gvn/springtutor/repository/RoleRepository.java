@@ -1,10 +1,14 @@
 package com.gvn.springtutor.repository;
 
 import com.gvn.springtutor.entity.Role;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
-import java.util.Optional;
+import java.util.Collection;
+import java.util.List;
 
 /**
  * Repository untuk entity Role.
@@ -33,17 +37,28 @@ import java.util.Optional;
  *             QUERY METHOD:
  *             Spring Data JPA auto-generate query berdasarkan nama method.
  *             findByName(String name) → SELECT * FROM roles WHERE name = ?
+ * 
+ *             SECOND-LEVEL CACHE:
+ *             findByName diimplementasikan di {@link RoleRepositoryImpl}
+ *             memakai natural-id lookup Hibernate, sehingga dilayani dari
+ *             cache "l2-roles-natural-id" + "l2-roles" tanpa query ke database.
  */
 @Repository
-public interface RoleRepository extends JpaRepository<Role, Long> {
+public interface RoleRepository extends JpaRepository<Role, Long>, RoleRepositoryCustom {
+
+    /**
+     * Mengambil semua role, hasilnya disimpan di Hibernate query cache.
+     */
+    @Override
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "l2-roles-query")
+    })
+    List<Role> findAll();
 
     /**
-     * Mencari Role berdasarkan nama.
-     * Spring Data JPA akan otomatis generate query:
-     * SELECT * FROM roles WHERE name = :name
-     * 
-     * @param name nama role yang dicari
-     * @return Optional<Role> (bisa kosong jika tidak ditemukan)
+     * Mengambil beberapa role sekaligus dalam satu query (dipakai DataInitializer):
+     * SELECT * FROM roles WHERE name IN (:names)
      */
-    Optional<Role> findByName(String name);
+    List<Role> findByNameIn(Collection<String> names);
 }
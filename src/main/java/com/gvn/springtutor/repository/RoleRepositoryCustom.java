@@ -0,0 +1,19 @@
+package com.gvn.springtutor.repository;
+
+import com.gvn.springtutor.entity.Role;
+
+import java.util.Optional;
+
+/**
+ * Custom fragment untuk RoleRepository.
+ */
+public interface RoleRepositoryCustom {
+
+    /**
+     * Mencari Role berdasarkan nama (natural id).
+     * 
+     * @param name nama role yang dicari
+     * @return Optional<Role> (bisa kosong jika tidak ditemukan)
+     */
+    Optional<Role> findByName(String name);
+}
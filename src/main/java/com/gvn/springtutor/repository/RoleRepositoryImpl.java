@@ -0,0 +1,30 @@
+package com.gvn.springtutor.repository;
+
+import com.gvn.springtutor.entity.Role;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+/**
+ * Implementasi {@link RoleRepositoryCustom}.
+ * 
+ * Memakai natural-id API Hibernate (bukan JPQL) agar hasil lookup
+ * nama → id disimpan di natural-id cache dan entity-nya di second-level cache.
+ * Query JPQL biasa tidak memakai kedua cache tersebut.
+ */
+public class RoleRepositoryImpl implements RoleRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Role> findByName(String name) {
+        return entityManager.unwrap(Session.class)
+                .bySimpleNaturalId(Role.class)
+                .loadOptional(name);
+    }
+}
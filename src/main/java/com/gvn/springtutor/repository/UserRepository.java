@@ -1,9 +1,15 @@
 package com.gvn.springtutor.repository;
 
 import com.gvn.springtutor.entity.User;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -47,4 +53,37 @@ public interface UserRepository extends JpaRepository<User, Long> {
      * @return Optional<User> (bisa kosong jika tidak ditemukan)
      */
     Optional<User> findByUsername(String username);
+
+    /**
+     * Mengambil banyak user beserta role dalam satu query:
+     * SELECT ... FROM users LEFT JOIN user_roles ... WHERE id IN (:ids)
+     *
+     * Tanpa JOIN FETCH, role (EAGER) dimuat dengan satu query per user.
+     */
+    @Query("select distinct u from User u left join fetch u.roles where u.id in :ids")
+    List<User> findAllWithRolesByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Kunci row user (SELECT ... FOR UPDATE / UPDLOCK) sampai transaksi
+     * selesai, untuk men-serialize submit pengajuan per user.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select u.id from User u where u.id = :id")
+    Optional<Long> lockById(@Param("id") Long id);
+
+    @Query("select u.id from User u order by u.id")
+    List<Long> findAllIds();
+
+    /**
+     * Id user aktif (is_active true atau null) di antara ids.
+     */
+    @Query("select u.id from User u where u.id in :ids and (u.isActive is null or u.isActive = true)")
+    List<Long> findActiveIdsByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Username yang sudah terdaftar di antara usernames. Hanya kolom username
+     * yang dibaca, jadi role (EAGER) tidak ikut dimuat.
+     */
+    @Query("select u.username from User u where u.username in :usernames")
+    List<String> findExistingUsernames(@Param("usernames") Collection<String> usernames);
 }
@@ -0,0 +1,45 @@
+package com.gvn.springtutor.security;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.List;
+
+/**
+ * UserDetails immutable yang disimpan di PrincipalCache.
+ *
+ * Sengaja tidak mengimplementasikan CredentialsContainer: ProviderManager
+ * menghapus password dari principal setelah login, dan instance ini dipakai
+ * bersama oleh banyak request.
+ */
+public record CachedPrincipal(
+        String username,
+        String password,
+        boolean enabled,
+        List<GrantedAuthority> authorities) implements UserDetails {
+
+    @Override
+    public List<GrantedAuthority> getAuthorities() {
+        return authorities;
+    }
+
+    @Override
+    public String getPassword() {
+        return password;
+    }
+
+    @Override
+    public String getUsername() {
+        return username;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public String toString() {
+        return "CachedPrincipal[username=" + username + ", enabled=" + enabled + ", authorities=" + authorities + "]";
+    }
+}
@@ -3,13 +3,12 @@ package com.gvn.springtutor.security;
 import com.gvn.springtutor.entity.User;
 import com.gvn.springtutor.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
-import java.util.stream.Collectors;
+import java.util.List;
 
 /**
  * Custom UserDetailsService Implementation
@@ -22,28 +21,43 @@ import java.util.stream.Collectors;
 public class CustomUserDetailsService implements UserDetailsService {
 
     private final UserRepository userRepository;
+    private final PrincipalCache principalCache;
 
     /**
      * Load user by username.
      * Convert User entity ke Spring Security UserDetails.
+     *
+     * Hasil di-cache per username (lihat PrincipalCache) dan di-invalidate
+     * saat user / role berubah, sehingga login berulang tidak query DB.
      */
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
+        return principalCache.get(username, this::loadFromDatabase);
+    }
+
+    /**
+     * Load user langsung dari database (melewati PrincipalCache) lalu
+     * perbarui cache. Dipakai saat refresh token, agar user yang dinonaktifkan
+     * atau berubah role di luar aplikasi ini langsung ketahuan.
+     */
+    public UserDetails loadFresh(String username) throws UsernameNotFoundException {
+        return principalCache.reload(username, this::loadFromDatabase);
+    }
+
+    private CachedPrincipal loadFromDatabase(String username) {
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found: " + username));
 
-        // Convert roles ke GrantedAuthority
-        var authorities = user.getRoles().stream()
-                .map(role -> new SimpleGrantedAuthority("ROLE_" + role.getName()))
-                .collect(Collectors.toList());
+        // Convert roles ke GrantedAuthority (di-intern, urutan tetap)
+        List<String> authorityNames = user.getRoles().stream()
+                .map(role -> "ROLE_" + role.getName())
+                .sorted()
+                .toList();
 
-        return new org.springframework.security.core.userdetails.User(
+        return new CachedPrincipal(
                 user.getUsername(),
                 user.getPassword(),
                 user.getIsActive() != null ? user.getIsActive() : true, // enabled
-                true, // accountNonExpired
-                true, // credentialsNonExpired
-                true, // accountNonLocked
-                authorities);
+                principalCache.authorities(authorityNames));
     }
 }
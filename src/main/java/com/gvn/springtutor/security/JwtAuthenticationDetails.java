@@ -0,0 +1,25 @@
+package com.gvn.springtutor.security;
+
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.Getter;
+import org.springframework.security.web.authentication.WebAuthenticationDetails;
+
+import java.time.Instant;
+
+/**
+ * Detail authentication dari access token: jti dan waktu expire-nya.
+ * Dipakai resource yang hidup lebih lama dari satu request (stream SSE)
+ * agar tidak melewati umur token dan bisa ditutup saat token di-revoke.
+ */
+@Getter
+public class JwtAuthenticationDetails extends WebAuthenticationDetails {
+
+    private final String tokenId;
+    private final Instant expiresAt;
+
+    public JwtAuthenticationDetails(HttpServletRequest request, String tokenId, Instant expiresAt) {
+        super(request);
+        this.tokenId = tokenId;
+        this.expiresAt = expiresAt;
+    }
+}
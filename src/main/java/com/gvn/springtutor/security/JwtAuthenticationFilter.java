@@ -1,5 +1,9 @@
 package com.gvn.springtutor.security;
 
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.security.SignatureException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -8,12 +12,11 @@ import lombok.RequiredArgsConstructor;
 //import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.time.Instant;
 
 /**
  * JWT Authentication Filter
@@ -21,7 +24,8 @@ import java.io.IOException;
  * Filter ini dijalankan untuk setiap request.
  * Tugasnya:
  * 1. Extract JWT dari Authorization header
- * 2. Validate token
+ * 2. Validate token: precheck murah (struktur, exp), lalu signature dan
+ *    denylist / logout; penolakan dihitung per alasan (auth.token.rejected)
  * 3. Set authentication di SecurityContext
  */
 @Component
@@ -29,7 +33,9 @@ import java.io.IOException;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
-    private final CustomUserDetailsService userDetailsService;
+    private final TokenDenylist tokenDenylist;
+    private final TokenPrecheck tokenPrecheck;
+    private final TokenRejectionMetrics rejectionMetrics;
 
     @Override
     protected void doFilterInternal(
@@ -40,7 +46,6 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         // Get Authorization header
         final String authHeader = request.getHeader("Authorization");
         final String jwt;
-        final String username;
 
         // Check if header exists and starts with "Bearer "
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
@@ -51,35 +56,67 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         // Extract token (remove "Bearer " prefix)
         jwt = authHeader.substring(7);
 
-        try {
-            // Extract username from token
-            username = jwtUtil.extractUsername(jwt);
-
-            // If username exists and user is not already authenticated
-            if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                // Load user details
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-
-                // Validate token
-                if (jwtUtil.validateToken(jwt, userDetails)) {
-                    // Create authentication token
-                    UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                            userDetails,
-                            null,
-                            userDetails.getAuthorities());
-
-                    // Set additional details
-                    authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-
-                    // Set authentication in SecurityContext
-                    SecurityContextHolder.getContext().setAuthentication(authToken);
-                }
-            }
-        } catch (Exception e) {
-            // Token invalid atau expired, lanjutkan tanpa authentication
-            // Spring Security akan handle unauthorized access
+        TokenCheckResult result = authenticate(jwt, request);
+        if (result != TokenCheckResult.VALID) {
+            // Lanjutkan tanpa authentication, Spring Security akan handle unauthorized access
+            rejectionMetrics.record(result);
         }
 
         filterChain.doFilter(request, response);
     }
+
+    /**
+     * Validasi token dan set authentication. Penolakan dikembalikan sebagai
+     * hasil bertipe; exception hanya muncul dari JJWT untuk token yang lolos
+     * precheck tapi signature-nya salah.
+     */
+    private TokenCheckResult authenticate(String jwt, HttpServletRequest request) {
+        // Precheck murah: token rusak / expired ditolak tanpa verifikasi signature
+        TokenCheckResult precheck = tokenPrecheck.check(jwt, System.currentTimeMillis());
+        if (precheck != TokenCheckResult.VALID) {
+            return precheck;
+        }
+
+        // Parse token sekali (signature + expiration diverifikasi)
+        Claims claims;
+        try {
+            claims = jwtUtil.extractAllClaims(jwt);
+        } catch (ExpiredJwtException e) {
+            return TokenCheckResult.EXPIRED;
+        } catch (JwtUtil.UnknownSigningKeyException e) {
+            return TokenCheckResult.UNKNOWN_KEY;
+        } catch (SignatureException e) {
+            return TokenCheckResult.INVALID_SIGNATURE;
+        } catch (JwtException | IllegalArgumentException e) {
+            return TokenCheckResult.MALFORMED;
+        }
+
+        // Token yang sudah logout ditolak (cek in-memory, tanpa DB)
+        if (tokenDenylist.isRevoked(claims.getId())) {
+            return TokenCheckResult.REVOKED;
+        }
+
+        String username = claims.getSubject();
+        if (username == null) {
+            return TokenCheckResult.MALFORMED;
+        }
+
+        // If user is not already authenticated.
+        // Tidak ada query DB: roles diambil dari claim access token (berumur pendek).
+        if (SecurityContextHolder.getContext().getAuthentication() == null) {
+            // Create authentication token
+            UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                    username,
+                    null,
+                    jwtUtil.extractAuthorities(claims));
+
+            // Set additional details (jti + exp untuk stream yang berumur panjang)
+            Instant expiresAt = claims.getExpiration() != null ? claims.getExpiration().toInstant() : null;
+            authToken.setDetails(new JwtAuthenticationDetails(request, claims.getId(), expiresAt));
+
+            // Set authentication in SecurityContext
+            SecurityContextHolder.getContext().setAuthentication(authToken);
+        }
+        return TokenCheckResult.VALID;
+    }
 }
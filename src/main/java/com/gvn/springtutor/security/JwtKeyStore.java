@@ -0,0 +1,266 @@
+package com.gvn.springtutor.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.gvn.springtutor.cache.KeyValueStore;
+import com.gvn.springtutor.cache.MessageBus;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Key pair untuk signing JWT beserta public key untuk verifikasi.
+ *
+ * - Setiap node membuat key pair sendiri; private key tidak pernah keluar
+ *   dari memory
+ * - Public key di-publish ke KeyValueStore ({@code jwt:keys:<kid>}) dan
+ *   channel {@code jwt:keys}, sehingga node lain (dan endpoint JWKS) bisa
+ *   memverifikasi token dari node mana pun
+ * - Rotasi dengan overlap: key "next" di-publish satu interval sebelum
+ *   dipakai signing, lalu tetap dipublish sampai token terakhirnya expire
+ * - Verifikasi hanya membaca map in-memory berisi PublicKey yang sudah
+ *   di-decode. Kid yang belum dikenal dicek ke store dengan satu GET,
+ *   paling banyak sekali per refresh-interval untuk semua kid; kid lain
+ *   (dan kid yang sudah dicek) dijawab dari hasil negatif tanpa menyentuh
+ *   store, sehingga token dengan kid acak tidak membebani Redis
+ *
+ * Format value di store: {@code <algorithm>|<expiresAtMillis>|<base64 X.509>}
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class JwtKeyStore {
+
+    static final String CHANNEL = "jwt:keys";
+    static final String KEY_PREFIX = "jwt:keys:";
+
+    /** Toleransi perbedaan jam antar node */
+    private static final Duration CLOCK_SKEW = Duration.ofMinutes(1);
+
+    /** Batas jumlah kid tidak dikenal yang diingat */
+    private static final long MAX_UNKNOWN_KIDS = 10_000;
+
+    private final KeyValueStore store;
+    private final MessageBus messageBus;
+
+    @Value("${jwt.algorithm:ES256}")
+    private JwtSigningAlgorithm algorithm;
+
+    @Value("${jwt.expiration}")
+    private Long expiration;
+
+    @Value("${jwt.keys.rotation-interval:1d}")
+    private Duration rotationInterval;
+
+    @Value("${jwt.keys.refresh-interval:1m}")
+    private Duration refreshInterval;
+
+    private final Map<String, VerificationKey> verificationKeys = new ConcurrentHashMap<>();
+
+    /** Kid yang tidak ditemukan; key yang muncul belakangan masuk lewat pub/sub atau refresh() */
+    private Cache<String, Boolean> unknownKids;
+
+    /** Waktu lookup store terakhir untuk kid tidak dikenal */
+    private final AtomicLong lastMissLookup = new AtomicLong();
+
+    private volatile SigningKey activeKey;
+    private volatile SigningKey nextKey;
+
+    /**
+     * Key untuk signing token baru.
+     */
+    public record SigningKey(String kid, JwtSigningAlgorithm algorithm, PrivateKey privateKey) {
+    }
+
+    /**
+     * Public key yang sudah di-decode, beserta bentuk JWK-nya.
+     */
+    record VerificationKey(String kid, PublicKey publicKey, long expiresAtMillis, Map<String, Object> jwk) {
+    }
+
+    @PostConstruct
+    void init() {
+        unknownKids = Caffeine.newBuilder()
+                .maximumSize(MAX_UNKNOWN_KIDS)
+                .expireAfterWrite(refreshInterval)
+                .build();
+        messageBus.subscribe(CHANNEL, this::onMessage);
+        activeKey = generate();
+        nextKey = generate();
+        loadFromStore();
+        log.info("JWT signing with {} (kid {})", algorithm, activeKey.kid());
+    }
+
+    public SigningKey getActiveKey() {
+        return activeKey;
+    }
+
+    /**
+     * Cari public key berdasarkan kid (header JWS).
+     *
+     * @return null jika kid tidak dikenal atau sudah expire
+     */
+    public PublicKey findVerificationKey(String kid) {
+        if (kid == null) {
+            return null;
+        }
+        VerificationKey key = verificationKeys.get(kid);
+        if (key == null) {
+            key = lookupUnknown(kid);
+        }
+        if (key == null || key.expiresAtMillis() <= System.currentTimeMillis()) {
+            return null;
+        }
+        return key.publicKey();
+    }
+
+    /**
+     * Semua public key yang masih berlaku, dalam format JWK.
+     */
+    public List<Map<String, Object>> getJwks() {
+        long now = System.currentTimeMillis();
+        return verificationKeys.values().stream()
+                .filter(key -> key.expiresAtMillis() > now)
+                .sorted(Comparator.comparingLong(VerificationKey::expiresAtMillis).reversed())
+                .map(VerificationKey::jwk)
+                .toList();
+    }
+
+    /**
+     * Rotasi: key next mulai dipakai signing, key baru menjadi next.
+     * Key lama tetap bisa diverifikasi sampai token terakhirnya expire.
+     */
+    @Scheduled(fixedDelayString = "${jwt.keys.rotation-interval:1d}",
+            initialDelayString = "${jwt.keys.rotation-interval:1d}")
+    public void rotate() {
+        activeKey = nextKey;
+        nextKey = generate();
+        log.info("Rotated JWT signing key, active kid {}", activeKey.kid());
+    }
+
+    /**
+     * Sinkronisasi berkala dengan store dan buang key yang sudah expire.
+     */
+    @Scheduled(fixedDelayString = "${jwt.keys.refresh-interval:1m}")
+    public void refresh() {
+        loadFromStore();
+        long now = System.currentTimeMillis();
+        verificationKeys.values().removeIf(key -> key.expiresAtMillis() <= now);
+    }
+
+    private SigningKey generate() {
+        KeyPair keyPair;
+        try {
+            keyPair = algorithm.generateKeyPair();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot generate " + algorithm + " key pair", e);
+        }
+
+        String kid = UUID.randomUUID().toString();
+        // Berlaku selama menjadi next + active, ditambah umur token terakhir
+        long expiresAt = System.currentTimeMillis() + rotationInterval.multipliedBy(2).toMillis()
+                + expiration + CLOCK_SKEW.toMillis();
+        register(kid, algorithm, keyPair.getPublic(), expiresAt);
+        publish(kid, algorithm.name() + "|" + expiresAt + "|"
+                + Base64.getEncoder().encodeToString(keyPair.getPublic().getEncoded()), expiresAt);
+
+        return new SigningKey(kid, algorithm, keyPair.getPrivate());
+    }
+
+    private void register(String kid, JwtSigningAlgorithm keyAlgorithm, PublicKey publicKey, long expiresAt) {
+        verificationKeys.put(kid,
+                new VerificationKey(kid, publicKey, expiresAt, keyAlgorithm.toJwk(kid, publicKey)));
+    }
+
+    private void publish(String kid, String value, long expiresAt) {
+        try {
+            store.set(KEY_PREFIX + kid, value, Duration.ofMillis(expiresAt - System.currentTimeMillis()));
+            messageBus.publish(CHANNEL, kid + "|" + value);
+        } catch (RuntimeException e) {
+            // Token dari node ini tetap bisa diverifikasi di node ini; node lain
+            // baru mengenal key ini setelah Redis kembali (lihat refresh()).
+            log.warn("Failed to publish JWT public key {}: {}", kid, e.getMessage());
+        }
+    }
+
+    /**
+     * Key node lain yang baru dibuat mungkin belum diterima lewat pub/sub.
+     */
+    private VerificationKey lookupUnknown(String kid) {
+        if (unknownKids.getIfPresent(kid) != null) {
+            return null;
+        }
+        long now = System.currentTimeMillis();
+        long last = lastMissLookup.get();
+        if (now - last < refreshInterval.toMillis() || !lastMissLookup.compareAndSet(last, now)) {
+            unknownKids.put(kid, Boolean.TRUE);
+            return null;
+        }
+
+        try {
+            add(kid, store.get(KEY_PREFIX + kid));
+        } catch (RuntimeException e) {
+            log.warn("Could not look up JWT public key {}: {}", kid, e.getMessage());
+        }
+        VerificationKey key = verificationKeys.get(kid);
+        if (key == null) {
+            unknownKids.put(kid, Boolean.TRUE);
+        }
+        return key;
+    }
+
+    private void loadFromStore() {
+        try {
+            List<String> keys = store.keys(KEY_PREFIX).stream()
+                    .filter(key -> !verificationKeys.containsKey(key.substring(KEY_PREFIX.length())))
+                    .toList();
+            if (keys.isEmpty()) {
+                return;
+            }
+            List<String> values = store.multiGet(keys);
+            for (int i = 0; i < keys.size(); i++) {
+                add(keys.get(i).substring(KEY_PREFIX.length()), values.get(i));
+            }
+        } catch (RuntimeException e) {
+            log.warn("Could not load JWT public keys from store: {}", e.getMessage());
+        }
+    }
+
+    private void onMessage(String message) {
+        String[] parts = message.split("\\|", 2);
+        if (parts.length == 2 && !verificationKeys.containsKey(parts[0])) {
+            add(parts[0], parts[1]);
+        }
+    }
+
+    private void add(String kid, String value) {
+        if (value == null) {
+            return;
+        }
+        String[] parts = value.split("\\|", 3);
+        try {
+            JwtSigningAlgorithm keyAlgorithm = JwtSigningAlgorithm.valueOf(parts[0]);
+            long expiresAt = Long.parseLong(parts[1]);
+            PublicKey publicKey = keyAlgorithm.decodePublicKey(Base64.getDecoder().decode(parts[2]));
+            register(kid, keyAlgorithm, publicKey, expiresAt);
+        } catch (GeneralSecurityException | IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+            log.warn("Ignoring malformed JWT public key {}: {}", kid, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.gvn.springtutor.security;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.SignatureAlgorithm;
+
+import java.math.BigInteger;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.PublicKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Algoritma asymmetric yang didukung untuk signing JWT.
+ *
+ * - ES256: ECDSA P-256, didukung hampir semua library JWT
+ * - EdDSA: Ed25519, signature lebih kecil dan (biasanya) lebih cepat
+ *
+ * Pilih lewat {@code jwt.algorithm}; bandingkan biayanya dengan
+ * JwtSigningBenchmarkTests.
+ */
+public enum JwtSigningAlgorithm {
+
+    ES256("EC", Jwts.SIG.ES256) {
+        @Override
+        public KeyPair generateKeyPair() throws GeneralSecurityException {
+            KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+            generator.initialize(new ECGenParameterSpec("secp256r1"));
+            return generator.generateKeyPair();
+        }
+
+        @Override
+        void writeJwk(PublicKey publicKey, Map<String, Object> jwk) {
+            ECPublicKey ecKey = (ECPublicKey) publicKey;
+            jwk.put("kty", "EC");
+            jwk.put("crv", "P-256");
+            jwk.put("x", base64Url(unsigned(ecKey.getW().getAffineX(), 32)));
+            jwk.put("y", base64Url(unsigned(ecKey.getW().getAffineY(), 32)));
+        }
+    },
+
+    EDDSA("Ed25519", Jwts.SIG.EdDSA) {
+        @Override
+        public KeyPair generateKeyPair() throws GeneralSecurityException {
+            return KeyPairGenerator.getInstance("Ed25519").generateKeyPair();
+        }
+
+        @Override
+        void writeJwk(PublicKey publicKey, Map<String, Object> jwk) {
+            // Encoding X.509 Ed25519 = 12 byte header + 32 byte public key
+            byte[] encoded = publicKey.getEncoded();
+            jwk.put("kty", "OKP");
+            jwk.put("crv", "Ed25519");
+            jwk.put("x", base64Url(Arrays.copyOfRange(encoded, encoded.length - 32, encoded.length)));
+        }
+    };
+
+    private final String keyFactoryAlgorithm;
+    private final SignatureAlgorithm signatureAlgorithm;
+
+    JwtSigningAlgorithm(String keyFactoryAlgorithm, SignatureAlgorithm signatureAlgorithm) {
+        this.keyFactoryAlgorithm = keyFactoryAlgorithm;
+        this.signatureAlgorithm = signatureAlgorithm;
+    }
+
+    public abstract KeyPair generateKeyPair() throws GeneralSecurityException;
+
+    abstract void writeJwk(PublicKey publicKey, Map<String, Object> jwk);
+
+    public SignatureAlgorithm getSignatureAlgorithm() {
+        return signatureAlgorithm;
+    }
+
+    /**
+     * Decode public key dari encoding X.509 (format yang disimpan di Redis).
+     */
+    PublicKey decodePublicKey(byte[] x509) throws GeneralSecurityException {
+        return KeyFactory.getInstance(keyFactoryAlgorithm).generatePublic(new X509EncodedKeySpec(x509));
+    }
+
+    /**
+     * Public key dalam format JWK (RFC 7517) untuk endpoint JWKS.
+     */
+    Map<String, Object> toJwk(String kid, PublicKey publicKey) {
+        Map<String, Object> jwk = new LinkedHashMap<>();
+        writeJwk(publicKey, jwk);
+        jwk.put("kid", kid);
+        jwk.put("use", "sig");
+        jwk.put("alg", signatureAlgorithm.getId());
+        return Collections.unmodifiableMap(jwk);
+    }
+
+    private static byte[] unsigned(BigInteger value, int length) {
+        byte[] bytes = value.toByteArray();
+        if (bytes.length == length) {
+            return bytes;
+        }
+        byte[] padded = new byte[length];
+        int copy = Math.min(bytes.length, length);
+        System.arraycopy(bytes, bytes.length - copy, padded, length - copy, copy);
+        return padded;
+    }
+
+    private static String base64Url(byte[] bytes) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+}
@@ -1,17 +1,26 @@
 package com.gvn.springtutor.security;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Header;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.ProtectedHeader;
+import io.jsonwebtoken.UnsupportedJwtException;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
-import javax.crypto.SecretKey;
-import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.security.PublicKey;
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 import java.util.function.Function;
 
 /**
@@ -21,23 +30,74 @@ import java.util.function.Function;
  * - Generate JWT token
  * - Extract informasi dari token (username, expiration, dll)
  * - Validate token
+ *
+ * Access token berumur pendek (jwt.expiration) dan membawa roles sebagai
+ * claim, sehingga request bisa di-authenticate tanpa query DB. Token
+ * diperbarui lewat refresh token (lihat RefreshTokenService).
+ *
+ * Token di-sign dengan private key asymmetric (ES256 / EdDSA) dan header
+ * kid; service lain memverifikasi dengan public key dari
+ * /.well-known/jwks.json tanpa perlu shared secret.
  */
 @Component
+@RequiredArgsConstructor
 public class JwtUtil {
 
-    @Value("${jwt.secret}")
-    private String secret;
+    /** Claim berisi daftar authority, misalnya ["ROLE_ADMIN", "ROLE_USER"] */
+    public static final String ROLES_CLAIM = "roles";
+
+    /** Claim berisi id family refresh token yang menerbitkan access token ini */
+    public static final String REFRESH_FAMILY_CLAIM = "fid";
+
+    private final JwtKeyStore keyStore;
+    private final PrincipalCache principalCache;
 
     @Value("${jwt.expiration}")
     private Long expiration;
 
+    private JwtParser parser;
+
+    /**
+     * Parser dibuat sekali (thread-safe). Public key dipilih berdasarkan
+     * header kid dari JwtKeyStore (sudah di-decode, tanpa I/O).
+     */
+    @PostConstruct
+    void init() {
+        parser = Jwts.parser()
+                .keyLocator(this::locateKey)
+                .build();
+    }
+
+    private Key locateKey(Header header) {
+        String kid = header instanceof ProtectedHeader protectedHeader ? protectedHeader.getKeyId() : null;
+        PublicKey key = keyStore.findVerificationKey(kid);
+        if (key == null) {
+            throw new UnknownSigningKeyException(kid);
+        }
+        return key;
+    }
+
+    /**
+     * kid tidak dikenal. Tanpa stack trace karena bisa sering terjadi
+     * (token dari key yang sudah pensiun atau bukan dari kita).
+     */
+    public static final class UnknownSigningKeyException extends UnsupportedJwtException {
+
+        UnknownSigningKeyException(String kid) {
+            super("Unknown signing key: " + kid);
+        }
+
+        @Override
+        public synchronized Throwable fillInStackTrace() {
+            return this;
+        }
+    }
+
     /**
-     * Generate SecretKey dari string secret.
-     * Menggunakan HMAC-SHA untuk signing.
+     * Umur access token dalam detik.
      */
-    private SecretKey getSigningKey() {
-        byte[] keyBytes = secret.getBytes(StandardCharsets.UTF_8);
-        return Keys.hmacShaKeyFor(keyBytes);
+    public long getExpirationSeconds() {
+        return expiration / 1000;
     }
 
     /**
@@ -54,6 +114,13 @@ public class JwtUtil {
         return extractClaim(token, Claims::getExpiration);
     }
 
+    /**
+     * Extract token id (jti) dari token, dipakai untuk revoke.
+     */
+    public String extractTokenId(String token) {
+        return extractClaim(token, Claims::getId);
+    }
+
     /**
      * Extract claim tertentu dari token.
      */
@@ -64,15 +131,35 @@ public class JwtUtil {
 
     /**
      * Extract semua claims dari token.
+     * Signature dan expiration diverifikasi; token invalid melempar JwtException.
      */
-    private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
+    public Claims extractAllClaims(String token) {
+        return parser
                 .parseSignedClaims(token)
                 .getPayload();
     }
 
+    /**
+     * Extract authorities dari claim roles.
+     * Token lama menyimpan roles sebagai object {"authority": "ROLE_X"}.
+     */
+    public List<GrantedAuthority> extractAuthorities(Claims claims) {
+        Object roles = claims.get(ROLES_CLAIM);
+        if (!(roles instanceof List<?> values)) {
+            return List.of();
+        }
+
+        List<String> names = new ArrayList<>(values.size());
+        for (Object value : values) {
+            Object authority = value instanceof Map<?, ?> map ? map.get("authority") : value;
+            if (authority != null) {
+                names.add(authority.toString());
+            }
+        }
+        // List immutable yang di-intern, dipakai bersama oleh semua request
+        return principalCache.authorities(names);
+    }
+
     /**
      * Check apakah token sudah expired.
      */
@@ -84,9 +171,21 @@ public class JwtUtil {
      * Generate token untuk user.
      */
     public String generateToken(UserDetails userDetails) {
+        return generateToken(userDetails, null);
+    }
+
+    /**
+     * Generate token untuk user yang terhubung ke family refresh token.
+     */
+    public String generateToken(UserDetails userDetails, String refreshFamilyId) {
         Map<String, Object> claims = new HashMap<>();
-        // Tambahkan roles ke claims
-        claims.put("roles", userDetails.getAuthorities());
+        // Tambahkan roles ke claims (sebagai string agar mudah dibaca kembali)
+        claims.put(ROLES_CLAIM, userDetails.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .toList());
+        if (refreshFamilyId != null) {
+            claims.put(REFRESH_FAMILY_CLAIM, refreshFamilyId);
+        }
         return createToken(claims, userDetails.getUsername());
     }
 
@@ -94,12 +193,15 @@ public class JwtUtil {
      * Create token dengan claims dan subject.
      */
     private String createToken(Map<String, Object> claims, String subject) {
+        JwtKeyStore.SigningKey signingKey = keyStore.getActiveKey();
         return Jwts.builder()
+                .header().keyId(signingKey.kid()).and()
                 .claims(claims)
+                .id(UUID.randomUUID().toString())
                 .subject(subject)
                 .issuedAt(new Date(System.currentTimeMillis()))
                 .expiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSigningKey())
+                .signWith(signingKey.privateKey(), signingKey.algorithm().getSignatureAlgorithm())
                 .compact();
     }
 
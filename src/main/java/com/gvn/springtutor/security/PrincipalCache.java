@@ -0,0 +1,192 @@
+package com.gvn.springtutor.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.gvn.springtutor.cache.MessageBus;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Cache in-process untuk principal (UserDetails) dan authority.
+ *
+ * - Principal per username, dibatasi jumlah dan umurnya; berisi
+ *   {@link CachedPrincipal} immutable yang dipakai bersama
+ * - Authority di-intern: setiap nama role hanya punya satu
+ *   SimpleGrantedAuthority, dan setiap kombinasi roles satu List immutable
+ *   (dipakai juga oleh JwtUtil untuk roles dari claim token)
+ * - Invalidasi dilakukan setelah commit oleh UserService / RoleService dan
+ *   disebarkan ke node lain lewat MessageBus
+ *
+ * Format pesan: {@code <nodeId>|<username>} atau {@code <nodeId>|*} (semua)
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PrincipalCache {
+
+    static final String CHANNEL = "auth:principals:invalidate";
+
+    private static final String ALL = "*";
+
+    /** Batas jumlah kombinasi roles yang di-intern */
+    private static final int MAX_AUTHORITY_SETS = 1_000;
+
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final MessageBus messageBus;
+
+    @Value("${app.security.principal-cache.max-size:10000}")
+    private long maxSize;
+
+    @Value("${app.security.principal-cache.ttl:10m}")
+    private Duration ttl;
+
+    private final Map<String, GrantedAuthority> authorities = new ConcurrentHashMap<>();
+
+    private final Cache<List<String>, List<GrantedAuthority>> authoritySets = Caffeine.newBuilder()
+            .maximumSize(MAX_AUTHORITY_SETS)
+            .build();
+
+    private Cache<String, CachedPrincipal> principals;
+
+    /**
+     * Naik setiap kali ada invalidasi (lokal atau dari node lain). reload()
+     * hanya menyimpan hasil load jika tidak ada invalidasi selama load.
+     */
+    private final AtomicLong invalidations = new AtomicLong();
+
+    @PostConstruct
+    void init() {
+        principals = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .build();
+        messageBus.subscribe(CHANNEL, this::onMessage);
+    }
+
+    /**
+     * Ambil principal dari cache, atau load lewat loader jika belum ada.
+     * Exception dari loader (misalnya UsernameNotFoundException) tidak di-cache.
+     */
+    public CachedPrincipal get(String username, Function<String, CachedPrincipal> loader) {
+        return principals.get(username, loader);
+    }
+
+    /**
+     * Load ulang principal lewat loader tanpa melihat cache (misalnya saat
+     * refresh token), lalu simpan hasilnya. Perubahan yang dibuat di luar
+     * UserService / RoleService (SQL langsung, service lain) langsung
+     * terlihat, dan node lain diminta membuang entry lamanya.
+     *
+     * Jika loader gagal (misalnya user sudah dihapus), entry dibuang di
+     * semua node lalu exception diteruskan.
+     *
+     * Invalidasi yang datang selama load menang: hasil load dikembalikan ke
+     * pemanggil tapi tidak disimpan, sehingga get() berikutnya load ulang.
+     */
+    public CachedPrincipal reload(String username, Function<String, CachedPrincipal> loader) {
+        CachedPrincipal previous = principals.getIfPresent(username);
+        long generation = invalidations.get();
+        CachedPrincipal principal;
+        try {
+            principal = loader.apply(username);
+        } catch (RuntimeException e) {
+            invalidate(username, true);
+            throw e;
+        }
+        // Atomic terhadap invalidate(username): keduanya mengunci entry yang sama,
+        // dan invalidate menaikkan counter sebelum membuang entry
+        principals.asMap().compute(username, (key, current) ->
+                invalidations.get() == generation ? principal : null);
+        if (previous != null && !previous.equals(principal)) {
+            publish(username);
+        }
+        return principal;
+    }
+
+    /**
+     * List authority immutable yang di-intern untuk nama-nama authority
+     * (misalnya ["ROLE_ADMIN", "ROLE_USER"]).
+     */
+    public List<GrantedAuthority> authorities(List<String> names) {
+        List<GrantedAuthority> cached = authoritySets.getIfPresent(names);
+        if (cached != null) {
+            return cached;
+        }
+        return authoritySets.get(List.copyOf(names), key -> key.stream()
+                .map(name -> authorities.computeIfAbsent(name, SimpleGrantedAuthority::new))
+                .toList());
+    }
+
+    /**
+     * Hapus principal user setelah transaksi commit (di semua node).
+     */
+    public void invalidateAfterCommit(Collection<String> usernames) {
+        usernames.forEach(this::afterCommit);
+    }
+
+    /**
+     * Hapus semua principal setelah transaksi commit (misalnya role berubah).
+     */
+    public void invalidateAllAfterCommit() {
+        afterCommit(ALL);
+    }
+
+    private void afterCommit(String target) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidate(target, true);
+                }
+            });
+        } else {
+            invalidate(target, true);
+        }
+    }
+
+    private void invalidate(String target, boolean publish) {
+        invalidations.incrementAndGet();
+        if (ALL.equals(target)) {
+            principals.invalidateAll();
+        } else {
+            principals.invalidate(target);
+        }
+
+        if (publish) {
+            publish(target);
+        }
+    }
+
+    private void publish(String target) {
+        try {
+            messageBus.publish(CHANNEL, nodeId + "|" + target);
+        } catch (RuntimeException e) {
+            // Node lain tertinggal sampai entry-nya expire (app.security.principal-cache.ttl)
+            log.warn("Failed to publish principal invalidation for '{}': {}", target, e.getMessage());
+        }
+    }
+
+    private void onMessage(String message) {
+        String[] parts = message.split("\\|", 2);
+        if (parts.length == 2 && !nodeId.equals(parts[0])) {
+            invalidate(parts[1], false);
+        }
+    }
+}
@@ -3,6 +3,7 @@ package com.gvn.springtutor.security;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
@@ -23,7 +24,7 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
  * Konfigurasi security untuk:
  * - Disable CSRF (REST API tidak perlu CSRF)
  * - Stateless session (JWT-based, tidak pakai session)
- * - Whitelist public endpoints (/auth/**)
+ * - Whitelist public endpoints (/auth/**, /.well-known/jwks.json)
  * - Protect semua endpoint lainnya
  * - Add JWT filter
  */
@@ -49,6 +50,14 @@ public class SecurityConfig {
                 .authorizeHttpRequests(auth -> auth
                         // Public endpoints - tidak perlu authentication
                         .requestMatchers("/auth/**").permitAll()
+                        .requestMatchers("/.well-known/jwks.json").permitAll()
+                        .requestMatchers("/actuator/health").permitAll()
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
+                        .requestMatchers("/admin/**").hasRole("ADMIN")
+                        .requestMatchers(HttpMethod.POST, "/applications/*/approve", "/applications/*/reject")
+                        .hasAnyRole("MARKETING", "BRANCH_MANAGER", "BACKOFFICE", "ADMIN")
+                        .requestMatchers("/applications/queue/**")
+                        .hasAnyRole("MARKETING", "BRANCH_MANAGER", "BACKOFFICE", "ADMIN")
                         .requestMatchers("/error").permitAll()
                         // Semua endpoint lain membutuhkan authentication
                         .anyRequest().authenticated())
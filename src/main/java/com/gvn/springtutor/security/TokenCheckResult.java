@@ -0,0 +1,33 @@
+package com.gvn.springtutor.security;
+
+import java.util.Locale;
+
+/**
+ * Hasil pemeriksaan bearer token di JwtAuthenticationFilter.
+ *
+ * Selain VALID, setiap nilai adalah alasan penolakan dan dipakai sebagai
+ * tag {@code reason} pada metric {@code auth.token.rejected}.
+ */
+public enum TokenCheckResult {
+
+    VALID,
+
+    /** Bukan JWS compact (jumlah bagian, karakter, base64, tanpa exp) */
+    MALFORMED,
+
+    /** Claim exp sudah lewat */
+    EXPIRED,
+
+    /** kid tidak dikenal (key sudah pensiun atau token bukan dari kita) */
+    UNKNOWN_KEY,
+
+    /** Signature tidak cocok */
+    INVALID_SIGNATURE,
+
+    /** jti ada di denylist (logout) */
+    REVOKED;
+
+    public String tag() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,171 @@
+package com.gvn.springtutor.security;
+
+import com.gvn.springtutor.cache.KeyValueStore;
+import com.gvn.springtutor.cache.MessageBus;
+import com.gvn.springtutor.util.ExpiringIdSet;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Daftar token (jti) yang sudah di-revoke, misalnya karena logout.
+ *
+ * - Pengecekan di setiap request hanya membaca {@link ExpiringIdSet}
+ *   in-process (tanpa DB, tanpa Redis)
+ * - Revoke disimpan di KeyValueStore ({@code auth:revoked:<jti>}, TTL = sisa
+ *   umur token) dan di-publish lewat MessageBus agar node lain langsung ikut
+ *   menolak
+ * - Saat startup, node memuat semua key yang masih ada di store
+ * - Entry dibuang dari memory setelah token-nya expire
+ * - Listener ({@link #onRevoked}) dipanggil untuk revoke lokal maupun dari
+ *   node lain, misalnya untuk menutup stream SSE milik token tersebut
+ *
+ * Format pesan: {@code <jti>|<expireAtMillis>}
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TokenDenylist {
+
+    static final String CHANNEL = "auth:revoked";
+    static final String KEY_PREFIX = "auth:revoked:";
+
+    private static final int LOAD_BATCH_SIZE = 500;
+
+    private final ExpiringIdSet revoked = new ExpiringIdSet();
+
+    private final List<Consumer<String>> listeners = new CopyOnWriteArrayList<>();
+
+    private final KeyValueStore store;
+    private final MessageBus messageBus;
+
+    @PostConstruct
+    void init() {
+        messageBus.subscribe(CHANNEL, this::onMessage);
+        loadFromStore();
+    }
+
+    /**
+     * Cek apakah token dengan jti ini sudah di-revoke.
+     * Token tanpa jti (format lama) tidak bisa di-revoke.
+     */
+    public boolean isRevoked(String tokenId) {
+        UUID id = parse(tokenId);
+        return id != null && revoked.contains(id, System.currentTimeMillis());
+    }
+
+    /**
+     * Daftarkan listener yang menerima jti setiap kali token di-revoke.
+     * Di Redis pesan sendiri juga kembali ke node asal, jadi listener harus
+     * tahan dipanggil lebih dari sekali untuk jti yang sama.
+     */
+    public void onRevoked(Consumer<String> listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Revoke token sampai waktu expire-nya.
+     */
+    public void revoke(String tokenId, long expireAtMillis) {
+        UUID id = parse(tokenId);
+        long ttlMillis = expireAtMillis - System.currentTimeMillis();
+        if (id == null || ttlMillis <= 0) {
+            return;
+        }
+
+        revoked.add(id, expireAtMillis);
+        notifyListeners(id.toString());
+        try {
+            store.set(KEY_PREFIX + id, Long.toString(expireAtMillis), Duration.ofMillis(ttlMillis));
+            messageBus.publish(CHANNEL, id + "|" + expireAtMillis);
+        } catch (RuntimeException e) {
+            // Node ini tetap menolak token; node lain baru tahu setelah restart
+            // atau setelah Redis kembali dan token di-revoke ulang.
+            log.warn("Failed to propagate revocation of token {}: {}", id, e.getMessage());
+        }
+    }
+
+    /**
+     * Buang entry yang token-nya sudah expire.
+     */
+    @Scheduled(fixedDelayString = "${jwt.denylist.purge-interval:1m}")
+    public void purgeExpired() {
+        int removed = revoked.purgeExpired(System.currentTimeMillis());
+        if (removed > 0) {
+            log.debug("Purged {} expired entries from token denylist", removed);
+        }
+    }
+
+    public int size() {
+        return revoked.size();
+    }
+
+    private void loadFromStore() {
+        try {
+            List<String> keys = store.keys(KEY_PREFIX);
+            for (int from = 0; from < keys.size(); from += LOAD_BATCH_SIZE) {
+                loadBatch(keys.subList(from, Math.min(from + LOAD_BATCH_SIZE, keys.size())));
+            }
+            log.info("Loaded {} revoked tokens from store", revoked.size());
+        } catch (RuntimeException e) {
+            log.warn("Could not load token denylist from store: {}", e.getMessage());
+        }
+    }
+
+    private void loadBatch(List<String> keys) {
+        List<String> values = store.multiGet(keys);
+        for (int i = 0; i < keys.size(); i++) {
+            add(keys.get(i).substring(KEY_PREFIX.length()), values.get(i));
+        }
+    }
+
+    private void onMessage(String message) {
+        String[] parts = message.split("\\|", 2);
+        if (parts.length == 2 && add(parts[0], parts[1])) {
+            notifyListeners(parts[0]);
+        }
+    }
+
+    private boolean add(String tokenId, String expireAtMillis) {
+        UUID id = parse(tokenId);
+        if (id == null || expireAtMillis == null) {
+            return false;
+        }
+        try {
+            revoked.add(id, Long.parseLong(expireAtMillis));
+            return true;
+        } catch (NumberFormatException e) {
+            log.warn("Ignoring malformed denylist entry for token {}", tokenId);
+            return false;
+        }
+    }
+
+    private void notifyListeners(String tokenId) {
+        for (Consumer<String> listener : listeners) {
+            try {
+                listener.accept(tokenId);
+            } catch (RuntimeException e) {
+                log.warn("Revocation listener failed for token {}: {}", tokenId, e.getMessage());
+            }
+        }
+    }
+
+    private static UUID parse(String tokenId) {
+        if (tokenId == null) {
+            return null;
+        }
+        try {
+            return UUID.fromString(tokenId);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
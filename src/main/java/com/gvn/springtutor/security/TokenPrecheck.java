@@ -0,0 +1,130 @@
+package com.gvn.springtutor.security;
+
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Pemeriksaan murah sebelum verifikasi signature.
+ *
+ * Token dari client lama biasanya sudah expire atau rusak. Memverifikasi
+ * signature-nya lalu menangkap exception dari JJWT (beserta stack trace)
+ * jauh lebih mahal daripada membaca struktur token dan claim {@code exp}
+ * tanpa verifikasi. Hasilnya berupa {@link TokenCheckResult}, bukan
+ * exception.
+ *
+ * Lolos precheck BUKAN berarti token valid; signature tetap diverifikasi
+ * sesudahnya.
+ */
+@Component
+public class TokenPrecheck {
+
+    /** Header + payload + signature minimal */
+    private static final int MIN_LENGTH = 16;
+
+    /** Access token kita jauh di bawah ini; yang lebih panjang ditolak */
+    private static final int MAX_LENGTH = 8 * 1024;
+
+    private static final byte[] EXP_KEY = "\"exp\"".getBytes(StandardCharsets.US_ASCII);
+
+    private static final long NO_EXP = -1;
+
+    public TokenCheckResult check(String token, long nowMillis) {
+        if (token == null || token.length() < MIN_LENGTH || token.length() > MAX_LENGTH) {
+            return TokenCheckResult.MALFORMED;
+        }
+
+        int firstDot = -1;
+        int secondDot = -1;
+        for (int i = 0; i < token.length(); i++) {
+            char c = token.charAt(i);
+            if (c == '.') {
+                if (firstDot < 0) {
+                    firstDot = i;
+                } else if (secondDot < 0) {
+                    secondDot = i;
+                } else {
+                    return TokenCheckResult.MALFORMED;
+                }
+            } else if (!isBase64Url(c)) {
+                return TokenCheckResult.MALFORMED;
+            }
+        }
+
+        if (firstDot <= 0 || secondDot <= firstDot + 1 || secondDot == token.length() - 1
+                || !isDecodableLength(secondDot - firstDot - 1)) {
+            return TokenCheckResult.MALFORMED;
+        }
+
+        long exp;
+        try {
+            exp = readExp(Base64.getUrlDecoder().decode(token.substring(firstDot + 1, secondDot)));
+        } catch (IllegalArgumentException e) {
+            return TokenCheckResult.MALFORMED;
+        }
+        if (exp == NO_EXP) {
+            return TokenCheckResult.MALFORMED;
+        }
+        if (exp <= nowMillis / 1000) {
+            return TokenCheckResult.EXPIRED;
+        }
+        return TokenCheckResult.VALID;
+    }
+
+    /**
+     * Cari {@code "exp": <angka>} di JSON payload tanpa parser JSON.
+     */
+    private static long readExp(byte[] json) {
+        int from = 0;
+        while (true) {
+            int index = indexOf(json, EXP_KEY, from);
+            if (index < 0) {
+                return NO_EXP;
+            }
+            int i = skipWhitespace(json, index + EXP_KEY.length);
+            if (i < json.length && json[i] == ':') {
+                i = skipWhitespace(json, i + 1);
+                long value = 0;
+                int digits = 0;
+                while (i < json.length && json[i] >= '0' && json[i] <= '9' && digits < 18) {
+                    value = value * 10 + (json[i] - '0');
+                    i++;
+                    digits++;
+                }
+                return digits > 0 ? value : NO_EXP;
+            }
+            // "exp" sebagai value (misalnya subject), bukan key
+            from = index + 1;
+        }
+    }
+
+    private static int indexOf(byte[] data, byte[] pattern, int from) {
+        outer:
+        for (int i = from; i <= data.length - pattern.length; i++) {
+            for (int j = 0; j < pattern.length; j++) {
+                if (data[i + j] != pattern[j]) {
+                    continue outer;
+                }
+            }
+            return i;
+        }
+        return -1;
+    }
+
+    private static int skipWhitespace(byte[] json, int i) {
+        while (i < json.length && (json[i] == ' ' || json[i] == '\t' || json[i] == '\n' || json[i] == '\r')) {
+            i++;
+        }
+        return i;
+    }
+
+    /** Panjang base64 tanpa padding tidak pernah bersisa 1 jika dibagi 4 */
+    private static boolean isDecodableLength(int length) {
+        return length % 4 != 1;
+    }
+
+    private static boolean isBase64Url(char c) {
+        return (c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9') || c == '-' || c == '_';
+    }
+}
@@ -0,0 +1,38 @@
+package com.gvn.springtutor.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Counter {@code auth.token.rejected} per alasan penolakan token.
+ *
+ * Counter dibuat sekali di awal agar pencatatan di filter hanya increment
+ * (tanpa lookup registry per request). Lihat /actuator/metrics/auth.token.rejected.
+ */
+@Component
+public class TokenRejectionMetrics {
+
+    private final Map<TokenCheckResult, Counter> counters = new EnumMap<>(TokenCheckResult.class);
+
+    public TokenRejectionMetrics(MeterRegistry registry) {
+        for (TokenCheckResult result : TokenCheckResult.values()) {
+            if (result != TokenCheckResult.VALID) {
+                counters.put(result, Counter.builder("auth.token.rejected")
+                        .description("Bearer token yang ditolak JwtAuthenticationFilter")
+                        .tag("reason", result.tag())
+                        .register(registry));
+            }
+        }
+    }
+
+    public void record(TokenCheckResult result) {
+        Counter counter = counters.get(result);
+        if (counter != null) {
+            counter.increment();
+        }
+    }
+}
@@ -0,0 +1,255 @@
+package com.gvn.springtutor.service;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.gvn.springtutor.cache.MessageBus;
+import com.gvn.springtutor.dto.ApplicationStatusEvent;
+import com.gvn.springtutor.entity.ApplicationStatus;
+import com.gvn.springtutor.exception.BadRequestException;
+import com.gvn.springtutor.security.TokenDenylist;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Fan-out event status pengajuan ke koneksi SSE per user.
+ *
+ * - Koneksi SSE adalah async request servlet: selama idle tidak memegang
+ *   thread, hanya SseEmitter + socket
+ * - Pengiriman dijalankan di virtual thread (satu task per event), sehingga
+ *   client yang lambat tidak menahan transaksi atau listener pub/sub
+ * - Event dipublish setelah commit; node lain menerimanya lewat MessageBus
+ *   dan mengirim ke koneksi yang terhubung ke node tersebut
+ * - Heartbeat (komentar SSE) berkala menjaga koneksi melewati proxy dan
+ *   membuang koneksi yang sudah putus
+ * - Timeout koneksi dibatasi sisa umur access token yang membukanya, dan
+ *   koneksi ditutup saat token itu di-revoke (logout) di node mana pun;
+ *   client membuka ulang stream dengan token baru
+ *
+ * Format pesan: {@code <nodeId>|<userId>|<applicationId>|<status>|<version>|<changedBy>}
+ *
+ * Metric: {@code sse.connections} (koneksi aktif di node ini).
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ApplicationEventHub {
+
+    static final String CHANNEL = "applications:status";
+
+    static final String EVENT_NAME = "application-status";
+
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final MessageBus messageBus;
+    private final MeterRegistry meterRegistry;
+    private final TokenDenylist tokenDenylist;
+
+    @Value("${app.sse.timeout:30m}")
+    private Duration timeout;
+
+    @Value("${app.sse.max-connections-per-user:5}")
+    private int maxConnectionsPerUser;
+
+    private final Map<Long, Set<SseEmitter>> emitters = new ConcurrentHashMap<>();
+
+    /** Koneksi per jti access token, untuk ditutup saat token di-revoke */
+    private final Map<String, Set<SseEmitter>> tokenEmitters = new ConcurrentHashMap<>();
+
+    private final AtomicInteger connections = new AtomicInteger();
+
+    private final ExecutorService sender = Executors.newVirtualThreadPerTaskExecutor();
+
+    @PostConstruct
+    void init() {
+        Gauge.builder("sse.connections", connections, AtomicInteger::get)
+                .description("Koneksi SSE status pengajuan yang aktif di node ini")
+                .register(meterRegistry);
+        messageBus.subscribe(CHANNEL, this::onMessage);
+        tokenDenylist.onRevoked(this::closeToken);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        emitters.values().forEach(set -> set.forEach(SseEmitter::complete));
+        sender.shutdown();
+    }
+
+    /**
+     * Buka koneksi SSE untuk user. Timeout = min(app.sse.timeout, sisa umur
+     * token); tanpa {@code tokenExpiresAt} hanya app.sse.timeout yang berlaku.
+     *
+     * @param tokenId jti access token yang membuka koneksi (boleh null)
+     * @param tokenExpiresAt waktu expire access token (boleh null)
+     * @throws BadRequestException jika token sudah expire atau user sudah
+     *         punya terlalu banyak koneksi
+     */
+    public SseEmitter subscribe(Long userId, String tokenId, Instant tokenExpiresAt) {
+        long timeoutMillis = timeout.toMillis();
+        if (tokenExpiresAt != null) {
+            long remaining = Duration.between(Instant.now(), tokenExpiresAt).toMillis();
+            if (remaining <= 0) {
+                throw new BadRequestException("Token has expired");
+            }
+            timeoutMillis = Math.min(timeoutMillis, remaining);
+        }
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        boolean[] added = { false };
+        emitters.compute(userId, (id, set) -> {
+            Set<SseEmitter> userEmitters = set != null ? set : ConcurrentHashMap.newKeySet();
+            if (userEmitters.size() < maxConnectionsPerUser) {
+                added[0] = userEmitters.add(emitter);
+            }
+            return userEmitters.isEmpty() ? null : userEmitters;
+        });
+        if (!added[0]) {
+            throw new BadRequestException("Too many open event streams");
+        }
+        connections.incrementAndGet();
+        if (tokenId != null) {
+            tokenEmitters.computeIfAbsent(tokenId, id -> ConcurrentHashMap.newKeySet()).add(emitter);
+        }
+
+        Runnable remove = () -> remove(userId, tokenId, emitter);
+        emitter.onCompletion(remove);
+        emitter.onTimeout(remove);
+        emitter.onError(e -> remove.run());
+        return emitter;
+    }
+
+    /**
+     * Kirim event ke pemilik pengajuan setelah transaksi commit (di semua node).
+     */
+    public void publishAfterCommit(ApplicationStatusEvent event) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    publish(event);
+                }
+            });
+        } else {
+            publish(event);
+        }
+    }
+
+    /**
+     * Komentar SSE ke semua koneksi; koneksi yang gagal ditulis dibuang.
+     */
+    @Scheduled(fixedDelayString = "${app.sse.heartbeat-interval:25s}")
+    void heartbeat() {
+        if (connections.get() == 0) {
+            return;
+        }
+        sender.execute(() -> emitters.forEach((userId, set) -> set.forEach(emitter -> {
+            try {
+                emitter.send(SseEmitter.event().comment("ping"));
+            } catch (IOException | IllegalStateException e) {
+                emitter.completeWithError(e);
+            }
+        })));
+    }
+
+    private void publish(ApplicationStatusEvent event) {
+        deliver(event);
+        try {
+            messageBus.publish(CHANNEL, String.join("|", nodeId,
+                    String.valueOf(event.getUserId()),
+                    String.valueOf(event.getApplicationId()),
+                    event.getStatus().name(),
+                    String.valueOf(event.getVersion()),
+                    event.getChangedBy() != null ? event.getChangedBy() : ""));
+        } catch (RuntimeException e) {
+            // Client di node lain tetap bisa membaca status terbaru lewat GET /applications/{id}
+            log.warn("Failed to publish application event {}: {}", event.getApplicationId(), e.getMessage());
+        }
+    }
+
+    private void deliver(ApplicationStatusEvent event) {
+        Set<SseEmitter> userEmitters = emitters.get(event.getUserId());
+        if (userEmitters == null || userEmitters.isEmpty()) {
+            return;
+        }
+        sender.execute(() -> {
+            SseEmitter.SseEventBuilder sse = SseEmitter.event()
+                    .name(EVENT_NAME)
+                    .id(event.getApplicationId() + ":" + event.getVersion())
+                    .data(event, MediaType.APPLICATION_JSON);
+            for (SseEmitter emitter : userEmitters) {
+                try {
+                    emitter.send(sse);
+                } catch (IOException | IllegalStateException e) {
+                    emitter.completeWithError(e);
+                }
+            }
+        });
+    }
+
+    private void onMessage(String message) {
+        String[] parts = message.split("\\|", 6);
+        if (parts.length != 6 || nodeId.equals(parts[0])) {
+            return;
+        }
+        try {
+            Long userId = Long.valueOf(parts[1]);
+            if (!emitters.containsKey(userId)) {
+                return;
+            }
+            deliver(ApplicationStatusEvent.builder()
+                    .userId(userId)
+                    .applicationId(Long.valueOf(parts[2]))
+                    .status(ApplicationStatus.valueOf(parts[3]))
+                    .version("null".equals(parts[4]) ? null : Long.valueOf(parts[4]))
+                    .changedBy(parts[5].isEmpty() ? null : parts[5])
+                    .build());
+        } catch (IllegalArgumentException e) {
+            log.warn("Ignoring malformed application event '{}'", message);
+        }
+    }
+
+    /**
+     * Tutup semua koneksi yang dibuka dengan token ini (token di-revoke).
+     */
+    void closeToken(String tokenId) {
+        Set<SseEmitter> tokenSet = tokenEmitters.remove(tokenId);
+        if (tokenSet != null) {
+            tokenSet.forEach(SseEmitter::complete);
+        }
+    }
+
+    private void remove(Long userId, String tokenId, SseEmitter emitter) {
+        if (tokenId != null) {
+            tokenEmitters.computeIfPresent(tokenId, (id, set) -> {
+                set.remove(emitter);
+                return set.isEmpty() ? null : set;
+            });
+        }
+        emitters.computeIfPresent(userId, (id, set) -> {
+            if (set.remove(emitter)) {
+                connections.decrementAndGet();
+            }
+            return set.isEmpty() ? null : set;
+        });
+    }
+}
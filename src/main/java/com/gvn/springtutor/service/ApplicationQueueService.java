@@ -0,0 +1,204 @@
+package com.gvn.springtutor.service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.gvn.springtutor.approval.ApprovalQueueProperties;
+import com.gvn.springtutor.dto.ApplicationResponse;
+import com.gvn.springtutor.entity.ApplicationStatus;
+import com.gvn.springtutor.entity.Applications;
+import com.gvn.springtutor.exception.BadRequestException;
+import com.gvn.springtutor.exception.ConflictException;
+import com.gvn.springtutor.repository.ApplicationsRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Work-queue approval untuk reviewer.
+ *
+ * Claim mengambil N pengajuan dalam satu transaksi pendek: SELECT TOP n
+ * dengan skip locked (UPDLOCK, READPAST di SQL Server) lalu satu UPDATE
+ * claimedBy / claimedUntil. Reviewer yang claim bersamaan melewati row yang
+ * sedang dikunci reviewer lain, jadi latensi claim tidak bertambah dengan
+ * jumlah reviewer dan satu pengajuan tidak pernah di-claim dua kali.
+ *
+ * Lease:
+ * - Berlaku app.approval-queue.lease; selama lease aktif hanya pemegangnya
+ *   yang bisa approve/reject (ApplicationsRepository.transition)
+ * - Tidak ada job requeue: row yang lease-nya habis otomatis ikut claim
+ *   berikutnya
+ * - Approve/reject dan release melepas lease
+ *
+ * Prefetch: next() mengambil satu pengajuan dari buffer per reviewer di
+ * node ini; jika kosong, claim app.approval-queue.prefetch sekaligus.
+ * Pengajuan di buffer yang sisa lease-nya kurang dari separuh dilepas
+ * kembali ke antrean, bukan diberikan. Sebelum diberikan, pengajuan di
+ * buffer dicek ulang ke primary (masih di-claim reviewer dengan status yang
+ * sama); yang sudah di-approve/reject atau di-release di node lain dibuang.
+ *
+ * Metric: {@code applications.queue.claim} (durasi claim) dan
+ * {@code applications.queue.claimed}.
+ */
+@Service
+@Slf4j
+public class ApplicationQueueService {
+
+    private final ApplicationsRepository applicationsRepository;
+    private final ApprovalQueueProperties properties;
+    private final TransactionTemplate transactionTemplate;
+    private final Cache<String, Deque<ApplicationResponse>> buffers;
+    private final Timer claimTimer;
+    private final Counter claimed;
+
+    public ApplicationQueueService(ApplicationsRepository applicationsRepository,
+            PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+            ApprovalQueueProperties properties) {
+        this.applicationsRepository = applicationsRepository;
+        this.properties = properties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // Buffer reviewer yang tidak aktif selama satu lease dibuang; lease-nya sudah habis
+        this.buffers = Caffeine.newBuilder()
+                .expireAfterAccess(properties.getLease())
+                .build();
+        this.claimTimer = Timer.builder("applications.queue.claim")
+                .description("Durasi claim work-queue approval")
+                .register(meterRegistry);
+        this.claimed = Counter.builder("applications.queue.claimed")
+                .description("Pengajuan yang di-claim reviewer")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Claim sampai {@code count} pengajuan sekaligus (tanpa buffer).
+     */
+    public List<ApplicationResponse> claim(String reviewer, Collection<? extends GrantedAuthority> authorities,
+            int count) {
+        if (count < 1 || count > properties.getMaxClaim()) {
+            throw new BadRequestException("count must be between 1 and " + properties.getMaxClaim());
+        }
+        return claimBatch(reviewer, statuses(authorities), count);
+    }
+
+    /**
+     * Pengajuan berikutnya untuk reviewer.
+     *
+     * @return null jika antrean kosong
+     */
+    public ApplicationResponse next(String reviewer, Collection<? extends GrantedAuthority> authorities) {
+        Set<ApplicationStatus> statuses = statuses(authorities);
+        Deque<ApplicationResponse> buffer = buffers.get(reviewer, key -> new ConcurrentLinkedDeque<>());
+        Instant minimumLease = Instant.now().plus(properties.getLease().dividedBy(2));
+
+        List<Long> stale = new ArrayList<>();
+        ApplicationResponse item;
+        while ((item = buffer.pollFirst()) != null) {
+            if (item.getClaimedUntil().isBefore(minimumLease)) {
+                stale.add(item.getId());
+            } else if (isStillClaimed(item, reviewer)) {
+                break;
+            } else {
+                log.debug("Dropping buffered application {} for '{}': no longer claimed", item.getId(), reviewer);
+            }
+        }
+        if (!stale.isEmpty()) {
+            transactionTemplate.execute(status -> applicationsRepository.release(stale, reviewer));
+        }
+        if (item != null) {
+            return item;
+        }
+
+        List<ApplicationResponse> batch = claimBatch(reviewer, statuses, properties.getPrefetch());
+        if (batch.isEmpty()) {
+            return null;
+        }
+        buffer.addAll(batch.subList(1, batch.size()));
+        return batch.get(0);
+    }
+
+    /**
+     * Kembalikan satu pengajuan ke antrean.
+     *
+     * @throws ConflictException jika lease bukan milik reviewer
+     */
+    public void release(String reviewer, Long id) {
+        Deque<ApplicationResponse> buffer = buffers.getIfPresent(reviewer);
+        if (buffer != null) {
+            buffer.removeIf(item -> item.getId().equals(id));
+        }
+        Integer released = transactionTemplate.execute(status -> applicationsRepository.release(List.of(id),
+                reviewer));
+        if (released == null || released == 0) {
+            throw new ConflictException(String.format("Application %d is not claimed by '%s'", id, reviewer));
+        }
+    }
+
+    /**
+     * Akhiri sesi reviewer: semua pengajuan di buffer kembali ke antrean.
+     *
+     * @return jumlah pengajuan yang dilepas
+     */
+    public int releaseBuffered(String reviewer) {
+        Deque<ApplicationResponse> buffer = buffers.asMap().remove(reviewer);
+        if (buffer == null || buffer.isEmpty()) {
+            return 0;
+        }
+        List<Long> ids = buffer.stream().map(ApplicationResponse::getId).toList();
+        Integer released = transactionTemplate.execute(status -> applicationsRepository.release(ids, reviewer));
+        return released != null ? released : 0;
+    }
+
+    private List<ApplicationResponse> claimBatch(String reviewer, Set<ApplicationStatus> statuses, int count) {
+        long start = System.nanoTime();
+        Instant now = Instant.now();
+        Instant until = now.plus(properties.getLease());
+        List<Applications> rows = transactionTemplate.execute(status -> {
+            List<Applications> claimable = applicationsRepository.findClaimable(statuses, now,
+                    PageRequest.of(0, count));
+            if (!claimable.isEmpty()) {
+                applicationsRepository.claim(claimable.stream().map(Applications::getId).toList(), reviewer, until);
+            }
+            return claimable;
+        });
+        claimTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        if (rows == null || rows.isEmpty()) {
+            return List.of();
+        }
+        claimed.increment(rows.size());
+        log.debug("Reviewer '{}' claimed {} applications until {}", reviewer, rows.size(), until);
+        return rows.stream().map(row -> ApplicationResponse.claimed(row, reviewer, until)).toList();
+    }
+
+    /**
+     * Dibaca di transaksi read-write agar ke primary, bukan replica yang
+     * mungkin tertinggal.
+     */
+    private boolean isStillClaimed(ApplicationResponse item, String reviewer) {
+        return Boolean.TRUE.equals(transactionTemplate.execute(status -> applicationsRepository
+                .existsByIdAndStatusAndClaimedBy(item.getId(), item.getStatus(), reviewer)));
+    }
+
+    private static Set<ApplicationStatus> statuses(Collection<? extends GrantedAuthority> authorities) {
+        Set<ApplicationStatus> statuses = ApplicationService.reviewableStatuses(authorities);
+        if (statuses.isEmpty()) {
+            throw new BadRequestException("User is not an application reviewer");
+        }
+        return statuses;
+    }
+}
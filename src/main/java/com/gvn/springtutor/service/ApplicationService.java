@@ -0,0 +1,259 @@
+package com.gvn.springtutor.service;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.gvn.springtutor.dto.ApplicationHistoryResponse;
+import com.gvn.springtutor.dto.ApplicationResponse;
+import com.gvn.springtutor.dto.ApplicationStatusEvent;
+import com.gvn.springtutor.dto.ApplicationTransitionRequest;
+import com.gvn.springtutor.entity.ApplicationAction;
+import com.gvn.springtutor.entity.ApplicationStatus;
+import com.gvn.springtutor.entity.Applications;
+import com.gvn.springtutor.entity.ApplicationsHistory;
+import com.gvn.springtutor.entity.User;
+import com.gvn.springtutor.exception.BadRequestException;
+import com.gvn.springtutor.exception.ConflictException;
+import com.gvn.springtutor.exception.ResourceNotFoundException;
+import com.gvn.springtutor.history.HistoryProperties;
+import com.gvn.springtutor.outbox.OutboxPublisher;
+import com.gvn.springtutor.repository.ApplicationsHistoryRepository;
+import com.gvn.springtutor.repository.ApplicationsRepository;
+import com.gvn.springtutor.repository.UserRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Pengajuan pinjaman dan alur approval (lihat ApplicationStatus).
+ *
+ * Transisi status tidak membaca row dulu dan tidak memakai pessimistic lock:
+ * satu UPDATE bersyarat (status + version) lalu INSERT ... SELECT riwayat,
+ * dalam satu transaksi. Jika UPDATE tidak mengenai row, pengajuan sudah
+ * diproses reviewer lain (atau version sudah berubah) dan dijawab 409.
+ *
+ * Setiap perubahan status juga dikirim ke pemilik pengajuan lewat SSE
+ * (ApplicationEventHub) setelah commit, dan ditulis ke outbox dalam
+ * transaksi yang sama untuk integrasi lain. Snapshot eligibility pemilik
+ * pengajuan dihapus setiap kali statusnya berubah.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ApplicationService {
+
+    private static final String ROLE_PREFIX = "ROLE_";
+    private static final String ADMIN_ROLE = "ADMIN";
+    private static final String OUTBOX_AGGREGATE = "application";
+
+    private final ApplicationsRepository applicationsRepository;
+    private final ApplicationsHistoryRepository historyRepository;
+    private final UserRepository userRepository;
+    private final ProductService productService;
+    private final ApplicationEventHub eventHub;
+    private final OutboxPublisher outboxPublisher;
+    private final HistoryProperties historyProperties;
+    private final EligibilityService eligibilityService;
+
+    /**
+     * Customer mengajukan pinjaman untuk product tertentu.
+     *
+     * Row user dikunci dulu, sehingga dua submit bersamaan dari user yang
+     * sama diproses bergantian dan yang kedua melihat pengajuan pertama.
+     *
+     * @throws ConflictException   jika user masih punya pengajuan yang belum final
+     * @throws BadRequestException jika user nonaktif atau product di atas tier plafond-nya
+     */
+    @Transactional
+    public ApplicationResponse submit(String username, Long productId) {
+        User user = userRepository.findByUsername(username)
+                .orElseThrow(() -> new ResourceNotFoundException("User", "username", username));
+        productService.getProductById(productId);
+        userRepository.lockById(user.getId());
+        eligibilityService.checkCanApply(user.getId(), productId);
+
+        Applications application = applicationsRepository.save(Applications.builder()
+                .userId(user.getId())
+                .productId(productId)
+                .status(ApplicationStatus.SUBMITTED)
+                .build());
+        historyRepository.save(ApplicationsHistory.builder()
+                .applicationId(application.getId())
+                .userId(application.getUserId())
+                .productId(application.getProductId())
+                .status(ApplicationStatus.SUBMITTED)
+                .changedBy(username)
+                .createdAt(Instant.now())
+                .build());
+
+        log.info("Application {} submitted by '{}' for product {}", application.getId(), username, productId);
+        ApplicationStatusEvent event = toEvent(application, username);
+        outboxPublisher.append(OUTBOX_AGGREGATE, application.getId(), "ApplicationSubmitted", event);
+        eventHub.publishAfterCommit(event);
+        eligibilityService.evictAfterCommit(application.getUserId());
+        return ApplicationResponse.from(application);
+    }
+
+    /**
+     * Approve atau reject pengajuan.
+     *
+     * Status asal ditentukan dari expectedStatus atau dari role reviewer
+     * (MARKETING -> SUBMITTED, BRANCH_MANAGER -> MARKETING_APPROVED,
+     * BACKOFFICE -> BRANCH_MANAGER_APPROVED). ADMIN boleh memproses semua
+     * tahap, tetapi harus mengisi expectedStatus.
+     *
+     * @throws ConflictException jika status/version sudah berubah atau
+     *         pengajuan sedang di-claim reviewer lain
+     */
+    @Transactional
+    public ApplicationResponse transition(Long id, ApplicationAction action, ApplicationTransitionRequest request,
+            String username, Collection<? extends GrantedAuthority> authorities) {
+        ApplicationStatus from = resolveFrom(request.getExpectedStatus(), reviewableStatuses(authorities));
+        ApplicationStatus to = action.apply(from);
+
+        Instant now = Instant.now();
+        int updated = applicationsRepository.transition(id, from, to, request.getVersion(), username, now);
+        if (updated == 0) {
+            Applications current = applicationsRepository.findById(id)
+                    .orElseThrow(() -> new ResourceNotFoundException("Application", "id", id));
+            if (current.getClaimedUntil() != null && !current.getClaimedUntil().isBefore(now)
+                    && !username.equals(current.getClaimedBy())) {
+                throw new ConflictException(String.format("Application %d is claimed by '%s' until %s",
+                        id, current.getClaimedBy(), current.getClaimedUntil()));
+            }
+            throw new ConflictException(String.format(
+                    "Application %d is %s (version %d), expected %s%s",
+                    id, current.getStatus(), current.getVersion(), from,
+                    request.getVersion() != null ? " (version " + request.getVersion() + ")" : ""));
+        }
+        historyRepository.appendFrom(id, to, request.getNote(), username, now);
+
+        log.info("Application {} {} -> {} by '{}'", id, from, to, username);
+        Applications application = applicationsRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Application", "id", id));
+        ApplicationStatusEvent event = toEvent(application, username);
+        outboxPublisher.append(OUTBOX_AGGREGATE, id, "ApplicationStatusChanged", event);
+        eventHub.publishAfterCommit(event);
+        eligibilityService.evictAfterCommit(application.getUserId());
+        return ApplicationResponse.from(application);
+    }
+
+    /**
+     * Buka stream SSE perubahan status pengajuan milik user. Stream tidak
+     * hidup melewati access token yang membukanya (lihat ApplicationEventHub).
+     */
+    @Transactional(readOnly = true)
+    public SseEmitter subscribeEvents(String username, String tokenId, Instant tokenExpiresAt) {
+        User user = userRepository.findByUsername(username)
+                .orElseThrow(() -> new ResourceNotFoundException("User", "username", username));
+        return eventHub.subscribe(user.getId(), tokenId, tokenExpiresAt);
+    }
+
+    @Transactional(readOnly = true)
+    public ApplicationResponse getApplication(Long id, String username,
+            Collection<? extends GrantedAuthority> authorities) {
+        return ApplicationResponse.from(findVisible(id, username, authorities));
+    }
+
+    /**
+     * Timeline pengajuan sejak {@code since}; default app.history.query-window
+     * terakhir. Riwayat yang sudah diarsip tidak ikut.
+     */
+    @Transactional(readOnly = true)
+    public List<ApplicationHistoryResponse> getHistory(Long id, Instant since, String username,
+            Collection<? extends GrantedAuthority> authorities) {
+        findVisible(id, username, authorities);
+        Instant from = since != null ? since : Instant.now().minus(historyProperties.getQueryWindow());
+        return historyRepository.findByApplicationIdAndCreatedAtGreaterThanEqualOrderByCreatedAtAscIdAsc(id, from)
+                .stream()
+                .map(ApplicationHistoryResponse::from)
+                .toList();
+    }
+
+    @Transactional(readOnly = true)
+    public List<ApplicationResponse> getMyApplications(String username) {
+        User user = userRepository.findByUsername(username)
+                .orElseThrow(() -> new ResourceNotFoundException("User", "username", username));
+        return applicationsRepository.findByUserIdOrderByIdDesc(user.getId()).stream()
+                .map(ApplicationResponse::from)
+                .toList();
+    }
+
+    /**
+     * Pengajuan hanya terlihat oleh pemiliknya dan reviewer; selain itu
+     * dijawab 404 agar id milik user lain tidak bocor.
+     */
+    private Applications findVisible(Long id, String username, Collection<? extends GrantedAuthority> authorities) {
+        Applications application = applicationsRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Application", "id", id));
+        if (!reviewableStatuses(authorities).isEmpty()) {
+            return application;
+        }
+        User user = userRepository.findByUsername(username)
+                .orElseThrow(() -> new ResourceNotFoundException("User", "username", username));
+        if (!application.getUserId().equals(user.getId())) {
+            throw new ResourceNotFoundException("Application", "id", id);
+        }
+        return application;
+    }
+
+    private static ApplicationStatusEvent toEvent(Applications application, String changedBy) {
+        return ApplicationStatusEvent.builder()
+                .applicationId(application.getId())
+                .userId(application.getUserId())
+                .status(application.getStatus())
+                .version(application.getVersion())
+                .changedBy(changedBy)
+                .build();
+    }
+
+    private static ApplicationStatus resolveFrom(ApplicationStatus expected, Set<ApplicationStatus> reviewable) {
+        if (reviewable.isEmpty()) {
+            throw new BadRequestException("User is not an application reviewer");
+        }
+        if (expected != null) {
+            if (!reviewable.contains(expected)) {
+                throw new BadRequestException("User cannot review applications in status " + expected);
+            }
+            return expected;
+        }
+        if (reviewable.size() > 1) {
+            throw new BadRequestException("expectedStatus is required for users with several reviewer roles");
+        }
+        return reviewable.iterator().next();
+    }
+
+    /**
+     * Status yang boleh diproses role reviewer (ADMIN: semua status non-final).
+     */
+    static Set<ApplicationStatus> reviewableStatuses(Collection<? extends GrantedAuthority> authorities) {
+        Set<ApplicationStatus> statuses = EnumSet.noneOf(ApplicationStatus.class);
+        for (GrantedAuthority authority : authorities) {
+            String role = authority.getAuthority();
+            if (role.startsWith(ROLE_PREFIX)) {
+                role = role.substring(ROLE_PREFIX.length());
+            }
+            if (ADMIN_ROLE.equals(role)) {
+                for (ApplicationStatus status : ApplicationStatus.values()) {
+                    if (!status.isFinal()) {
+                        statuses.add(status);
+                    }
+                }
+            } else {
+                ApplicationStatus status = ApplicationStatus.reviewedBy(role);
+                if (status != null) {
+                    statuses.add(status);
+                }
+            }
+        }
+        return statuses;
+    }
+}
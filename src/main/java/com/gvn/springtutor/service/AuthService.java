@@ -7,12 +7,21 @@ import com.gvn.springtutor.entity.Role;
 import com.gvn.springtutor.entity.User;
 import com.gvn.springtutor.repository.RoleRepository;
 import com.gvn.springtutor.repository.UserRepository;
+import com.gvn.springtutor.exception.BadRequestException;
+import com.gvn.springtutor.security.CustomUserDetailsService;
 import com.gvn.springtutor.security.JwtUtil;
+import com.gvn.springtutor.security.TokenDenylist;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.DisabledException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
@@ -22,51 +31,41 @@ import java.util.stream.Collectors;
 
 /**
  * Authentication Service
- * 
+ *
  * Menangani logic untuk:
  * - Login (authenticate dan generate token)
  * - Register (create user baru)
+ * - Refresh (rotasi refresh token, satu-satunya tempat reload user dari DB)
+ * - Logout (revoke token via denylist)
  */
 @Service
 @RequiredArgsConstructor
 public class AuthService {
 
+    private static final String ROLE_PREFIX = "ROLE_";
+
     private final UserRepository userRepository;
     private final RoleRepository roleRepository;
     private final PasswordEncoder passwordEncoder;
     private final JwtUtil jwtUtil;
     private final AuthenticationManager authenticationManager;
-    private final UserDetailsService userDetailsService;
+    private final CustomUserDetailsService userDetailsService;
+    private final SearchService searchService;
+    private final TokenDenylist tokenDenylist;
+    private final RefreshTokenService refreshTokenService;
 
     /**
-     * Login user dan return JWT token.
+     * Login user dan return access token + refresh token.
      */
     public AuthResponse login(AuthRequest request) {
-        // Authenticate user
-        authenticationManager.authenticate(
+        // Authenticate user (user details sudah di-load oleh provider)
+        Authentication authentication = authenticationManager.authenticate(
                 new UsernamePasswordAuthenticationToken(
                         request.getUsername(),
                         request.getPassword()));
 
-        // Load user details
-        UserDetails userDetails = userDetailsService.loadUserByUsername(request.getUsername());
-
-        // Generate token
-        String token = jwtUtil.generateToken(userDetails);
-
-        // Get user for roles
-        User user = userRepository.findByUsername(request.getUsername())
-                .orElseThrow(() -> new RuntimeException("User not found"));
-
-        // Build response
-        return AuthResponse.builder()
-                .token(token)
-                .type("Bearer")
-                .username(user.getUsername())
-                .roles(user.getRoles().stream()
-                        .map(Role::getName)
-                        .collect(Collectors.toList()))
-                .build();
+        UserDetails userDetails = (UserDetails) authentication.getPrincipal();
+        return issueTokens(userDetails, refreshTokenService.newFamily());
     }
 
     /**
@@ -95,20 +94,86 @@ public class AuthService {
                 .build();
 
         userRepository.save(user);
+        searchService.indexUser(user);
 
         // Load user details untuk generate token
         UserDetails userDetails = userDetailsService.loadUserByUsername(user.getUsername());
 
+        return issueTokens(userDetails, refreshTokenService.newFamily());
+    }
+
+    /**
+     * Tukar refresh token dengan access token + refresh token baru.
+     *
+     * User di-load ulang dari DB di sini (bukan di setiap request, dan tanpa
+     * PrincipalCache), sehingga perubahan roles / status aktif berlaku paling
+     * lambat saat access token berikutnya diterbitkan.
+     */
+    public AuthResponse refresh(String refreshToken) {
+        if (refreshToken == null || refreshToken.isBlank()) {
+            throw new BadCredentialsException("Refresh token is required");
+        }
+
+        RefreshTokenService.RefreshSession session = refreshTokenService.consume(refreshToken);
+
+        UserDetails userDetails;
+        try {
+            userDetails = userDetailsService.loadFresh(session.username());
+        } catch (UsernameNotFoundException e) {
+            refreshTokenService.revokeFamily(session.familyId());
+            throw new BadCredentialsException("Invalid refresh token");
+        }
+
+        if (!userDetails.isEnabled()) {
+            refreshTokenService.revokeFamily(session.familyId());
+            throw new DisabledException("User is inactive");
+        }
+
+        return issueTokens(userDetails, session.familyId());
+    }
+
+    /**
+     * Logout: revoke access token sampai waktu expire-nya, beserta family
+     * refresh token yang menerbitkannya.
+     * Token berlaku di semua instance aplikasi tanpa query DB.
+     */
+    public void logout(String token) {
+        Claims claims;
+        try {
+            claims = jwtUtil.extractAllClaims(token);
+        } catch (JwtException | IllegalArgumentException e) {
+            throw new BadRequestException("Invalid or expired token");
+        }
+
+        if (claims.getId() == null) {
+            throw new BadRequestException("Token cannot be revoked, please login again");
+        }
+
+        tokenDenylist.revoke(claims.getId(), claims.getExpiration().getTime());
+
+        String familyId = claims.get(JwtUtil.REFRESH_FAMILY_CLAIM, String.class);
+        if (familyId != null) {
+            refreshTokenService.revokeFamily(familyId);
+        }
+    }
+
+    private AuthResponse issueTokens(UserDetails userDetails, String familyId) {
         // Generate token
-        String token = jwtUtil.generateToken(userDetails);
+        String token = jwtUtil.generateToken(userDetails, familyId);
+        String refreshToken = refreshTokenService.issue(userDetails.getUsername(), familyId);
 
-        // Build response
+        // Build response (roles diambil dari authorities, tanpa query tambahan)
         return AuthResponse.builder()
                 .token(token)
                 .type("Bearer")
-                .username(user.getUsername())
-                .roles(user.getRoles().stream()
-                        .map(Role::getName)
+                .expiresIn(jwtUtil.getExpirationSeconds())
+                .refreshToken(refreshToken)
+                .username(userDetails.getUsername())
+                .roles(userDetails.getAuthorities().stream()
+                        .map(GrantedAuthority::getAuthority)
+                        .map(authority -> authority.startsWith(ROLE_PREFIX)
+                                ? authority.substring(ROLE_PREFIX.length())
+                                : authority)
                         .collect(Collectors.toList()))
                 .build();
     }
@@ -0,0 +1,244 @@
+package com.gvn.springtutor.service;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.gvn.springtutor.cache.KeyValueStore;
+import com.gvn.springtutor.dto.EligibilityResponse;
+import com.gvn.springtutor.eligibility.Eligibility;
+import com.gvn.springtutor.eligibility.EligibilityProperties;
+import com.gvn.springtutor.eligibility.ProductLadder;
+import com.gvn.springtutor.entity.ApplicationStatus;
+import com.gvn.springtutor.entity.User;
+import com.gvn.springtutor.exception.BadRequestException;
+import com.gvn.springtutor.exception.ConflictException;
+import com.gvn.springtutor.exception.ResourceNotFoundException;
+import com.gvn.springtutor.repository.ApplicationsRepository;
+import com.gvn.springtutor.repository.ApplicationsRepository.UserApplicationStats;
+import com.gvn.springtutor.repository.UserRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Eligibility product & plafond per user (lihat Eligibility untuk aturannya).
+ *
+ * Hasilnya dihitung di muka dan disimpan di KeyValueStore
+ * ({@code eligibility:<userId>}), jadi layar plafond cukup satu lookup
+ * tanpa join users / products / applications:
+ * - Incremental: UserService dan ApplicationService memanggil
+ *   evictAfterCommit saat profile atau pengajuan user berubah; snapshot
+ *   dihapus setelah commit dan dihitung ulang dari data yang sudah
+ *   di-commit saat dibaca berikutnya
+ * - Lazy: snapshot yang belum ada, expire, atau dihitung dengan katalog
+ *   product lama (ProductLadder.version) dihitung ulang saat dibaca
+ * - Bulk: recomputeAll membagi semua user ke chunk ForkJoin; tiap chunk
+ *   satu query user aktif, satu GROUP BY pengajuan dan satu multiSet
+ *
+ * Submit pengajuan tidak memakai snapshot: checkCanApply menghitung dari
+ * data terbaru di transaksi submit.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class EligibilityService {
+
+    private static final String KEY_PREFIX = "eligibility:";
+
+    private static final Set<ApplicationStatus> PENDING = pendingStatuses();
+
+    private final UserRepository userRepository;
+    private final ApplicationsRepository applicationsRepository;
+    private final ProductService productService;
+    private final KeyValueStore store;
+    private final EligibilityProperties properties;
+
+    @Transactional(readOnly = true)
+    public EligibilityResponse getEligibility(String username) {
+        User user = userRepository.findByUsername(username)
+                .orElseThrow(() -> new ResourceNotFoundException("User", "username", username));
+        ProductLadder ladder = ladder();
+        Eligibility eligibility = get(user.getId(), ladder);
+        return EligibilityResponse.from(user.getId(), eligibility, ladder.products(eligibility.productIds()));
+    }
+
+    /**
+     * Pastikan user boleh mengajukan product, dihitung dari data terbaru
+     * (bukan snapshot). Product tanpa maxAmount tidak termasuk tier, jadi
+     * tidak dibatasi plafond.
+     *
+     * @throws BadRequestException jika user nonaktif atau product di atas tier-nya
+     * @throws ConflictException   jika masih ada pengajuan yang belum final
+     */
+    public void checkCanApply(Long userId, Long productId) {
+        ProductLadder ladder = ladder();
+        Eligibility eligibility = compute(List.of(userId), ladder).get(userId);
+        if (!eligibility.active()) {
+            throw new BadRequestException("User is not active");
+        }
+        if (eligibility.pendingApplication()) {
+            throw new ConflictException("User already has an application in progress");
+        }
+        boolean tiered = ladder.products().stream().anyMatch(product -> product.getId().equals(productId));
+        if (tiered && Arrays.stream(eligibility.productIds()).noneMatch(id -> id == productId)) {
+            throw new BadRequestException(String.format("Product %d is above the user's plafond tier", productId));
+        }
+    }
+
+    /**
+     * Hapus snapshot user setelah transaksi commit; dihitung ulang saat
+     * dibaca. Snapshot tidak dihitung di dalam transaksi: dua transaksi
+     * bersamaan untuk user yang sama masing-masing tidak melihat perubahan
+     * yang lain, dan yang terakhir menulis akan menang.
+     */
+    public void evictAfterCommit(Long userId) {
+        String key = KEY_PREFIX + userId;
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(key);
+                }
+            });
+        } else {
+            evict(key);
+        }
+    }
+
+    /**
+     * Hitung ulang semua user secara paralel.
+     *
+     * @return jumlah user yang dihitung
+     */
+    public int recomputeAll() {
+        long start = System.nanoTime();
+        ProductLadder ladder = ladder();
+        long[] userIds = userRepository.findAllIds().stream().mapToLong(Long::longValue).toArray();
+        ForkJoinPool pool = new ForkJoinPool(properties.getBulk().getParallelism());
+        try {
+            int count = pool.invoke(new RecomputeTask(userIds, 0, userIds.length, ladder));
+            log.info("Recomputed eligibility for {} users in {} ms", count, (System.nanoTime() - start) / 1_000_000);
+            return count;
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private Eligibility get(Long userId, ProductLadder ladder) {
+        String key = KEY_PREFIX + userId;
+        try {
+            Eligibility cached = Eligibility.decode(store.get(key));
+            if (cached != null && cached.catalogVersion() == ladder.version()) {
+                return cached;
+            }
+        } catch (RuntimeException e) {
+            log.warn("Eligibility store unavailable, computing user {} directly: {}", userId, e.getMessage());
+            return compute(List.of(userId), ladder).get(userId);
+        }
+        Eligibility eligibility = compute(List.of(userId), ladder).get(userId);
+        save(Map.of(key, eligibility.encode()));
+        return eligibility;
+    }
+
+    private Map<String, String> computeChunk(List<Long> userIds, ProductLadder ladder) {
+        Map<String, String> values = new LinkedHashMap<>();
+        compute(userIds, ladder).forEach((userId, eligibility) -> values.put(KEY_PREFIX + userId,
+                eligibility.encode()));
+        return values;
+    }
+
+    private Map<Long, Eligibility> compute(List<Long> userIds, ProductLadder ladder) {
+        Set<Long> active = new HashSet<>(userRepository.findActiveIdsByIdIn(userIds));
+        Map<Long, UserApplicationStats> stats = new HashMap<>();
+        for (UserApplicationStats row : applicationsRepository.findStatsByUserIdIn(userIds,
+                ApplicationStatus.APPROVED, PENDING)) {
+            stats.put(row.getUserId(), row);
+        }
+        Map<Long, Eligibility> result = new LinkedHashMap<>();
+        for (Long userId : userIds) {
+            UserApplicationStats row = stats.get(userId);
+            result.put(userId, Eligibility.compute(ladder, active.contains(userId),
+                    row != null ? row.getApproved().intValue() : 0, row != null && row.getPending() > 0));
+        }
+        return result;
+    }
+
+    private void save(Map<String, String> values) {
+        try {
+            store.multiSet(values, properties.getTtl());
+        } catch (RuntimeException e) {
+            // Dihitung ulang saat dibaca
+            log.warn("Failed to store eligibility for {} users: {}", values.size(), e.getMessage());
+        }
+    }
+
+    private void evict(String key) {
+        try {
+            store.getAndDelete(key);
+        } catch (RuntimeException e) {
+            // Snapshot lama tetap terpakai sampai ttl atau recompute bulk berikutnya
+            log.warn("Failed to evict eligibility {}: {}", key, e.getMessage());
+        }
+    }
+
+    private ProductLadder ladder() {
+        return ProductLadder.of(productService.getAllProducts());
+    }
+
+    private static Set<ApplicationStatus> pendingStatuses() {
+        Set<ApplicationStatus> statuses = EnumSet.noneOf(ApplicationStatus.class);
+        for (ApplicationStatus status : ApplicationStatus.values()) {
+            if (!status.isFinal()) {
+                statuses.add(status);
+            }
+        }
+        return statuses;
+    }
+
+    /**
+     * Membagi rentang userIds menjadi dua sampai ukurannya chunk-size.
+     */
+    private final class RecomputeTask extends RecursiveTask<Integer> {
+
+        private final long[] userIds;
+        private final int from;
+        private final int to;
+        private final ProductLadder ladder;
+
+        RecomputeTask(long[] userIds, int from, int to, ProductLadder ladder) {
+            this.userIds = userIds;
+            this.from = from;
+            this.to = to;
+            this.ladder = ladder;
+        }
+
+        @Override
+        protected Integer compute() {
+            if (to - from <= properties.getBulk().getChunkSize()) {
+                List<Long> chunk = Arrays.stream(userIds, from, to).boxed().toList();
+                if (!chunk.isEmpty()) {
+                    save(computeChunk(chunk, ladder));
+                }
+                return chunk.size();
+            }
+            int middle = (from + to) >>> 1;
+            RecomputeTask left = new RecomputeTask(userIds, from, middle, ladder);
+            left.fork();
+            int right = new RecomputeTask(userIds, middle, to, ladder).compute();
+            return right + left.join();
+        }
+    }
+}
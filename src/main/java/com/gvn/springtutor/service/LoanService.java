@@ -0,0 +1,156 @@
+package com.gvn.springtutor.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.stereotype.Service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.gvn.springtutor.dto.LoanInstallment;
+import com.gvn.springtutor.dto.LoanSimulationRequest;
+import com.gvn.springtutor.dto.LoanSimulationResponse;
+import com.gvn.springtutor.entity.Product;
+import com.gvn.springtutor.exception.BadRequestException;
+import com.gvn.springtutor.exception.ResourceNotFoundException;
+import com.gvn.springtutor.util.LoanCalculator;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Simulasi cicilan pinjaman berdasarkan tenor dan bunga Product.
+ *
+ * Perhitungan memakai LoanCalculator (sen dalam long); BigDecimal hanya di
+ * batas request/response. Faktor anuitas di-cache per (tenor, bunga), bukan
+ * per product id, sehingga update product tidak perlu invalidasi: product
+ * yang berubah otomatis memakai key baru.
+ */
+@Service
+@RequiredArgsConstructor
+public class LoanService {
+
+    /** Batas jumlah simulasi per request bulk */
+    public static final int MAX_BULK_SIZE = 10_000;
+
+    /** Jumlah kombinasi (tenor, bunga) yang disimpan */
+    private static final int MAX_TERMS = 1_000;
+
+    private final ProductService productService;
+
+    private final Cache<TermsKey, LoanCalculator.Terms> terms = Caffeine.newBuilder()
+            .maximumSize(MAX_TERMS)
+            .build();
+
+    /**
+     * Simulasi satu pinjaman, dengan jadwal per bulan jika diminta.
+     */
+    public LoanSimulationResponse simulate(LoanSimulationRequest request) {
+        Product product = productService.getProductById(request.getProductId());
+        return simulate(product, toCents(request.getPrincipal()), request.isIncludeSchedule());
+    }
+
+    /**
+     * Simulasi banyak pinjaman sekaligus (maksimal MAX_BULK_SIZE, tanpa jadwal).
+     *
+     * Product diambil sekali per id unik lewat getProductsByIds (maksimal
+     * CacheBatchLoader.MAX_BATCH_SIZE product berbeda); urutan hasil sama
+     * dengan urutan request.
+     */
+    public List<LoanSimulationResponse> simulateAll(List<LoanSimulationRequest> requests) {
+        if (requests.size() > MAX_BULK_SIZE) {
+            throw new BadRequestException("At most " + MAX_BULK_SIZE + " simulations per request");
+        }
+
+        Set<Long> productIds = new LinkedHashSet<>();
+        for (LoanSimulationRequest request : requests) {
+            productIds.add(request.getProductId());
+        }
+        Map<Long, Product> products = productService.getProductsByIds(productIds).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+
+        List<LoanSimulationResponse> responses = new ArrayList<>(requests.size());
+        for (LoanSimulationRequest request : requests) {
+            Product product = products.get(request.getProductId());
+            if (product == null) {
+                throw new ResourceNotFoundException("Product", "id", request.getProductId());
+            }
+            responses.add(simulate(product, toCents(request.getPrincipal()), false));
+        }
+        return responses;
+    }
+
+    private LoanSimulationResponse simulate(Product product, long principal, boolean includeSchedule) {
+        LoanCalculator.Terms productTerms = termsOf(product);
+        int tenor = productTerms.tenor();
+
+        LoanCalculator.Summary summary;
+        List<LoanInstallment> schedule = null;
+        if (includeSchedule) {
+            long[] installments = new long[tenor];
+            long[] interests = new long[tenor];
+            long[] principals = new long[tenor];
+            long[] balances = new long[tenor];
+            summary = LoanCalculator.schedule(principal, productTerms, installments, interests, principals, balances);
+
+            schedule = new ArrayList<>(tenor);
+            for (int i = 0; i < tenor; i++) {
+                schedule.add(LoanInstallment.builder()
+                        .period(i + 1)
+                        .installment(fromCents(installments[i]))
+                        .interest(fromCents(interests[i]))
+                        .principal(fromCents(principals[i]))
+                        .remainingBalance(fromCents(balances[i]))
+                        .build());
+            }
+        } else {
+            summary = LoanCalculator.summarize(principal, productTerms);
+        }
+
+        return LoanSimulationResponse.builder()
+                .productId(product.getId())
+                .tenor(tenor)
+                .interestRate(product.getInterestRate())
+                .principal(fromCents(principal))
+                .monthlyInstallment(fromCents(summary.installment()))
+                .lastInstallment(fromCents(summary.lastInstallment()))
+                .totalInterest(fromCents(summary.totalInterest()))
+                .totalPayment(fromCents(summary.totalPayment(principal)))
+                .schedule(schedule)
+                .build();
+    }
+
+    private LoanCalculator.Terms termsOf(Product product) {
+        if (product.getTenor() == null || product.getTenor() <= 0
+                || product.getInterestRate() == null || product.getInterestRate() < 0) {
+            throw new BadRequestException("Product " + product.getId() + " has invalid tenor or interest rate");
+        }
+        return terms.get(new TermsKey(product.getTenor(), product.getInterestRate()),
+                key -> LoanCalculator.Terms.of(key.tenor(), key.annualRate()));
+    }
+
+    private static long toCents(BigDecimal amount) {
+        try {
+            long cents = amount.setScale(2, RoundingMode.HALF_UP).movePointRight(2).longValueExact();
+            if (cents <= 0) {
+                throw new BadRequestException("Principal must be positive");
+            }
+            return cents;
+        } catch (ArithmeticException e) {
+            throw new BadRequestException("Principal is too large");
+        }
+    }
+
+    private static BigDecimal fromCents(long cents) {
+        return BigDecimal.valueOf(cents, 2);
+    }
+
+    private record TermsKey(int tenor, double annualRate) {
+    }
+}
@@ -1,11 +1,16 @@
 package com.gvn.springtutor.service;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.gvn.springtutor.cache.CacheBatchLoader;
 import com.gvn.springtutor.dto.CreateProductRequest;
 import com.gvn.springtutor.dto.UpdateProductRequest;
 import com.gvn.springtutor.entity.Product;
@@ -28,6 +33,8 @@ import lombok.extern.slf4j.Slf4j;
 public class ProductService {
 
     private final ProductRepository productRepository;
+    private final SearchService searchService;
+    private final CacheBatchLoader cacheBatchLoader;
 
     /**
      * Create product dan hapus cache products.
@@ -36,14 +43,18 @@ public class ProductService {
      *             allEntries=true berarti hapus semua entry di cache ini
      */
     @CacheEvict(value = "products", allEntries = true)
+    @Transactional
     public Product createProduct(CreateProductRequest request) {
         log.info("Creating product: {}", request.getName());
         Product product = Product.builder()
                 .name(request.getName())
                 .tenor(request.getTenor())
                 .interestRate(request.getInterestRate())
+                .maxAmount(request.getMaxAmount())
                 .build();
-        return productRepository.save(product);
+        Product savedProduct = productRepository.save(product);
+        searchService.indexProduct(savedProduct);
+        return savedProduct;
     }
 
     /**
@@ -53,6 +64,7 @@ public class ProductService {
      *            Jika cache hit, tidak akan query database
      */
     @Cacheable(value = "products", key = "'allProducts'")
+    @Transactional(readOnly = true)
     public List<Product> getAllProducts() {
         log.info("Fetching all products from DATABASE");
         return productRepository.findAll();
@@ -64,18 +76,34 @@ public class ProductService {
      * @Cacheable - Cache hasil dengan key berdasarkan ID
      */
     @Cacheable(value = "products", key = "#id")
+    @Transactional(readOnly = true)
     public Product getProductById(Long id) {
         log.info("Fetching product with ID {} from DATABASE", id);
         return productRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Product", "id", id));
     }
 
+    /**
+     * Get banyak product sekaligus (maksimal CacheBatchLoader.MAX_BATCH_SIZE).
+     *
+     * Semua id dibaca dari cache "products" dengan satu multi-get (key sama
+     * dengan getProductById); yang miss dimuat dengan satu query IN lalu
+     * ditulis balik ke cache. Id yang tidak ada dilewati.
+     */
+    public List<Product> getProductsByIds(Collection<Long> ids) {
+        return List.copyOf(cacheBatchLoader.getAll("products", ids, id -> id,
+                missing -> productRepository.findAllById(missing).stream()
+                        .collect(Collectors.toMap(Product::getId, Function.identity())),
+                Product.class).values());
+    }
+
     /**
      * Update product dan hapus cache.
      * 
      * @CacheEvict - Menghapus semua cache products karena data berubah
      */
     @CacheEvict(value = "products", allEntries = true)
+    @Transactional
     public Product updateProduct(Long id, UpdateProductRequest request) {
         log.info("Updating product with ID: {}", id);
         Product existingProduct = productRepository.findById(id)
@@ -91,8 +119,13 @@ public class ProductService {
         if (request.getInterestRate() != null) {
             existingProduct.setInterestRate(request.getInterestRate());
         }
+        if (request.getMaxAmount() != null) {
+            existingProduct.setMaxAmount(request.getMaxAmount());
+        }
 
-        return productRepository.save(existingProduct);
+        Product savedProduct = productRepository.save(existingProduct);
+        searchService.indexProduct(savedProduct);
+        return savedProduct;
     }
 
     /**
@@ -101,10 +134,12 @@ public class ProductService {
      * @CacheEvict - Menghapus semua cache products karena data berubah
      */
     @CacheEvict(value = "products", allEntries = true)
+    @Transactional
     public void deleteProduct(Long id) {
         log.info("Deleting product with ID: {}", id);
         Product existingProduct = productRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Product", "id", id));
         productRepository.delete(existingProduct);
+        searchService.removeProduct(id);
     }
 }
@@ -0,0 +1,126 @@
+package com.gvn.springtutor.service;
+
+import com.gvn.springtutor.cache.KeyValueStore;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.UUID;
+
+/**
+ * Refresh token dengan rotation dan reuse detection, disimpan di
+ * KeyValueStore (Redis, atau in-process untuk app.cache.backend=local).
+ *
+ * - Refresh token adalah string acak; yang disimpan hanya SHA-256-nya
+ * - Setiap login membuat "family" baru; setiap refresh memindahkan token
+ *   lama ke penanda "used" (KeyValueStore.getAndMove, atomic) dan
+ *   menerbitkan token baru di family yang sama
+ * - Jika token used dipakai lagi (kemungkinan dicuri), seluruh family
+ *   di-revoke sehingga token terbaru pun ditolak. Karena pemindahan atomic,
+ *   dua request bersamaan dengan token yang sama selalu terdeteksi reuse
+ *
+ * Key:
+ * - {@code auth:refresh:token:<hash>} = {@code <familyId>|<username>}
+ * - {@code auth:refresh:used:<hash>} = {@code <familyId>|<username>}
+ * - {@code auth:refresh:family-revoked:<familyId>} = {@code 1}
+ *
+ * Semua key ber-TTL jwt.refresh-expiration.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RefreshTokenService {
+
+    static final String TOKEN_KEY_PREFIX = "auth:refresh:token:";
+    static final String USED_KEY_PREFIX = "auth:refresh:used:";
+    static final String FAMILY_REVOKED_KEY_PREFIX = "auth:refresh:family-revoked:";
+
+    private static final int TOKEN_BYTES = 32;
+
+    private final SecureRandom random = new SecureRandom();
+
+    private final KeyValueStore store;
+
+    @Value("${jwt.refresh-expiration}")
+    private Duration refreshExpiration;
+
+    /**
+     * Session hasil refresh token yang valid.
+     */
+    public record RefreshSession(String username, String familyId) {
+    }
+
+    /**
+     * Buat family baru (dipanggil saat login / register).
+     */
+    public String newFamily() {
+        return UUID.randomUUID().toString();
+    }
+
+    /**
+     * Terbitkan refresh token baru untuk family.
+     */
+    public String issue(String username, String familyId) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        random.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        store.set(TOKEN_KEY_PREFIX + hash(token), familyId + "|" + username,
+                refreshExpiration);
+        return token;
+    }
+
+    /**
+     * Pakai (dan hapus) refresh token.
+     *
+     * @throws BadCredentialsException jika token tidak dikenal, sudah dipakai,
+     *                                 atau family-nya sudah di-revoke
+     */
+    public RefreshSession consume(String refreshToken) {
+        String hash = hash(refreshToken);
+        String value = store.getAndMove(TOKEN_KEY_PREFIX + hash, USED_KEY_PREFIX + hash, refreshExpiration);
+
+        if (value == null) {
+            String used = store.get(USED_KEY_PREFIX + hash);
+            if (used != null) {
+                String reusedFamily = used.split("\\|", 2)[0];
+                revokeFamily(reusedFamily);
+                log.warn("Refresh token reuse detected, family {} revoked", reusedFamily);
+            }
+            throw new BadCredentialsException("Invalid refresh token");
+        }
+
+        String[] parts = value.split("\\|", 2);
+        String familyId = parts[0];
+
+        if (store.hasKey(FAMILY_REVOKED_KEY_PREFIX + familyId)) {
+            throw new BadCredentialsException("Refresh token has been revoked");
+        }
+        return new RefreshSession(parts[1], familyId);
+    }
+
+    /**
+     * Revoke semua refresh token di family (logout / reuse / user nonaktif).
+     */
+    public void revokeFamily(String familyId) {
+        store.set(FAMILY_REVOKED_KEY_PREFIX + familyId, "1", refreshExpiration);
+    }
+
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -3,11 +3,13 @@ package com.gvn.springtutor.service;
 import com.gvn.springtutor.entity.Role;
 import com.gvn.springtutor.exception.ResourceNotFoundException;
 import com.gvn.springtutor.repository.RoleRepository;
+import com.gvn.springtutor.security.PrincipalCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -21,11 +23,13 @@ import java.util.Optional;
 public class RoleService {
 
     private final RoleRepository roleRepository;
+    private final PrincipalCache principalCache;
 
     /**
      * Create role dan hapus cache.
      */
     @CacheEvict(value = "roles", allEntries = true)
+    @Transactional
     public Role createRole(Role role) {
         log.info("Creating role: {}", role.getName());
         return roleRepository.save(role);
@@ -35,6 +39,7 @@ public class RoleService {
      * Get all roles dengan caching.
      */
     @Cacheable(value = "roles", key = "'allRoles'")
+    @Transactional(readOnly = true)
     public List<Role> getAllRoles() {
         log.info("Fetching all roles from DATABASE");
         return roleRepository.findAll();
@@ -44,6 +49,7 @@ public class RoleService {
      * Find role by name dengan caching.
      */
     @Cacheable(value = "roles", key = "#name")
+    @Transactional(readOnly = true)
     public Optional<Role> findByName(String name) {
         log.info("Fetching role '{}' from DATABASE", name);
         return roleRepository.findByName(name);
@@ -53,6 +59,7 @@ public class RoleService {
      * Get role by ID dengan caching.
      */
     @Cacheable(value = "roles", key = "'role_' + #id")
+    @Transactional(readOnly = true)
     public Role getRoleById(Long id) {
         log.info("Fetching role with ID {} from DATABASE", id);
         return roleRepository.findById(id)
@@ -63,6 +70,7 @@ public class RoleService {
      * Update role dan hapus cache.
      */
     @CacheEvict(value = "roles", allEntries = true)
+    @Transactional
     public Role updateRole(Long id, Role roleDetails) {
         log.info("Updating role with ID: {}", id);
         Role existingRole = roleRepository.findById(id)
@@ -70,6 +78,8 @@ public class RoleService {
 
         existingRole.setName(roleDetails.getName());
 
+        // Authority semua user dengan role ini berubah
+        principalCache.invalidateAllAfterCommit();
         return roleRepository.save(existingRole);
     }
 
@@ -77,10 +87,12 @@ public class RoleService {
      * Delete role dan hapus cache.
      */
     @CacheEvict(value = "roles", allEntries = true)
+    @Transactional
     public void deleteRole(Long id) {
         log.info("Deleting role with ID: {}", id);
         Role existingRole = roleRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Role", "id", id));
         roleRepository.delete(existingRole);
+        principalCache.invalidateAllAfterCommit();
     }
 }
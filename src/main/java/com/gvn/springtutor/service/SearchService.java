@@ -0,0 +1,209 @@
+package com.gvn.springtutor.service;
+
+import com.gvn.springtutor.dto.SearchHit;
+import com.gvn.springtutor.dto.SearchPage;
+import com.gvn.springtutor.entity.Product;
+import com.gvn.springtutor.entity.User;
+import com.gvn.springtutor.exception.BadRequestException;
+import com.gvn.springtutor.repository.ProductRepository;
+import com.gvn.springtutor.repository.UserRepository;
+import com.gvn.springtutor.util.PrefixIndex;
+import com.gvn.springtutor.util.PrefixIndex.MatchMode;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Pencarian product & user dari index in-memory.
+ *
+ * - Index dibangun ulang saat aplikasi siap dan secara berkala (menangkap
+ *   perubahan dari instance lain)
+ * - Write lewat ProductService / UserService / AuthService langsung
+ *   memperbarui index setelah transaksi commit
+ * - Query tidak menyentuh database sama sekali
+ * - Biaya query sebanding dengan (page + 1) * size, jadi halaman dibatasi
+ *   sampai MAX_RESULT_WINDOW hasil pertama (typeahead, bukan export)
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SearchService {
+
+    public static final int MAX_PAGE_SIZE = 50;
+
+    /** Batas (page + 1) * size; hasil setelahnya tidak bisa di-page */
+    public static final int MAX_RESULT_WINDOW = 1000;
+
+    private final ProductRepository productRepository;
+    private final UserRepository userRepository;
+
+    private volatile Catalog products = new Catalog();
+    private volatile Catalog users = new Catalog();
+
+    /** Write yang terjadi selama rebuild, di-replay ke index baru sebelum swap */
+    private List<Consumer<SearchService>> pendingWrites;
+
+    /**
+     * Bangun ulang index dari database.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.search.rebuild-interval:10m}",
+            initialDelayString = "${app.search.rebuild-interval:10m}")
+    public void rebuild() {
+        synchronized (this) {
+            pendingWrites = new ArrayList<>();
+        }
+
+        Catalog newProducts = new Catalog();
+        productRepository.findAll().forEach(product -> newProducts.put(product.getId(), toHit(product)));
+        Catalog newUsers = new Catalog();
+        userRepository.findAll().forEach(user -> newUsers.put(user.getId(), toHit(user)));
+
+        synchronized (this) {
+            Catalog oldProducts = products;
+            Catalog oldUsers = users;
+            products = newProducts;
+            users = newUsers;
+            pendingWrites.forEach(write -> write.accept(this));
+            pendingWrites = null;
+            log.info("Search index rebuilt: {} products ({} before), {} users ({} before)",
+                    newProducts.size(), oldProducts.size(), newUsers.size(), oldUsers.size());
+        }
+    }
+
+    public SearchPage<SearchHit> searchProducts(String query, MatchMode mode, int page, int size) {
+        return search(products, query, mode, page, size);
+    }
+
+    public SearchPage<SearchHit> searchUsers(String query, MatchMode mode, int page, int size) {
+        return search(users, query, mode, page, size);
+    }
+
+    public void indexProduct(Product product) {
+        SearchHit hit = toHit(product);
+        afterCommit(service -> service.products.put(product.getId(), hit));
+    }
+
+    public void removeProduct(Long id) {
+        afterCommit(service -> service.products.remove(id));
+    }
+
+    public void indexUser(User user) {
+        SearchHit hit = toHit(user);
+        afterCommit(service -> service.users.put(user.getId(), hit));
+    }
+
+    public void removeUser(Long id) {
+        afterCommit(service -> service.users.remove(id));
+    }
+
+    private SearchPage<SearchHit> search(Catalog catalog, String query, MatchMode mode, int page, int size) {
+        if (query == null || query.isBlank()) {
+            throw new BadRequestException("Query 'q' is required");
+        }
+        if (page < 0 || size < 1 || size > MAX_PAGE_SIZE) {
+            throw new BadRequestException("page must be >= 0 and size between 1 and " + MAX_PAGE_SIZE);
+        }
+        long offset = (long) page * size;
+        if (offset + size > MAX_RESULT_WINDOW) {
+            throw new BadRequestException("Only the first " + MAX_RESULT_WINDOW
+                    + " results can be paged, refine the query");
+        }
+
+        // Ambil satu lebih banyak untuk mengetahui apakah ada halaman berikutnya
+        List<Long> ids = catalog.index.search(query, mode, (int) offset, size + 1);
+        List<SearchHit> items = ids.stream()
+                .limit(size)
+                .map(catalog.hits::get)
+                .filter(Objects::nonNull)
+                .toList();
+
+        return SearchPage.<SearchHit>builder()
+                .items(items)
+                .page(page)
+                .size(size)
+                .hasNext(ids.size() > size)
+                .build();
+    }
+
+    /**
+     * Jalankan update index setelah commit (tidak meng-index data yang
+     * di-rollback). Jika sedang rebuild, update juga dicatat untuk di-replay.
+     */
+    private void afterCommit(Consumer<SearchService> write) {
+        Runnable apply = () -> {
+            synchronized (this) {
+                write.accept(this);
+                if (pendingWrites != null) {
+                    pendingWrites.add(write);
+                }
+            }
+        };
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply.run();
+                }
+            });
+        } else {
+            apply.run();
+        }
+    }
+
+    private static SearchHit toHit(Product product) {
+        return SearchHit.builder()
+                .id(product.getId())
+                .title(product.getName())
+                .build();
+    }
+
+    private static SearchHit toHit(User user) {
+        return SearchHit.builder()
+                .id(user.getId())
+                .title(user.getUsername())
+                .subtitle(user.getEmail())
+                .build();
+    }
+
+    /**
+     * Index + data yang ditampilkan untuk satu jenis dokumen.
+     */
+    private static final class Catalog {
+
+        private final PrefixIndex index = new PrefixIndex();
+        private final Map<Long, SearchHit> hits = new ConcurrentHashMap<>();
+
+        void put(Long id, SearchHit hit) {
+            hits.put(id, hit);
+            List<String> values = new ArrayList<>(2);
+            values.add(hit.getTitle());
+            if (hit.getSubtitle() != null) {
+                values.add(hit.getSubtitle());
+            }
+            index.put(id, values);
+        }
+
+        void remove(Long id) {
+            index.remove(id);
+            hits.remove(id);
+        }
+
+        int size() {
+            return hits.size();
+        }
+    }
+}
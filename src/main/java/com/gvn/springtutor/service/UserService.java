@@ -1,40 +1,63 @@
 package com.gvn.springtutor.service;
 
+import com.gvn.springtutor.cache.CacheBatchLoader;
 import com.gvn.springtutor.entity.User;
 import com.gvn.springtutor.exception.ResourceNotFoundException;
+import com.gvn.springtutor.outbox.OutboxPublisher;
 import com.gvn.springtutor.repository.UserRepository;
+import com.gvn.springtutor.security.PrincipalCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * User Service dengan Redis Caching.
+ *
+ * Perubahan user ditulis ke outbox (aggregate "user") dalam transaksi yang
+ * sama; payload tidak memuat password. Eligibility user dihitung ulang
+ * setelah profile berubah.
  */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class UserService {
 
+    private static final String OUTBOX_AGGREGATE = "user";
+
     private final UserRepository userRepository;
+    private final SearchService searchService;
+    private final PrincipalCache principalCache;
+    private final CacheBatchLoader cacheBatchLoader;
+    private final OutboxPublisher outboxPublisher;
+    private final EligibilityService eligibilityService;
 
     /**
      * Create user dan hapus cache.
      */
     @CacheEvict(value = "users", allEntries = true)
+    @Transactional
     public User createUser(User user) {
         log.info("Creating user: {}", user.getUsername());
-        return userRepository.save(user);
+        User savedUser = userRepository.save(user);
+        searchService.indexUser(savedUser);
+        outboxPublisher.append(OUTBOX_AGGREGATE, savedUser.getId(), "UserCreated", UserEvent.of(savedUser));
+        return savedUser;
     }
 
     /**
      * Get all users dengan caching.
      */
     @Cacheable(value = "users", key = "'allUsers'")
+    @Transactional(readOnly = true)
     public List<User> getAllUsers() {
         log.info("Fetching all users from DATABASE");
         return userRepository.findAll();
@@ -44,6 +67,7 @@ public class UserService {
      * Find user by username dengan caching.
      */
     @Cacheable(value = "users", key = "#username")
+    @Transactional(readOnly = true)
     public Optional<User> findByUsername(String username) {
         log.info("Fetching user '{}' from DATABASE", username);
         return userRepository.findByUsername(username);
@@ -53,21 +77,39 @@ public class UserService {
      * Get user by ID dengan caching.
      */
     @Cacheable(value = "users", key = "'user_' + #id")
+    @Transactional(readOnly = true)
     public User getUserById(Long id) {
         log.info("Fetching user with ID {} from DATABASE", id);
         return userRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("User", "id", id));
     }
 
+    /**
+     * Get banyak user sekaligus (maksimal CacheBatchLoader.MAX_BATCH_SIZE).
+     *
+     * Key cache sama dengan getUserById ('user_' + id); yang miss dimuat
+     * beserta role dalam satu query. Id yang tidak ada dilewati.
+     */
+    public List<User> getUsersByIds(Collection<Long> ids) {
+        return List.copyOf(cacheBatchLoader.getAll("users", ids, id -> "user_" + id,
+                missing -> userRepository.findAllWithRolesByIdIn(missing).stream()
+                        .collect(Collectors.toMap(User::getId, Function.identity())),
+                User.class).values());
+    }
+
     /**
      * Update user dan hapus cache.
      */
     @CacheEvict(value = "users", allEntries = true)
+    @Transactional
     public User updateUser(Long id, User userDetails) {
         log.info("Updating user with ID: {}", id);
         User existingUser = userRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("User", "id", id));
 
+        // Principal lama & baru (jika username berubah) dibuang dari cache
+        principalCache.invalidateAfterCommit(List.of(existingUser.getUsername(), userDetails.getUsername()));
+
         existingUser.setUsername(userDetails.getUsername());
         existingUser.setEmail(userDetails.getEmail());
         if (userDetails.getPassword() != null && !userDetails.getPassword().isEmpty()) {
@@ -77,17 +119,36 @@ public class UserService {
             existingUser.setRoles(userDetails.getRoles());
         }
 
-        return userRepository.save(existingUser);
+        User savedUser = userRepository.save(existingUser);
+        searchService.indexUser(savedUser);
+        outboxPublisher.append(OUTBOX_AGGREGATE, savedUser.getId(), "UserUpdated", UserEvent.of(savedUser));
+        eligibilityService.evictAfterCommit(savedUser.getId());
+        return savedUser;
     }
 
     /**
      * Delete user dan hapus cache.
      */
     @CacheEvict(value = "users", allEntries = true)
+    @Transactional
     public void deleteUser(Long id) {
         log.info("Deleting user with ID: {}", id);
         User existingUser = userRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("User", "id", id));
         userRepository.delete(existingUser);
+        searchService.removeUser(id);
+        principalCache.invalidateAfterCommit(List.of(existingUser.getUsername()));
+        outboxPublisher.append(OUTBOX_AGGREGATE, id, "UserDeleted", UserEvent.of(existingUser));
+        eligibilityService.evictAfterCommit(id);
+    }
+
+    /**
+     * Payload event outbox untuk user.
+     */
+    record UserEvent(Long id, String username, String email, Boolean active) {
+
+        static UserEvent of(User user) {
+            return new UserEvent(user.getId(), user.getUsername(), user.getEmail(), user.getIsActive());
+        }
     }
 }
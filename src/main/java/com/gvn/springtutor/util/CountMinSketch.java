@@ -0,0 +1,88 @@
+package com.gvn.springtutor.util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Count-min sketch: estimasi frekuensi dengan memory tetap.
+ *
+ * {@code depth} baris x {@code width} counter dalam satu
+ * {@link AtomicLongArray}. Setiap item menaikkan satu counter per baris
+ * (index dari hash yang di-mix dengan seed baris); estimasi adalah nilai
+ * minimum dari counter-counter tersebut, sehingga tidak pernah lebih kecil
+ * dari frekuensi sebenarnya (hanya bisa lebih besar karena tabrakan).
+ *
+ * {@link #halve()} membagi dua semua counter (aging), agar key yang dulu
+ * ramai tetapi sekarang sepi turun dengan sendirinya.
+ *
+ * Thread-safe tanpa lock; halve yang berjalan bersamaan dengan increment
+ * bisa kehilangan sebagian increment, yang bisa diterima untuk estimasi.
+ */
+public class CountMinSketch {
+
+    private static final long[] SEEDS = {
+            0x9E3779B97F4A7C15L, 0xC2B2AE3D27D4EB4FL, 0x165667B19E3779F9L, 0xD6E8FEB86659FD93L,
+            0xFF51AFD7ED558CCDL, 0xC4CEB9FE1A85EC53L, 0x94D049BB133111EBL, 0xBF58476D1CE4E5B9L
+    };
+
+    private final int depth;
+    private final int widthMask;
+    private final int widthBits;
+    private final AtomicLongArray counters;
+
+    /**
+     * @param depth jumlah baris (1..8); lebih banyak = lebih akurat, lebih lambat
+     * @param width counter per baris, dibulatkan ke pangkat 2
+     */
+    public CountMinSketch(int depth, int width) {
+        if (depth < 1 || depth > SEEDS.length) {
+            throw new IllegalArgumentException("depth must be between 1 and " + SEEDS.length);
+        }
+        if (width < 2) {
+            throw new IllegalArgumentException("width must be at least 2");
+        }
+        int roundedWidth = Integer.highestOneBit(width - 1) << 1;
+        this.depth = depth;
+        this.widthMask = roundedWidth - 1;
+        this.widthBits = Integer.numberOfTrailingZeros(roundedWidth);
+        this.counters = new AtomicLongArray(depth * roundedWidth);
+    }
+
+    /**
+     * Tambah satu kemunculan item.
+     *
+     * @return estimasi frekuensi setelah increment
+     */
+    public long increment(long hash) {
+        long min = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            min = Math.min(min, counters.incrementAndGet(index(row, hash)));
+        }
+        return min;
+    }
+
+    /**
+     * Estimasi frekuensi item.
+     */
+    public long estimate(long hash) {
+        long min = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            min = Math.min(min, counters.get(index(row, hash)));
+        }
+        return min;
+    }
+
+    /**
+     * Bagi dua semua counter.
+     */
+    public void halve() {
+        for (int i = 0; i < counters.length(); i++) {
+            counters.set(i, counters.get(i) >>> 1);
+        }
+    }
+
+    private int index(int row, long hash) {
+        long h = (hash ^ SEEDS[row]) * 0xBF58476D1CE4E5B9L;
+        h ^= h >>> 31;
+        return (row << widthBits) | (int) (h & widthMask);
+    }
+}
@@ -0,0 +1,165 @@
+package com.gvn.springtutor.util;
+
+import java.util.UUID;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Set UUID dengan waktu expire per entry, disimpan di satu array {@code long[]}.
+ *
+ * Setiap slot berisi 3 long: {@code [msb, lsb, expireAtMillis]} (24 byte),
+ * dengan open addressing + linear probing. Dibanding
+ * {@code ConcurrentHashMap<UUID, Long>} tidak ada object per entry (UUID,
+ * Long, Node), sehingga jauh lebih hemat memory dan ramah cache CPU.
+ *
+ * - {@link #contains} memakai optimistic read {@link StampedLock}: tanpa lock
+ *   dan tanpa alokasi selama tidak ada write bersamaan
+ * - Entry yang sudah expire tetap menempati slot sampai {@link #purgeExpired}
+ *   membangun ulang table
+ */
+public class ExpiringIdSet {
+
+    private static final int SLOT_WIDTH = 3;
+    private static final int MIN_CAPACITY = 64;
+
+    private final StampedLock lock = new StampedLock();
+
+    /** Kapasitas selalu pangkat 2; expireAt == 0 berarti slot kosong */
+    private long[] table = new long[MIN_CAPACITY * SLOT_WIDTH];
+    private int size;
+
+    /**
+     * Cek apakah id ada di set dan belum expire.
+     */
+    public boolean contains(UUID id, long nowMillis) {
+        long msb = id.getMostSignificantBits();
+        long lsb = id.getLeastSignificantBits();
+
+        long stamp = lock.tryOptimisticRead();
+        boolean found = size > 0 && find(table, msb, lsb, nowMillis);
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                found = size > 0 && find(table, msb, lsb, nowMillis);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Tambah id. Jika sudah ada, expire diperpanjang ke nilai terbesar.
+     */
+    public void add(UUID id, long expireAtMillis) {
+        long expireAt = Math.max(expireAtMillis, 1L);
+        long stamp = lock.writeLock();
+        try {
+            if ((size + 1) * 2 > capacity(table)) {
+                table = copyLive(table, capacity(table) * 2, 0L);
+            }
+            if (insert(table, id.getMostSignificantBits(), id.getLeastSignificantBits(), expireAt)) {
+                size++;
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Buang entry yang sudah expire (table dibangun ulang).
+     *
+     * @return jumlah entry yang dibuang
+     */
+    public int purgeExpired(long nowMillis) {
+        long stamp = lock.writeLock();
+        try {
+            int live = 0;
+            for (int slot = 2; slot < table.length; slot += SLOT_WIDTH) {
+                if (table[slot] > nowMillis) {
+                    live++;
+                }
+            }
+            int removed = size - live;
+            if (removed > 0) {
+                int capacity = MIN_CAPACITY;
+                while (live * 2 > capacity) {
+                    capacity <<= 1;
+                }
+                table = copyLive(table, capacity, nowMillis);
+                size = live;
+            }
+            return removed;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    public int size() {
+        long stamp = lock.readLock();
+        try {
+            return size;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    private static boolean find(long[] table, long msb, long lsb, long nowMillis) {
+        int capacity = capacity(table);
+        int mask = capacity - 1;
+        int index = hash(msb, lsb) & mask;
+        // Dibatasi capacity: pada optimistic read isi table bisa sedang berubah
+        for (int probes = 0; probes < capacity; probes++) {
+            int base = index * SLOT_WIDTH;
+            long expireAt = table[base + 2];
+            if (expireAt == 0L) {
+                return false;
+            }
+            if (table[base] == msb && table[base + 1] == lsb) {
+                return expireAt > nowMillis;
+            }
+            index = (index + 1) & mask;
+        }
+        return false;
+    }
+
+    /**
+     * @return true jika slot baru dipakai, false jika entry sudah ada
+     */
+    private static boolean insert(long[] table, long msb, long lsb, long expireAt) {
+        int mask = capacity(table) - 1;
+        int index = hash(msb, lsb) & mask;
+        while (true) {
+            int base = index * SLOT_WIDTH;
+            if (table[base + 2] == 0L) {
+                table[base] = msb;
+                table[base + 1] = lsb;
+                table[base + 2] = expireAt;
+                return true;
+            }
+            if (table[base] == msb && table[base + 1] == lsb) {
+                table[base + 2] = Math.max(table[base + 2], expireAt);
+                return false;
+            }
+            index = (index + 1) & mask;
+        }
+    }
+
+    private static long[] copyLive(long[] source, int capacity, long nowMillis) {
+        long[] target = new long[capacity * SLOT_WIDTH];
+        for (int base = 0; base < source.length; base += SLOT_WIDTH) {
+            if (source[base + 2] > nowMillis) {
+                insert(target, source[base], source[base + 1], source[base + 2]);
+            }
+        }
+        return target;
+    }
+
+    private static int capacity(long[] table) {
+        return table.length / SLOT_WIDTH;
+    }
+
+    private static int hash(long msb, long lsb) {
+        long h = (msb ^ lsb) * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
@@ -0,0 +1,121 @@
+package com.gvn.springtutor.util;
+
+/**
+ * Perhitungan cicilan anuitas (cicilan tetap per bulan).
+ *
+ * Semua nominal dalam sen ({@code long}); {@code double} hanya untuk suku
+ * bunga dan faktor anuitas. Tidak ada alokasi per periode: jadwal ditulis
+ * ke array milik pemanggil, ringkasan hanya menghitung total.
+ *
+ * Rumus:
+ * <pre>
+ * r       = bunga tahunan (%) / 100 / 12
+ * faktor  = r / (1 - (1 + r)^-n)        (1 / n jika r = 0)
+ * cicilan = round(pokok * faktor)
+ * </pre>
+ * Bunga per periode = round(sisa pokok * r); periode terakhir melunasi sisa
+ * pokok sehingga total pokok selalu tepat sama dengan pinjaman.
+ */
+public final class LoanCalculator {
+
+    private LoanCalculator() {
+    }
+
+    /**
+     * Parameter anuitas yang bisa dihitung sekali per (tenor, bunga) product.
+     *
+     * @param tenor         jumlah bulan
+     * @param monthlyRate   bunga per bulan (desimal, misalnya 0.0075)
+     * @param annuityFactor cicilan per 1 satuan pokok
+     */
+    public record Terms(int tenor, double monthlyRate, double annuityFactor) {
+
+        /**
+         * @param tenor             jumlah bulan (> 0)
+         * @param annualRatePercent bunga tahunan dalam persen (>= 0), misalnya 9.0
+         */
+        public static Terms of(int tenor, double annualRatePercent) {
+            if (tenor <= 0) {
+                throw new IllegalArgumentException("Tenor must be positive");
+            }
+            if (annualRatePercent < 0 || Double.isNaN(annualRatePercent) || Double.isInfinite(annualRatePercent)) {
+                throw new IllegalArgumentException("Interest rate must not be negative");
+            }
+            double monthlyRate = annualRatePercent / 100.0 / 12.0;
+            double factor = monthlyRate == 0.0
+                    ? 1.0 / tenor
+                    : monthlyRate / (1.0 - Math.pow(1.0 + monthlyRate, -tenor));
+            return new Terms(tenor, monthlyRate, factor);
+        }
+    }
+
+    /**
+     * Ringkasan pinjaman (dalam sen).
+     *
+     * @param installment     cicilan bulanan (semua periode kecuali terakhir)
+     * @param lastInstallment cicilan periode terakhir (setelah penyesuaian pembulatan)
+     * @param totalInterest   total bunga
+     */
+    public record Summary(long installment, long lastInstallment, long totalInterest) {
+
+        public long totalPayment(long principal) {
+            return principal + totalInterest;
+        }
+    }
+
+    public static long installment(long principal, Terms terms) {
+        return Math.round(principal * terms.annuityFactor());
+    }
+
+    /**
+     * Hitung ringkasan tanpa menyimpan jadwal.
+     */
+    public static Summary summarize(long principal, Terms terms) {
+        return schedule(principal, terms, null, null, null, null);
+    }
+
+    /**
+     * Hitung jadwal lengkap ke array (panjang minimal tenor). Array boleh
+     * null jika kolom tersebut tidak dibutuhkan.
+     */
+    public static Summary schedule(long principal, Terms terms,
+            long[] installments, long[] interests, long[] principals, long[] balances) {
+        if (principal <= 0) {
+            throw new IllegalArgumentException("Principal must be positive");
+        }
+        int tenor = terms.tenor();
+        double rate = terms.monthlyRate();
+        long installment = installment(principal, terms);
+
+        long balance = principal;
+        long totalInterest = 0;
+        long payment = installment;
+        for (int i = 0; i < tenor; i++) {
+            long interest = Math.round(balance * rate);
+            long principalPart;
+            if (i == tenor - 1) {
+                principalPart = balance;
+                payment = balance + interest;
+            } else {
+                principalPart = Math.min(installment - interest, balance);
+                payment = principalPart + interest;
+            }
+            balance -= principalPart;
+            totalInterest += interest;
+
+            if (installments != null) {
+                installments[i] = payment;
+            }
+            if (interests != null) {
+                interests[i] = interest;
+            }
+            if (principals != null) {
+                principals[i] = principalPart;
+            }
+            if (balances != null) {
+                balances[i] = balance;
+            }
+        }
+        return new Summary(installment, payment, totalInterest);
+    }
+}
@@ -0,0 +1,168 @@
+package com.gvn.springtutor.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Index in-memory untuk pencarian "starts with" dan "contains".
+ *
+ * Setiap nilai (nama, username, email) dinormalisasi ke lowercase lalu
+ * disimpan di sorted map:
+ * - {@code terms}: nilai utuh → pencarian prefix = range scan
+ *   {@code [q, q + Character.MAX_VALUE)}
+ * - {@code suffixes}: semua suffix (mulai index 1) → pencarian contains =
+ *   prefix scan di suffix
+ *
+ * Hasil diurutkan: match prefix lebih dulu, lalu contains; di dalamnya urut
+ * abjad. Scan berhenti begitu offset + limit hasil terkumpul, jadi biayanya
+ * O(log n + k) dan tidak tergantung jumlah data.
+ *
+ * Posting list disimpan sebagai {@code long[]} yang tidak pernah diubah
+ * (copy-on-write): pembaca tidak butuh lock, penulis di-serialize.
+ */
+public class PrefixIndex {
+
+    public enum MatchMode {
+        PREFIX, CONTAINS
+    }
+
+    private static final long[] EMPTY = new long[0];
+
+    /** Panjang maksimum nilai yang di-index (sisanya dipotong) */
+    private static final int MAX_TERM_LENGTH = 64;
+
+    /** Panjang minimum suffix, agar query 1 huruf tidak men-scan semua suffix */
+    private static final int MIN_SUFFIX_LENGTH = 2;
+
+    private final NavigableMap<String, long[]> terms = new ConcurrentSkipListMap<>();
+    private final NavigableMap<String, long[]> suffixes = new ConcurrentSkipListMap<>();
+    private final Map<Long, List<String>> documentTerms = new ConcurrentHashMap<>();
+
+    /**
+     * Tambah atau ganti nilai yang di-index untuk satu dokumen.
+     */
+    public synchronized void put(long id, Collection<String> values) {
+        remove(id);
+
+        List<String> normalized = new ArrayList<>(values.size());
+        for (String value : values) {
+            String term = normalize(value);
+            if (term.isEmpty() || normalized.contains(term)) {
+                continue;
+            }
+            normalized.add(term);
+            addPosting(terms, term, id);
+            for (int start = 1; start <= term.length() - MIN_SUFFIX_LENGTH; start++) {
+                addPosting(suffixes, term.substring(start), id);
+            }
+        }
+        documentTerms.put(id, List.copyOf(normalized));
+    }
+
+    /**
+     * Hapus dokumen dari index.
+     */
+    public synchronized void remove(long id) {
+        List<String> previous = documentTerms.remove(id);
+        if (previous == null) {
+            return;
+        }
+        for (String term : previous) {
+            removePosting(terms, term, id);
+            for (int start = 1; start <= term.length() - MIN_SUFFIX_LENGTH; start++) {
+                removePosting(suffixes, term.substring(start), id);
+            }
+        }
+    }
+
+    /**
+     * Cari id dokumen yang cocok.
+     *
+     * @param offset jumlah hasil yang dilewati (ikut di-scan, >= 0)
+     * @param limit jumlah maksimum hasil setelah offset
+     * @return id dokumen (maksimal offset + limit yang di-scan)
+     */
+    public List<Long> search(String query, MatchMode mode, int offset, int limit) {
+        if (offset < 0) {
+            throw new IllegalArgumentException("offset must be >= 0");
+        }
+        String prefix = normalize(query);
+        if (prefix.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        int wanted = (int) Math.min(Integer.MAX_VALUE, (long) offset + limit);
+        Set<Long> matches = new LinkedHashSet<>();
+        collect(terms, prefix, matches, wanted);
+        if (mode == MatchMode.CONTAINS && matches.size() < wanted) {
+            collect(suffixes, prefix, matches, wanted);
+        }
+
+        return matches.stream().skip(offset).limit(limit).toList();
+    }
+
+    public int size() {
+        return documentTerms.size();
+    }
+
+    private static void collect(NavigableMap<String, long[]> index, String prefix, Set<Long> out, int wanted) {
+        for (long[] postings : index.subMap(prefix, true, prefix + Character.MAX_VALUE, false).values()) {
+            for (long id : postings) {
+                out.add(id);
+                if (out.size() >= wanted) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private static void addPosting(NavigableMap<String, long[]> index, String key, long id) {
+        long[] current = index.getOrDefault(key, EMPTY);
+        int position = Arrays.binarySearch(current, id);
+        if (position >= 0) {
+            return;
+        }
+        int insertAt = -position - 1;
+        long[] updated = new long[current.length + 1];
+        System.arraycopy(current, 0, updated, 0, insertAt);
+        updated[insertAt] = id;
+        System.arraycopy(current, insertAt, updated, insertAt + 1, current.length - insertAt);
+        index.put(key, updated);
+    }
+
+    private static void removePosting(NavigableMap<String, long[]> index, String key, long id) {
+        long[] current = index.get(key);
+        if (current == null) {
+            return;
+        }
+        int position = Arrays.binarySearch(current, id);
+        if (position < 0) {
+            return;
+        }
+        if (current.length == 1) {
+            index.remove(key);
+            return;
+        }
+        long[] updated = new long[current.length - 1];
+        System.arraycopy(current, 0, updated, 0, position);
+        System.arraycopy(current, position + 1, updated, position, current.length - position - 1);
+        index.put(key, updated);
+    }
+
+    private static String normalize(String value) {
+        if (value == null) {
+            return "";
+        }
+        String term = value.trim().toLowerCase(Locale.ROOT);
+        return term.length() > MAX_TERM_LENGTH ? term.substring(0, MAX_TERM_LENGTH) : term;
+    }
+}
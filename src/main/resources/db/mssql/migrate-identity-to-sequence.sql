@@ -0,0 +1,153 @@
+-- ============================================================================
+-- MIGRASI: IDENTITY -> SEQUENCE (pooled-lo)
+-- ============================================================================
+-- Entity sekarang memakai GenerationType.SEQUENCE dengan sequence <tabel>_seq.
+-- Kolom id yang sudah terlanjur dibuat sebagai IDENTITY(1,1) oleh ddl-auto
+-- harus dilepas property IDENTITY-nya, karena Hibernate akan mengirim nilai id
+-- sendiri di setiap INSERT.
+--
+-- SQL Server tidak bisa ALTER COLUMN untuk menghapus IDENTITY, jadi skrip ini
+-- memakai ALTER TABLE ... SWITCH ke tabel baru tanpa IDENTITY. SWITCH hanya
+-- memindahkan metadata (tidak menyalin baris) sehingga tetap cepat untuk
+-- tabel besar seperti applications_history.
+--
+-- Cara pakai:
+-- 1. Stop semua instance aplikasi versi lama.
+-- 2. Jalankan skrip ini sekali di database spring_tutor.
+-- 3. Deploy versi aplikasi yang memakai sequence.
+--
+-- Ukuran blok alokasi ID = INCREMENT BY (@allocation_size di bawah). Karena
+-- hibernate.id.sequence.increment_size_mismatch_strategy=fix, nilai ini bisa
+-- diubah kapan saja dengan ALTER SEQUENCE ... INCREMENT BY n.
+--
+-- Definisi kolom di bawah mengikuti DDL yang dihasilkan Hibernate
+-- (kolom id di depan, sisanya urut abjad). Jika skema sudah diubah manual,
+-- sesuaikan dulu dengan hasil sp_help <tabel>, karena SWITCH mensyaratkan
+-- struktur kolom yang identik.
+-- ============================================================================
+
+SET XACT_ABORT ON;
+BEGIN TRANSACTION;
+
+DECLARE @allocation_size INT = 50;
+DECLARE @sql NVARCHAR(MAX);
+
+-- ----------------------------------------------------------------------------
+-- 1. Lepas foreign key & unique constraint (nama dibuat acak oleh Hibernate).
+--    SWITCH tidak bisa dilakukan pada tabel yang direferensikan foreign key,
+--    dan index tabel sumber harus sama persis dengan tabel tujuan.
+-- ----------------------------------------------------------------------------
+SET @sql = N'';
+SELECT @sql += N'ALTER TABLE ' + QUOTENAME(OBJECT_SCHEMA_NAME(fk.parent_object_id)) + N'.'
+        + QUOTENAME(OBJECT_NAME(fk.parent_object_id))
+        + N' DROP CONSTRAINT ' + QUOTENAME(fk.name) + N';' + CHAR(10)
+FROM sys.foreign_keys fk
+WHERE OBJECT_NAME(fk.referenced_object_id) IN (N'users', N'roles', N'products', N'applications');
+EXEC sys.sp_executesql @sql;
+
+SET @sql = N'';
+SELECT @sql += N'ALTER TABLE dbo.' + QUOTENAME(OBJECT_NAME(kc.parent_object_id))
+        + N' DROP CONSTRAINT ' + QUOTENAME(kc.name) + N';' + CHAR(10)
+FROM sys.key_constraints kc
+WHERE kc.type = 'UQ'
+  AND OBJECT_NAME(kc.parent_object_id) IN (N'users', N'roles');
+EXEC sys.sp_executesql @sql;
+
+-- ----------------------------------------------------------------------------
+-- 2. Buat tabel pengganti tanpa IDENTITY lalu SWITCH.
+-- ----------------------------------------------------------------------------
+CREATE TABLE dbo.roles_new (
+    id   BIGINT      NOT NULL CONSTRAINT PK_roles_new PRIMARY KEY CLUSTERED,
+    name VARCHAR(50) NOT NULL
+);
+ALTER TABLE dbo.roles SWITCH TO dbo.roles_new;
+DROP TABLE dbo.roles;
+EXEC sp_rename N'dbo.roles_new', N'roles';
+EXEC sp_rename N'dbo.PK_roles_new', N'PK_roles', N'OBJECT';
+
+CREATE TABLE dbo.users_new (
+    id        BIGINT       NOT NULL CONSTRAINT PK_users_new PRIMARY KEY CLUSTERED,
+    email     VARCHAR(150) NULL,
+    is_active BIT          NULL,
+    password  VARCHAR(255) NULL,
+    username  VARCHAR(100) NOT NULL
+);
+ALTER TABLE dbo.users SWITCH TO dbo.users_new;
+DROP TABLE dbo.users;
+EXEC sp_rename N'dbo.users_new', N'users';
+EXEC sp_rename N'dbo.PK_users_new', N'PK_users', N'OBJECT';
+
+CREATE TABLE dbo.products_new (
+    id            BIGINT       NOT NULL CONSTRAINT PK_products_new PRIMARY KEY CLUSTERED,
+    interest_rate FLOAT(53)    NOT NULL,
+    name          VARCHAR(255) NOT NULL,
+    tenor         INT          NOT NULL
+);
+ALTER TABLE dbo.products SWITCH TO dbo.products_new;
+DROP TABLE dbo.products;
+EXEC sp_rename N'dbo.products_new', N'products';
+EXEC sp_rename N'dbo.PK_products_new', N'PK_products', N'OBJECT';
+
+CREATE TABLE dbo.applications_new (
+    id         BIGINT       NOT NULL CONSTRAINT PK_applications_new PRIMARY KEY CLUSTERED,
+    product_id BIGINT       NOT NULL,
+    status     VARCHAR(255) NOT NULL,
+    user_id    BIGINT       NOT NULL
+);
+ALTER TABLE dbo.applications SWITCH TO dbo.applications_new;
+DROP TABLE dbo.applications;
+EXEC sp_rename N'dbo.applications_new', N'applications';
+EXEC sp_rename N'dbo.PK_applications_new', N'PK_applications', N'OBJECT';
+
+CREATE TABLE dbo.applications_history_new (
+    id         BIGINT       NOT NULL CONSTRAINT PK_applications_history_new PRIMARY KEY CLUSTERED,
+    note       VARCHAR(255) NULL,
+    product_id BIGINT       NOT NULL,
+    status     VARCHAR(255) NOT NULL,
+    user_id    BIGINT       NOT NULL
+);
+ALTER TABLE dbo.applications_history SWITCH TO dbo.applications_history_new;
+DROP TABLE dbo.applications_history;
+EXEC sp_rename N'dbo.applications_history_new', N'applications_history';
+EXEC sp_rename N'dbo.PK_applications_history_new', N'PK_applications_history', N'OBJECT';
+
+-- ----------------------------------------------------------------------------
+-- 3. Pasang kembali constraint dengan nama eksplisit.
+-- ----------------------------------------------------------------------------
+ALTER TABLE dbo.roles ADD CONSTRAINT UK_roles_name UNIQUE (name);
+ALTER TABLE dbo.users ADD CONSTRAINT UK_users_username UNIQUE (username);
+ALTER TABLE dbo.user_roles ADD CONSTRAINT FK_user_roles_user
+    FOREIGN KEY (user_id) REFERENCES dbo.users (id);
+ALTER TABLE dbo.user_roles ADD CONSTRAINT FK_user_roles_role
+    FOREIGN KEY (role_id) REFERENCES dbo.roles (id);
+
+-- ----------------------------------------------------------------------------
+-- 4. Buat sequence yang dimulai setelah id terbesar.
+--    Dengan optimizer pooled-lo, nilai sequence adalah id pertama di blok,
+--    jadi START WITH MAX(id) + 1 tidak akan bentrok dengan data lama.
+--    Sequence yang mungkin sudah dibuat ddl-auto (START WITH 1) dibuang dulu.
+-- ----------------------------------------------------------------------------
+DECLARE @table SYSNAME;
+DECLARE @start BIGINT;
+DECLARE seq_cursor CURSOR LOCAL FAST_FORWARD FOR
+    SELECT t FROM (VALUES (N'roles'), (N'users'), (N'products'),
+                          (N'applications'), (N'applications_history')) AS v(t);
+OPEN seq_cursor;
+FETCH NEXT FROM seq_cursor INTO @table;
+WHILE @@FETCH_STATUS = 0
+BEGIN
+    SET @sql = N'SELECT @start = ISNULL(MAX(id), 0) + 1 FROM dbo.' + QUOTENAME(@table) + N';';
+    EXEC sys.sp_executesql @sql, N'@start BIGINT OUTPUT', @start = @start OUTPUT;
+
+    SET @sql = N'DROP SEQUENCE IF EXISTS dbo.' + QUOTENAME(@table + N'_seq') + N';'
+            + N'CREATE SEQUENCE dbo.' + QUOTENAME(@table + N'_seq')
+            + N' AS BIGINT START WITH ' + CAST(@start AS NVARCHAR(20))
+            + N' INCREMENT BY ' + CAST(@allocation_size AS NVARCHAR(10)) + N';';
+    EXEC sys.sp_executesql @sql;
+
+    FETCH NEXT FROM seq_cursor INTO @table;
+END
+CLOSE seq_cursor;
+DEALLOCATE seq_cursor;
+
+COMMIT TRANSACTION;
@@ -0,0 +1,166 @@
+-- ============================================================================
+-- PARTISI BULANAN: applications_history
+-- ============================================================================
+-- applications_history append-only dan menjadi tabel terbesar. Skrip ini:
+-- - mengisi created_at untuk baris lama (kolom baru di entity)
+-- - membuat partition function/scheme bulanan atas created_at (RANGE RIGHT)
+-- - membangun ulang primary key sebagai clustered (created_at, id) di atas
+--   partition scheme, sehingga query dengan batas created_at hanya membaca
+--   partisi yang relevan dan insert selalu jatuh di partisi bulan berjalan
+-- - membuat tabel stage (untuk SWITCH) dan tabel archive (clustered
+--   columnstore, terkompresi) yang dipakai ApplicationsHistoryArchiver,
+--   dengan definisi kolom yang disalin dari tabel sumber, lalu memastikan
+--   SWITCH ke stage benar-benar bisa dijalankan
+--
+-- Partisi 1 (sebelum boundary pertama) sengaja selalu kosong. Archiver
+-- memindahkan partisi 2 (bulan tertua) lewat SWITCH lalu MERGE boundary
+-- pertama; karena kedua partisi yang di-merge kosong, operasi ini hanya
+-- mengubah metadata.
+--
+-- created_at dibuat Hibernate sebagai datetimeoffset(6) (java.time.Instant).
+--
+-- Cara pakai:
+-- 1. Jalankan setelah migrate-identity-to-sequence.sql dan setelah aplikasi
+--    versi ini pernah start sekali (ddl-auto menambah kolom created_at,
+--    application_id, changed_by).
+-- 2. Jalankan skrip ini sekali di database spring_tutor (di jam sepi:
+--    langkah 3 membangun ulang clustered index).
+-- 3. Aktifkan app.history.archive.enabled=true di satu atau semua node
+--    (archiver idempotent).
+-- ============================================================================
+
+SET XACT_ABORT ON;
+BEGIN TRANSACTION;
+
+DECLARE @sql NVARCHAR(MAX);
+DECLARE @months_ahead INT = 3;
+
+-- ----------------------------------------------------------------------------
+-- 1. Isi created_at untuk baris lama lalu jadikan NOT NULL.
+--    Baris lama tidak punya waktu asli; dipakai waktu migrasi.
+-- ----------------------------------------------------------------------------
+IF COL_LENGTH(N'dbo.applications_history', N'created_at') IS NULL
+    ALTER TABLE dbo.applications_history ADD created_at DATETIMEOFFSET(6) NULL;
+
+EXEC sys.sp_executesql N'UPDATE dbo.applications_history SET created_at = SYSDATETIMEOFFSET() WHERE created_at IS NULL;';
+ALTER TABLE dbo.applications_history ALTER COLUMN created_at DATETIMEOFFSET(6) NOT NULL;
+
+-- ----------------------------------------------------------------------------
+-- 2. Partition function & scheme: satu partisi per bulan, dari bulan data
+--    tertua sampai @months_ahead bulan ke depan.
+-- ----------------------------------------------------------------------------
+DECLARE @first DATE;
+SELECT @first = DATEFROMPARTS(YEAR(MIN(created_at)), MONTH(MIN(created_at)), 1) FROM dbo.applications_history;
+IF @first IS NULL
+    SET @first = DATEFROMPARTS(YEAR(SYSUTCDATETIME()), MONTH(SYSUTCDATETIME()), 1);
+
+DECLARE @last DATE = DATEADD(MONTH, @months_ahead,
+        DATEFROMPARTS(YEAR(SYSUTCDATETIME()), MONTH(SYSUTCDATETIME()), 1));
+
+DECLARE @boundaries NVARCHAR(MAX) = N'';
+DECLARE @month DATE = @first;
+WHILE @month <= @last
+BEGIN
+    SET @boundaries += CASE WHEN LEN(@boundaries) > 0 THEN N', ' ELSE N'' END
+            + N'''' + CONVERT(NVARCHAR(10), @month, 23) + N' 00:00:00 +00:00''';
+    SET @month = DATEADD(MONTH, 1, @month);
+END
+
+SET @sql = N'CREATE PARTITION FUNCTION pf_applications_history_month (DATETIMEOFFSET(6)) '
+        + N'AS RANGE RIGHT FOR VALUES (' + @boundaries + N');';
+EXEC sys.sp_executesql @sql;
+
+CREATE PARTITION SCHEME ps_applications_history_month
+    AS PARTITION pf_applications_history_month ALL TO ([PRIMARY]);
+
+-- ----------------------------------------------------------------------------
+-- 3. Bangun ulang primary key & index di atas partition scheme.
+--    Kolom partisi harus ada di setiap unique index agar index "aligned"
+--    (syarat SWITCH), jadi primary key menjadi (created_at, id).
+-- ----------------------------------------------------------------------------
+SET @sql = N'';
+SELECT @sql += N'ALTER TABLE dbo.applications_history DROP CONSTRAINT ' + QUOTENAME(kc.name) + N';' + CHAR(10)
+FROM sys.key_constraints kc
+WHERE kc.type = 'PK' AND kc.parent_object_id = OBJECT_ID(N'dbo.applications_history');
+EXEC sys.sp_executesql @sql;
+
+DROP INDEX IF EXISTS ix_applications_history_application ON dbo.applications_history;
+
+ALTER TABLE dbo.applications_history ADD CONSTRAINT PK_applications_history
+    PRIMARY KEY CLUSTERED (created_at, id)
+    ON ps_applications_history_month (created_at);
+
+CREATE INDEX ix_applications_history_application
+    ON dbo.applications_history (application_id, created_at)
+    ON ps_applications_history_month (created_at);
+
+-- ----------------------------------------------------------------------------
+-- 4. Tabel stage (target SWITCH; struktur & index identik, tidak dipartisi)
+--    dan tabel archive (clustered columnstore).
+--
+--    SWITCH mensyaratkan tipe, panjang, nullability dan collation setiap
+--    kolom sama persis. Kolom lama berasal dari migrate-identity-to-sequence.sql
+--    (misalnya status VARCHAR(255)) dan ddl-auto update tidak pernah
+--    mempersempit kolom, jadi definisi kolom diambil dari sys.columns tabel
+--    sumber, bukan ditulis tangan.
+-- ----------------------------------------------------------------------------
+DECLARE @columns NVARCHAR(MAX);
+SELECT @columns = STRING_AGG(CAST(N'    ' + QUOTENAME(c.name) + N' '
+        + CASE
+            WHEN t.name IN (N'varchar', N'char', N'varbinary', N'binary')
+                THEN t.name + N'(' + CASE WHEN c.max_length = -1 THEN N'MAX'
+                        ELSE CAST(c.max_length AS NVARCHAR(10)) END + N')'
+            WHEN t.name IN (N'nvarchar', N'nchar')
+                THEN t.name + N'(' + CASE WHEN c.max_length = -1 THEN N'MAX'
+                        ELSE CAST(c.max_length / 2 AS NVARCHAR(10)) END + N')'
+            WHEN t.name IN (N'decimal', N'numeric')
+                THEN t.name + N'(' + CAST(c.precision AS NVARCHAR(10)) + N', '
+                        + CAST(c.scale AS NVARCHAR(10)) + N')'
+            WHEN t.name IN (N'datetimeoffset', N'datetime2', N'time')
+                THEN t.name + N'(' + CAST(c.scale AS NVARCHAR(10)) + N')'
+            ELSE t.name
+          END
+        + CASE WHEN c.collation_name IS NOT NULL THEN N' COLLATE ' + c.collation_name ELSE N'' END
+        + CASE WHEN c.is_nullable = 1 THEN N' NULL' ELSE N' NOT NULL' END AS NVARCHAR(MAX)),
+        N',' + CHAR(10)) WITHIN GROUP (ORDER BY c.column_id)
+FROM sys.columns c
+JOIN sys.types t ON t.user_type_id = c.user_type_id
+WHERE c.object_id = OBJECT_ID(N'dbo.applications_history');
+
+SET @sql = N'CREATE TABLE dbo.applications_history_stage (' + CHAR(10) + @columns + N',' + CHAR(10)
+        + N'    CONSTRAINT PK_applications_history_stage PRIMARY KEY CLUSTERED (created_at, id)' + CHAR(10)
+        + N') ON [PRIMARY];';
+EXEC sys.sp_executesql @sql;
+
+CREATE INDEX ix_applications_history_stage_application
+    ON dbo.applications_history_stage (application_id, created_at);
+
+SET @sql = N'CREATE TABLE dbo.applications_history_archive (' + CHAR(10) + @columns + N',' + CHAR(10)
+        + N'    INDEX cci_applications_history_archive CLUSTERED COLUMNSTORE' + CHAR(10)
+        + N');';
+EXEC sys.sp_executesql @sql;
+
+-- ----------------------------------------------------------------------------
+-- 5. Pastikan SWITCH ke stage kompatibel. Jika ada kolom yang berbeda,
+--    batalkan seluruh skrip sekarang daripada gagal setiap malam di
+--    ApplicationsHistoryArchiver (yang hanya mencatat warning).
+-- ----------------------------------------------------------------------------
+IF EXISTS (
+    SELECT name, system_type_id, user_type_id, max_length, precision, scale, is_nullable, collation_name
+    FROM sys.columns WHERE object_id = OBJECT_ID(N'dbo.applications_history')
+    EXCEPT
+    SELECT name, system_type_id, user_type_id, max_length, precision, scale, is_nullable, collation_name
+    FROM sys.columns WHERE object_id = OBJECT_ID(N'dbo.applications_history_stage')
+) OR EXISTS (
+    SELECT name FROM sys.columns WHERE object_id = OBJECT_ID(N'dbo.applications_history_stage')
+    EXCEPT
+    SELECT name FROM sys.columns WHERE object_id = OBJECT_ID(N'dbo.applications_history')
+)
+    THROW 50001, N'applications_history_stage is not SWITCH-compatible with applications_history', 1;
+
+-- Uji SWITCH dengan partisi 1 (selalu kosong): hanya metadata, tidak
+-- memindahkan data, tetapi gagal dengan pesan yang jelas jika index atau
+-- constraint tidak cocok.
+ALTER TABLE dbo.applications_history SWITCH PARTITION 1 TO dbo.applications_history_stage;
+
+COMMIT TRANSACTION;
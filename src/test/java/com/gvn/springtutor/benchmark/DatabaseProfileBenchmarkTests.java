@@ -0,0 +1,114 @@
+package com.gvn.springtutor.benchmark;
+
+import com.gvn.springtutor.entity.Product;
+import com.gvn.springtutor.entity.User;
+import com.gvn.springtutor.repository.ProductRepository;
+import com.gvn.springtutor.repository.UserRepository;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ActiveProfilesResolver;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Benchmark akses database dengan H2 (MSSQL mode) sebagai pengganti SQL Server.
+ *
+ * Profile diambil dari system property {@code bench.profiles}, sehingga
+ * baseline dan profile db-perf bisa dibandingkan dengan workload yang sama:
+ *
+ * <pre>
+ * mvn -Pbenchmark test -Dtest=DatabaseProfileBenchmarkTests -Dbench.profiles=bench
+ * mvn -Pbenchmark test -Dtest=DatabaseProfileBenchmarkTests -Dbench.profiles=db-perf,bench
+ * </pre>
+ *
+ * Parameter khusus mssql-jdbc (statement pooling, sendStringParametersAsUnicode)
+ * tidak berpengaruh di H2; untuk itu jalankan workload yang sama terhadap
+ * container SQL Server lokal.
+ */
+@Tag("benchmark")
+@SpringBootTest
+@ActiveProfiles(resolver = DatabaseProfileBenchmarkTests.BenchProfilesResolver.class)
+class DatabaseProfileBenchmarkTests {
+
+    private static final int ROWS = 2_000;
+    private static final int CHUNK = 500;
+    private static final int LOOKUPS = 10_000;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void insertAndLookupThroughput() {
+        long insertStart = System.nanoTime();
+        for (int offset = 0; offset < ROWS; offset += CHUNK) {
+            int from = offset;
+            transactionTemplate.executeWithoutResult(status -> {
+                List<User> users = new ArrayList<>(CHUNK);
+                List<Product> products = new ArrayList<>(CHUNK);
+                for (int i = from; i < from + CHUNK; i++) {
+                    users.add(User.builder()
+                            .username("bench-user-" + i)
+                            .email("bench-user-" + i + "@example.com")
+                            .password("{noop}secret")
+                            .isActive(true)
+                            .build());
+                    products.add(Product.builder()
+                            .name("bench-product-" + i)
+                            .tenor(12)
+                            .interestRate(5.0)
+                            .build());
+                }
+                userRepository.saveAll(users);
+                productRepository.saveAll(products);
+            });
+        }
+        long insertNanos = System.nanoTime() - insertStart;
+
+        long lookupStart = System.nanoTime();
+        int found = 0;
+        for (int i = 0; i < LOOKUPS; i++) {
+            int n = ThreadLocalRandom.current().nextInt(ROWS);
+            if (userRepository.findByUsername("bench-user-" + n).isPresent()) {
+                found++;
+            }
+        }
+        long lookupNanos = System.nanoTime() - lookupStart;
+
+        report("insert (users + products)", ROWS * 2, insertNanos);
+        report("findByUsername", LOOKUPS, lookupNanos);
+
+        assertThat(found).isEqualTo(LOOKUPS);
+    }
+
+    private static void report(String operation, int count, long nanos) {
+        double millis = nanos / 1_000_000.0;
+        System.out.printf("[bench:%s] %-28s %6d ops in %9.1f ms -> %10.0f ops/s%n",
+                System.getProperty("bench.profiles", "bench"), operation, count, millis,
+                count / (millis / 1000.0));
+    }
+
+    /**
+     * Membaca daftar profile dari system property {@code bench.profiles}.
+     */
+    static class BenchProfilesResolver implements ActiveProfilesResolver {
+
+        @Override
+        public String[] resolve(Class<?> testClass) {
+            return System.getProperty("bench.profiles", "bench").split(",");
+        }
+    }
+}
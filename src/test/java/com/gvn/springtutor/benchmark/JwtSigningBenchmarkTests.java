@@ -0,0 +1,86 @@
+package com.gvn.springtutor.benchmark;
+
+import com.gvn.springtutor.security.JwtSigningAlgorithm;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.SecureDigestAlgorithm;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.SecretKey;
+import java.security.Key;
+import java.security.KeyPair;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Biaya sign dan verify JWT per algoritma, dengan claims yang sama seperti
+ * access token aplikasi. HS256 disertakan sebagai baseline (symmetric).
+ *
+ * <pre>
+ * mvn -Pbenchmark test -Dtest=JwtSigningBenchmarkTests
+ * </pre>
+ */
+@Tag("benchmark")
+class JwtSigningBenchmarkTests {
+
+    private static final int WARMUP = 5_000;
+    private static final int ITERATIONS = 20_000;
+
+    @Test
+    void signAndVerifyCostPerAlgorithm() throws Exception {
+        SecretKey hmacKey = Jwts.SIG.HS256.key().build();
+        run("HS256", Jwts.SIG.HS256, hmacKey, Jwts.parser().verifyWith(hmacKey).build());
+
+        for (JwtSigningAlgorithm algorithm : JwtSigningAlgorithm.values()) {
+            KeyPair keyPair = algorithm.generateKeyPair();
+            run(algorithm.name(), algorithm.getSignatureAlgorithm(), keyPair.getPrivate(),
+                    Jwts.parser().verifyWith(keyPair.getPublic()).build());
+        }
+    }
+
+    private static <K extends Key> void run(String name, SecureDigestAlgorithm<? super K, ?> algorithm,
+            K signingKey, JwtParser parser) {
+        for (int i = 0; i < WARMUP; i++) {
+            parser.parseSignedClaims(sign(algorithm, signingKey));
+        }
+
+        String token = null;
+        long signStart = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            token = sign(algorithm, signingKey);
+        }
+        long signNanos = System.nanoTime() - signStart;
+
+        String subject = null;
+        long verifyStart = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            subject = parser.parseSignedClaims(token).getPayload().getSubject();
+        }
+        long verifyNanos = System.nanoTime() - verifyStart;
+
+        System.out.printf("[bench:jwt] %-6s sign %8.1f us/op   verify %8.1f us/op   token %4d bytes%n",
+                name, signNanos / 1_000.0 / ITERATIONS, verifyNanos / 1_000.0 / ITERATIONS, token.length());
+
+        assertThat(subject).isEqualTo("bench-user");
+    }
+
+    private static <K extends Key> String sign(SecureDigestAlgorithm<? super K, ?> algorithm, K key) {
+        long now = System.currentTimeMillis();
+        return Jwts.builder()
+                .header().keyId("bench").and()
+                .claims()
+                .add("roles", List.of("ROLE_USER", "ROLE_ADMIN"))
+                .add("fid", UUID.randomUUID().toString())
+                .and()
+                .id(UUID.randomUUID().toString())
+                .subject("bench-user")
+                .issuedAt(new Date(now))
+                .expiration(new Date(now + 900_000))
+                .signWith(key, algorithm)
+                .compact();
+    }
+}
@@ -0,0 +1,90 @@
+package com.gvn.springtutor.benchmark;
+
+import com.gvn.springtutor.util.LoanCalculator;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Biaya pembuatan jadwal cicilan dan ringkasan bulk dengan LoanCalculator.
+ *
+ * <pre>
+ * mvn -Pbenchmark test -Dtest=LoanCalculatorBenchmarkTests
+ * </pre>
+ */
+@Tag("benchmark")
+class LoanCalculatorBenchmarkTests {
+
+    private static final int WARMUP = 20_000;
+    private static final int ITERATIONS = 200_000;
+
+    /** Satu request bulk penuh (LoanService.MAX_BULK_SIZE) */
+    private static final int BULK_SIZE = 10_000;
+
+    @Test
+    void scheduleCostPerTenor() {
+        schedule(12, 5.0);
+        schedule(36, 9.0);
+        schedule(360, 9.0);
+    }
+
+    @Test
+    void bulkSummaryCost() {
+        LoanCalculator.Terms[] terms = {
+                LoanCalculator.Terms.of(12, 5.0),
+                LoanCalculator.Terms.of(24, 7.0),
+                LoanCalculator.Terms.of(36, 9.0)
+        };
+
+        long checksum = 0;
+        for (int i = 0; i < WARMUP / 100; i++) {
+            checksum += bulk(terms);
+        }
+        int rounds = ITERATIONS / 1_000;
+        long start = System.nanoTime();
+        for (int i = 0; i < rounds; i++) {
+            checksum += bulk(terms);
+        }
+        long nanos = System.nanoTime() - start;
+
+        System.out.printf("[bench:loan] bulk   %5d loans %10.1f us/request %8.1f ns/loan%n",
+                BULK_SIZE, nanos / 1_000.0 / rounds, (double) nanos / rounds / BULK_SIZE);
+
+        assertThat(checksum).isPositive();
+    }
+
+    private static void schedule(int tenor, double rate) {
+        LoanCalculator.Terms terms = LoanCalculator.Terms.of(tenor, rate);
+        long[] installments = new long[tenor];
+        long[] interests = new long[tenor];
+        long[] principals = new long[tenor];
+        long[] balances = new long[tenor];
+
+        int iterations = ITERATIONS * 12 / tenor;
+        long checksum = 0;
+        for (int i = 0; i < WARMUP; i++) {
+            checksum += LoanCalculator.schedule(10_000_000L + i, terms,
+                    installments, interests, principals, balances).totalInterest();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            checksum += LoanCalculator.schedule(10_000_000L + i, terms,
+                    installments, interests, principals, balances).totalInterest();
+        }
+        long nanos = System.nanoTime() - start;
+
+        System.out.printf("[bench:loan] schedule %3d months %8.1f ns/op %8.2f ns/period%n",
+                tenor, (double) nanos / iterations, (double) nanos / iterations / tenor);
+
+        assertThat(checksum).isPositive();
+    }
+
+    private static long bulk(LoanCalculator.Terms[] terms) {
+        long total = 0;
+        for (int i = 0; i < BULK_SIZE; i++) {
+            total += LoanCalculator.summarize(1_000_000L + i * 100L, terms[i % terms.length]).installment();
+        }
+        return total;
+    }
+}
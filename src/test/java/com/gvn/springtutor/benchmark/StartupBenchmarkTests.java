@@ -0,0 +1,132 @@
+package com.gvn.springtutor.benchmark;
+
+import com.gvn.springtutor.SpringTutorApplication;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Time-to-first-request: aplikasi dijalankan di JVM baru (classpath test,
+ * jadi H2 dari profile bench tersedia), lalu GET /actuator/health di-poll
+ * sampai 200. Waktu diukur dari start proses, termasuk start JVM.
+ *
+ * Profile diambil dari {@code bench.profiles} dan opsi JVM tambahan dari
+ * {@code bench.jvmArgs}, sehingga baseline dan AppCDS bisa dibandingkan:
+ *
+ * <pre>
+ * mvn -Pbenchmark test -Dtest=StartupBenchmarkTests
+ * mvn -Pbenchmark test -Dtest=StartupBenchmarkTests -Dbench.profiles=fast-start,bench
+ * mvn -Pbenchmark test -Dtest=StartupBenchmarkTests -Dbench.profiles=fast-start,bench \
+ *     "-Dbench.jvmArgs=-XX:+AutoCreateSharedArchive -XX:SharedArchiveFile=target/startup-bench.jsa"
+ * </pre>
+ *
+ * Dengan AutoCreateSharedArchive, run pertama membuat arsip CDS dan run
+ * berikutnya memakainya; karena itu run pertama dilaporkan terpisah.
+ * Spring AOT tidak diukur di sini: bean definition-nya dibuat saat package
+ * untuk profile fast-start (backend cache Redis), bukan untuk profile bench.
+ * Bandingkan jar hasil {@code mvn -Pfast-start package} terhadap SQL Server
+ * dan Redis lokal dengan log "Started SpringTutorApplication in ...".
+ * ddl-auto validate dari profile fast-start tertimpa create-drop milik
+ * profile bench (H2 in-memory selalu kosong saat start); efeknya hanya
+ * terlihat terhadap SQL Server dengan schema yang sudah ada.
+ */
+@Tag("benchmark")
+class StartupBenchmarkTests {
+
+    private static final int RUNS = 5;
+    private static final Duration START_TIMEOUT = Duration.ofMinutes(2);
+    private static final Duration POLL_INTERVAL = Duration.ofMillis(10);
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(1))
+            .build();
+
+    @Test
+    void timeToFirstRequest() throws Exception {
+        long[] millis = new long[RUNS];
+        for (int i = 0; i < RUNS; i++) {
+            millis[i] = startAndWaitForFirstRequest();
+        }
+
+        long[] sorted = Arrays.copyOfRange(millis, 1, RUNS);
+        Arrays.sort(sorted);
+        report("first run", millis[0]);
+        report("min (run 2..n)", sorted[0]);
+        report("median (run 2..n)", sorted[sorted.length / 2]);
+
+        assertThat(sorted[0]).isPositive();
+    }
+
+    private long startAndWaitForFirstRequest() throws Exception {
+        int port = freePort();
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        String jvmArgs = System.getProperty("bench.jvmArgs", "");
+        if (!jvmArgs.isBlank()) {
+            command.addAll(Arrays.asList(jvmArgs.trim().split("\\s+")));
+        }
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        command.add(SpringTutorApplication.class.getName());
+        command.add("--spring.profiles.active=" + System.getProperty("bench.profiles", "bench"));
+        command.add("--server.port=" + port);
+
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/actuator/health"))
+                .timeout(Duration.ofSeconds(5))
+                .GET()
+                .build();
+
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(new File("target/startup-bench.log"))
+                .start();
+        try {
+            long deadline = start + START_TIMEOUT.toNanos();
+            while (System.nanoTime() < deadline) {
+                assertThat(process.isAlive())
+                        .as("application exited during startup, see target/startup-bench.log")
+                        .isTrue();
+                try {
+                    if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                        return (System.nanoTime() - start) / 1_000_000;
+                    }
+                } catch (ConnectException e) {
+                    // Port belum dibuka
+                }
+                Thread.sleep(POLL_INTERVAL.toMillis());
+            }
+            throw new AssertionError("application did not answer within " + START_TIMEOUT);
+        } finally {
+            process.destroy();
+            process.waitFor();
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static void report(String label, long millis) {
+        System.out.printf("[bench:%s] %-20s %6d ms to first request (jvmArgs: %s)%n",
+                System.getProperty("bench.profiles", "bench"), label, millis,
+                System.getProperty("bench.jvmArgs", "-"));
+    }
+}
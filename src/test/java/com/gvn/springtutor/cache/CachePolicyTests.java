@@ -0,0 +1,55 @@
+package com.gvn.springtutor.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Penggabungan policy dan TTL ber-jitter.
+ */
+class CachePolicyTests {
+
+    private final CacheProperties.Spec defaults = new CacheProperties().getDefaults();
+
+    @Test
+    void unsetFieldsFallBackToDefaults() {
+        CacheProperties.Spec spec = CacheProperties.Spec.builder()
+                .ttl(Duration.ofMinutes(10))
+                .codec(CacheCodec.TYPED_JSON)
+                .build();
+
+        CachePolicy policy = CachePolicy.of("users", spec, defaults);
+
+        assertThat(policy.ttl()).isEqualTo(Duration.ofMinutes(10));
+        assertThat(policy.codec()).isEqualTo(CacheCodec.TYPED_JSON);
+        assertThat(policy.maxSize()).isEqualTo(defaults.getMaxSize());
+        assertThat(policy.keyPrefix()).isEqualTo("users::");
+        assertThat(policy.cacheNulls()).isFalse();
+    }
+
+    @Test
+    void jitterStaysWithinBounds() {
+        CachePolicy policy = CachePolicy.of("products", CacheProperties.Spec.builder()
+                .ttl(Duration.ofMinutes(10))
+                .ttlJitter(Duration.ofMinutes(1))
+                .build(), defaults);
+
+        for (int i = 0; i < 1_000; i++) {
+            assertThat(policy.nextTtl()).isBetween(Duration.ofMinutes(10), Duration.ofMinutes(11));
+        }
+    }
+
+    @Test
+    void codecOrPrefixChangeIsIncompatible() {
+        CachePolicy policy = CachePolicy.of("roles", null, defaults);
+
+        assertThat(policy.isStorageCompatible(CachePolicy.of("roles",
+                CacheProperties.Spec.builder().ttl(Duration.ofHours(2)).build(), defaults))).isTrue();
+        assertThat(policy.isStorageCompatible(CachePolicy.of("roles",
+                CacheProperties.Spec.builder().codec(CacheCodec.JSON).build(), defaults))).isFalse();
+        assertThat(policy.isStorageCompatible(CachePolicy.of("roles",
+                CacheProperties.Spec.builder().keyPrefix("v2:roles::").build(), defaults))).isFalse();
+    }
+}
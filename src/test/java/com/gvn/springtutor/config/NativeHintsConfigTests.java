@@ -0,0 +1,47 @@
+package com.gvn.springtutor.config;
+
+import com.gvn.springtutor.entity.Product;
+import com.gvn.springtutor.entity.Role;
+import com.gvn.springtutor.entity.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Hint native image yang tidak terdeteksi Spring AOT (lihat NativeHintsConfig).
+ */
+class NativeHintsConfigTests {
+
+    private final RuntimeHints hints = registerHints();
+
+    @Test
+    void cachedEntitiesAreRegisteredForJavaSerialization() {
+        assertThat(RuntimeHintsPredicates.serialization().onType(User.class)).accepts(hints);
+        assertThat(RuntimeHintsPredicates.serialization().onType(Role.class)).accepts(hints);
+        assertThat(RuntimeHintsPredicates.serialization().onType(Product.class)).accepts(hints);
+        assertThat(RuntimeHintsPredicates.serialization()
+                .onType(TypeReference.of("org.hibernate.collection.spi.PersistentSet"))).accepts(hints);
+    }
+
+    @Test
+    void jjwtImplementationIsRegisteredForReflection() {
+        assertThat(RuntimeHintsPredicates.reflection()
+                .onType(TypeReference.of("io.jsonwebtoken.impl.DefaultJwtBuilder"))).accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection()
+                .onType(TypeReference.of("io.jsonwebtoken.impl.DefaultJwtParserBuilder"))).accepts(hints);
+    }
+
+    @Test
+    void jcacheConfigurationIsIncluded() {
+        assertThat(RuntimeHintsPredicates.resource().forResource("application.conf")).accepts(hints);
+    }
+
+    private static RuntimeHints registerHints() {
+        RuntimeHints hints = new RuntimeHints();
+        new NativeHintsConfig.Registrar().registerHints(hints, NativeHintsConfigTests.class.getClassLoader());
+        return hints;
+    }
+}
@@ -0,0 +1,216 @@
+package com.gvn.springtutor.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Routing primary/replica dengan dua database H2 embedded.
+ */
+class ReadWriteRoutingDataSourceTests {
+
+    private static final String SCHEMA = """
+            CREATE TABLE replication_heartbeat (id INT PRIMARY KEY, beat_at_millis BIGINT NOT NULL);
+            CREATE TABLE node (name VARCHAR(20));
+            """;
+
+    private final MutableClock clock = new MutableClock();
+
+    private EmbeddedDatabase primary;
+    private EmbeddedDatabase replica;
+    private ReplicaLagMonitor lagMonitor;
+    private ReadYourWritesTracker writesTracker;
+    private ReadWriteRoutingDataSource routingDataSource;
+    private TransactionTemplate readOnly;
+    private TransactionTemplate readWrite;
+    private JdbcTemplate jdbc;
+
+    @BeforeEach
+    void setUp() {
+        primary = database("primary");
+        replica = database("replica");
+
+        lagMonitor = new ReplicaLagMonitor(primary, Map.of("replica", replica), Duration.ofSeconds(5),
+                Duration.ofSeconds(1), clock);
+        writesTracker = new ReadYourWritesTracker(Duration.ofSeconds(5), clock);
+        routingDataSource = new ReadWriteRoutingDataSource(primary, lagMonitor, writesTracker);
+        routingDataSource.afterPropertiesSet();
+
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routingDataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        readWrite = new TransactionTemplate(transactionManager);
+        jdbc = new JdbcTemplate(dataSource);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        primary.shutdown();
+        replica.shutdown();
+    }
+
+    @Test
+    void readOnlyTransactionGoesToHealthyReplica() {
+        replicateHeartbeat();
+        clock.advance(Duration.ofSeconds(1));
+        lagMonitor.measure();
+
+        assertThat(lagMonitor.getHealthyReplicas()).containsExactly("replica");
+        assertThat(readOnly.<String>execute(status -> currentNode())).isEqualTo("replica");
+        assertThat(readWrite.<String>execute(status -> currentNode())).isEqualTo("primary");
+    }
+
+    @Test
+    void laggingReplicaFallsBackToPrimary() {
+        replicateHeartbeat();
+        clock.advance(Duration.ofSeconds(10));
+        lagMonitor.measure();
+
+        assertThat(lagMonitor.getHealthyReplicas()).isEmpty();
+        assertThat(readOnly.<String>execute(status -> currentNode())).isEqualTo("primary");
+    }
+
+    @Test
+    void clockSkewMarginIsTakenFromLagBudget() {
+        replicateHeartbeat();
+        clock.advance(Duration.ofMillis(4_500));
+        lagMonitor.measure();
+
+        // 4.5s + margin 1s > max-lag 5s: replica bisa saja sudah 5.5s tertinggal
+        assertThat(lagMonitor.getHealthyReplicas()).isEmpty();
+
+        clock.advance(Duration.ofMillis(-1_000));
+        lagMonitor.measure();
+
+        assertThat(lagMonitor.getHealthyReplicas()).containsExactly("replica");
+    }
+
+    @Test
+    void readsStickToPrimaryAfterOwnWrite() {
+        replicateHeartbeat();
+        lagMonitor.measure();
+
+        login("alice");
+        readWrite.executeWithoutResult(status -> currentNode());
+        assertThat(readOnly.<String>execute(status -> currentNode())).isEqualTo("primary");
+
+        login("bob");
+        assertThat(readOnly.<String>execute(status -> currentNode())).isEqualTo("replica");
+
+        login("alice");
+        clock.advance(Duration.ofSeconds(6));
+        assertThat(readOnly.<String>execute(status -> currentNode())).isEqualTo("replica");
+    }
+
+    @Test
+    void heartbeatIsCommittedWhenPrimaryPoolDisablesAutoCommit() {
+        try (HikariDataSource pool = new HikariDataSource()) {
+            // Sama seperti spring.datasource.hikari.auto-commit=false di profile db-perf
+            pool.setJdbcUrl("jdbc:h2:mem:primary;DB_CLOSE_DELAY=-1");
+            pool.setUsername("sa");
+            pool.setAutoCommit(false);
+            pool.setMaximumPoolSize(1);
+
+            ReplicaLagMonitor monitor = new ReplicaLagMonitor(pool, Map.of("replica", replica),
+                    Duration.ofSeconds(5), Duration.ofSeconds(1), clock);
+            ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(pool, monitor, writesTracker);
+            routing.afterPropertiesSet();
+            DataSource routed = new LazyConnectionDataSourceProxy(routing);
+            TransactionTemplate readOnlyTx = new TransactionTemplate(new DataSourceTransactionManager(routed));
+            readOnlyTx.setReadOnly(true);
+            JdbcTemplate routedJdbc = new JdbcTemplate(routed);
+
+            replicateHeartbeat(monitor);
+            monitor.measure();
+
+            assertThat(monitor.getHealthyReplicas()).containsExactly("replica");
+            assertThat(readOnlyTx.<String>execute(status -> routedJdbc.queryForObject("SELECT name FROM node", String.class)))
+                    .isEqualTo("replica");
+        }
+    }
+
+    private String currentNode() {
+        return jdbc.queryForObject("SELECT name FROM node", String.class);
+    }
+
+    /**
+     * Simulasi replikasi: tulis heartbeat di primary lalu salin ke replica.
+     */
+    private void replicateHeartbeat() {
+        replicateHeartbeat(lagMonitor);
+    }
+
+    private void replicateHeartbeat(ReplicaLagMonitor monitor) {
+        monitor.beat();
+        Long beat = new JdbcTemplate(primary)
+                .queryForObject("SELECT beat_at_millis FROM replication_heartbeat WHERE id = 1", Long.class);
+        new JdbcTemplate(replica).update("INSERT INTO replication_heartbeat (id, beat_at_millis) VALUES (1, ?)", beat);
+    }
+
+    private static void login(String username) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(username, null, List.of()));
+    }
+
+    private static EmbeddedDatabase database(String name) {
+        EmbeddedDatabase database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .setName(name)
+                .build();
+        JdbcTemplate jdbc = new JdbcTemplate(database);
+        for (String statement : SCHEMA.split(";")) {
+            if (!statement.isBlank()) {
+                jdbc.execute(statement);
+            }
+        }
+        jdbc.update("INSERT INTO node (name) VALUES (?)", name);
+        return database;
+    }
+
+    private static class MutableClock extends Clock {
+
+        private Instant now = Instant.parse("2024-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
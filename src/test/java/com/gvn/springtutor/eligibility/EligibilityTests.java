@@ -0,0 +1,101 @@
+package com.gvn.springtutor.eligibility;
+
+import com.gvn.springtutor.entity.Product;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Aturan tier plafond dan format snapshot eligibility.
+ */
+class EligibilityTests {
+
+    private static final ProductLadder LADDER = ProductLadder.of(List.of(
+            product(3L, "50000000.00"),
+            product(1L, "5000000.00"),
+            product(4L, null),
+            product(2L, "15000000.00")));
+
+    @Test
+    void ladderSkipsProductsWithoutPlafond() {
+        assertThat(LADDER.products()).extracting(Product::getId).containsExactly(1L, 2L, 3L);
+    }
+
+    @Test
+    void approvedApplicationsUnlockHigherTiers() {
+        Eligibility newCustomer = Eligibility.compute(LADDER, true, 0, false);
+        assertThat(newCustomer.productIds()).containsExactly(1L);
+        assertThat(newCustomer.maxPlafond()).isEqualByComparingTo("5000000");
+        assertThat(newCustomer.canApply()).isTrue();
+
+        Eligibility repeatCustomer = Eligibility.compute(LADDER, true, 5, false);
+        assertThat(repeatCustomer.productIds()).containsExactly(1L, 2L, 3L);
+        assertThat(repeatCustomer.maxPlafond()).isEqualByComparingTo("50000000");
+    }
+
+    @Test
+    void pendingApplicationBlocksNewSubmission() {
+        Eligibility eligibility = Eligibility.compute(LADDER, true, 1, true);
+
+        assertThat(eligibility.productIds()).containsExactly(1L, 2L);
+        assertThat(eligibility.canApply()).isFalse();
+    }
+
+    @Test
+    void inactiveUserIsNotEligible() {
+        Eligibility eligibility = Eligibility.compute(LADDER, false, 3, false);
+
+        assertThat(eligibility.productIds()).isEmpty();
+        assertThat(eligibility.maxPlafond()).isEqualByComparingTo("0");
+        assertThat(eligibility.canApply()).isFalse();
+    }
+
+    @Test
+    void ladderResolvesEligibleProductsWithoutLookup() {
+        assertThat(LADDER.products(Eligibility.compute(LADDER, true, 1, false).productIds()))
+                .extracting(Product::getId).containsExactly(1L, 2L);
+        assertThat(LADDER.products(new long[0])).isEmpty();
+        assertThat(ProductLadder.of(List.of(product(4L, null))).products(new long[] { 4L })).isEmpty();
+    }
+
+    @Test
+    void snapshotRoundTrips() {
+        for (Eligibility eligibility : List.of(Eligibility.compute(LADDER, true, 1, true),
+                Eligibility.compute(LADDER, false, 0, false))) {
+            Eligibility decoded = Eligibility.decode(eligibility.encode());
+
+            assertThat(decoded.catalogVersion()).isEqualTo(LADDER.version());
+            assertThat(decoded.active()).isEqualTo(eligibility.active());
+            assertThat(decoded.pendingApplication()).isEqualTo(eligibility.pendingApplication());
+            assertThat(decoded.approvedApplications()).isEqualTo(eligibility.approvedApplications());
+            assertThat(decoded.maxPlafond()).isEqualByComparingTo(eligibility.maxPlafond());
+            assertThat(decoded.productIds()).containsExactly(eligibility.productIds());
+        }
+        assertThat(Eligibility.decode("garbage")).isNull();
+    }
+
+    @Test
+    void catalogChangeChangesVersion() {
+        ProductLadder changed = ProductLadder.of(List.of(
+                product(1L, "5000000"),
+                product(2L, "20000000"),
+                product(3L, "50000000")));
+
+        assertThat(changed.version()).isNotEqualTo(LADDER.version());
+        assertThat(ProductLadder.of(List.of(product(1L, "5000000"), product(2L, "15000000"),
+                product(3L, "50000000"))).version()).isEqualTo(LADDER.version());
+    }
+
+    private static Product product(Long id, String maxAmount) {
+        return Product.builder()
+                .id(id)
+                .name("P" + id)
+                .tenor(12)
+                .interestRate(5.0)
+                .maxAmount(maxAmount != null ? new BigDecimal(maxAmount) : null)
+                .build();
+    }
+}
@@ -0,0 +1,45 @@
+package com.gvn.springtutor.entity;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Transisi status pengajuan.
+ */
+class ApplicationStatusTests {
+
+    @Test
+    void approvalFollowsReviewerChain() {
+        ApplicationStatus status = ApplicationStatus.SUBMITTED;
+
+        assertThat(status.reviewerRole()).isEqualTo("MARKETING");
+        status = ApplicationAction.APPROVE.apply(status);
+        assertThat(status).isEqualTo(ApplicationStatus.MARKETING_APPROVED);
+        assertThat(status.reviewerRole()).isEqualTo("BRANCH_MANAGER");
+        status = ApplicationAction.APPROVE.apply(status);
+        assertThat(status.reviewerRole()).isEqualTo("BACKOFFICE");
+        status = ApplicationAction.APPROVE.apply(status);
+        assertThat(status).isEqualTo(ApplicationStatus.APPROVED);
+        assertThat(status.isFinal()).isTrue();
+    }
+
+    @Test
+    void rejectionEndsAtTheReviewingStage() {
+        assertThat(ApplicationAction.REJECT.apply(ApplicationStatus.SUBMITTED))
+                .isEqualTo(ApplicationStatus.MARKETING_REJECTED);
+        assertThat(ApplicationAction.REJECT.apply(ApplicationStatus.MARKETING_APPROVED))
+                .isEqualTo(ApplicationStatus.BRANCH_MANAGER_REJECTED);
+        assertThat(ApplicationAction.REJECT.apply(ApplicationStatus.BRANCH_MANAGER_APPROVED))
+                .isEqualTo(ApplicationStatus.REJECTED);
+    }
+
+    @Test
+    void finalStatusesCannotTransition() {
+        assertThatThrownBy(() -> ApplicationStatus.APPROVED.approve()).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> ApplicationStatus.REJECTED.reject()).isInstanceOf(IllegalStateException.class);
+        assertThat(ApplicationStatus.reviewedBy("USER")).isNull();
+        assertThat(ApplicationStatus.reviewedBy("BACKOFFICE")).isEqualTo(ApplicationStatus.BRANCH_MANAGER_APPROVED);
+    }
+}
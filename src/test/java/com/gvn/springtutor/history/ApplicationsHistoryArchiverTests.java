@@ -0,0 +1,134 @@
+package com.gvn.springtutor.history;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Aritmetika boundary sliding window. boundaries() di-stub dengan list yang
+ * ikut berubah saat archiver menjalankan SPLIT / MERGE.
+ */
+class ApplicationsHistoryArchiverTests {
+
+    private static final Pattern RANGE = Pattern.compile("(SPLIT|MERGE) RANGE \\('(\\d{4}-\\d{2}-\\d{2}) ");
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private final HistoryProperties.Archive properties = new HistoryProperties.Archive();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    /** Isi partition function yang disimulasikan */
+    private final List<OffsetDateTime> boundaries = new ArrayList<>();
+    private final List<String> ranges = new ArrayList<>();
+
+    private ApplicationsHistoryArchiver archiver;
+
+    @BeforeEach
+    void setUp() {
+        when(transactionManager.getTransaction(any())).thenReturn(mock(TransactionStatus.class));
+        doAnswer(invocation -> {
+            Matcher matcher = RANGE.matcher(invocation.<String>getArgument(0));
+            if (matcher.find()) {
+                OffsetDateTime boundary = LocalDate.parse(matcher.group(2)).atStartOfDay().atOffset(ZoneOffset.UTC);
+                if (matcher.group(1).equals("SPLIT")) {
+                    boundaries.add(boundary);
+                    boundaries.sort(null);
+                } else {
+                    boundaries.remove(boundary);
+                }
+                ranges.add(matcher.group(1) + " " + matcher.group(2));
+            }
+            return null;
+        }).when(jdbcTemplate).execute(anyString());
+
+        archiver = new ApplicationsHistoryArchiver(jdbcTemplate, transactionManager, properties, registry) {
+            @Override
+            List<OffsetDateTime> boundaries() {
+                return List.copyOf(boundaries);
+            }
+        };
+    }
+
+    @Test
+    void emptyFunctionGetsCurrentAndMonthsAhead() {
+        properties.setMonthsAhead(3);
+
+        archiver.ensureFuturePartitions(YearMonth.of(2026, 11));
+
+        assertThat(ranges).containsExactly(
+                "SPLIT 2026-11-01", "SPLIT 2026-12-01", "SPLIT 2027-01-01", "SPLIT 2027-02-01");
+    }
+
+    @Test
+    void onlyMissingFutureMonthsAreSplit() {
+        properties.setMonthsAhead(3);
+        months(YearMonth.of(2026, 9), YearMonth.of(2026, 12));
+
+        archiver.ensureFuturePartitions(YearMonth.of(2026, 11));
+        archiver.ensureFuturePartitions(YearMonth.of(2026, 11));
+
+        // Run kedua tidak menambah apa-apa
+        assertThat(ranges).containsExactly("SPLIT 2027-01-01", "SPLIT 2027-02-01");
+        assertThat(boundaries).last().isEqualTo(start(YearMonth.of(2027, 2)));
+    }
+
+    @Test
+    void monthsBeforeCutoffAreArchivedAndCutoffMonthStays() {
+        months(YearMonth.of(2025, 9), YearMonth.of(2026, 2));
+
+        archiver.archiveBefore(YearMonth.of(2025, 12));
+
+        // Partisi Sep, Okt, Nov diarsip; partisi Des (bulan cutoff) tetap di tabel utama
+        assertThat(ranges).containsExactly("MERGE 2025-09-01", "MERGE 2025-10-01", "MERGE 2025-11-01");
+        assertThat(boundaries).first().isEqualTo(start(YearMonth.of(2025, 12)));
+        assertThat(registry.get("history.archived.partitions").counter().count()).isEqualTo(3);
+    }
+
+    @Test
+    void nothingIsArchivedWhenOldestMonthIsHot() {
+        months(YearMonth.of(2025, 12), YearMonth.of(2026, 2));
+
+        archiver.archiveBefore(YearMonth.of(2025, 12));
+
+        assertThat(ranges).isEmpty();
+    }
+
+    @Test
+    void emptyOrSingleBoundaryFunctionIsLeftAlone() {
+        archiver.archiveBefore(YearMonth.of(2026, 1));
+        boundaries.add(start(YearMonth.of(2025, 1)));
+        archiver.archiveBefore(YearMonth.of(2026, 1));
+
+        assertThat(ranges).isEmpty();
+        assertThat(registry.get("history.archived.partitions").counter().count()).isZero();
+    }
+
+    private void months(YearMonth from, YearMonth to) {
+        for (YearMonth month = from; !month.isAfter(to); month = month.plusMonths(1)) {
+            boundaries.add(start(month));
+        }
+    }
+
+    private static OffsetDateTime start(YearMonth month) {
+        return month.atDay(1).atStartOfDay().atOffset(ZoneOffset.UTC);
+    }
+}
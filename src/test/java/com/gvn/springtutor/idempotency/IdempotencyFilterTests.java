@@ -0,0 +1,274 @@
+package com.gvn.springtutor.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.gvn.springtutor.cache.KeyValueStore;
+import com.gvn.springtutor.cache.LocalKeyValueStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * IdempotencyFilter di atas LocalKeyValueStore. "Node lain" adalah instance
+ * filter kedua yang berbagi store yang sama.
+ */
+class IdempotencyFilterTests {
+
+    private static final String BODY = "{\"name\":\"KTA\"}";
+
+    private final KeyValueStore store = new LocalKeyValueStore();
+    private final IdempotencyProperties properties = properties();
+    private final ExecutorService executor = Executors.newFixedThreadPool(2);
+    private final AtomicInteger executions = new AtomicInteger();
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void retryIsReplayedFromStore() throws Exception {
+        IdempotencyFilter filter = filter();
+
+        MockHttpServletResponse first = post(filter, "key-1", BODY, created());
+        MockHttpServletResponse retry = post(filter, "key-1", BODY, created());
+
+        assertThat(executions).hasValue(1);
+        assertThat(first.getStatus()).isEqualTo(201);
+        assertThat(first.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isNull();
+        assertThat(retry.getStatus()).isEqualTo(201);
+        assertThat(retry.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isEqualTo("true");
+        assertThat(retry.getContentAsString()).isEqualTo(first.getContentAsString());
+    }
+
+    @Test
+    void sameKeyWithDifferentBodyIsRejected() throws Exception {
+        IdempotencyFilter filter = filter();
+
+        post(filter, "key-1", BODY, created());
+        MockHttpServletResponse other = post(filter, "key-1", "{\"name\":\"KPR\"}", created());
+
+        assertThat(other.getStatus()).isEqualTo(422);
+        assertThat(executions).hasValue(1);
+    }
+
+    @Test
+    void serverErrorIsNotStored() throws Exception {
+        IdempotencyFilter filter = filter();
+
+        MockHttpServletResponse failed = post(filter, "key-1", BODY, (request, response) -> {
+            executions.incrementAndGet();
+            ((HttpServletResponse) response).setStatus(503);
+        });
+        MockHttpServletResponse retry = post(filter, "key-1", BODY, created());
+
+        assertThat(failed.getStatus()).isEqualTo(503);
+        assertThat(retry.getStatus()).isEqualTo(201);
+        assertThat(retry.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isNull();
+        assertThat(executions).hasValue(2);
+    }
+
+    @Test
+    void concurrentDuplicateOnSameNodeWaitsForFirst() throws Exception {
+        IdempotencyFilter filter = filter();
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<MockHttpServletResponse> first = executor.submit(
+                () -> post(filter, "key-1", BODY, blocking(entered, release)));
+        assertThat(entered.await(5, TimeUnit.SECONDS)).isTrue();
+        Future<MockHttpServletResponse> duplicate = executor.submit(
+                () -> post(filter, "key-1", BODY, created()));
+
+        Thread.sleep(100);
+        assertThat(duplicate).isNotDone();
+        release.countDown();
+
+        assertThat(first.get(5, TimeUnit.SECONDS).getStatus()).isEqualTo(201);
+        MockHttpServletResponse replayed = duplicate.get(5, TimeUnit.SECONDS);
+        assertThat(replayed.getStatus()).isEqualTo(201);
+        assertThat(replayed.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isEqualTo("true");
+        assertThat(executions).hasValue(1);
+    }
+
+    @Test
+    void duplicateOnOtherNodePollsUntilFirstFinishes() throws Exception {
+        IdempotencyFilter node1 = filter();
+        IdempotencyFilter node2 = filter();
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<MockHttpServletResponse> first = executor.submit(
+                () -> post(node1, "key-1", BODY, blocking(entered, release)));
+        assertThat(entered.await(5, TimeUnit.SECONDS)).isTrue();
+        Future<MockHttpServletResponse> duplicate = executor.submit(
+                () -> post(node2, "key-1", BODY, created()));
+
+        Thread.sleep(100);
+        release.countDown();
+
+        assertThat(first.get(5, TimeUnit.SECONDS).getStatus()).isEqualTo(201);
+        MockHttpServletResponse replayed = duplicate.get(5, TimeUnit.SECONDS);
+        assertThat(replayed.getStatus()).isEqualTo(201);
+        assertThat(replayed.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isEqualTo("true");
+        assertThat(executions).hasValue(1);
+    }
+
+    @Test
+    void duplicateOnOtherNodeGetsConflictAfterWaitTimeout() throws Exception {
+        properties.setWaitTimeout(Duration.ofMillis(100));
+        IdempotencyFilter node1 = filter();
+        IdempotencyFilter node2 = filter();
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<MockHttpServletResponse> first = executor.submit(
+                () -> post(node1, "key-1", BODY, blocking(entered, release)));
+        assertThat(entered.await(5, TimeUnit.SECONDS)).isTrue();
+
+        MockHttpServletResponse duplicate = post(node2, "key-1", BODY, created());
+        release.countDown();
+
+        assertThat(duplicate.getStatus()).isEqualTo(409);
+        assertThat(first.get(5, TimeUnit.SECONDS).getStatus()).isEqualTo(201);
+        assertThat(executions).hasValue(1);
+    }
+
+    @Test
+    void oversizedBodyIsRejected() throws Exception {
+        properties.setMaxRequestSize(16);
+        IdempotencyFilter filter = filter();
+
+        MockHttpServletResponse declared = post(filter, "key-1", "x".repeat(17), created());
+
+        // Tanpa Content-Length (chunked): pembacaan body tetap dibatasi
+        MockHttpServletRequest chunked = request("key-2", "x".repeat(17));
+        MockHttpServletResponse undeclared = new MockHttpServletResponse();
+        filter.doFilter(new UnknownLengthRequest(chunked), undeclared, created());
+
+        assertThat(declared.getStatus()).isEqualTo(413);
+        assertThat(undeclared.getStatus()).isEqualTo(413);
+        assertThat(executions).hasValue(0);
+    }
+
+    @Test
+    void cachedBodySupportsReadListener() throws Exception {
+        IdempotencyFilter filter = filter();
+        List<String> events = new ArrayList<>();
+        StringBuilder read = new StringBuilder();
+
+        post(filter, "key-1", BODY, (request, response) -> {
+            ServletInputStream input = request.getInputStream();
+            input.setReadListener(new ReadListener() {
+                @Override
+                public void onDataAvailable() throws IOException {
+                    events.add("data");
+                    read.append(new String(input.readAllBytes(), StandardCharsets.UTF_8));
+                }
+
+                @Override
+                public void onAllDataRead() {
+                    events.add("done");
+                }
+
+                @Override
+                public void onError(Throwable t) {
+                    events.add("error");
+                }
+            });
+            created().doFilter(request, response);
+        });
+
+        assertThat(events).containsExactly("data", "done");
+        assertThat(read.toString()).isEqualTo(BODY);
+    }
+
+    private IdempotencyFilter filter() {
+        return new IdempotencyFilter(store, properties, new ObjectMapper().registerModule(new JavaTimeModule()),
+                new SimpleMeterRegistry());
+    }
+
+    private static MockHttpServletResponse post(IdempotencyFilter filter, String key, String body,
+            FilterChain chain) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request(key, body), response, chain);
+        return response;
+    }
+
+    private static MockHttpServletRequest request(String key, String body) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/products");
+        request.addHeader(IdempotencyFilter.HEADER, key);
+        request.setContentType("application/json");
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+
+    private FilterChain created() {
+        return (request, response) -> {
+            executions.incrementAndGet();
+            HttpServletResponse http = (HttpServletResponse) response;
+            http.setStatus(201);
+            http.setContentType("application/json");
+            http.getWriter().write("{\"id\":" + executions.get() + "}");
+        };
+    }
+
+    private FilterChain blocking(CountDownLatch entered, CountDownLatch release) {
+        FilterChain created = created();
+        return (request, response) -> {
+            entered.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            created.doFilter(request, response);
+        };
+    }
+
+    private static IdempotencyProperties properties() {
+        IdempotencyProperties properties = new IdempotencyProperties();
+        properties.setWaitTimeout(Duration.ofSeconds(5));
+        properties.setPollInterval(Duration.ofMillis(10));
+        return properties;
+    }
+
+    /** Seperti request chunked: Content-Length tidak diketahui */
+    private static class UnknownLengthRequest extends HttpServletRequestWrapper {
+
+        UnknownLengthRequest(MockHttpServletRequest request) {
+            super(request);
+        }
+
+        @Override
+        public int getContentLength() {
+            return -1;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.gvn.springtutor.idempotency;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Format entry Idempotency-Key di KeyValueStore.
+ */
+class IdempotentResponseTests {
+
+    @Test
+    void completedResponseRoundTrips() {
+        byte[] body = "{\"success\":true,\"message\":\"a|b\"}".getBytes(StandardCharsets.UTF_8);
+        IdempotentResponse decoded = IdempotentResponse.decode(
+                new IdempotentResponse("fp", 201, "application/json", body).encode());
+
+        assertThat(decoded.isPending()).isFalse();
+        assertThat(decoded.fingerprint()).isEqualTo("fp");
+        assertThat(decoded.status()).isEqualTo(201);
+        assertThat(decoded.contentType()).isEqualTo("application/json");
+        assertThat(decoded.body()).isEqualTo(body);
+    }
+
+    @Test
+    void pendingMarkerRoundTrips() {
+        IdempotentResponse decoded = IdempotentResponse.decode(IdempotentResponse.pending("fp").encode());
+
+        assertThat(decoded.isPending()).isTrue();
+        assertThat(decoded.fingerprint()).isEqualTo("fp");
+    }
+
+    @Test
+    void missingOrCorruptValueDecodesToNull() {
+        assertThat(IdempotentResponse.decode(null)).isNull();
+        assertThat(IdempotentResponse.decode("D|fp|abc|text/plain|")).isNull();
+        assertThat(IdempotentResponse.decode("X|fp")).isNull();
+    }
+}
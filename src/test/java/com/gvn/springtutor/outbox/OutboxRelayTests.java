@@ -0,0 +1,183 @@
+package com.gvn.springtutor.outbox;
+
+import com.gvn.springtutor.entity.OutboxEvent;
+import com.gvn.springtutor.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.IllegalTransactionStateException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.AdditionalAnswers.delegatesTo;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * OutboxPublisher + OutboxRelay di atas H2 (profile test). Relay terjadwal
+ * dimatikan di profile test; setiap relay di sini berperan sebagai satu node.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class OutboxRelayTests {
+
+    @Autowired
+    private OutboxPublisher publisher;
+
+    @Autowired
+    private OutboxEventRepository repository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final OutboxProperties properties = new OutboxProperties();
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+
+    @BeforeEach
+    void setUp() {
+        repository.deleteAllInBatch();
+    }
+
+    @Test
+    void appendRequiresCallerTransaction() {
+        assertThatThrownBy(() -> publisher.append("application", 1L, "ApplicationSubmitted", Map.of("id", 1)))
+                .isInstanceOf(IllegalTransactionStateException.class);
+
+        append(1);
+
+        OutboxEvent event = repository.findAll().get(0);
+        assertThat(event.getAggregateType()).isEqualTo("application");
+        assertThat(event.getPayload()).isEqualTo("{\"id\":0}");
+        assertThat(event.getPublishedAt()).isNull();
+    }
+
+    @Test
+    void claimedBatchIsPublishedAndMarked() {
+        append(3);
+        RecordingSink sink = new RecordingSink();
+
+        int claimed = relay(sink, registry).relayBatch();
+
+        assertThat(claimed).isEqualTo(3);
+        assertThat(sink.published).hasSize(3);
+        assertThat(repository.findAll()).allSatisfy(event -> {
+            assertThat(event.getPublishedAt()).isNotNull();
+            assertThat(event.getClaimedUntil()).isNull();
+            assertThat(event.getAttempts()).isEqualTo(1);
+        });
+        assertThat(registry.get("outbox.published").counter().count()).isEqualTo(3);
+        assertThat(registry.get("outbox.relay.batch").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void failedBatchIsRetriedAfterLease() throws Exception {
+        properties.setLease(Duration.ofMillis(200));
+        append(2);
+        OutboxRelay failing = relay(events -> {
+            throw new IllegalStateException("stream unavailable");
+        }, registry);
+        RecordingSink sink = new RecordingSink();
+        OutboxRelay otherNode = relay(sink, new SimpleMeterRegistry());
+
+        assertThat(failing.relayBatch()).isZero();
+        assertThat(repository.findAll()).allSatisfy(event -> assertThat(event.getPublishedAt()).isNull());
+        assertThat(registry.get("outbox.publish.failures").counter().count()).isEqualTo(1);
+        assertThat(registry.get("outbox.relay.batch").timer().count()).isEqualTo(1);
+
+        // Lease masih dipegang node yang gagal
+        assertThat(otherNode.relayBatch()).isZero();
+
+        Thread.sleep(300);
+        assertThat(otherNode.relayBatch()).isEqualTo(2);
+        assertThat(sink.published).hasSize(2);
+        assertThat(repository.findAll()).allSatisfy(event -> {
+            assertThat(event.getPublishedAt()).isNotNull();
+            assertThat(event.getAttempts()).isEqualTo(2);
+        });
+    }
+
+    @Test
+    void markPublishedSkipsRowsClaimedByOtherNode() {
+        append(2);
+        // Selama pengiriman lambat, lease habis dan node lain meng-claim ulang
+        OutboxRelay slow = relay(events -> transactionTemplate.executeWithoutResult(status -> repository.claim(
+                events.stream().map(OutboxEvent::getId).toList(), "other-node",
+                Instant.now().plus(Duration.ofMinutes(1)))), registry);
+
+        assertThat(slow.relayBatch()).isEqualTo(2);
+
+        assertThat(registry.get("outbox.published").counter().count()).isZero();
+        assertThat(repository.findAll()).allSatisfy(event -> {
+            assertThat(event.getPublishedAt()).isNull();
+            assertThat(event.getClaimedBy()).isEqualTo("other-node");
+        });
+    }
+
+    @Test
+    void cleanupDeletesPublishedEventsInBatches() {
+        properties.setRetention(Duration.ofHours(1));
+        properties.setCleanupBatchSize(2);
+        Instant old = Instant.now().minus(Duration.ofHours(2));
+        transactionTemplate.executeWithoutResult(status -> {
+            IntStream.range(0, 5).forEach(i -> repository.save(event(i, old)));
+            repository.save(event(5, Instant.now()));
+            repository.save(event(6, null));
+        });
+        OutboxEventRepository spy = mock(OutboxEventRepository.class, delegatesTo(repository));
+
+        new OutboxRelay(spy, new RecordingSink(), properties, transactionManager, registry).cleanup();
+
+        // 2 + 2 + 1: batch terakhir lebih kecil dari cleanup-batch-size
+        verify(spy, times(3)).deleteAllByIdInBatch(any());
+        assertThat(registry.get("outbox.deleted").counter().count()).isEqualTo(5);
+        assertThat(repository.findAll()).extracting(OutboxEvent::getAggregateId).containsExactlyInAnyOrder("5", "6");
+    }
+
+    private void append(int count) {
+        transactionTemplate.executeWithoutResult(status -> IntStream.range(0, count).forEach(i ->
+                publisher.append("application", i, "ApplicationSubmitted", Map.of("id", i))));
+    }
+
+    private OutboxRelay relay(OutboxSink sink, MeterRegistry meterRegistry) {
+        return new OutboxRelay(repository, sink, properties, transactionManager, meterRegistry);
+    }
+
+    private static OutboxEvent event(int id, Instant publishedAt) {
+        return OutboxEvent.builder()
+                .aggregateType("application")
+                .aggregateId(String.valueOf(id))
+                .eventType("ApplicationSubmitted")
+                .payload("{}")
+                .createdAt(Instant.now().minus(Duration.ofHours(3)))
+                .publishedAt(publishedAt)
+                .build();
+    }
+
+    private static class RecordingSink implements OutboxSink {
+
+        private final List<OutboxEvent> published = new ArrayList<>();
+
+        @Override
+        public void publish(List<OutboxEvent> events) {
+            published.addAll(events);
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.gvn.springtutor.security;
+
+import com.gvn.springtutor.cache.LocalKeyValueStore;
+import com.gvn.springtutor.cache.LocalMessageBus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Lookup kid yang tidak dikenal: dibatasi satu lookup store per
+ * refresh-interval, kid lain dijawab dari hasil negatif.
+ */
+class JwtKeyStoreTests {
+
+    private final CountingKeyValueStore store = new CountingKeyValueStore();
+
+    private JwtKeyStore node1;
+
+    @BeforeEach
+    void setUp() {
+        node1 = jwtKeyStore();
+        store.gets.set(0);
+    }
+
+    @Test
+    void ownKeysAreVerifiedWithoutStore() {
+        assertThat(node1.findVerificationKey(node1.getActiveKey().kid())).isNotNull();
+        assertThat(store.gets).hasValue(0);
+    }
+
+    @Test
+    void keyOfOtherNodeIsFoundWithSingleLookup() {
+        // Pesan pub/sub dari node2 tidak sampai (LocalMessageBus)
+        JwtKeyStore node2 = jwtKeyStore();
+        store.gets.set(0);
+
+        assertThat(node1.findVerificationKey(node2.getActiveKey().kid())).isNotNull();
+        assertThat(node1.findVerificationKey(node2.getActiveKey().kid())).isNotNull();
+        assertThat(store.gets).hasValue(1);
+    }
+
+    @Test
+    void unknownKidsAreAnsweredFromNegativeResult() {
+        String unknown = UUID.randomUUID().toString();
+
+        for (int i = 0; i < 100; i++) {
+            assertThat(node1.findVerificationKey(unknown)).isNull();
+            assertThat(node1.findVerificationKey(UUID.randomUUID().toString())).isNull();
+        }
+
+        assertThat(store.gets).hasValue(1);
+    }
+
+    @Test
+    void keyMissedWithinIntervalIsPickedUpByRefresh() {
+        node1.findVerificationKey(UUID.randomUUID().toString());
+        JwtKeyStore node2 = jwtKeyStore();
+        String kid = node2.getActiveKey().kid();
+
+        assertThat(node1.findVerificationKey(kid)).isNull();
+
+        node1.refresh();
+
+        assertThat(node1.findVerificationKey(kid)).isNotNull();
+    }
+
+    private JwtKeyStore jwtKeyStore() {
+        JwtKeyStore keyStore = new JwtKeyStore(store, new LocalMessageBus());
+        ReflectionTestUtils.setField(keyStore, "algorithm", JwtSigningAlgorithm.ES256);
+        ReflectionTestUtils.setField(keyStore, "expiration", 900_000L);
+        ReflectionTestUtils.setField(keyStore, "rotationInterval", Duration.ofDays(1));
+        ReflectionTestUtils.setField(keyStore, "refreshInterval", Duration.ofMinutes(1));
+        keyStore.init();
+        return keyStore;
+    }
+
+    private static class CountingKeyValueStore extends LocalKeyValueStore {
+
+        private final AtomicInteger gets = new AtomicInteger();
+
+        @Override
+        public String get(String key) {
+            gets.incrementAndGet();
+            return super.get(key);
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.gvn.springtutor.security;
+
+import com.gvn.springtutor.cache.MessageBus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Invalidasi PrincipalCache di node sendiri dan di node lain (dua instance
+ * yang berbagi satu MessageBus in-memory).
+ */
+class PrincipalCacheTests {
+
+    private final InMemoryMessageBus bus = new InMemoryMessageBus();
+    private final Map<String, CachedPrincipal> database = new HashMap<>();
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private PrincipalCache node1;
+    private PrincipalCache node2;
+
+    @BeforeEach
+    void setUp() {
+        node1 = principalCache(bus);
+        node2 = principalCache(bus);
+        database.put("alice", principal(node1, "alice", true, "ROLE_USER"));
+    }
+
+    @Test
+    void cachedPrincipalIsLoadedOnce() {
+        node1.get("alice", this::load);
+        node1.get("alice", this::load);
+
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void invalidationReachesOtherNodes() {
+        node1.get("alice", this::load);
+        node2.get("alice", this::load);
+        database.put("alice", principal(node1, "alice", true, "ROLE_ADMIN", "ROLE_USER"));
+
+        node1.invalidateAfterCommit(List.of("alice"));
+
+        assertThat(node1.get("alice", this::load).getAuthorities()).hasSize(2);
+        assertThat(node2.get("alice", this::load).getAuthorities()).hasSize(2);
+        assertThat(loads).hasValue(4);
+    }
+
+    @Test
+    void invalidateAllReachesOtherNodes() {
+        node2.get("alice", this::load);
+
+        node1.invalidateAllAfterCommit();
+        node2.get("alice", this::load);
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void invalidationOnlyAffectsTargetUser() {
+        node1.get("alice", this::load);
+        node2.invalidateAfterCommit(List.of("bob"));
+
+        node1.get("alice", this::load);
+
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void reloadBypassesCacheAndUpdatesOtherNodes() {
+        node1.get("alice", this::load);
+        node2.get("alice", this::load);
+        // Dinonaktifkan lewat SQL langsung, tanpa UserService
+        database.put("alice", principal(node1, "alice", false, "ROLE_USER"));
+
+        CachedPrincipal reloaded = node1.reload("alice", this::load);
+
+        assertThat(reloaded.isEnabled()).isFalse();
+        assertThat(node1.get("alice", this::load).isEnabled()).isFalse();
+        assertThat(node2.get("alice", this::load).isEnabled()).isFalse();
+    }
+
+    @Test
+    void reloadOfDeletedUserEvictsEverywhere() {
+        node1.get("alice", this::load);
+        node2.get("alice", this::load);
+        database.remove("alice");
+
+        assertThatThrownBy(() -> node1.reload("alice", this::load)).isInstanceOf(UsernameNotFoundException.class);
+        assertThatThrownBy(() -> node2.get("alice", this::load)).isInstanceOf(UsernameNotFoundException.class);
+    }
+
+    @Test
+    void invalidationDuringReloadWins() {
+        node1.get("alice", this::load);
+        CachedPrincipal stale = database.get("alice");
+
+        // Role diubah (dan diinvalidasi dari node2) saat node1 masih me-load
+        CachedPrincipal reloaded = node1.reload("alice", username -> {
+            database.put("alice", principal(node1, "alice", true, "ROLE_ADMIN", "ROLE_USER"));
+            node2.invalidateAfterCommit(List.of("alice"));
+            return stale;
+        });
+
+        assertThat(reloaded).isSameAs(stale);
+        assertThat(node1.get("alice", this::load).getAuthorities()).hasSize(2);
+    }
+
+    private CachedPrincipal load(String username) {
+        loads.incrementAndGet();
+        CachedPrincipal principal = database.get(username);
+        if (principal == null) {
+            throw new UsernameNotFoundException("User not found: " + username);
+        }
+        return principal;
+    }
+
+    private static CachedPrincipal principal(PrincipalCache cache, String username, boolean enabled,
+            String... authorities) {
+        return new CachedPrincipal(username, "{noop}secret", enabled, cache.authorities(List.of(authorities)));
+    }
+
+    private static PrincipalCache principalCache(MessageBus bus) {
+        PrincipalCache cache = new PrincipalCache(bus);
+        ReflectionTestUtils.setField(cache, "maxSize", 100L);
+        ReflectionTestUtils.setField(cache, "ttl", Duration.ofMinutes(10));
+        cache.init();
+        return cache;
+    }
+
+    /**
+     * Seperti Redis pub/sub: pesan dikirim ke semua subscriber, termasuk
+     * pengirimnya sendiri.
+     */
+    private static class InMemoryMessageBus implements MessageBus {
+
+        private final Map<String, List<Consumer<String>>> listeners = new HashMap<>();
+
+        @Override
+        public void publish(String channel, String message) {
+            listeners.getOrDefault(channel, List.of()).forEach(listener -> listener.accept(message));
+        }
+
+        @Override
+        public void subscribe(String channel, Consumer<String> listener) {
+            listeners.computeIfAbsent(channel, key -> new ArrayList<>()).add(listener);
+        }
+    }
+}
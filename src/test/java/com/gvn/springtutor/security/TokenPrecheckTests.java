@@ -0,0 +1,50 @@
+package com.gvn.springtutor.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Precheck token tanpa verifikasi signature.
+ */
+class TokenPrecheckTests {
+
+    private static final long NOW = 1_700_000_000_000L;
+
+    private final TokenPrecheck precheck = new TokenPrecheck();
+
+    @Test
+    void acceptsWellFormedUnexpiredToken() {
+        String token = token("{\"sub\":\"exp\",\"exp\":" + (NOW / 1000 + 60) + "}");
+
+        assertThat(precheck.check(token, NOW)).isEqualTo(TokenCheckResult.VALID);
+    }
+
+    @Test
+    void rejectsExpiredTokenWithoutVerifying() {
+        String token = token("{\"sub\":\"alice\", \"exp\" : " + (NOW / 1000 - 1) + "}");
+
+        assertThat(precheck.check(token, NOW)).isEqualTo(TokenCheckResult.EXPIRED);
+    }
+
+    @Test
+    void rejectsStructurallyInvalidTokens() {
+        String valid = token("{\"exp\":" + (NOW / 1000 + 60) + "}");
+
+        assertThat(precheck.check(null, NOW)).isEqualTo(TokenCheckResult.MALFORMED);
+        assertThat(precheck.check("not-a-token-at-all", NOW)).isEqualTo(TokenCheckResult.MALFORMED);
+        assertThat(precheck.check(valid + ".extra", NOW)).isEqualTo(TokenCheckResult.MALFORMED);
+        assertThat(precheck.check(valid.replace('.', '!'), NOW)).isEqualTo(TokenCheckResult.MALFORMED);
+        assertThat(precheck.check(token("{\"sub\":\"alice\"}"), NOW)).isEqualTo(TokenCheckResult.MALFORMED);
+    }
+
+    private static String token(String payloadJson) {
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        return encoder.encodeToString("{\"alg\":\"ES256\",\"kid\":\"k1\"}".getBytes(StandardCharsets.UTF_8))
+                + "." + encoder.encodeToString(payloadJson.getBytes(StandardCharsets.UTF_8))
+                + "." + encoder.encodeToString(new byte[64]);
+    }
+}
@@ -0,0 +1,95 @@
+package com.gvn.springtutor.service;
+
+import com.gvn.springtutor.cache.LocalKeyValueStore;
+import com.gvn.springtutor.cache.MessageBus;
+import com.gvn.springtutor.exception.BadRequestException;
+import com.gvn.springtutor.security.TokenDenylist;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Umur stream SSE mengikuti access token. "Node lain" adalah TokenDenylist
+ * kedua yang berbagi bus dan store yang sama.
+ */
+class ApplicationEventHubTests {
+
+    private final InMemoryBus bus = new InMemoryBus();
+    private final LocalKeyValueStore store = new LocalKeyValueStore();
+
+    @Test
+    void timeoutIsCappedAtTokenLifetime() {
+        ApplicationEventHub hub = hub(denylist());
+
+        SseEmitter shortLived = hub.subscribe(1L, UUID.randomUUID().toString(),
+                Instant.now().plus(Duration.ofMinutes(5)));
+        SseEmitter longLived = hub.subscribe(1L, UUID.randomUUID().toString(),
+                Instant.now().plus(Duration.ofHours(2)));
+
+        assertThat(shortLived.getTimeout()).isBetween(Duration.ofMinutes(4).toMillis(), Duration.ofMinutes(5).toMillis());
+        assertThat(longLived.getTimeout()).isEqualTo(Duration.ofMinutes(30).toMillis());
+        assertThatThrownBy(() -> hub.subscribe(1L, UUID.randomUUID().toString(), Instant.now().minusSeconds(1)))
+                .isInstanceOf(BadRequestException.class);
+    }
+
+    @Test
+    void revokedTokenClosesItsStreamsOnEveryNode() throws Exception {
+        TokenDenylist node1 = denylist();
+        TokenDenylist node2 = denylist();
+        ApplicationEventHub hub = hub(node2);
+        String tokenId = UUID.randomUUID().toString();
+        Instant expiresAt = Instant.now().plus(Duration.ofMinutes(15));
+
+        SseEmitter revoked = hub.subscribe(1L, tokenId, expiresAt);
+        SseEmitter other = hub.subscribe(1L, UUID.randomUUID().toString(), expiresAt);
+
+        // Logout di node1; stream terbuka di node2
+        node1.revoke(tokenId, expiresAt.toEpochMilli());
+
+        assertThatThrownBy(() -> revoked.send("ping")).isInstanceOf(IllegalStateException.class);
+        other.send("ping");
+    }
+
+    private ApplicationEventHub hub(TokenDenylist denylist) {
+        ApplicationEventHub hub = new ApplicationEventHub(bus, new SimpleMeterRegistry(), denylist);
+        ReflectionTestUtils.setField(hub, "timeout", Duration.ofMinutes(30));
+        ReflectionTestUtils.setField(hub, "maxConnectionsPerUser", 5);
+        hub.init();
+        return hub;
+    }
+
+    private TokenDenylist denylist() {
+        TokenDenylist denylist = new TokenDenylist(store, bus);
+        ReflectionTestUtils.invokeMethod(denylist, "init");
+        return denylist;
+    }
+
+    /** Seperti Redis pub/sub: pesan juga kembali ke node pengirim */
+    private static class InMemoryBus implements MessageBus {
+
+        private final Map<String, List<Consumer<String>>> listeners = new ConcurrentHashMap<>();
+
+        @Override
+        public void publish(String channel, String message) {
+            listeners.getOrDefault(channel, List.of()).forEach(listener -> listener.accept(message));
+        }
+
+        @Override
+        public void subscribe(String channel, Consumer<String> listener) {
+            listeners.computeIfAbsent(channel, c -> new CopyOnWriteArrayList<>()).add(listener);
+        }
+    }
+}
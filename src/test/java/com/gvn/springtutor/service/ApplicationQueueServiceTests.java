@@ -0,0 +1,86 @@
+package com.gvn.springtutor.service;
+
+import com.gvn.springtutor.approval.ApprovalQueueProperties;
+import com.gvn.springtutor.dto.ApplicationResponse;
+import com.gvn.springtutor.entity.ApplicationStatus;
+import com.gvn.springtutor.entity.Applications;
+import com.gvn.springtutor.repository.ApplicationsRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Buffer prefetch next(): pengajuan yang sudah tidak di-claim reviewer
+ * (diproses atau di-release di node lain) tidak diberikan lagi.
+ */
+class ApplicationQueueServiceTests {
+
+    private static final String REVIEWER = "marketing1";
+    private static final List<SimpleGrantedAuthority> AUTHORITIES = List.of(
+            new SimpleGrantedAuthority("ROLE_MARKETING"));
+
+    private final ApplicationsRepository applicationsRepository = mock(ApplicationsRepository.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+
+    private ApplicationQueueService service;
+
+    @BeforeEach
+    void setUp() {
+        when(transactionManager.getTransaction(any())).thenReturn(mock(TransactionStatus.class));
+        service = new ApplicationQueueService(applicationsRepository, transactionManager, new SimpleMeterRegistry(),
+                new ApprovalQueueProperties());
+        when(applicationsRepository.findClaimable(anyCollection(), any(), any()))
+                .thenReturn(LongStream.rangeClosed(1, 3).mapToObj(ApplicationQueueServiceTests::submitted).toList());
+    }
+
+    @Test
+    void bufferedApplicationsAreServedWithoutNewClaim() {
+        when(applicationsRepository.existsByIdAndStatusAndClaimedBy(any(), any(), anyString())).thenReturn(true);
+
+        assertThat(service.next(REVIEWER, AUTHORITIES).getId()).isEqualTo(1L);
+        assertThat(service.next(REVIEWER, AUTHORITIES).getId()).isEqualTo(2L);
+        assertThat(service.next(REVIEWER, AUTHORITIES).getId()).isEqualTo(3L);
+
+        verify(applicationsRepository, times(1)).claim(anyCollection(), eq(REVIEWER), any());
+    }
+
+    @Test
+    void bufferedApplicationNoLongerClaimedIsSkipped() {
+        when(applicationsRepository.existsByIdAndStatusAndClaimedBy(2L, ApplicationStatus.SUBMITTED, REVIEWER))
+                .thenReturn(false);
+        when(applicationsRepository.existsByIdAndStatusAndClaimedBy(3L, ApplicationStatus.SUBMITTED, REVIEWER))
+                .thenReturn(true);
+
+        ApplicationResponse first = service.next(REVIEWER, AUTHORITIES);
+        ApplicationResponse second = service.next(REVIEWER, AUTHORITIES);
+
+        assertThat(first.getId()).isEqualTo(1L);
+        assertThat(second.getId()).isEqualTo(3L);
+        verify(applicationsRepository, times(1)).claim(anyCollection(), eq(REVIEWER), any());
+    }
+
+    private static Applications submitted(long id) {
+        return Applications.builder()
+                .id(id)
+                .userId(10L)
+                .productId(20L)
+                .status(ApplicationStatus.SUBMITTED)
+                .build();
+    }
+}
@@ -0,0 +1,178 @@
+package com.gvn.springtutor.service;
+
+import com.gvn.springtutor.dto.ApplicationResponse;
+import com.gvn.springtutor.dto.ApplicationTransitionRequest;
+import com.gvn.springtutor.entity.ApplicationAction;
+import com.gvn.springtutor.entity.ApplicationStatus;
+import com.gvn.springtutor.entity.ApplicationsHistory;
+import com.gvn.springtutor.entity.User;
+import com.gvn.springtutor.exception.BadRequestException;
+import com.gvn.springtutor.exception.ConflictException;
+import com.gvn.springtutor.repository.ApplicationsHistoryRepository;
+import com.gvn.springtutor.repository.ApplicationsRepository;
+import com.gvn.springtutor.repository.ProductRepository;
+import com.gvn.springtutor.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Submit dan transisi pengajuan di atas H2 (profile test), dengan product
+ * seed dari DataInitializer (Bronze &lt; Silver &lt; Gold).
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class ApplicationServiceTests {
+
+    private static final List<GrantedAuthority> MARKETING = AuthorityUtils.createAuthorityList("ROLE_MARKETING");
+    private static final List<GrantedAuthority> BRANCH_MANAGER =
+            AuthorityUtils.createAuthorityList("ROLE_BRANCH_MANAGER");
+
+    @Autowired
+    private ApplicationService applicationService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ApplicationsRepository applicationsRepository;
+
+    @Autowired
+    private ApplicationsHistoryRepository historyRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void submitIsRejectedWhileApplicationIsPending() {
+        String customer = customer(true);
+
+        ApplicationResponse first = applicationService.submit(customer, productId("Bronze"));
+
+        assertThat(first.getStatus()).isEqualTo(ApplicationStatus.SUBMITTED);
+        assertThatThrownBy(() -> applicationService.submit(customer, productId("Bronze")))
+                .isInstanceOf(ConflictException.class);
+    }
+
+    @Test
+    void submitIsRejectedAboveTierOrForInactiveUser() {
+        assertThatThrownBy(() -> applicationService.submit(customer(true), productId("Gold")))
+                .isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> applicationService.submit(customer(false), productId("Bronze")))
+                .isInstanceOf(BadRequestException.class);
+    }
+
+    @Test
+    void approveMovesThroughStagesAndWritesHistory() {
+        ApplicationResponse submitted = applicationService.submit(customer(true), productId("Bronze"));
+        Long id = submitted.getId();
+
+        ApplicationResponse marketing = applicationService.transition(id, ApplicationAction.APPROVE,
+                request(null, submitted.getVersion(), "documents complete"), "marketing-1", MARKETING);
+        ApplicationResponse branch = applicationService.transition(id, ApplicationAction.APPROVE,
+                request(null, marketing.getVersion(), null), "manager-1", BRANCH_MANAGER);
+
+        assertThat(marketing.getStatus()).isEqualTo(ApplicationStatus.MARKETING_APPROVED);
+        assertThat(marketing.getVersion()).isEqualTo(submitted.getVersion() + 1);
+        assertThat(branch.getStatus()).isEqualTo(ApplicationStatus.BRANCH_MANAGER_APPROVED);
+
+        // Row history dari INSERT ... SELECT membawa user/product dari applications
+        List<ApplicationsHistory> history = historyRepository
+                .findByApplicationIdAndCreatedAtGreaterThanEqualOrderByCreatedAtAscIdAsc(id, Instant.EPOCH);
+        assertThat(history).extracting(ApplicationsHistory::getStatus).containsExactly(
+                ApplicationStatus.SUBMITTED, ApplicationStatus.MARKETING_APPROVED,
+                ApplicationStatus.BRANCH_MANAGER_APPROVED);
+        ApplicationsHistory approved = history.get(1);
+        assertThat(approved.getUserId()).isEqualTo(submitted.getUserId());
+        assertThat(approved.getProductId()).isEqualTo(submitted.getProductId());
+        assertThat(approved.getNote()).isEqualTo("documents complete");
+        assertThat(approved.getChangedBy()).isEqualTo("marketing-1");
+    }
+
+    @Test
+    void secondApproveOfSameStageConflicts() {
+        Long id = applicationService.submit(customer(true), productId("Bronze")).getId();
+        applicationService.transition(id, ApplicationAction.APPROVE, request(null, null, null),
+                "marketing-1", MARKETING);
+
+        assertThatThrownBy(() -> applicationService.transition(id, ApplicationAction.APPROVE,
+                request(null, null, null), "marketing-2", MARKETING))
+                .isInstanceOf(ConflictException.class);
+        assertThat(historyOf(id)).hasSize(2);
+    }
+
+    @Test
+    void staleVersionConflicts() {
+        ApplicationResponse submitted = applicationService.submit(customer(true), productId("Bronze"));
+
+        assertThatThrownBy(() -> applicationService.transition(submitted.getId(), ApplicationAction.APPROVE,
+                request(ApplicationStatus.SUBMITTED, submitted.getVersion() + 1, null), "marketing-1", MARKETING))
+                .isInstanceOf(ConflictException.class)
+                .hasMessageContaining("version");
+        assertThat(applicationsRepository.findById(submitted.getId()).orElseThrow().getStatus())
+                .isEqualTo(ApplicationStatus.SUBMITTED);
+        assertThat(historyOf(submitted.getId())).hasSize(1);
+    }
+
+    @Test
+    void leaseHeldByOtherReviewerConflicts() {
+        Long id = applicationService.submit(customer(true), productId("Bronze")).getId();
+        transactionTemplate.executeWithoutResult(status -> applicationsRepository.claim(
+                List.of(id), "marketing-2", Instant.now().plus(Duration.ofMinutes(5))));
+
+        assertThatThrownBy(() -> applicationService.transition(id, ApplicationAction.APPROVE,
+                request(null, null, null), "marketing-1", MARKETING))
+                .isInstanceOf(ConflictException.class)
+                .hasMessageContaining("claimed by 'marketing-2'");
+
+        // Pemegang lease boleh memproses, dan lease ikut dilepas
+        ApplicationResponse approved = applicationService.transition(id, ApplicationAction.APPROVE,
+                request(null, null, null), "marketing-2", MARKETING);
+        assertThat(approved.getStatus()).isEqualTo(ApplicationStatus.MARKETING_APPROVED);
+        assertThat(approved.getClaimedBy()).isNull();
+    }
+
+    private List<ApplicationsHistory> historyOf(Long id) {
+        return historyRepository.findByApplicationIdAndCreatedAtGreaterThanEqualOrderByCreatedAtAscIdAsc(
+                id, Instant.EPOCH);
+    }
+
+    private static ApplicationTransitionRequest request(ApplicationStatus expectedStatus, Long version,
+            String note) {
+        return ApplicationTransitionRequest.builder()
+                .expectedStatus(expectedStatus)
+                .version(version)
+                .note(note)
+                .build();
+    }
+
+    private String customer(boolean active) {
+        String username = "customer-" + UUID.randomUUID().toString().substring(0, 8);
+        userRepository.save(User.builder()
+                .username(username)
+                .email(username + "@example.com")
+                .password("{noop}secret")
+                .isActive(active)
+                .build());
+        return username;
+    }
+
+    private Long productId(String name) {
+        return productRepository.findByName(name).orElseThrow().getId();
+    }
+}
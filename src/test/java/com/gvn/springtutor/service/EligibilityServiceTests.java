@@ -0,0 +1,149 @@
+package com.gvn.springtutor.service;
+
+import com.gvn.springtutor.cache.LocalKeyValueStore;
+import com.gvn.springtutor.dto.EligibilityResponse;
+import com.gvn.springtutor.eligibility.EligibilityProperties;
+import com.gvn.springtutor.entity.Product;
+import com.gvn.springtutor.entity.User;
+import com.gvn.springtutor.exception.BadRequestException;
+import com.gvn.springtutor.repository.ApplicationsRepository;
+import com.gvn.springtutor.repository.ApplicationsRepository.UserApplicationStats;
+import com.gvn.springtutor.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Layar eligibility untuk kasus tanpa product: user nonaktif, katalog tanpa
+ * maxAmount, dan katalog lebih besar dari batas batch lookup.
+ */
+class EligibilityServiceTests {
+
+    private static final long USER_ID = 7L;
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final ApplicationsRepository applicationsRepository = mock(ApplicationsRepository.class);
+    private final ProductService productService = mock(ProductService.class);
+
+    private EligibilityService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new EligibilityService(userRepository, applicationsRepository, productService,
+                new LocalKeyValueStore(), new EligibilityProperties());
+        when(userRepository.findByUsername("alice"))
+                .thenReturn(Optional.of(User.builder().id(USER_ID).username("alice").build()));
+        when(applicationsRepository.findStatsByUserIdIn(anyCollection(), any(), anyCollection()))
+                .thenReturn(List.of());
+    }
+
+    @Test
+    void inactiveUserGetsEmptyEligibility() {
+        when(productService.getAllProducts()).thenReturn(List.of(product(1L, "5000000")));
+        when(userRepository.findActiveIdsByIdIn(anyCollection())).thenReturn(List.of());
+
+        EligibilityResponse response = service.getEligibility("alice");
+
+        assertThat(response.isCanApply()).isFalse();
+        assertThat(response.getEligibleProducts()).isEmpty();
+        assertThat(response.getMaxPlafond()).isEqualByComparingTo("0");
+        verify(productService, never()).getProductsByIds(anyCollection());
+    }
+
+    @Test
+    void catalogWithoutPlafondGivesEmptyEligibility() {
+        when(productService.getAllProducts()).thenReturn(List.of(product(1L, null), product(2L, null)));
+        when(userRepository.findActiveIdsByIdIn(anyCollection())).thenReturn(List.of(USER_ID));
+
+        EligibilityResponse response = service.getEligibility("alice");
+
+        assertThat(response.isCanApply()).isFalse();
+        assertThat(response.getEligibleProducts()).isEmpty();
+    }
+
+    @Test
+    void productsComeFromLadderEvenAboveBatchLimit() {
+        List<Product> catalog = LongStream.rangeClosed(1, 150)
+                .mapToObj(id -> product(id, Long.toString(id * 1_000_000)))
+                .toList();
+        when(productService.getAllProducts()).thenReturn(catalog);
+        when(userRepository.findActiveIdsByIdIn(anyCollection())).thenReturn(List.of(USER_ID));
+        when(applicationsRepository.findStatsByUserIdIn(anyCollection(), any(), anyCollection()))
+                .thenReturn(List.of(stats(USER_ID, 149)));
+
+        EligibilityResponse response = service.getEligibility("alice");
+
+        assertThat(response.isCanApply()).isTrue();
+        assertThat(response.getEligibleProducts()).hasSize(150);
+        assertThat(response.getMaxPlafond()).isEqualByComparingTo("150000000");
+        verify(productService, never()).getProductsByIds(anyCollection());
+    }
+
+    @Test
+    void evictRemovesSnapshotSoNextReadRecomputes() {
+        when(productService.getAllProducts()).thenReturn(List.of(product(1L, "5000000"), product(2L, "15000000")));
+        when(userRepository.findActiveIdsByIdIn(anyCollection())).thenReturn(List.of(USER_ID));
+        assertThat(service.getEligibility("alice").getEligibleProducts()).hasSize(1);
+
+        when(applicationsRepository.findStatsByUserIdIn(anyCollection(), any(), anyCollection()))
+                .thenReturn(List.of(stats(USER_ID, 1)));
+        assertThat(service.getEligibility("alice").getEligibleProducts()).hasSize(1);
+
+        service.evictAfterCommit(USER_ID);
+
+        assertThat(service.getEligibility("alice").getEligibleProducts()).hasSize(2);
+    }
+
+    @Test
+    void checkCanApplyRejectsProductAboveTier() {
+        when(productService.getAllProducts()).thenReturn(List.of(product(1L, "5000000"), product(2L, "15000000"),
+                product(3L, null)));
+        when(userRepository.findActiveIdsByIdIn(anyCollection())).thenReturn(List.of(USER_ID));
+
+        service.checkCanApply(USER_ID, 1L);
+        service.checkCanApply(USER_ID, 3L);
+        assertThatThrownBy(() -> service.checkCanApply(USER_ID, 2L)).isInstanceOf(BadRequestException.class);
+    }
+
+    private static UserApplicationStats stats(long userId, long approved) {
+        return new UserApplicationStats() {
+            @Override
+            public Long getUserId() {
+                return userId;
+            }
+
+            @Override
+            public Long getApproved() {
+                return approved;
+            }
+
+            @Override
+            public Long getPending() {
+                return 0L;
+            }
+        };
+    }
+
+    private static Product product(Long id, String maxAmount) {
+        return Product.builder()
+                .id(id)
+                .name("P" + id)
+                .tenor(12)
+                .interestRate(5.0)
+                .maxAmount(maxAmount != null ? new BigDecimal(maxAmount) : null)
+                .build();
+    }
+}
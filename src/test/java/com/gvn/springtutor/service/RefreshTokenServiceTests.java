@@ -0,0 +1,99 @@
+package com.gvn.springtutor.service;
+
+import com.gvn.springtutor.cache.LocalKeyValueStore;
+import com.gvn.springtutor.service.RefreshTokenService.RefreshSession;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Rotation dan reuse detection refresh token di atas LocalKeyValueStore.
+ */
+class RefreshTokenServiceTests {
+
+    private final LocalKeyValueStore store = new LocalKeyValueStore();
+    private final RefreshTokenService service = new RefreshTokenService(store);
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(service, "refreshExpiration", Duration.ofDays(7));
+    }
+
+    @Test
+    void tokenCanBeConsumedOnce() {
+        String family = service.newFamily();
+        String token = service.issue("alice", family);
+
+        RefreshSession session = service.consume(token);
+
+        assertThat(session).isEqualTo(new RefreshSession("alice", family));
+        assertThat(store.get(RefreshTokenService.TOKEN_KEY_PREFIX + hashOf(token))).isNull();
+    }
+
+    @Test
+    void reuseRevokesWholeFamily() {
+        String family = service.newFamily();
+        String first = service.issue("alice", family);
+        service.consume(first);
+        String second = service.issue("alice", family);
+
+        assertThatThrownBy(() -> service.consume(first)).isInstanceOf(BadCredentialsException.class);
+        assertThatThrownBy(() -> service.consume(second)).isInstanceOf(BadCredentialsException.class);
+    }
+
+    @Test
+    void concurrentConsumeIsDetectedAsReuse() throws Exception {
+        String family = service.newFamily();
+        String token = service.issue("alice", family);
+        String next = service.issue("alice", family);
+
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    try {
+                        service.consume(token);
+                        return true;
+                    } catch (BadCredentialsException e) {
+                        return false;
+                    }
+                }));
+            }
+            start.countDown();
+
+            int succeeded = 0;
+            for (Future<Boolean> result : results) {
+                if (result.get(5, TimeUnit.SECONDS)) {
+                    succeeded++;
+                }
+            }
+            // Pemenang bisa ikut ditolak jika reuse sudah me-revoke family sebelum ia selesai
+            assertThat(succeeded).isLessThanOrEqualTo(1);
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(store.hasKey(RefreshTokenService.FAMILY_REVOKED_KEY_PREFIX + family)).isTrue();
+        assertThatThrownBy(() -> service.consume(next)).isInstanceOf(BadCredentialsException.class);
+    }
+
+    private static String hashOf(String token) {
+        return ReflectionTestUtils.invokeMethod(RefreshTokenService.class, "hash", token);
+    }
+}
@@ -0,0 +1,107 @@
+package com.gvn.springtutor.service;
+
+import com.gvn.springtutor.dto.SearchHit;
+import com.gvn.springtutor.dto.SearchPage;
+import com.gvn.springtutor.entity.Product;
+import com.gvn.springtutor.entity.User;
+import com.gvn.springtutor.exception.BadRequestException;
+import com.gvn.springtutor.repository.ProductRepository;
+import com.gvn.springtutor.repository.UserRepository;
+import com.gvn.springtutor.util.PrefixIndex.MatchMode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Rebuild, update langsung, dan batas pagination SearchService.
+ */
+class SearchServiceTests {
+
+    private final ProductRepository productRepository = mock(ProductRepository.class);
+    private final UserRepository userRepository = mock(UserRepository.class);
+
+    private SearchService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new SearchService(productRepository, userRepository);
+        when(productRepository.findAll()).thenReturn(LongStream.rangeClosed(1, 25)
+                .mapToObj(id -> product(id, String.format("Gold %02d", id)))
+                .toList());
+        when(userRepository.findAll()).thenReturn(List.of(
+                User.builder().id(1L).username("admin").email("root@example.com").build()));
+        service.rebuild();
+    }
+
+    @Test
+    void rebuildIndexesRepositoriesAndDropsDeletedRows() {
+        assertThat(titles(service.searchProducts("gold 0", MatchMode.PREFIX, 0, 50))).hasSize(9);
+        assertThat(titles(service.searchUsers("example", MatchMode.CONTAINS, 0, 10))).containsExactly("admin");
+
+        when(productRepository.findAll()).thenReturn(List.of(product(1L, "Gold 01")));
+        service.rebuild();
+
+        assertThat(titles(service.searchProducts("gold", MatchMode.PREFIX, 0, 50))).containsExactly("Gold 01");
+    }
+
+    @Test
+    void writesOutsideTransactionAreSearchableImmediately() {
+        service.indexProduct(product(100L, "Platinum"));
+        assertThat(titles(service.searchProducts("plat", MatchMode.PREFIX, 0, 10))).containsExactly("Platinum");
+
+        service.removeProduct(100L);
+        assertThat(titles(service.searchProducts("plat", MatchMode.PREFIX, 0, 10))).isEmpty();
+    }
+
+    @Test
+    void pagesReportWhetherMoreResultsExist() {
+        SearchPage<SearchHit> first = service.searchProducts("gold", MatchMode.PREFIX, 0, 10);
+        SearchPage<SearchHit> last = service.searchProducts("gold", MatchMode.PREFIX, 2, 10);
+        SearchPage<SearchHit> exact = service.searchProducts("gold", MatchMode.PREFIX, 0, 25);
+        SearchPage<SearchHit> beyond = service.searchProducts("gold", MatchMode.PREFIX, 3, 10);
+
+        assertThat(first.getItems()).hasSize(10);
+        assertThat(first.getHasNext()).isTrue();
+        assertThat(titles(last)).containsExactly("Gold 21", "Gold 22", "Gold 23", "Gold 24", "Gold 25");
+        assertThat(last.getHasNext()).isFalse();
+        assertThat(exact.getHasNext()).isFalse();
+        assertThat(beyond.getItems()).isEmpty();
+    }
+
+    @Test
+    void pagingIsLimitedToResultWindow() {
+        int lastPage = SearchService.MAX_RESULT_WINDOW / 10 - 1;
+
+        assertThat(service.searchProducts("gold", MatchMode.PREFIX, lastPage, 10).getItems()).isEmpty();
+        assertThatThrownBy(() -> service.searchProducts("gold", MatchMode.PREFIX, lastPage + 1, 10))
+                .isInstanceOf(BadRequestException.class);
+        // page * size di luar int
+        assertThatThrownBy(() -> service.searchProducts("gold", MatchMode.PREFIX, Integer.MAX_VALUE, 50))
+                .isInstanceOf(BadRequestException.class);
+    }
+
+    @Test
+    void invalidQueryOrPageIsRejected() {
+        assertThatThrownBy(() -> service.searchProducts(" ", MatchMode.PREFIX, 0, 10))
+                .isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> service.searchProducts("gold", MatchMode.PREFIX, -1, 10))
+                .isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> service.searchProducts("gold", MatchMode.PREFIX, 0, SearchService.MAX_PAGE_SIZE + 1))
+                .isInstanceOf(BadRequestException.class);
+    }
+
+    private static List<String> titles(SearchPage<SearchHit> page) {
+        return page.getItems().stream().map(SearchHit::getTitle).toList();
+    }
+
+    private static Product product(Long id, String name) {
+        return Product.builder().id(id).name(name).build();
+    }
+}
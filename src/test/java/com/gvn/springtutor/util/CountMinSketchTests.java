@@ -0,0 +1,38 @@
+package com.gvn.springtutor.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Estimasi frekuensi count-min sketch.
+ */
+class CountMinSketchTests {
+
+    @Test
+    void neverUnderestimatesAndSeparatesHotFromCold() {
+        CountMinSketch sketch = new CountMinSketch(4, 1024);
+
+        for (int i = 0; i < 500; i++) {
+            sketch.increment(42L);
+        }
+        for (long cold = 1_000; cold < 3_000; cold++) {
+            sketch.increment(cold);
+        }
+
+        assertThat(sketch.estimate(42L)).isGreaterThanOrEqualTo(500);
+        assertThat(sketch.estimate(1_500L)).isGreaterThanOrEqualTo(1).isLessThan(50);
+    }
+
+    @Test
+    void halveAgesCounters() {
+        CountMinSketch sketch = new CountMinSketch(4, 64);
+        for (int i = 0; i < 100; i++) {
+            sketch.increment(7L);
+        }
+
+        sketch.halve();
+
+        assertThat(sketch.estimate(7L)).isEqualTo(50);
+    }
+}
@@ -0,0 +1,114 @@
+package com.gvn.springtutor.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Add/contains/expire/purge ExpiringIdSet, termasuk read saat table
+ * di-resize oleh writer lain.
+ */
+class ExpiringIdSetTests {
+
+    private final ExpiringIdSet set = new ExpiringIdSet();
+
+    @Test
+    void idIsContainedUntilItExpires() {
+        UUID id = UUID.randomUUID();
+        set.add(id, 1_000L);
+
+        assertThat(set.contains(id, 999L)).isTrue();
+        assertThat(set.contains(id, 1_000L)).isFalse();
+        assertThat(set.contains(UUID.randomUUID(), 0L)).isFalse();
+    }
+
+    @Test
+    void addingAgainKeepsLatestExpiry() {
+        UUID id = UUID.randomUUID();
+        set.add(id, 1_000L);
+        set.add(id, 5_000L);
+        set.add(id, 2_000L);
+
+        assertThat(set.size()).isEqualTo(1);
+        assertThat(set.contains(id, 4_999L)).isTrue();
+        assertThat(set.contains(id, 5_000L)).isFalse();
+    }
+
+    @Test
+    void growsBeyondInitialCapacity() {
+        List<UUID> ids = randomIds(10_000);
+        ids.forEach(id -> set.add(id, 1_000L));
+
+        assertThat(set.size()).isEqualTo(10_000);
+        assertThat(ids).allMatch(id -> set.contains(id, 0L));
+    }
+
+    @Test
+    void purgeRemovesOnlyExpiredEntries() {
+        List<UUID> expiring = randomIds(500);
+        List<UUID> live = randomIds(100);
+        expiring.forEach(id -> set.add(id, 1_000L));
+        live.forEach(id -> set.add(id, 5_000L));
+
+        assertThat(set.purgeExpired(2_000L)).isEqualTo(500);
+        assertThat(set.size()).isEqualTo(100);
+        assertThat(live).allMatch(id -> set.contains(id, 2_000L));
+        assertThat(expiring).noneMatch(id -> set.contains(id, 0L));
+        assertThat(set.purgeExpired(2_000L)).isZero();
+    }
+
+    @Test
+    void readsStayCorrectWhileWriterResizesTable() throws Exception {
+        List<UUID> present = randomIds(1_000);
+        List<UUID> absent = randomIds(1_000);
+        present.forEach(id -> set.add(id, Long.MAX_VALUE));
+
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        AtomicBoolean writing = new AtomicBoolean(true);
+        try {
+            Future<?> writer = executor.submit(() -> {
+                for (UUID id : randomIds(200_000)) {
+                    set.add(id, Long.MAX_VALUE);
+                }
+                writing.set(false);
+            });
+            List<Future<Integer>> readers = new ArrayList<>();
+            for (int i = 0; i < 2; i++) {
+                readers.add(executor.submit(() -> {
+                    int wrong = 0;
+                    while (writing.get()) {
+                        for (int n = 0; n < present.size(); n++) {
+                            if (!set.contains(present.get(n), 0L) || set.contains(absent.get(n), 0L)) {
+                                wrong++;
+                            }
+                        }
+                    }
+                    return wrong;
+                }));
+            }
+
+            writer.get(30, TimeUnit.SECONDS);
+            for (Future<Integer> reader : readers) {
+                assertThat(reader.get(30, TimeUnit.SECONDS)).isZero();
+            }
+            assertThat(set.size()).isEqualTo(201_000);
+        } finally {
+            writing.set(false);
+            executor.shutdownNow();
+        }
+    }
+
+    private static List<UUID> randomIds(int count) {
+        return IntStream.range(0, count).mapToObj(i -> UUID.randomUUID()).toList();
+    }
+}
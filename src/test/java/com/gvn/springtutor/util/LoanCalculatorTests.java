@@ -0,0 +1,57 @@
+package com.gvn.springtutor.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Perhitungan cicilan anuitas dalam sen.
+ */
+class LoanCalculatorTests {
+
+    @Test
+    void scheduleRepaysPrincipalExactly() {
+        LoanCalculator.Terms terms = LoanCalculator.Terms.of(36, 9.0);
+        long[] installments = new long[36];
+        long[] interests = new long[36];
+        long[] principals = new long[36];
+        long[] balances = new long[36];
+
+        LoanCalculator.Summary summary = LoanCalculator.schedule(10_000_000L, terms,
+                installments, interests, principals, balances);
+
+        long principalSum = 0;
+        long interestSum = 0;
+        for (int i = 0; i < 36; i++) {
+            principalSum += principals[i];
+            interestSum += interests[i];
+            assertThat(installments[i]).isEqualTo(principals[i] + interests[i]);
+        }
+        assertThat(summary.installment()).isEqualTo(317_997L);
+        assertThat(principalSum).isEqualTo(10_000_000L);
+        assertThat(interestSum).isEqualTo(summary.totalInterest());
+        assertThat(balances[35]).isZero();
+        assertThat(summary.lastInstallment()).isEqualTo(installments[35]);
+    }
+
+    @Test
+    void summarizeMatchesScheduleAndHandlesZeroRate() {
+        LoanCalculator.Terms terms = LoanCalculator.Terms.of(24, 7.0);
+
+        assertThat(LoanCalculator.summarize(5_000_000L, terms))
+                .isEqualTo(LoanCalculator.schedule(5_000_000L, terms, null, null, null, null));
+
+        LoanCalculator.Summary zeroRate = LoanCalculator.summarize(1_200_000L, LoanCalculator.Terms.of(12, 0.0));
+        assertThat(zeroRate.installment()).isEqualTo(100_000L);
+        assertThat(zeroRate.totalInterest()).isZero();
+    }
+
+    @Test
+    void rejectsInvalidInput() {
+        assertThatThrownBy(() -> LoanCalculator.Terms.of(0, 5.0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> LoanCalculator.Terms.of(12, -1.0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> LoanCalculator.summarize(0, LoanCalculator.Terms.of(12, 5.0)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,70 @@
+package com.gvn.springtutor.util;
+
+import com.gvn.springtutor.util.PrefixIndex.MatchMode;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Pencarian prefix/contains, update dokumen, dan batas offset PrefixIndex.
+ */
+class PrefixIndexTests {
+
+    private final PrefixIndex index = new PrefixIndex();
+
+    @Test
+    void prefixMatchesStartOnlyAndContainsAddsInnerMatchesAfter() {
+        index.put(1L, List.of("Gold Card"));
+        index.put(2L, List.of("Silver Gold"));
+        index.put(3L, List.of("Platinum"));
+
+        assertThat(index.search("GOLD", MatchMode.PREFIX, 0, 10)).containsExactly(1L);
+        assertThat(index.search("gold", MatchMode.CONTAINS, 0, 10)).containsExactly(1L, 2L);
+        assertThat(index.search("tin", MatchMode.PREFIX, 0, 10)).isEmpty();
+        assertThat(index.search("tin", MatchMode.CONTAINS, 0, 10)).containsExactly(3L);
+    }
+
+    @Test
+    void documentMatchingSeveralValuesIsReturnedOnce() {
+        index.put(1L, List.of("admin", "admin@example.com"));
+
+        assertThat(index.search("adm", MatchMode.CONTAINS, 0, 10)).containsExactly(1L);
+    }
+
+    @Test
+    void putReplacesAndRemoveDeletesPreviousValues() {
+        index.put(1L, List.of("Gold"));
+        index.put(1L, List.of("Bronze"));
+
+        assertThat(index.search("gold", MatchMode.CONTAINS, 0, 10)).isEmpty();
+        assertThat(index.search("bro", MatchMode.PREFIX, 0, 10)).containsExactly(1L);
+
+        index.remove(1L);
+
+        assertThat(index.search("bro", MatchMode.CONTAINS, 0, 10)).isEmpty();
+        assertThat(index.size()).isZero();
+    }
+
+    @Test
+    void offsetAndLimitPageThroughSortedMatches() {
+        LongStream.rangeClosed(1, 30).forEach(id -> index.put(id, List.of(String.format("item%02d", id))));
+
+        assertThat(index.search("item", MatchMode.PREFIX, 10, 5)).containsExactly(11L, 12L, 13L, 14L, 15L);
+        assertThat(index.search("item", MatchMode.PREFIX, 28, 5)).containsExactly(29L, 30L);
+        assertThat(index.search("item", MatchMode.PREFIX, 30, 5)).isEmpty();
+        assertThat(index.search("item", MatchMode.PREFIX, 0, 0)).isEmpty();
+    }
+
+    @Test
+    void largeOffsetDoesNotOverflow() {
+        index.put(1L, List.of("item"));
+
+        assertThat(index.search("item", MatchMode.CONTAINS, Integer.MAX_VALUE - 1, 10)).isEmpty();
+        assertThatThrownBy(() -> index.search("item", MatchMode.PREFIX, -1, 10))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}